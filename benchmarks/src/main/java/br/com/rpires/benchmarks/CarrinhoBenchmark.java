@@ -0,0 +1,97 @@
+package br.com.rpires.benchmarks;
+
+import br.com.rpires.domain.Produto;
+import br.com.rpires.domain.ProdutoQuantidade;
+import br.com.rpires.domain.Venda;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operações do carrinho da {@link Venda} por tamanho do carrinho (produtos distintos):
+ * <ul>
+ *     <li>{@code montarCarrinho}: venda nova recebendo cada produto por {@code adicionarProduto};</li>
+ *     <li>{@code adicionarProdutoExistente}: mais uma unidade de um produto que já está no carrinho;</li>
+ *     <li>{@code adicionarProdutoNovo}: um produto fora do carrinho, removido em seguida para manter o tamanho;</li>
+ *     <li>{@code recalcularValorTotal}: {@code recalcularValorTotalVenda} sobre o carrinho cheio.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CarrinhoBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int tamanhoCarrinho;
+
+    private Produto[] produtos;
+    private Produto produtoNovo;
+    private Venda carrinho;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = new Produto[tamanhoCarrinho];
+        Set<ProdutoQuantidade> itens = new HashSet<>();
+        for (int i = 0; i < tamanhoCarrinho; i++) {
+            produtos[i] = criarProduto(i);
+            itens.add(new ProdutoQuantidade(produtos[i], 1));
+        }
+        produtoNovo = criarProduto(tamanhoCarrinho);
+        carrinho = new Venda();
+        carrinho.setProdutos(itens); // Monta direto, sem o custo de N chamadas a adicionarProduto
+    }
+
+    private static Produto criarProduto(int i) {
+        Produto produto = new Produto();
+        produto.setCodigo("P" + i);
+        produto.setNome("Produto " + i);
+        produto.setValor(BigDecimal.valueOf(1_000 + i, 2));
+        return produto;
+    }
+
+    @Benchmark
+    public Venda montarCarrinho() {
+        Venda venda = new Venda();
+        for (Produto produto : produtos) {
+            venda.adicionarProduto(produto, 1);
+        }
+        return venda;
+    }
+
+    @Benchmark
+    public BigDecimal adicionarProdutoExistente() {
+        carrinho.adicionarProduto(produtos[tamanhoCarrinho / 2], 1);
+        return carrinho.getValorTotal();
+    }
+
+    @Benchmark
+    public BigDecimal adicionarProdutoNovo() {
+        carrinho.adicionarProduto(produtoNovo, 1);
+        BigDecimal total = carrinho.getValorTotal();
+        carrinho.removerProduto(produtoNovo, 1);
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal recalcularValorTotal() {
+        carrinho.recalcularValorTotalVenda();
+        return carrinho.getValorTotal();
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.rpires.benchmarks;
+
+import br.com.rpires.dao.ClienteDAO;
+import br.com.rpires.dao.VendaDAO;
+import br.com.rpires.domain.Cliente;
+import br.com.rpires.domain.Venda;
+import br.com.rpires.exceptions.TipoChaveNaoEncontradaException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura da chave lógica por reflexão ({@code getChave}) e do nome da coluna chave ({@code getNomeCampoChave}),
+ * chamados a cada cadastro, consulta e montagem de SQL do {@code GenericDAO}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ChaveBenchmark {
+
+    private ClienteDAO clienteDAO;
+    private VendaDAO vendaDAO;
+    private Cliente cliente;
+    private Venda venda;
+
+    @Setup
+    public void preparar() {
+        clienteDAO = new ClienteDAO();
+        vendaDAO = new VendaDAO();
+        cliente = new Cliente();
+        cliente.setCpf(12_345_678_901L);
+        venda = new Venda();
+        venda.setCodigo("V12345678901");
+    }
+
+    @Benchmark
+    public Long getChaveCliente() throws TipoChaveNaoEncontradaException {
+        return clienteDAO.getChave(cliente);
+    }
+
+    @Benchmark
+    public String getChaveVenda() throws TipoChaveNaoEncontradaException {
+        return vendaDAO.getChave(venda);
+    }
+
+    @Benchmark
+    public String getNomeCampoChaveCliente() throws TipoChaveNaoEncontradaException {
+        return clienteDAO.getNomeCampoChave(Cliente.class);
+    }
+
+    @Benchmark
+    public String getNomeCampoChaveVenda() throws TipoChaveNaoEncontradaException {
+        return vendaDAO.getNomeCampoChave(Venda.class);
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.rpires.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Set;
+
+/**
+ * Ponto de entrada do {@code benchmarks.jar}: aceita as mesmas opções do JMH
+ * (ex: {@code java -jar benchmarks/target/benchmarks.jar Carrinho -p tamanhoCarrinho=1000})
+ * e sempre liga o profiler de GC, que reporta a alocação por operação ({@code gc.alloc.rate.norm})
+ * e as coletas. Outros profilers podem ser somados com {@code -prof} (ex: {@code -prof stack}).
+ */
+public final class ExecutarBenchmarks {
+
+    private static final Set<String> OPCOES_INFORMATIVAS = Set.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    private ExecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            if (OPCOES_INFORMATIVAS.contains(arg)) {
+                Main.main(args); // Ajuda e listagens ficam com o próprio JMH
+                return;
+            }
+        }
+        Options opcoes = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opcoes).run();
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.rpires.benchmarks;
+
+import br.com.rpires.dao.ClienteDAO;
+import br.com.rpires.dao.VendaDAO;
+import br.com.rpires.dao.factory.ClienteFactory;
+import br.com.rpires.dao.factory.VendaFactory;
+import br.com.rpires.domain.Cliente;
+import br.com.rpires.domain.Venda;
+import br.com.rpires.exceptions.DAOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de uma linha de ResultSet em entidade: preenchimento por reflexão do {@code GenericDAO}
+ * ({@code converterRegistro}) contra as factories escritas à mão, sobre um {@link ResultadoEmMemoria}.
+ * <ul>
+ *     <li>{@code clienteFactory}: linha de {@code TB_CLIENTE}, sem {@code ID_CLIENTE}, então passa pelo fallback por exceção;</li>
+ *     <li>{@code clienteFactoryJoin}: linha do JOIN de venda, com {@code ID_CLIENTE};</li>
+ *     <li>{@code venda*}: linha do JOIN de venda (a versão por reflexão não preenche o cliente).</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapeamentoBenchmark {
+
+    /**
+     * Expõe a conversão por reflexão do {@code GenericDAO}, que é protegida.
+     */
+    static final class ClienteDAOMedido extends ClienteDAO {
+        Cliente converter(ResultSet rs) throws SQLException, DAOException {
+            return converterRegistro(rs);
+        }
+    }
+
+    static final class VendaDAOMedido extends VendaDAO {
+        Venda converter(ResultSet rs) throws SQLException, DAOException {
+            return converterRegistro(rs);
+        }
+    }
+
+    private ResultSet linhaCliente;
+    private ResultSet linhaVenda;
+    private ClienteDAOMedido clienteDAO;
+    private VendaDAOMedido vendaDAO;
+
+    @Setup
+    public void preparar() {
+        linhaCliente = ResultadoEmMemoria.criar(ResultadoEmMemoria.linhaCliente(12_345_678_901L));
+        linhaVenda = ResultadoEmMemoria.criar(ResultadoEmMemoria.linhaVenda(12_345_678_901L));
+        clienteDAO = new ClienteDAOMedido();
+        vendaDAO = new VendaDAOMedido();
+    }
+
+    @Benchmark
+    public Cliente clienteReflexao() throws SQLException, DAOException {
+        return clienteDAO.converter(linhaCliente);
+    }
+
+    @Benchmark
+    public Cliente clienteFactory() throws SQLException {
+        return ClienteFactory.convert(linhaCliente);
+    }
+
+    @Benchmark
+    public Cliente clienteFactoryJoin() throws SQLException {
+        return ClienteFactory.convert(linhaVenda);
+    }
+
+    @Benchmark
+    public Venda vendaReflexao() throws SQLException, DAOException {
+        return vendaDAO.converter(linhaVenda);
+    }
+
+    @Benchmark
+    public Venda vendaFactory() throws SQLException {
+        return VendaFactory.convert(linhaVenda);
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.rpires.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link ResultSet} em memória, já posicionado em uma única linha, para medir a conversão de registros
+ * sem banco de dados. Implementa só os getters por nome de coluna usados pelos DAOs e factories.
+ * Como o driver do PostgreSQL, lança {@link SQLException} para coluna inexistente, então os fallbacks
+ * por exceção (ex: {@code ID_CLIENTE} -> {@code ID} no {@code ClienteFactory}) têm o custo real.
+ */
+final class ResultadoEmMemoria implements InvocationHandler {
+
+    private final Map<String, Object> colunas = new HashMap<>();
+    private boolean nulo; // Resultado de wasNull()
+
+    private ResultadoEmMemoria(Map<String, ?> linha) {
+        for (Map.Entry<String, ?> coluna : linha.entrySet()) {
+            colunas.put(coluna.getKey().toUpperCase(Locale.ROOT), coluna.getValue());
+        }
+    }
+
+    /**
+     * Cria o ResultSet com a linha informada.
+     * @param linha Os valores por nome de coluna (sem distinção de maiúsculas).
+     * @return O ResultSet posicionado na linha.
+     */
+    static ResultSet criar(Map<String, ?> linha) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                new ResultadoEmMemoria(linha));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String nome = method.getName();
+        switch (nome) {
+            case "wasNull":
+                return nulo;
+            case "close":
+                return null;
+            case "isClosed":
+                return false;
+            default:
+                break;
+        }
+        if (!nome.startsWith("get") || args == null || args.length != 1 || !(args[0] instanceof String)) {
+            throw new UnsupportedOperationException("ResultSet em memória não implementa " + nome);
+        }
+        Object valor = getValor((String) args[0]);
+        nulo = valor == null;
+        switch (nome) {
+            case "getLong":
+                return valor == null ? 0L : ((Number) valor).longValue();
+            case "getInt":
+                return valor == null ? 0 : ((Number) valor).intValue();
+            case "getShort":
+                return valor == null ? (short) 0 : ((Number) valor).shortValue();
+            case "getDouble":
+                return valor == null ? 0d : ((Number) valor).doubleValue();
+            case "getString":
+                return valor == null ? null : String.valueOf(valor);
+            case "getBigDecimal":
+                return valor == null || valor instanceof BigDecimal ? valor : new BigDecimal(String.valueOf(valor));
+            case "getTimestamp":
+                return valor;
+            case "getObject":
+                return valor;
+            default:
+                throw new UnsupportedOperationException("ResultSet em memória não implementa " + nome);
+        }
+    }
+
+    private Object getValor(String coluna) throws SQLException {
+        String chave = coluna.toUpperCase(Locale.ROOT);
+        if (!colunas.containsKey(chave)) {
+            throw new SQLException("A coluna " + coluna + " não foi encontrada neste ResultSet.", "42703");
+        }
+        return colunas.get(chave);
+    }
+
+    /**
+     * Linha de {@code SELECT * FROM TB_CLIENTE}.
+     */
+    static Map<String, Object> linhaCliente(long cpf) {
+        Map<String, Object> linha = new HashMap<>();
+        linha.put("ID", cpf % 100_000);
+        linha.put("NOME", "Cliente " + cpf);
+        linha.put("CPF", cpf);
+        linha.put("TEL", 11_999_990_000L + cpf % 10_000);
+        linha.put("ENDERECO", "Rua das Flores");
+        linha.put("NUMERO", 123);
+        linha.put("CIDADE", "São Paulo");
+        linha.put("ESTADO", "SP");
+        return linha;
+    }
+
+    /**
+     * Linha do JOIN de venda com cliente do {@code VendaDAO} (ID_VENDA, ID_CLIENTE e as colunas das duas tabelas).
+     */
+    static Map<String, Object> linhaVenda(long cpf) {
+        Map<String, Object> linha = linhaCliente(cpf);
+        linha.put("ID_CLIENTE", linha.remove("ID"));
+        linha.put("ID_VENDA", 42L);
+        linha.put("CODIGO", "V" + cpf);
+        linha.put("VALOR_TOTAL", new BigDecimal("1234.56"));
+        linha.put("DATA_VENDA", Timestamp.valueOf("2024-05-10 14:30:00"));
+        linha.put("STATUS_VENDA", "INICIADA");
+        return linha;
+    }
+}
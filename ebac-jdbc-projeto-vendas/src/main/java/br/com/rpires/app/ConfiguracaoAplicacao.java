@@ -0,0 +1,129 @@
+package br.com.rpires.app;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Configuração de uma ferramenta da aplicação (teste de carga, gerador de dados), lida de um arquivo de propriedades.
+ * <p>
+ * Todas as chaves compartilham um prefixo (ex: {@code carga.}). O arquivo padrão vem do classpath; uma
+ * propriedade de sistema aponta para outro arquivo. Têm precedência, nesta ordem, os argumentos da linha
+ * de comando ({@code chave=valor}, com ou sem o prefixo) e as propriedades de sistema de mesmo nome.
+ * </p>
+ */
+public final class ConfiguracaoAplicacao {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfiguracaoAplicacao.class);
+
+    private final String prefixo;
+    private final Properties propriedades;
+    private final Properties argumentos;
+
+    private ConfiguracaoAplicacao(String prefixo, Properties propriedades, Properties argumentos) {
+        this.prefixo = prefixo;
+        this.propriedades = propriedades;
+        this.argumentos = argumentos;
+    }
+
+    /**
+     * Carrega a configuração do arquivo indicado na propriedade de sistema ou, na falta dela, do arquivo padrão do classpath.
+     * @param propriedadeArquivo A propriedade de sistema com o caminho do arquivo (ex: {@code carga.config}).
+     * @param arquivoPadrao O arquivo do classpath (ex: {@code carga.properties}).
+     * @param prefixo O prefixo das chaves (ex: {@code carga.}).
+     * @param args Argumentos {@code chave=valor} da linha de comando.
+     * @return A configuração carregada.
+     * @throws IllegalStateException Se o arquivo não existir ou não puder ser lido.
+     * @throws IllegalArgumentException Se algum argumento não estiver no formato {@code chave=valor}.
+     */
+    public static ConfiguracaoAplicacao carregar(String propriedadeArquivo, String arquivoPadrao, String prefixo, String[] args) {
+        Properties props = new Properties();
+        String caminho = System.getProperty(propriedadeArquivo);
+        try (InputStream in = caminho != null
+                ? Files.newInputStream(Path.of(caminho))
+                : ConfiguracaoAplicacao.class.getClassLoader().getResourceAsStream(arquivoPadrao)) {
+            if (in == null) {
+                throw new IllegalStateException("Arquivo de configuração não encontrado no classpath: " + arquivoPadrao);
+            }
+            props.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao ler a configuração " + arquivoPadrao + ": " + e.getMessage(), e);
+        }
+        Properties argumentos = new Properties();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (esperado chave=valor): " + arg);
+            }
+            String chave = arg.substring(0, igual).trim();
+            argumentos.setProperty(chave.startsWith(prefixo) ? chave : prefixo + chave, arg.substring(igual + 1).trim());
+        }
+        LOGGER.info("Configuração carregada de {}.", caminho != null ? caminho : "classpath:" + arquivoPadrao);
+        return new ConfiguracaoAplicacao(prefixo, props, argumentos);
+    }
+
+    /**
+     * Retorna o valor da chave (sem o prefixo), dando precedência aos argumentos e às propriedades de sistema.
+     */
+    public String get(String chave) {
+        String nome = prefixo + chave;
+        String valor = argumentos.getProperty(nome);
+        if (valor == null) {
+            valor = System.getProperty(nome);
+        }
+        return valor != null ? valor : propriedades.getProperty(nome);
+    }
+
+    /**
+     * Retorna o valor da chave, ou o padrão se ausente ou em branco.
+     */
+    public String get(String chave, String padrao) {
+        String valor = get(chave);
+        return valor == null || valor.isBlank() ? padrao : valor.trim();
+    }
+
+    public int getInteiro(String chave, int padrao) {
+        String valor = get(chave);
+        try {
+            return valor == null || valor.isBlank() ? padrao : Integer.parseInt(valor.trim().replace("_", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor inválido para " + prefixo + chave + ": " + valor, e);
+        }
+    }
+
+    public int getInteiroPositivo(String chave, int padrao) {
+        int valor = getInteiro(chave, padrao);
+        if (valor <= 0) {
+            throw new IllegalStateException(prefixo + chave + " deve ser maior que zero: " + valor);
+        }
+        return valor;
+    }
+
+    public long getLong(String chave, long padrao) {
+        String valor = get(chave);
+        try {
+            return valor == null || valor.isBlank() ? padrao : Long.parseLong(valor.trim().replace("_", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor inválido para " + prefixo + chave + ": " + valor, e);
+        }
+    }
+
+    public double getDouble(String chave, double padrao) {
+        String valor = get(chave);
+        try {
+            return valor == null || valor.isBlank() ? padrao : Double.parseDouble(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor inválido para " + prefixo + chave + ": " + valor, e);
+        }
+    }
+
+    public boolean getBoolean(String chave, boolean padrao) {
+        String valor = get(chave);
+        return valor == null || valor.isBlank() ? padrao : Boolean.parseBoolean(valor.trim());
+    }
+}
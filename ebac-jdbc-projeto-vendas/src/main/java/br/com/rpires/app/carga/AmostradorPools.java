@@ -0,0 +1,107 @@
+package br.com.rpires.app.carga;
+
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.dao.generic.jdbc.EstatisticasPool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Amostra periodicamente a situação dos pools ({@link ConnectionFactory#getEstatisticasPools()}) durante a carga,
+ * para medir a saturação: média e pico de conexões ativas, pico de threads aguardando conexão, fração das
+ * amostras com o pool saturado (todas as conexões em uso ou alguém aguardando) e operações rejeitadas
+ * pelo controle de admissão no período.
+ */
+final class AmostradorPools {
+
+    private final Map<String, Amostras> amostras = new TreeMap<>(); // Escrito só pela thread do amostrador
+    private final Map<String, Long> rejeitadasIniciais = new HashMap<>();
+    private ScheduledExecutorService agendador;
+
+    /**
+     * Inicia a amostragem.
+     * @param periodoMillis O intervalo entre as amostras.
+     */
+    void iniciar(long periodoMillis) {
+        for (EstatisticasPool pool : ConnectionFactory.getEstatisticasPools()) {
+            rejeitadasIniciais.put(pool.getNome(), pool.getRejeitadas());
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "amostrador-pools");
+            t.setDaemon(true);
+            return t;
+        });
+        agendador.scheduleAtFixedRate(this::amostrar, 0, periodoMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Encerra a amostragem, aguardando a amostra em andamento.
+     */
+    void encerrar() throws InterruptedException {
+        agendador.shutdown();
+        agendador.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void amostrar() {
+        for (EstatisticasPool pool : ConnectionFactory.getEstatisticasPools()) {
+            amostras.computeIfAbsent(pool.getNome(), Amostras::new).registrar(pool);
+        }
+    }
+
+    /**
+     * Retorna uma linha de resumo por pool. Só deve ser chamado depois de {@link #encerrar()}.
+     */
+    List<String> getResumo() {
+        List<String> linhas = new ArrayList<>();
+        for (Amostras pool : amostras.values()) {
+            long rejeitadas = pool.rejeitadas - rejeitadasIniciais.getOrDefault(pool.nome, 0L);
+            linhas.add(pool.resumir(rejeitadas));
+        }
+        return linhas;
+    }
+
+    private static final class Amostras {
+        private final String nome;
+        private long quantidade;
+        private long saturadas;
+        private long somaAtivas;
+        private int picoAtivas;
+        private int picoAguardando;
+        private int picoEmUso;
+        private int tamanhoMaximo;
+        private int limiteAdmissao;
+        private long rejeitadas;
+
+        private Amostras(String nome) {
+            this.nome = nome;
+        }
+
+        private void registrar(EstatisticasPool pool) {
+            quantidade++;
+            somaAtivas += pool.getAtivas();
+            if (pool.getAtivas() >= pool.getTamanhoMaximo() || pool.getAguardando() > 0) {
+                saturadas++;
+            }
+            picoAtivas = Math.max(picoAtivas, pool.getAtivas());
+            picoAguardando = Math.max(picoAguardando, pool.getAguardando());
+            picoEmUso = Math.max(picoEmUso, pool.getEmUso());
+            tamanhoMaximo = pool.getTamanhoMaximo();
+            limiteAdmissao = pool.getLimiteAdmissao();
+            rejeitadas = pool.getRejeitadas();
+        }
+
+        private String resumir(long rejeitadasNoPeriodo) {
+            return String.format(Locale.ROOT,
+                    "%s: ativas media=%.1f pico=%d/%d, aguardando pico=%d, saturado em %.1f%% das amostras, admissao pico=%d/%d, rejeitadas=%d",
+                    nome, (double) somaAtivas / quantidade, picoAtivas, tamanhoMaximo, picoAguardando,
+                    100.0 * saturadas / quantidade, picoEmUso, limiteAdmissao, rejeitadasNoPeriodo);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.rpires.app.carga;
+
+import br.com.rpires.app.ConfiguracaoAplicacao;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuração do teste de carga, lida de um arquivo de propriedades.
+ * <p>
+ * Por padrão é lido o {@code carga.properties} do classpath; a propriedade de sistema
+ * {@code carga.config} aponta para outro arquivo. Têm precedência, nesta ordem, os argumentos
+ * da linha de comando ({@code chave=valor}, com ou sem o prefixo {@code carga.}) e as propriedades
+ * de sistema de mesmo nome. O banco usado é o do {@code database.properties}.
+ * </p>
+ */
+public final class ConfiguracaoCarga {
+
+    public static final String PROPRIEDADE_ARQUIVO = "carga.config";
+    public static final String ARQUIVO_PADRAO = "carga.properties";
+
+    private final ConfiguracaoAplicacao configuracao;
+
+    private ConfiguracaoCarga(ConfiguracaoAplicacao configuracao) {
+        this.configuracao = configuracao;
+    }
+
+    /**
+     * Carrega a configuração do arquivo indicado em {@code -Dcarga.config} ou, na falta dele,
+     * do {@code carga.properties} do classpath, aplicando os argumentos da linha de comando.
+     * @param args Argumentos {@code chave=valor} (ex: {@code threads=32}, {@code carga.duracaoSegundos=120}).
+     * @return A configuração carregada.
+     * @throws IllegalStateException Se o arquivo não existir ou não puder ser lido.
+     * @throws IllegalArgumentException Se algum argumento não estiver no formato {@code chave=valor}.
+     */
+    public static ConfiguracaoCarga carregar(String[] args) {
+        return new ConfiguracaoCarga(ConfiguracaoAplicacao.carregar(PROPRIEDADE_ARQUIVO, ARQUIVO_PADRAO, "carga.", args));
+    }
+
+    /**
+     * Retorna o valor da chave ({@code carga.<chave>}), dando precedência aos argumentos e às propriedades de sistema.
+     */
+    public String get(String chave) {
+        return configuracao.get(chave);
+    }
+
+    /**
+     * Número de threads que executam operações simultaneamente (chave {@code carga.threads}).
+     */
+    public int getThreads() {
+        return getInteiroPositivo("threads", 16);
+    }
+
+    /**
+     * Duração da medição, depois do aquecimento (chave {@code carga.duracaoSegundos}).
+     */
+    public int getDuracaoSegundos() {
+        return getInteiroPositivo("duracaoSegundos", 60);
+    }
+
+    /**
+     * Duração do aquecimento, cujas medições são descartadas (chave {@code carga.aquecimentoSegundos}).
+     */
+    public int getAquecimentoSegundos() {
+        return getInteiro("aquecimentoSegundos", 10);
+    }
+
+    /**
+     * Quantidade de produtos distintos em cada venda criada (chave {@code carga.itensPorVenda}).
+     */
+    public int getItensPorVenda() {
+        return getInteiroPositivo("itensPorVenda", 3);
+    }
+
+    /**
+     * Tamanho do catálogo de produtos cadastrado antes da carga (chave {@code carga.produtos}).
+     */
+    public int getProdutos() {
+        return getInteiroPositivo("produtos", 200);
+    }
+
+    /**
+     * Quantidade de clientes cadastrados antes da carga, usados nas vendas (chave {@code carga.clientes}).
+     */
+    public int getClientes() {
+        return getInteiroPositivo("clientes", 500);
+    }
+
+    /**
+     * Quantidade máxima de produtos lidos em cada listagem (chave {@code carga.limiteListagem}).
+     */
+    public int getLimiteListagem() {
+        return getInteiroPositivo("limiteListagem", 50);
+    }
+
+    /**
+     * Intervalo entre as amostras da situação dos pools (chave {@code carga.amostragemPoolMillis}).
+     */
+    public int getAmostragemPoolMillis() {
+        return getInteiroPositivo("amostragemPoolMillis", 100);
+    }
+
+    /**
+     * Pesos das operações (chave {@code carga.mix}, ex: {@code criarVenda:25,consultarProduto:50}).
+     * Operações ausentes não são executadas.
+     */
+    MixOperacoes getMix() {
+        String valor = get("mix");
+        if (valor == null || valor.isBlank()) {
+            valor = "cadastrarCliente:10,consultarProduto:45,criarVenda:25,finalizarVenda:15,listar:5";
+        }
+        Map<OperacaoCarga, Integer> pesos = new EnumMap<>(OperacaoCarga.class);
+        for (String item : valor.split(",")) {
+            String[] partes = item.trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalStateException("Item inválido em carga.mix (esperado operacao:peso): " + item);
+            }
+            try {
+                pesos.put(OperacaoCarga.getByNome(partes[0].trim()), Integer.parseInt(partes[1].trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Item inválido em carga.mix: " + item + ". " + e.getMessage(), e);
+            }
+        }
+        return new MixOperacoes(pesos);
+    }
+
+    private int getInteiroPositivo(String chave, int padrao) {
+        return configuracao.getInteiroPositivo(chave, padrao);
+    }
+
+    private int getInteiro(String chave, int padrao) {
+        return configuracao.getInteiro(chave, padrao);
+    }
+}
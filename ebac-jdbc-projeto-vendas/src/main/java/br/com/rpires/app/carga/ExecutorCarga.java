@@ -0,0 +1,279 @@
+package br.com.rpires.app.carga;
+
+import br.com.rpires.dao.ClienteDAO;
+import br.com.rpires.dao.ProdutoDAO;
+import br.com.rpires.dao.VendaDAO;
+import br.com.rpires.dao.generic.Criterio;
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.domain.Cliente;
+import br.com.rpires.domain.Produto;
+import br.com.rpires.domain.Venda;
+import br.com.rpires.exceptions.DAOException;
+import br.com.rpires.exceptions.MaisDeUmRegistroException;
+import br.com.rpires.exceptions.SobrecargaException;
+import br.com.rpires.exceptions.TableException;
+import br.com.rpires.exceptions.TipoChaveNaoEncontradaException;
+import br.com.rpires.infra.metricas.EstatisticaOperacao;
+import br.com.rpires.infra.metricas.Metricas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga concorrente da camada de acesso a dados: várias threads executam, até o fim do tempo
+ * configurado, um mix de operações de negócio ({@link OperacaoCarga}) contra o banco do {@code database.properties}.
+ * <p>
+ * Antes da carga, os pools são iniciados e aquecidos e um catálogo de produtos e clientes é cadastrado
+ * (códigos e CPFs derivados do instante da execução, para não colidir com execuções anteriores).
+ * As medições do aquecimento são descartadas. Ao final são reportadas, por operação, a vazão e os
+ * percentis de latência; as mesmas medições por operação de DAO; a espera por conexão; e a saturação
+ * de cada pool. Use um banco descartável: os dados cadastrados não são removidos.
+ * </p>
+ */
+public final class ExecutorCarga {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorCarga.class);
+
+    static final String PREFIXO_METRICA = "Carga.";
+    private static final int MAXIMO_VENDAS_ABERTAS = 1_000; // Por thread, aguardando finalização
+    private static final int MAXIMO_ERROS_LOGADOS = 20;
+    private static final AtomicInteger CONTADOR_THREADS = new AtomicInteger();
+
+    private final ConfiguracaoCarga configuracao;
+    private final MixOperacoes mix;
+    private final int itensPorVenda;
+    private final Criterio<Produto> listagem; // Página do catálogo lida pela operação listar
+    private final long execucao = System.currentTimeMillis() % 100_000; // Prefixo dos CPFs e códigos desta execução
+    private final AtomicLong sequencia = new AtomicLong();
+    private final AtomicLong errosLogados = new AtomicLong();
+    private ClienteDAO clienteDAO;
+    private ProdutoDAO produtoDAO;
+    private VendaDAO vendaDAO;
+    private Produto[] produtos;
+    private Cliente[] clientes;
+
+    public ExecutorCarga(ConfiguracaoCarga configuracao) {
+        this.configuracao = configuracao;
+        this.mix = configuracao.getMix();
+        this.itensPorVenda = configuracao.getItensPorVenda();
+        this.listagem = Criterio.de(Produto.class).ordenarPor("CODIGO").limitar(configuracao.getLimiteListagem());
+        if (itensPorVenda > configuracao.getProdutos()) {
+            throw new IllegalStateException("carga.itensPorVenda (" + itensPorVenda + ") maior que carga.produtos ("
+                    + configuracao.getProdutos() + ")");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ExecutorCarga(ConfiguracaoCarga.carregar(args)).executar();
+    }
+
+    /**
+     * Prepara o banco, executa a carga e reporta o resultado.
+     * @throws DAOException Se os pools não puderem ser iniciados ou o catálogo não puder ser cadastrado.
+     * @throws TipoChaveNaoEncontradaException Se a chave de alguma entidade do catálogo não puder ser lida.
+     * @throws InterruptedException Se a thread for interrompida durante a carga.
+     */
+    public void executar() throws DAOException, TipoChaveNaoEncontradaException, InterruptedException {
+        clienteDAO = new ClienteDAO(); // As operações dos DAOs são medidas pelo próprio GenericDAO
+        produtoDAO = new ProdutoDAO();
+        vendaDAO = new VendaDAO();
+
+        List<String> instrucoes = new ArrayList<>();
+        instrucoes.addAll(clienteDAO.getInstrucoesConhecidas());
+        instrucoes.addAll(produtoDAO.getInstrucoesConhecidas());
+        instrucoes.addAll(vendaDAO.getInstrucoesConhecidas());
+        ConnectionFactory.iniciar(instrucoes);
+        try {
+            popular();
+
+            int threads = configuracao.getThreads();
+            LOGGER.info("Carga: {} threads, {} s de aquecimento, {} s de medição, {} itens por venda. Mix: {}",
+                    threads, configuracao.getAquecimentoSegundos(), configuracao.getDuracaoSegundos(), itensPorVenda, mix);
+            long inicio = System.nanoTime();
+            long inicioMedicao = inicio + TimeUnit.SECONDS.toNanos(configuracao.getAquecimentoSegundos());
+            long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(configuracao.getDuracaoSegundos());
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "carga-" + CONTADOR_THREADS.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> trabalhar(fim));
+            }
+            executor.shutdown();
+
+            TimeUnit.NANOSECONDS.sleep(inicioMedicao - System.nanoTime());
+            Metricas.zerar(); // Descarta as medições do aquecimento
+            AmostradorPools amostrador = new AmostradorPools();
+            amostrador.iniciar(configuracao.getAmostragemPoolMillis());
+            LOGGER.info("Aquecimento concluído; medindo por {} s.", configuracao.getDuracaoSegundos());
+
+            if (!executor.awaitTermination(configuracao.getDuracaoSegundos() + 60L, TimeUnit.SECONDS)) {
+                LOGGER.warn("Operações ainda em andamento após o fim da carga; o resultado pode estar incompleto.");
+            }
+            double segundosMedidos = (System.nanoTime() - inicioMedicao) / 1e9;
+            amostrador.encerrar();
+            relatar(segundosMedidos, amostrador);
+        } finally {
+            ConnectionFactory.closeDataSource();
+        }
+    }
+
+    /**
+     * Cadastra o catálogo de produtos e os clientes usados nas vendas.
+     */
+    private void popular() throws DAOException, TipoChaveNaoEncontradaException {
+        long inicio = System.nanoTime();
+        produtos = new Produto[configuracao.getProdutos()];
+        for (int i = 0; i < produtos.length; i++) {
+            Produto produto = new Produto();
+            produto.setCodigo("CARGA-" + execucao + "-P" + i);
+            produto.setNome("Produto de carga " + i);
+            produto.setDescricao("Cadastrado pelo teste de carga " + execucao);
+            produto.setValor(BigDecimal.valueOf(1_000 + ThreadLocalRandom.current().nextInt(100_000), 2));
+            produtoDAO.cadastrar(produto);
+            produtos[i] = produto;
+        }
+        clientes = new Cliente[configuracao.getClientes()];
+        for (int i = 0; i < clientes.length; i++) {
+            Cliente cliente = novoCliente();
+            clienteDAO.cadastrar(cliente);
+            clientes[i] = cliente;
+        }
+        LOGGER.info("Catálogo da carga {} cadastrado: {} produtos e {} clientes em {} ms.", execucao, produtos.length,
+                clientes.length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    private void trabalhar(long fim) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        Deque<Venda> vendasAbertas = new ArrayDeque<>(); // Vendas criadas por esta thread, ainda não finalizadas
+        while (System.nanoTime() < fim) {
+            OperacaoCarga operacao = mix.sortear(aleatorio);
+            if (operacao == OperacaoCarga.FINALIZAR_VENDA && vendasAbertas.isEmpty()) {
+                operacao = OperacaoCarga.CRIAR_VENDA; // Ainda não há venda desta thread para finalizar
+            }
+            long inicio = System.nanoTime();
+            boolean sucesso = false;
+            try {
+                executar(operacao, aleatorio, vendasAbertas);
+                sucesso = true;
+            } catch (SobrecargaException e) {
+                LOGGER.debug("Operação {} rejeitada por sobrecarga: {}", operacao.getNome(), e.getMessage());
+            } catch (Exception e) {
+                if (errosLogados.incrementAndGet() <= MAXIMO_ERROS_LOGADOS) {
+                    LOGGER.warn("Erro na operação {}: {}", operacao.getNome(), e.getMessage());
+                }
+            } finally {
+                Metricas.registrarOperacao(PREFIXO_METRICA + operacao.getNome(), System.nanoTime() - inicio, sucesso);
+            }
+        }
+    }
+
+    private void executar(OperacaoCarga operacao, ThreadLocalRandom aleatorio, Deque<Venda> vendasAbertas)
+            throws DAOException, TipoChaveNaoEncontradaException, MaisDeUmRegistroException, TableException {
+        switch (operacao) {
+            case CADASTRAR_CLIENTE:
+                clienteDAO.cadastrar(novoCliente());
+                break;
+            case CONSULTAR_PRODUTO:
+                produtoDAO.consultar(produtos[aleatorio.nextInt(produtos.length)].getCodigo());
+                break;
+            case CRIAR_VENDA:
+                Venda venda = novaVenda(aleatorio);
+                vendaDAO.cadastrar(venda);
+                if (vendasAbertas.size() >= MAXIMO_VENDAS_ABERTAS) {
+                    vendasAbertas.pollFirst();
+                }
+                vendasAbertas.addLast(venda);
+                break;
+            case FINALIZAR_VENDA:
+                vendaDAO.finalizarVenda(vendasAbertas.pollFirst());
+                break;
+            case LISTAR:
+                produtoDAO.buscar(listagem);
+                break;
+            default:
+                throw new IllegalStateException("Operação não suportada: " + operacao);
+        }
+    }
+
+    private Cliente novoCliente() {
+        long numero = sequencia.incrementAndGet();
+        Cliente cliente = new Cliente();
+        cliente.setCpf(execucao * 1_000_000L + numero); // Até 1 milhão de clientes por execução
+        cliente.setNome("Cliente de carga " + numero);
+        cliente.setTel(11_900_000_000L + numero % 100_000_000L);
+        cliente.setEnd("Rua da Carga");
+        cliente.setNumero((int) (numero % 10_000));
+        cliente.setCidade("São Paulo");
+        cliente.setEstado("SP");
+        return cliente;
+    }
+
+    private Venda novaVenda(ThreadLocalRandom aleatorio) {
+        Venda venda = new Venda();
+        venda.setCodigo("CARGA-" + execucao + "-V" + sequencia.incrementAndGet());
+        venda.setCliente(clientes[aleatorio.nextInt(clientes.length)]);
+        venda.setDataVenda(Instant.now());
+        venda.setStatus(Venda.Status.INICIADA);
+        int primeiro = aleatorio.nextInt(produtos.length);
+        for (int i = 0; i < itensPorVenda; i++) {
+            venda.adicionarProduto(produtos[(primeiro + i) % produtos.length], 1 + aleatorio.nextInt(3)); // Produtos distintos
+        }
+        return venda;
+    }
+
+    private void relatar(double segundosMedidos, AmostradorPools amostrador) {
+        LOGGER.info("======================================================");
+        LOGGER.info("Resultado da carga {}: {} threads, {} s medidos", execucao, configuracao.getThreads(),
+                String.format(Locale.ROOT, "%.1f", segundosMedidos));
+        LOGGER.info(String.format(Locale.ROOT, "%-34s %9s %7s %10s %9s %9s %9s %9s",
+                "operacao", "total", "erros", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        long totalCarga = 0;
+        List<EstatisticaOperacao> operacoesDAO = new ArrayList<>();
+        for (EstatisticaOperacao operacao : Metricas.getOperacoes()) {
+            if (operacao.getContagem() == 0) {
+                continue;
+            }
+            if (operacao.getNome().startsWith(PREFIXO_METRICA)) {
+                totalCarga += operacao.getContagem();
+                LOGGER.info(formatar(operacao, segundosMedidos));
+            } else {
+                operacoesDAO.add(operacao);
+            }
+        }
+        LOGGER.info(String.format(Locale.ROOT, "%-34s %9d %7s %10.1f", "total", totalCarga, "", totalCarga / segundosMedidos));
+        LOGGER.info("--- Operações dos DAOs ---");
+        operacoesDAO.forEach(operacao -> LOGGER.info(formatar(operacao, segundosMedidos)));
+        LOGGER.info("--- Espera por conexão ---");
+        for (EstatisticaOperacao espera : Metricas.getEsperasConexao()) {
+            if (espera.getContagem() > 0) {
+                LOGGER.info(formatar(espera, segundosMedidos));
+            }
+        }
+        LOGGER.info("--- Saturação dos pools ---");
+        amostrador.getResumo().forEach(LOGGER::info);
+        LOGGER.info("======================================================");
+    }
+
+    private static String formatar(EstatisticaOperacao operacao, double segundosMedidos) {
+        return String.format(Locale.ROOT, "%-34s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                operacao.getNome(), operacao.getContagem(), operacao.getErros(), operacao.getContagem() / segundosMedidos,
+                operacao.getP50Micros() / 1_000, operacao.getP99Micros() / 1_000, operacao.getP999Micros() / 1_000,
+                operacao.getMaximoMicros() / 1_000);
+    }
+}
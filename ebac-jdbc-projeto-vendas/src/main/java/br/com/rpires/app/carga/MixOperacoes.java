@@ -0,0 +1,62 @@
+package br.com.rpires.app.carga;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Sorteio das operações segundo os pesos do mix (ex: {@code criarVenda:25} é sorteada em 25 de cada
+ * 100 operações se os pesos somarem 100). Imutável, compartilhado entre as threads da carga.
+ */
+final class MixOperacoes {
+
+    private final OperacaoCarga[] operacoes;
+    private final int[] pesosAcumulados;
+    private final int pesoTotal;
+    private final Map<OperacaoCarga, Integer> pesos;
+
+    MixOperacoes(Map<OperacaoCarga, Integer> pesos) {
+        this.pesos = new EnumMap<>(pesos);
+        this.operacoes = new OperacaoCarga[pesos.size()];
+        this.pesosAcumulados = new int[pesos.size()];
+        int acumulado = 0;
+        int i = 0;
+        for (Map.Entry<OperacaoCarga, Integer> peso : this.pesos.entrySet()) {
+            if (peso.getValue() < 0) {
+                throw new IllegalArgumentException("Peso negativo no mix para " + peso.getKey().getNome());
+            }
+            acumulado += peso.getValue();
+            operacoes[i] = peso.getKey();
+            pesosAcumulados[i] = acumulado;
+            i++;
+        }
+        if (acumulado == 0) {
+            throw new IllegalArgumentException("O mix de operações precisa de ao menos um peso positivo.");
+        }
+        this.pesoTotal = acumulado;
+    }
+
+    OperacaoCarga sortear(Random aleatorio) {
+        int sorteio = aleatorio.nextInt(pesoTotal);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (sorteio < pesosAcumulados[i]) {
+                return operacoes[i];
+            }
+        }
+        return operacoes[operacoes.length - 1]; // Não alcançado
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<OperacaoCarga, Integer> peso : pesos.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(peso.getKey().getNome()).append(' ')
+                    .append(String.format(Locale.ROOT, "%.0f%%", 100.0 * peso.getValue() / pesoTotal));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.rpires.app.carga;
+
+/**
+ * Operações de negócio executadas pelo teste de carga. O nome é o usado na chave {@code carga.mix}
+ * e nas métricas ({@code Carga.<nome>}).
+ */
+public enum OperacaoCarga {
+    CADASTRAR_CLIENTE("cadastrarCliente"), // Cadastro de um cliente novo
+    CONSULTAR_PRODUTO("consultarProduto"), // Consulta de um produto do catálogo pelo código
+    CRIAR_VENDA("criarVenda"), // Cadastro de uma venda com N itens para um cliente existente
+    FINALIZAR_VENDA("finalizarVenda"), // Finalização de uma venda criada pela mesma thread
+    LISTAR("listar"); // Página do catálogo de produtos (buscar com limite)
+
+    private final String nome;
+
+    OperacaoCarga(String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Retorna a operação pelo nome.
+     * @param nome O nome (ex: {@code criarVenda}).
+     * @return A operação.
+     * @throws IllegalArgumentException Se o nome não corresponder a nenhuma operação.
+     */
+    public static OperacaoCarga getByNome(String nome) {
+        for (OperacaoCarga operacao : values()) {
+            if (operacao.nome.equalsIgnoreCase(nome)) {
+                return operacao;
+            }
+        }
+        throw new IllegalArgumentException("Operação de carga desconhecida: " + nome);
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.rpires.app.gerador;
+
+import br.com.rpires.app.ConfiguracaoAplicacao;
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.domain.Venda;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Configuração do gerador de dados sintéticos, lida do {@code gerador.properties} do classpath
+ * (ou do arquivo em {@code -Dgerador.config}). Argumentos {@code chave=valor} da linha de comando
+ * e propriedades de sistema {@code -Dgerador.<chave>} têm precedência. O banco é o do {@code database.properties}.
+ */
+public final class ConfiguracaoGerador {
+
+    public static final String PROPRIEDADE_ARQUIVO = "gerador.config";
+    public static final String ARQUIVO_PADRAO = "gerador.properties";
+
+    private final ConfiguracaoAplicacao configuracao;
+
+    private ConfiguracaoGerador(ConfiguracaoAplicacao configuracao) {
+        this.configuracao = configuracao;
+    }
+
+    /**
+     * Carrega a configuração, aplicando os argumentos da linha de comando.
+     * @param args Argumentos {@code chave=valor} (ex: {@code vendas=50000000}, {@code semente=7}).
+     * @return A configuração carregada.
+     */
+    public static ConfiguracaoGerador carregar(String[] args) {
+        return new ConfiguracaoGerador(ConfiguracaoAplicacao.carregar(PROPRIEDADE_ARQUIVO, ARQUIVO_PADRAO, "gerador.", args));
+    }
+
+    /**
+     * Semente dos sorteios: a mesma semente e configuração geram exatamente os mesmos dados (chave {@code gerador.semente}).
+     */
+    public long getSemente() {
+        return configuracao.getLong("semente", 42);
+    }
+
+    /**
+     * Threads gerando e gravando blocos em paralelo (chave {@code gerador.threads}, padrão: número de núcleos).
+     */
+    public int getThreads() {
+        return configuracao.getInteiroPositivo("threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getProdutos() {
+        return configuracao.getInteiroPositivo("produtos", 100_000);
+    }
+
+    public long getClientes() {
+        return getLongPositivo("clientes", 1_000_000);
+    }
+
+    public long getVendas() {
+        return getLongPositivo("vendas", 10_000_000);
+    }
+
+    /**
+     * Distribuição da quantidade de itens (produtos distintos) por venda (chave {@code gerador.itensPorVenda}).
+     */
+    PesosDiscretos<Integer> getItensPorVenda() {
+        PesosDiscretos<Integer> pesos = new PesosDiscretos<>("gerador.itensPorVenda",
+                configuracao.get("itensPorVenda", "1:30,2:25,3:18,4:10,5:7,8:6,15:3,30:1"), Integer::valueOf);
+        for (Integer itens : pesos.getValores()) {
+            if (itens <= 0) {
+                throw new IllegalStateException("gerador.itensPorVenda deve ter apenas quantidades positivas: " + pesos);
+            }
+        }
+        return pesos;
+    }
+
+    /**
+     * Distribuição do status das vendas (chave {@code gerador.status}).
+     */
+    PesosDiscretos<Venda.Status> getStatus() {
+        return new PesosDiscretos<>("gerador.status", configuracao.get("status", "CONCLUIDA:80,INICIADA:12,CANCELADA:8"),
+                nome -> Venda.Status.valueOf(nome.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Expoente de Zipf da popularidade dos produtos nas vendas (chave {@code gerador.zipf.produtos}; 0 = uniforme).
+     */
+    public double getExpoenteZipfProdutos() {
+        return configuracao.getDouble("zipf.produtos", 1.0);
+    }
+
+    /**
+     * Expoente de Zipf da frequência de compra dos clientes (chave {@code gerador.zipf.clientes}; 0 = uniforme).
+     */
+    public double getExpoenteZipfClientes() {
+        return configuracao.getDouble("zipf.clientes", 0.5);
+    }
+
+    /**
+     * Quantidade máxima de unidades de um produto em um item; sorteada uniformemente a partir de 1.
+     */
+    public int getQuantidadeMaxima() {
+        return configuracao.getInteiroPositivo("quantidadeMaxima", 5);
+    }
+
+    public LocalDate getDataInicial() {
+        return getData("dataInicial", "2023-01-01");
+    }
+
+    public LocalDate getDataFinal() {
+        return getData("dataFinal", "2025-01-01");
+    }
+
+    /**
+     * Linhas de produtos ou clientes por bloco; cada bloco é gerado e gravado em uma transação.
+     */
+    public int getLinhasPorBloco() {
+        return configuracao.getInteiroPositivo("linhasPorBloco", 50_000);
+    }
+
+    /**
+     * Vendas por bloco; cada bloco grava as vendas e seus itens em uma transação por banco.
+     */
+    public int getVendasPorBloco() {
+        return configuracao.getInteiroPositivo("vendasPorBloco", 10_000);
+    }
+
+    /**
+     * Forma de gravação (chave {@code gerador.modo}): {@code copy} (padrão) ou {@code insert} em lotes.
+     */
+    public String getModo() {
+        return configuracao.get("modo", "copy");
+    }
+
+    /**
+     * Linhas por {@code executeBatch} no modo {@code insert}.
+     */
+    public int getTamanhoLote() {
+        return configuracao.getInteiroPositivo("tamanhoLote", 1_000);
+    }
+
+    /**
+     * Se {@code true}, esvazia as tabelas antes de gerar; senão, o gerador exige tabelas vazias (chave {@code gerador.truncar}).
+     */
+    public boolean isTruncar() {
+        return configuracao.getBoolean("truncar", false);
+    }
+
+    /**
+     * Pool usado nas gravações (chave {@code gerador.pool}, padrão: o pool padrão).
+     */
+    public String getPool() {
+        return configuracao.get("pool", ConnectionFactory.getPoolPadrao());
+    }
+
+    private long getLongPositivo(String chave, long padrao) {
+        long valor = configuracao.getLong(chave, padrao);
+        if (valor <= 0) {
+            throw new IllegalStateException("gerador." + chave + " deve ser maior que zero: " + valor);
+        }
+        return valor;
+    }
+
+    private LocalDate getData(String chave, String padrao) {
+        String valor = configuracao.get(chave, padrao);
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalStateException("Valor inválido para gerador." + chave + " (use AAAA-MM-DD): " + valor, e);
+        }
+    }
+}
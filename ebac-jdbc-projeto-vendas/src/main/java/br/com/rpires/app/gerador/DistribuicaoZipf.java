@@ -0,0 +1,80 @@
+package br.com.rpires.app.gerador;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribuição de Zipf sobre {@code n} elementos: o elemento de posição {@code k} (1 = mais popular) é sorteado
+ * com probabilidade proporcional a {@code 1 / k^expoente}. Expoente 0 é a distribuição uniforme; em torno de 1,
+ * poucos elementos concentram a maior parte dos sorteios, como a popularidade de produtos em um catálogo.
+ * <p>
+ * As posições são espalhadas pelos índices com uma permutação fixa ({@code indice = posicao * passo mod n}),
+ * para que os elementos populares não sejam só os primeiros IDs. Imutável, compartilhada entre as threads.
+ * </p>
+ */
+final class DistribuicaoZipf {
+
+    private final int n;
+    private final double[] acumulada; // null na distribuição uniforme
+    private final long passo;
+
+    DistribuicaoZipf(int n, double expoente) {
+        if (n <= 0 || expoente < 0) {
+            throw new IllegalArgumentException("Zipf requer n > 0 e expoente >= 0: n=" + n + ", expoente=" + expoente);
+        }
+        this.n = n;
+        if (expoente == 0) {
+            this.acumulada = null;
+        } else {
+            this.acumulada = new double[n];
+            double soma = 0;
+            for (int k = 0; k < n; k++) {
+                soma += 1.0 / Math.pow(k + 1, expoente);
+                acumulada[k] = soma;
+            }
+            for (int k = 0; k < n; k++) {
+                acumulada[k] /= soma;
+            }
+        }
+        this.passo = passoCoprimo(n);
+    }
+
+    private static long passoCoprimo(int n) {
+        long passo = 2_654_435_761L % n; // Constante de Knuth: espalha posições vizinhas
+        if (passo == 0) {
+            passo = 1;
+        }
+        while (mdc(passo, n) != 1) {
+            passo++;
+        }
+        return passo;
+    }
+
+    private static long mdc(long a, long b) {
+        while (b != 0) {
+            long resto = a % b;
+            a = b;
+            b = resto;
+        }
+        return a;
+    }
+
+    /**
+     * Sorteia um índice entre 0 e {@code n - 1}.
+     */
+    int sortear(SplittableRandom aleatorio) {
+        if (acumulada == null) {
+            return aleatorio.nextInt(n);
+        }
+        int posicao = Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+        if (posicao < 0) {
+            posicao = -posicao - 1; // Ponto de inserção: primeira posição com acumulada > sorteio
+        }
+        posicao = Math.min(posicao, n - 1);
+        return (int) (posicao * passo % n);
+    }
+
+    int getTamanho() {
+        return n;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.rpires.app.gerador;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Grava as linhas com {@code INSERT} em lotes ({@code addBatch}/{@code executeBatch}), para bancos
+ * ou proxies que não aceitam {@code COPY}. Com {@code reWriteBatchedInserts=true} na URL JDBC,
+ * o driver reescreve cada lote em inserções de várias linhas.
+ */
+final class EscritorInsert implements EscritorLinhas {
+
+    private final int tamanhoLote;
+
+    EscritorInsert(int tamanhoLote) {
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public void escrever(Connection conexao, TabelaGerada tabela, List<Object[]> linhas) throws SQLException {
+        if (linhas.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO " + tabela.getNome() + " " + tabela.getListaColunas()
+                + " VALUES (" + String.join(",", Collections.nCopies(tabela.getColunas().size(), "?")) + ")";
+        try (PreparedStatement stm = conexao.prepareStatement(sql)) {
+            int pendentes = 0;
+            for (Object[] linha : linhas) {
+                for (int i = 0; i < linha.length; i++) {
+                    stm.setObject(i + 1, linha[i]);
+                }
+                stm.addBatch();
+                if (++pendentes == tamanhoLote) {
+                    stm.executeBatch();
+                    pendentes = 0;
+                }
+            }
+            if (pendentes > 0) {
+                stm.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.rpires.app.gerador;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Grava um lote de linhas geradas em uma tabela, na conexão (e transação) informada.
+ * Os valores de cada linha seguem a ordem de {@link TabelaGerada#getColunas()}.
+ */
+interface EscritorLinhas {
+
+    /**
+     * Grava as linhas.
+     * @param conexao A conexão, com a transação do lote aberta.
+     * @param tabela A tabela.
+     * @param linhas As linhas ({@code Long}, {@code Integer}, {@code String}, {@code BigDecimal} ou {@code Timestamp}).
+     * @throws SQLException Se a gravação falhar.
+     */
+    void escrever(Connection conexao, TabelaGerada tabela, List<Object[]> linhas) throws SQLException;
+
+    /**
+     * Cria o escritor do modo configurado.
+     * @param modo {@code copy} ou {@code insert}.
+     * @param tamanhoLote Linhas por {@code executeBatch} no modo {@code insert}.
+     * @return O escritor.
+     * @throws IllegalStateException Se o modo for desconhecido.
+     */
+    static EscritorLinhas criar(String modo, int tamanhoLote) {
+        switch (modo.toLowerCase(Locale.ROOT)) {
+            case "copy":
+                return new EscritorCopy();
+            case "insert":
+                return new EscritorInsert(tamanhoLote);
+            default:
+                throw new IllegalStateException("Valor inválido para gerador.modo (use copy ou insert): " + modo);
+        }
+    }
+}
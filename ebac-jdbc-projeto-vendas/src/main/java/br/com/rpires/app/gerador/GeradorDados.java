@@ -0,0 +1,475 @@
+package br.com.rpires.app.gerador;
+
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.domain.Venda;
+import br.com.rpires.exceptions.DAOException;
+import br.com.rpires.exceptions.SobrecargaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de dados sintéticos em grande volume para TB_PRODUTO, TB_CLIENTE, TB_VENDA e TB_PRODUTO_QUANTIDADE.
+ * <p>
+ * Cada tabela é dividida em blocos de tamanho fixo, gerados e gravados em paralelo ({@code COPY} ou
+ * inserções em lote), um bloco por transação. Os sorteios de cada bloco usam um gerador próprio derivado
+ * da semente, da tabela e do número do bloco, então o resultado não depende da ordem de execução nem do
+ * número de threads: a mesma configuração gera sempre os mesmos dados. Os IDs são explícitos (1..N);
+ * os IDs dos itens vêm de uma contagem prévia dos itens de cada bloco de vendas. Ao final as sequências
+ * são ajustadas ({@code setval}) para que os DAOs continuem a partir do último ID, e as tabelas são analisadas.
+ * </p>
+ * <p>
+ * Distribuições configuráveis: itens por venda, status, popularidade dos produtos e frequência de compra
+ * dos clientes (Zipf), quantidade por item e período das vendas. Com particionamento, clientes, vendas e itens
+ * vão para o shard do CPF do cliente e o catálogo de produtos é gravado em todos os bancos.
+ * </p>
+ */
+public final class GeradorDados {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeradorDados.class);
+
+    // Fluxos de números aleatórios independentes: mudar um não altera os demais
+    private static final int FLUXO_PRODUTOS = 1;
+    private static final int FLUXO_CLIENTES = 2;
+    private static final int FLUXO_ITENS_POR_VENDA = 3;
+    private static final int FLUXO_VENDAS = 4;
+
+    private static final long CPF_BASE = 20_000_000_000L; // CPF do cliente i: CPF_BASE + i
+    private static final int TENTATIVAS_SOBRECARGA = 50;
+    private static final AtomicInteger CONTADOR_THREADS = new AtomicInteger();
+
+    private static final String[] LOGRADOUROS = {"Rua das Flores", "Av. Paulista", "Rua XV de Novembro", "Av. Atlântica",
+            "Rua da Consolação", "Av. Brasil", "Rua Augusta", "Av. Sete de Setembro", "Rua do Comércio", "Av. Beira Mar"};
+    private static final String[][] CIDADES = {{"São Paulo", "SP"}, {"Rio de Janeiro", "RJ"}, {"Belo Horizonte", "MG"},
+            {"Salvador", "BA"}, {"Curitiba", "PR"}, {"Porto Alegre", "RS"}, {"Recife", "PE"}, {"Fortaleza", "CE"},
+            {"Brasília", "DF"}, {"Manaus", "AM"}, {"Campinas", "SP"}, {"Goiânia", "GO"}};
+
+    private final ConfiguracaoGerador configuracao;
+    private final long semente;
+    private final int produtos;
+    private final long clientes;
+    private final long vendas;
+    private final int linhasPorBloco;
+    private final int vendasPorBloco;
+    private final int quantidadeMaxima;
+    private final long inicioPeriodoSegundos;
+    private final long duracaoPeriodoSegundos;
+    private final PesosDiscretos<Integer> itensPorVenda;
+    private final PesosDiscretos<Venda.Status> status;
+    private final DistribuicaoZipf popularidadeProdutos;
+    private final DistribuicaoZipf frequenciaClientes;
+    private final EscritorLinhas escritor;
+    private final String pool;
+    private final List<String> bancos = new ArrayList<>(); // null = banco de jdbc.url, mais os shards
+    private ExecutorService executor;
+
+    public GeradorDados(ConfiguracaoGerador configuracao) {
+        this.configuracao = configuracao;
+        this.semente = configuracao.getSemente();
+        this.produtos = configuracao.getProdutos();
+        this.clientes = configuracao.getClientes();
+        this.vendas = configuracao.getVendas();
+        this.linhasPorBloco = configuracao.getLinhasPorBloco();
+        this.vendasPorBloco = configuracao.getVendasPorBloco();
+        this.quantidadeMaxima = configuracao.getQuantidadeMaxima();
+        ZoneId zona = ZoneId.systemDefault(); // Mesma zona usada pelo driver ao gravar Timestamp
+        this.inicioPeriodoSegundos = configuracao.getDataInicial().atStartOfDay(zona).toEpochSecond();
+        this.duracaoPeriodoSegundos = configuracao.getDataFinal().atStartOfDay(zona).toEpochSecond() - inicioPeriodoSegundos;
+        if (duracaoPeriodoSegundos <= 0) {
+            throw new IllegalStateException("gerador.dataFinal deve ser posterior a gerador.dataInicial.");
+        }
+        if (clientes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("gerador.clientes deve ser no máximo " + Integer.MAX_VALUE + ": " + clientes);
+        }
+        this.itensPorVenda = configuracao.getItensPorVenda();
+        this.status = configuracao.getStatus();
+        this.popularidadeProdutos = new DistribuicaoZipf(produtos, configuracao.getExpoenteZipfProdutos());
+        this.frequenciaClientes = new DistribuicaoZipf((int) clientes, configuracao.getExpoenteZipfClientes());
+        this.escritor = EscritorLinhas.criar(configuracao.getModo(), configuracao.getTamanhoLote());
+        this.pool = configuracao.getPool();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new GeradorDados(ConfiguracaoGerador.carregar(args)).executar();
+    }
+
+    /**
+     * Gera e grava todos os dados.
+     * @throws DAOException Se as tabelas não estiverem vazias (sem {@code gerador.truncar=true}) ou a gravação falhar.
+     * @throws InterruptedException Se a thread for interrompida.
+     */
+    public void executar() throws DAOException, InterruptedException {
+        ConnectionFactory.iniciar();
+        bancos.add(null);
+        bancos.addAll(ConnectionFactory.getShards());
+        int threads = configuracao.getThreads();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "gerador-" + CONTADOR_THREADS.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long inicio = System.nanoTime();
+        try {
+            LOGGER.info("Gerando {} produtos, {} clientes e {} vendas (semente {}, {} threads, modo {}) em {} banco(s).",
+                    produtos, clientes, vendas, semente, threads, configuracao.getModo(), bancos.size());
+            LOGGER.info("Itens por venda: {}. Status: {}. Zipf produtos={}, clientes={}.", itensPorVenda, status,
+                    configuracao.getExpoenteZipfProdutos(), configuracao.getExpoenteZipfClientes());
+            prepararTabelas();
+            executarEmBlocos("produtos", produtos, linhasPorBloco, this::gerarProdutos);
+            executarEmBlocos("clientes", clientes, linhasPorBloco, this::gerarClientes);
+            long[] primeiroItemDoBloco = contarItens();
+            long itens = primeiroItemDoBloco[primeiroItemDoBloco.length - 1];
+            executarEmBlocos("vendas", vendas, vendasPorBloco, bloco -> gerarVendas(bloco, primeiroItemDoBloco[(int) bloco]));
+            ajustarSequencias(itens);
+            analisar();
+            long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio));
+            long total = produtos + clientes + vendas + itens;
+            LOGGER.info("Geração concluída em {} s: {} produtos, {} clientes, {} vendas, {} itens ({} linhas/s).",
+                    segundos, produtos, clientes, vendas, itens, total / segundos);
+        } finally {
+            executor.shutdownNow();
+            ConnectionFactory.closeDataSource();
+        }
+    }
+
+    /**
+     * Esvazia as tabelas ({@code gerador.truncar=true}) ou confirma que estão vazias, já que os IDs gerados começam em 1.
+     */
+    private void prepararTabelas() throws DAOException, InterruptedException {
+        for (String banco : bancos) {
+            Connection connection = null;
+            Statement stm = null;
+            ResultSet rs = null;
+            try {
+                connection = obterConexao(banco);
+                stm = connection.createStatement();
+                if (configuracao.isTruncar()) {
+                    stm.execute("TRUNCATE TABLE TB_PRODUTO_QUANTIDADE, TB_VENDA, TB_PRODUTO, TB_CLIENTE");
+                    LOGGER.warn("Tabelas esvaziadas no banco {}.", nomeBanco(banco));
+                    continue;
+                }
+                for (TabelaGerada tabela : TabelaGerada.values()) {
+                    rs = stm.executeQuery("SELECT EXISTS (SELECT 1 FROM " + tabela.getNome() + ")");
+                    if (rs.next() && rs.getBoolean(1)) {
+                        throw new DAOException("TABELA " + tabela.getNome() + " NAO ESTA VAZIA NO BANCO " + nomeBanco(banco)
+                                + ". Esvazie as tabelas ou use gerador.truncar=true.");
+                    }
+                    rs.close();
+                }
+            } catch (SQLException e) {
+                LOGGER.error("Erro ao preparar as tabelas no banco {}: {}", nomeBanco(banco), e.getMessage(), e);
+                throw new DAOException("ERRO AO PREPARAR AS TABELAS PARA A GERACAO. Detalhes: " + e.getMessage(), e);
+            } finally {
+                fechar(connection, stm, rs);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TarefaBloco {
+        void executar(long bloco) throws Exception;
+    }
+
+    /**
+     * Executa a tarefa para cada bloco da tabela em paralelo, registrando o progresso.
+     * Na primeira falha, cancela os blocos restantes.
+     */
+    private void executarEmBlocos(String nome, long linhas, int linhasPorBloco, TarefaBloco tarefa) throws DAOException, InterruptedException {
+        long blocos = (linhas + linhasPorBloco - 1) / linhasPorBloco;
+        CompletionService<Long> conclusoes = new ExecutorCompletionService<>(executor);
+        List<Future<Long>> futuros = new ArrayList<>();
+        for (long bloco = 0; bloco < blocos; bloco++) {
+            long numero = bloco;
+            futuros.add(conclusoes.submit(() -> {
+                tarefa.executar(numero);
+                return numero;
+            }));
+        }
+        long inicio = System.nanoTime();
+        long proximoRelatorio = Math.max(1, blocos / 20); // A cada 5%
+        try {
+            for (long concluidos = 1; concluidos <= blocos; concluidos++) {
+                conclusoes.take().get();
+                if (concluidos % proximoRelatorio == 0 || concluidos == blocos) {
+                    long linhasConcluidas = Math.min(linhas, concluidos * linhasPorBloco);
+                    double segundos = Math.max(1e-3, (System.nanoTime() - inicio) / 1e9);
+                    LOGGER.info("{}: {}/{} ({}%), {} linhas/s", nome, linhasConcluidas, linhas,
+                            100 * concluidos / blocos, (long) (linhasConcluidas / segundos));
+                }
+            }
+        } catch (ExecutionException e) {
+            futuros.forEach(futuro -> futuro.cancel(true));
+            Throwable causa = e.getCause();
+            LOGGER.error("Erro ao gerar {}: {}", nome, causa.getMessage(), causa);
+            throw new DAOException("ERRO AO GERAR " + nome.toUpperCase() + ". Detalhes: " + causa.getMessage(), causa);
+        }
+    }
+
+    private void gerarProdutos(long bloco) throws DAOException, SQLException, InterruptedException {
+        long primeiro = bloco * linhasPorBloco;
+        long ultimo = Math.min(produtos, primeiro + linhasPorBloco);
+        List<Object[]> linhas = new ArrayList<>((int) (ultimo - primeiro));
+        for (long i = primeiro; i < ultimo; i++) {
+            long id = i + 1;
+            linhas.add(new Object[]{id, "GEN-P" + id, "Produto " + id, "Produto gerado " + id + " (semente " + semente + ")",
+                    BigDecimal.valueOf(precoCentavos((int) i), 2)});
+        }
+        for (String banco : bancos) { // Catálogo replicado: as vendas de cada shard referenciam os produtos localmente
+            Map<TabelaGerada, List<Object[]>> tabelas = new EnumMap<>(TabelaGerada.class);
+            tabelas.put(TabelaGerada.PRODUTO, linhas);
+            gravar(banco, tabelas);
+        }
+    }
+
+    private void gerarClientes(long bloco) throws DAOException, SQLException, InterruptedException {
+        SplittableRandom aleatorio = aleatorio(FLUXO_CLIENTES, bloco);
+        long primeiro = bloco * linhasPorBloco;
+        long ultimo = Math.min(clientes, primeiro + linhasPorBloco);
+        Map<String, Map<TabelaGerada, List<Object[]>>> porBanco = new HashMap<>();
+        for (long i = primeiro; i < ultimo; i++) {
+            long id = i + 1;
+            long cpf = CPF_BASE + i;
+            String[] cidade = CIDADES[aleatorio.nextInt(CIDADES.length)];
+            Object[] linha = {id, "Cliente " + id, cpf, 11_900_000_000L + aleatorio.nextInt(100_000_000),
+                    LOGRADOUROS[aleatorio.nextInt(LOGRADOUROS.length)], 1 + aleatorio.nextInt(5_000), cidade[0], cidade[1]};
+            linhasDe(porBanco, ConnectionFactory.getShard(cpf), TabelaGerada.CLIENTE).add(linha);
+        }
+        for (Map.Entry<String, Map<TabelaGerada, List<Object[]>>> banco : porBanco.entrySet()) {
+            gravar(banco.getKey(), banco.getValue());
+        }
+    }
+
+    /**
+     * Conta os itens de cada bloco de vendas, sorteando só as quantidades (fluxo próprio, repetido na geração).
+     * @return O ID do primeiro item de cada bloco menos 1; a última posição é o total de itens.
+     */
+    private long[] contarItens() throws DAOException, InterruptedException {
+        int blocos = (int) ((vendas + vendasPorBloco - 1) / vendasPorBloco);
+        long[] itensDoBloco = new long[blocos];
+        executarEmBlocos("contagem de itens", vendas, vendasPorBloco, bloco -> {
+            SplittableRandom aleatorio = aleatorio(FLUXO_ITENS_POR_VENDA, bloco);
+            long total = 0;
+            for (long v = bloco * vendasPorBloco, fim = Math.min(vendas, v + vendasPorBloco); v < fim; v++) {
+                total += sortearItensPorVenda(aleatorio);
+            }
+            itensDoBloco[(int) bloco] = total; // Cada posição escrita por uma única tarefa; lida após take().get()
+        });
+        long[] primeiroItem = new long[blocos + 1];
+        for (int b = 0; b < blocos; b++) {
+            primeiroItem[b + 1] = primeiroItem[b] + itensDoBloco[b];
+        }
+        return primeiroItem;
+    }
+
+    private int sortearItensPorVenda(SplittableRandom aleatorio) {
+        return Math.min(itensPorVenda.sortear(aleatorio), produtos);
+    }
+
+    private void gerarVendas(long bloco, long ultimoItemAnterior) throws DAOException, SQLException, InterruptedException {
+        SplittableRandom aleatorioItens = aleatorio(FLUXO_ITENS_POR_VENDA, bloco);
+        SplittableRandom aleatorio = aleatorio(FLUXO_VENDAS, bloco);
+        long idItem = ultimoItemAnterior;
+        Map<String, Map<TabelaGerada, List<Object[]>>> porBanco = new HashMap<>();
+        int[] escolhidos = new int[produtos];
+        for (long v = bloco * vendasPorBloco, fim = Math.min(vendas, v + vendasPorBloco); v < fim; v++) {
+            long id = v + 1;
+            int cliente = frequenciaClientes.sortear(aleatorio);
+            String banco = ConnectionFactory.getShard(CPF_BASE + cliente); // Venda fica no shard do cliente
+            int quantidadeItens = sortearItensPorVenda(aleatorioItens);
+            List<Object[]> itens = linhasDe(porBanco, banco, TabelaGerada.PRODUTO_QUANTIDADE);
+            long totalCentavos = 0;
+            for (int i = 0; i < quantidadeItens; i++) {
+                int produto = sortearProdutoDistinto(aleatorio, escolhidos, i);
+                escolhidos[i] = produto;
+                int quantidade = 1 + aleatorio.nextInt(quantidadeMaxima);
+                long valorCentavos = precoCentavos(produto) * quantidade;
+                totalCentavos += valorCentavos;
+                itens.add(new Object[]{++idItem, produto + 1L, id, quantidade, BigDecimal.valueOf(valorCentavos, 2)});
+            }
+            Timestamp data = new Timestamp((inicioPeriodoSegundos + aleatorio.nextLong(duracaoPeriodoSegundos)) * 1_000);
+            linhasDe(porBanco, banco, TabelaGerada.VENDA).add(new Object[]{id, "GEN-V" + id, cliente + 1L,
+                    BigDecimal.valueOf(totalCentavos, 2), data, status.sortear(aleatorio).name()});
+        }
+        for (Map.Entry<String, Map<TabelaGerada, List<Object[]>>> banco : porBanco.entrySet()) {
+            gravar(banco.getKey(), banco.getValue()); // Vendas antes dos itens (ordem do EnumMap), na mesma transação
+        }
+    }
+
+    /**
+     * Sorteia um produto pela popularidade, diferente dos já escolhidos para a venda
+     * (o mesmo produto não se repete em uma venda, como em {@code Venda.adicionarProduto}).
+     */
+    private int sortearProdutoDistinto(SplittableRandom aleatorio, int[] escolhidos, int quantidadeEscolhidos) {
+        int produto = popularidadeProdutos.sortear(aleatorio);
+        for (int tentativa = 0; contem(escolhidos, quantidadeEscolhidos, produto); tentativa++) {
+            // Depois de algumas tentativas, pega o próximo livre para não depender da sorte em catálogos pequenos
+            produto = tentativa < 8 ? popularidadeProdutos.sortear(aleatorio) : (produto + 1) % produtos;
+        }
+        return produto;
+    }
+
+    private static boolean contem(int[] valores, int quantidade, int valor) {
+        for (int i = 0; i < quantidade; i++) {
+            if (valores[i] == valor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Preço do produto, em centavos: função da semente e do índice, usada tanto no catálogo quanto nos itens.
+     */
+    private long precoCentavos(int produto) {
+        long hash = misturar(semente ^ misturar(((long) FLUXO_PRODUTOS << 48) ^ produto));
+        return 199 + Math.floorMod(hash, 499_800L); // R$ 1,99 a R$ 4.999,98
+    }
+
+    private SplittableRandom aleatorio(int fluxo, long bloco) {
+        return new SplittableRandom(misturar(semente ^ misturar(((long) fluxo << 48) ^ bloco)));
+    }
+
+    /**
+     * Finalizador do SplitMix64: espalha bits de entradas próximas (blocos vizinhos geram sementes sem correlação).
+     */
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static List<Object[]> linhasDe(Map<String, Map<TabelaGerada, List<Object[]>>> porBanco, String banco, TabelaGerada tabela) {
+        return porBanco.computeIfAbsent(banco, b -> new EnumMap<>(TabelaGerada.class))
+                .computeIfAbsent(tabela, t -> new ArrayList<>());
+    }
+
+    /**
+     * Grava as linhas das tabelas em uma única transação no banco informado.
+     */
+    private void gravar(String banco, Map<TabelaGerada, List<Object[]>> tabelas) throws DAOException, SQLException, InterruptedException {
+        Connection connection = obterConexao(banco);
+        try {
+            connection.setAutoCommit(false);
+            for (Map.Entry<TabelaGerada, List<Object[]>> tabela : tabelas.entrySet()) {
+                escritor.escrever(connection, tabela.getKey(), tabela.getValue());
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true); // A conexão volta ao pool no modo padrão
+            ConnectionFactory.closeConnection(connection, null, null);
+        }
+    }
+
+    /**
+     * Obtém uma conexão do pool de gravação, insistindo quando o controle de admissão rejeita por sobrecarga
+     * (as threads do gerador mantêm o pool ocupado de propósito).
+     */
+    private Connection obterConexao(String banco) throws DAOException, InterruptedException {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return ConnectionFactory.getConnection(pool, banco);
+            } catch (SobrecargaException e) {
+                if (tentativa >= TENTATIVAS_SOBRECARGA) {
+                    throw e;
+                }
+                Thread.sleep(Math.min(1_000, 20L * tentativa));
+            }
+        }
+    }
+
+    /**
+     * Ajusta as sequências ao último ID gerado, para que os cadastros pelos DAOs continuem depois dele.
+     */
+    private void ajustarSequencias(long itens) throws DAOException, InterruptedException {
+        Map<TabelaGerada, Long> ultimosIds = new EnumMap<>(TabelaGerada.class);
+        ultimosIds.put(TabelaGerada.PRODUTO, (long) produtos);
+        ultimosIds.put(TabelaGerada.CLIENTE, clientes);
+        ultimosIds.put(TabelaGerada.VENDA, vendas);
+        ultimosIds.put(TabelaGerada.PRODUTO_QUANTIDADE, itens);
+        for (String banco : bancos) {
+            Connection connection = null;
+            PreparedStatement stm = null;
+            try {
+                connection = obterConexao(banco);
+                stm = connection.prepareStatement("SELECT setval(?, ?)");
+                for (Map.Entry<TabelaGerada, Long> ultimo : ultimosIds.entrySet()) {
+                    if (ultimo.getValue() > 0) {
+                        stm.setString(1, ultimo.getKey().getSequencia());
+                        stm.setLong(2, ultimo.getValue());
+                        stm.execute();
+                    }
+                }
+            } catch (SQLException e) {
+                LOGGER.error("Erro ao ajustar as sequências no banco {}: {}", nomeBanco(banco), e.getMessage(), e);
+                throw new DAOException("ERRO AO AJUSTAR AS SEQUENCIAS APOS A GERACAO. Detalhes: " + e.getMessage(), e);
+            } finally {
+                ConnectionFactory.closeConnection(connection, stm, null);
+            }
+        }
+    }
+
+    /**
+     * Atualiza as estatísticas do planejador para as tabelas recém-preenchidas.
+     */
+    private void analisar() throws DAOException, InterruptedException {
+        for (String banco : bancos) {
+            Connection connection = null;
+            Statement stm = null;
+            try {
+                connection = obterConexao(banco);
+                stm = connection.createStatement();
+                for (TabelaGerada tabela : TabelaGerada.values()) {
+                    stm.execute("ANALYZE " + tabela.getNome());
+                }
+            } catch (SQLException e) {
+                LOGGER.warn("Não foi possível analisar as tabelas no banco {}: {}", nomeBanco(banco), e.getMessage());
+            } finally {
+                fechar(connection, stm, null);
+            }
+        }
+    }
+
+    private static void fechar(Connection connection, Statement stm, ResultSet rs) {
+        try {
+            if (rs != null && !rs.isClosed()) {
+                rs.close();
+            }
+            if (stm != null && !stm.isClosed()) {
+                stm.close();
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Erro ao fechar recursos do banco: {}", e.getMessage(), e);
+        }
+        ConnectionFactory.closeConnection(connection, null, null);
+    }
+
+    private static String nomeBanco(String banco) {
+        return banco != null ? banco : "padrao";
+    }
+}
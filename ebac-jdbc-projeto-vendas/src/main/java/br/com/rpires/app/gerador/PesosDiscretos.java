@@ -0,0 +1,74 @@
+package br.com.rpires.app.gerador;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Distribuição discreta definida por pesos, no formato {@code valor:peso,valor:peso}
+ * (ex: {@code CONCLUIDA:80,INICIADA:15,CANCELADA:5}). Imutável, compartilhada entre as threads.
+ * @param <V> O tipo dos valores.
+ */
+final class PesosDiscretos<V> {
+
+    private final List<V> valores = new ArrayList<>();
+    private final long[] pesosAcumulados;
+    private final long pesoTotal;
+    private final String descricao;
+
+    /**
+     * Interpreta a especificação dos pesos.
+     * @param chave A chave de configuração, para as mensagens de erro.
+     * @param especificacao Os pares {@code valor:peso} separados por vírgula.
+     * @param conversor Converte o texto de cada valor.
+     * @throws IllegalStateException Se a especificação for inválida.
+     */
+    PesosDiscretos(String chave, String especificacao, Function<String, V> conversor) {
+        String[] itens = especificacao.split(",");
+        this.pesosAcumulados = new long[itens.length];
+        long acumulado = 0;
+        for (int i = 0; i < itens.length; i++) {
+            String[] partes = itens[i].trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalStateException("Item inválido em " + chave + " (esperado valor:peso): " + itens[i]);
+            }
+            long peso;
+            try {
+                valores.add(conversor.apply(partes[0].trim()));
+                peso = Long.parseLong(partes[1].trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Item inválido em " + chave + ": " + itens[i] + ". " + e.getMessage(), e);
+            }
+            if (peso < 0) {
+                throw new IllegalStateException("Peso negativo em " + chave + ": " + itens[i]);
+            }
+            acumulado += peso;
+            pesosAcumulados[i] = acumulado;
+        }
+        if (acumulado == 0) {
+            throw new IllegalStateException(chave + " precisa de ao menos um peso positivo.");
+        }
+        this.pesoTotal = acumulado;
+        this.descricao = especificacao;
+    }
+
+    V sortear(SplittableRandom aleatorio) {
+        long sorteio = aleatorio.nextLong(pesoTotal);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (sorteio < pesosAcumulados[i]) {
+                return valores.get(i);
+            }
+        }
+        return valores.get(valores.size() - 1); // Não alcançado
+    }
+
+    List<V> getValores() {
+        return valores;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
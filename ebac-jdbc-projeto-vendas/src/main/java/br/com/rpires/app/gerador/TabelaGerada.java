@@ -0,0 +1,44 @@
+package br.com.rpires.app.gerador;
+
+import java.util.List;
+
+/**
+ * Tabelas preenchidas pelo gerador, com as colunas na ordem das linhas geradas
+ * (as mesmas das instruções de inserção dos DAOs, com o ID explícito) e a sequência do ID.
+ */
+enum TabelaGerada {
+    PRODUTO("TB_PRODUTO", "sq_produto", List.of("ID", "CODIGO", "NOME", "DESCRICAO", "VALOR")),
+    CLIENTE("TB_CLIENTE", "sq_cliente", List.of("ID", "NOME", "CPF", "TEL", "ENDERECO", "NUMERO", "CIDADE", "ESTADO")),
+    VENDA("TB_VENDA", "sq_venda", List.of("ID", "CODIGO", "ID_CLIENTE_FK", "VALOR_TOTAL", "DATA_VENDA", "STATUS_VENDA")),
+    PRODUTO_QUANTIDADE("TB_PRODUTO_QUANTIDADE", "sq_produto_quantidade",
+            List.of("ID", "ID_PRODUTO_FK", "ID_VENDA_FK", "QUANTIDADE", "VALOR_TOTAL"));
+
+    private final String nome;
+    private final String sequencia;
+    private final List<String> colunas;
+
+    TabelaGerada(String nome, String sequencia, List<String> colunas) {
+        this.nome = nome;
+        this.sequencia = sequencia;
+        this.colunas = colunas;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getSequencia() {
+        return sequencia;
+    }
+
+    public List<String> getColunas() {
+        return colunas;
+    }
+
+    /**
+     * Retorna a lista de colunas para as instruções SQL, ex: {@code (ID, CODIGO, NOME)}.
+     */
+    String getListaColunas() {
+        return "(" + String.join(", ", colunas) + ")";
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.rpires.app.planos;
+
+import br.com.rpires.app.ConfiguracaoAplicacao;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Configuração da verificação de planos, lida do {@code planos.properties} do classpath (ou do arquivo em
+ * {@code -Dplanos.config}). Argumentos {@code chave=valor} da linha de comando e propriedades de sistema
+ * {@code -Dplanos.<chave>} têm precedência. O banco é o do {@code database.properties}.
+ */
+public final class ConfiguracaoPlanos {
+
+    public static final String PROPRIEDADE_ARQUIVO = "planos.config";
+    public static final String ARQUIVO_PADRAO = "planos.properties";
+
+    private final ConfiguracaoAplicacao configuracao;
+
+    private ConfiguracaoPlanos(ConfiguracaoAplicacao configuracao) {
+        this.configuracao = configuracao;
+    }
+
+    /**
+     * Carrega a configuração, aplicando os argumentos da linha de comando.
+     * @param args Argumentos {@code chave=valor} (ex: {@code maximoBuffers=50}).
+     * @return A configuração carregada.
+     */
+    public static ConfiguracaoPlanos carregar(String[] args) {
+        return new ConfiguracaoPlanos(ConfiguracaoAplicacao.carregar(PROPRIEDADE_ARQUIVO, ARQUIVO_PADRAO, "planos.", args));
+    }
+
+    /**
+     * Tabelas que não podem aparecer em um {@code Seq Scan} (chave {@code planos.tabelasSemSeqScan}).
+     */
+    public Set<String> getTabelasSemSeqScan() {
+        Set<String> tabelas = new LinkedHashSet<>();
+        for (String tabela : configuracao.get("tabelasSemSeqScan", "TB_VENDA,TB_PRODUTO_QUANTIDADE").split(",")) {
+            if (!tabela.isBlank()) {
+                tabelas.add(tabela.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return tabelas;
+    }
+
+    /**
+     * Máximo de blocos lidos (shared hit + read) por execução de uma consulta (chave {@code planos.maximoBuffers}).
+     */
+    public long getMaximoBuffers() {
+        long maximo = configuracao.getLong("maximoBuffers", 200);
+        if (maximo <= 0) {
+            throw new IllegalStateException("planos.maximoBuffers deve ser maior que zero: " + maximo);
+        }
+        return maximo;
+    }
+
+    /**
+     * Linhas de exemplo lidas de cada tabela para preencher os parâmetros das instruções
+     * (as listas de {@code ANY(?)} recebem todas; os demais parâmetros, a primeira).
+     */
+    public int getLinhasAmostra() {
+        return configuracao.getInteiroPositivo("linhasAmostra", 10);
+    }
+
+    /**
+     * Se {@code true}, registra o plano de todas as instruções, não só das que regrediram (chave {@code planos.exibirPlanos}).
+     */
+    public boolean isExibirPlanos() {
+        return configuracao.getBoolean("exibirPlanos", false);
+    }
+
+    /**
+     * Se {@code true}, instruções sem dados de exemplo são só registradas; por padrão reprovam a verificação
+     * (chave {@code planos.permitirIgnoradas}).
+     */
+    public boolean isPermitirIgnoradas() {
+        return configuracao.getBoolean("permitirIgnoradas", false);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.rpires.app.planos;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plano de uma instrução, lido da saída em texto do {@code EXPLAIN}: as tabelas percorridas por inteiro
+ * ({@code Seq Scan}) e, com {@code ANALYZE, BUFFERS}, os blocos lidos e o tempo de execução.
+ */
+final class PlanoExecucao {
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)"); // Também "Parallel Seq Scan on"
+    private static final Pattern BUFFERS = Pattern.compile("Buffers: shared(?: hit=(\\d+))?(?: read=(\\d+))?");
+    private static final Pattern TEMPO_EXECUCAO = Pattern.compile("Execution Time: ([\\d.]+) ms");
+
+    private final List<String> linhas;
+    private final Set<String> tabelasSeqScan;
+    private final long buffers;
+    private final double tempoExecucaoMillis;
+
+    private PlanoExecucao(List<String> linhas, Set<String> tabelasSeqScan, long buffers, double tempoExecucaoMillis) {
+        this.linhas = linhas;
+        this.tabelasSeqScan = tabelasSeqScan;
+        this.buffers = buffers;
+        this.tempoExecucaoMillis = tempoExecucaoMillis;
+    }
+
+    /**
+     * Lê o plano a partir das linhas retornadas pelo {@code EXPLAIN}.
+     * @param linhas As linhas do plano, na ordem retornada.
+     * @return O plano lido.
+     */
+    static PlanoExecucao ler(List<String> linhas) {
+        Set<String> tabelasSeqScan = new LinkedHashSet<>();
+        long buffers = -1;
+        double tempoExecucaoMillis = -1;
+        boolean planejamento = false;
+        for (String linha : linhas) {
+            Matcher seqScan = SEQ_SCAN.matcher(linha);
+            if (seqScan.find()) {
+                tabelasSeqScan.add(seqScan.group(1).toUpperCase(Locale.ROOT));
+            }
+            planejamento |= linha.trim().startsWith("Planning");
+            Matcher leituras = BUFFERS.matcher(linha);
+            // A primeira linha de Buffers é a do nó raiz, que soma os nós filhos; as do planejamento não contam
+            if (buffers < 0 && !planejamento && leituras.find()) {
+                buffers = valor(leituras.group(1)) + valor(leituras.group(2));
+            }
+            Matcher tempo = TEMPO_EXECUCAO.matcher(linha);
+            if (tempo.find()) {
+                tempoExecucaoMillis = Double.parseDouble(tempo.group(1));
+            }
+        }
+        if (buffers < 0 && tempoExecucaoMillis >= 0) {
+            buffers = 0; // Executada sem ler nenhum bloco
+        }
+        return new PlanoExecucao(Collections.unmodifiableList(linhas), Collections.unmodifiableSet(tabelasSeqScan), buffers, tempoExecucaoMillis);
+    }
+
+    private static long valor(String numero) {
+        return numero != null ? Long.parseLong(numero) : 0;
+    }
+
+    Set<String> getTabelasSeqScan() {
+        return tabelasSeqScan;
+    }
+
+    /**
+     * Blocos lidos (shared hit + read) na execução, ou -1 se o plano não foi executado.
+     */
+    long getBuffers() {
+        return buffers;
+    }
+
+    /**
+     * Tempo de execução informado pelo {@code EXPLAIN ANALYZE}, ou -1 se o plano não foi executado.
+     */
+    double getTempoExecucaoMillis() {
+        return tempoExecucaoMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(System.lineSeparator(), linhas);
+    }
+}
@@ -0,0 +1,249 @@
+package br.com.rpires.app.planos;
+
+import br.com.rpires.dao.ClienteDAO;
+import br.com.rpires.dao.ProdutoDAO;
+import br.com.rpires.dao.VendaDAO;
+import br.com.rpires.dao.generic.jdbc.AnaliseSql;
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.exceptions.DAOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verificação de regressão dos planos das instruções dos DAOs ({@code GenericDAO#getInstrucoesConhecidas()}),
+ * no banco padrão e em cada shard.
+ * <p>
+ * Cada consulta é executada com {@code EXPLAIN (ANALYZE, BUFFERS)}, com parâmetros tirados de linhas
+ * existentes da tabela principal da instrução; escritas usam só {@code EXPLAIN}, sem executar, e o banco
+ * não é alterado. Uma instrução regride quando o plano percorre por inteiro uma tabela de
+ * {@code planos.tabelasSemSeqScan} (índice ausente ou não usado) ou quando a consulta lê mais blocos que
+ * {@code planos.maximoBuffers}. Instruções que falham também contam como regressão.
+ * </p>
+ * <p>
+ * Instruções que não puderam ser verificadas por falta de dados de exemplo (tabela vazia ou parâmetro sem
+ * coluna na amostra) também reprovam a verificação, a menos que {@code planos.permitirIgnoradas} seja
+ * {@code true}: um banco vazio não pode passar como se todos os planos estivessem bons.
+ * </p>
+ * <p>
+ * Deve rodar sobre uma massa de dados de tamanho realista ({@code Main gerar}); em tabelas pequenas o
+ * planejador escolhe {@code Seq Scan} mesmo com índice. Pelo Maven: {@code mvn -Pplanos verify}.
+ * </p>
+ */
+public final class VerificadorPlanos {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VerificadorPlanos.class);
+
+    private enum Situacao { OK, REGRESSAO, IGNORADA }
+
+    private final ConfiguracaoPlanos configuracao;
+    private final Set<String> tabelasSemSeqScan;
+    private final long maximoBuffers;
+
+    public VerificadorPlanos(ConfiguracaoPlanos configuracao) {
+        this.configuracao = configuracao;
+        this.tabelasSemSeqScan = configuracao.getTabelasSemSeqScan();
+        this.maximoBuffers = configuracao.getMaximoBuffers();
+    }
+
+    /**
+     * Executa a verificação e falha (exceção, código de saída diferente de zero) se algum plano regrediu
+     * ou, sem {@code planos.permitirIgnoradas}, se alguma instrução ficou sem verificar.
+     */
+    public static void main(String[] args) throws Exception {
+        int reprovadas = new VerificadorPlanos(ConfiguracaoPlanos.carregar(args)).executar();
+        if (reprovadas > 0) {
+            throw new IllegalStateException(reprovadas + " instrução(ões) com regressão de plano ou sem verificar; veja o log.");
+        }
+    }
+
+    /**
+     * Verifica os planos de todas as instruções dos DAOs.
+     * @return O número de instruções reprovadas, somando todos os bancos: as com regressão e, sem
+     *         {@code planos.permitirIgnoradas}, as ignoradas por falta de dados de exemplo.
+     * @throws DAOException Se os pools não puderem ser iniciados.
+     */
+    public int executar() throws DAOException {
+        Set<String> instrucoes = new LinkedHashSet<>();
+        instrucoes.addAll(new ClienteDAO().getInstrucoesConhecidas());
+        instrucoes.addAll(new ProdutoDAO().getInstrucoesConhecidas());
+        instrucoes.addAll(new VendaDAO().getInstrucoesConhecidas());
+        ConnectionFactory.iniciar();
+        List<String> bancos = new ArrayList<>();
+        bancos.add(null); // Banco dos dados não particionados
+        bancos.addAll(ConnectionFactory.getShards());
+        Map<Situacao, Integer> totais = new HashMap<>();
+        try {
+            for (String banco : bancos) {
+                Connection connection = ConnectionFactory.getConnection(ConnectionFactory.getPoolPadrao(), banco);
+                try {
+                    Map<String, List<Map<String, Object>>> amostras = new HashMap<>();
+                    for (String sql : instrucoes) {
+                        totais.merge(verificar(connection, nomeBanco(banco), sql, amostras), 1, Integer::sum);
+                    }
+                } finally {
+                    ConnectionFactory.closeConnection(connection, null, null);
+                }
+            }
+        } finally {
+            ConnectionFactory.closeDataSource();
+        }
+        int regressoes = totais.getOrDefault(Situacao.REGRESSAO, 0);
+        int ignoradas = totais.getOrDefault(Situacao.IGNORADA, 0);
+        LOGGER.info("Planos verificados em {} banco(s): {} ok, {} com regressão, {} ignorados (sem dados de exemplo).", bancos.size(),
+                totais.getOrDefault(Situacao.OK, 0), regressoes, ignoradas);
+        if (ignoradas > 0 && !configuracao.isPermitirIgnoradas()) {
+            LOGGER.error("{} instrução(ões) sem verificar por falta de dados de exemplo; gere a massa de dados ou use planos.permitirIgnoradas=true.", ignoradas);
+            return regressoes + ignoradas;
+        }
+        return regressoes;
+    }
+
+    private Situacao verificar(Connection connection, String banco, String sql, Map<String, List<Map<String, Object>>> amostras) {
+        String tabela = AnaliseSql.tabelaPrincipal(sql);
+        boolean escrita = isEscrita(sql);
+        try {
+            List<Map<String, Object>> amostra = amostras.get(tabela);
+            if (amostra == null) {
+                amostra = lerAmostra(connection, tabela);
+                amostras.put(tabela, amostra);
+            }
+            if (amostra.isEmpty()) {
+                LOGGER.warn("[IGNORADA] {} sem dados no banco {}: {}", tabela, banco, sql);
+                return Situacao.IGNORADA;
+            }
+            PlanoExecucao plano;
+            try (PreparedStatement stm = connection.prepareStatement((escrita ? "EXPLAIN " : "EXPLAIN (ANALYZE, BUFFERS) ") + sql)) {
+                if (!ligarParametros(connection, stm, sql, amostra)) {
+                    LOGGER.warn("[IGNORADA] parâmetro sem valor de exemplo em {} no banco {}: {}", tabela, banco, sql);
+                    return Situacao.IGNORADA;
+                }
+                List<String> linhas = new ArrayList<>();
+                try (ResultSet rs = stm.executeQuery()) {
+                    while (rs.next()) {
+                        linhas.add(rs.getString(1));
+                    }
+                }
+                plano = PlanoExecucao.ler(linhas);
+            }
+            List<String> problemas = new ArrayList<>();
+            for (String tabelaPercorrida : plano.getTabelasSeqScan()) {
+                if (tabelasSemSeqScan.contains(tabelaPercorrida)) {
+                    problemas.add("Seq Scan em " + tabelaPercorrida);
+                }
+            }
+            if (plano.getBuffers() > maximoBuffers) {
+                problemas.add(plano.getBuffers() + " buffers (máximo " + maximoBuffers + ")");
+            }
+            if (!problemas.isEmpty()) {
+                LOGGER.error("[REGRESSAO] {} no banco {}: {}{}{}", String.join(", ", problemas), banco, sql, System.lineSeparator(), plano);
+                return Situacao.REGRESSAO;
+            }
+            if (escrita) {
+                LOGGER.info("[OK] plano sem execução (escrita) no banco {}: {}", banco, sql);
+            } else {
+                LOGGER.info("[OK] {} ms, {} buffers no banco {}: {}", plano.getTempoExecucaoMillis(), plano.getBuffers(), banco, sql);
+            }
+            if (configuracao.isExibirPlanos()) {
+                LOGGER.info("{}{}", System.lineSeparator(), plano);
+            }
+            return Situacao.OK;
+        } catch (SQLException e) {
+            LOGGER.error("[REGRESSAO] instrução falhou no banco {}: {} ({})", banco, sql, e.getMessage());
+            return Situacao.REGRESSAO;
+        }
+    }
+
+    private static boolean isEscrita(String sql) {
+        String inicio = sql.trim().toUpperCase(Locale.ROOT);
+        return inicio.startsWith("INSERT") || inicio.startsWith("UPDATE") || inicio.startsWith("DELETE");
+    }
+
+    /**
+     * Lê algumas linhas do meio da tabela (pela chave primária, sem percorrer a tabela), com as colunas em maiúsculas.
+     */
+    private List<Map<String, Object>> lerAmostra(Connection connection, String tabela) throws SQLException {
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        if (tabela == null) {
+            return linhas;
+        }
+        String sql = "SELECT * FROM " + tabela + " WHERE ID >= (SELECT (min(ID) + max(ID)) / 2 FROM " + tabela + ") ORDER BY ID LIMIT ?";
+        try (PreparedStatement stm = connection.prepareStatement(sql)) {
+            stm.setInt(1, configuracao.getLinhasAmostra());
+            try (ResultSet rs = stm.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                while (rs.next()) {
+                    Map<String, Object> linha = new HashMap<>();
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        linha.put(metaData.getColumnLabel(i).toUpperCase(Locale.ROOT), rs.getObject(i));
+                    }
+                    linhas.add(linha);
+                }
+            }
+        }
+        return linhas;
+    }
+
+    /**
+     * Liga a cada parâmetro o valor da sua coluna na amostra: a primeira linha, ou todas nas listas ({@code ANY(?)}).
+     * O {@code LIMIT ?} recebe o tamanho da amostra.
+     * @return {@code false} se algum parâmetro não tiver coluna correspondente na amostra.
+     */
+    private static boolean ligarParametros(Connection connection, PreparedStatement stm, String sql, List<Map<String, Object>> amostra) throws SQLException {
+        List<String> colunas = AnaliseSql.colunasDosParametros(sql);
+        List<Boolean> listas = AnaliseSql.parametrosEmLista(sql);
+        for (int i = 0; i < colunas.size(); i++) {
+            String coluna = colunas.get(i);
+            if (AnaliseSql.LIMITE.equals(coluna)) {
+                stm.setInt(i + 1, amostra.size());
+                continue;
+            }
+            if (coluna == null || !amostra.get(0).containsKey(coluna)) {
+                return false;
+            }
+            Object valor = amostra.get(0).get(coluna);
+            if (i < listas.size() && listas.get(i)) {
+                Object[] valores = new Object[amostra.size()];
+                for (int j = 0; j < valores.length; j++) {
+                    valores[j] = amostra.get(j).get(coluna);
+                }
+                Array array = connection.createArrayOf(tipoArray(valor), valores);
+                stm.setArray(i + 1, array);
+            } else {
+                stm.setObject(i + 1, valor);
+            }
+        }
+        return true;
+    }
+
+    private static String tipoArray(Object valor) {
+        if (valor instanceof Long) {
+            return "bigint";
+        }
+        if (valor instanceof Integer) {
+            return "integer";
+        }
+        if (valor instanceof BigDecimal) {
+            return "numeric";
+        }
+        return "varchar";
+    }
+
+    private static String nomeBanco(String banco) {
+        return banco != null ? banco : "padrao";
+    }
+}
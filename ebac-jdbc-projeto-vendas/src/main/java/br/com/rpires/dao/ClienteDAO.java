@@ -27,6 +27,35 @@ public class ClienteDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpir
         return Cliente.class;
     }
 
+    /**
+     * Clientes são particionados entre os shards pelo CPF.
+     * @return {@code true}.
+     */
+    @Override
+    protected boolean isParticionado() {
+        return true;
+    }
+
+    /**
+     * Retorna o CPF do cliente, chave de particionamento.
+     * @param entity O cliente.
+     * @return O CPF.
+     */
+    @Override
+    protected Long getChaveParticao(Cliente entity) {
+        return entity.getCpf();
+    }
+
+    /**
+     * O CPF é a própria chave lógica do cliente, então toda operação pela chave vai a um único shard.
+     * @param valor O CPF.
+     * @return O CPF.
+     */
+    @Override
+    protected Long getChaveParticaoDaChave(Long valor) {
+        return valor;
+    }
+
     /**
      * Atualiza os dados de um cliente.
      * Este método é chamado pela camada genérica após a consulta da entidade a ser alterada.
@@ -45,6 +74,19 @@ public class ClienteDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpir
         entityCadastrado.setTel(entity.getTel());
     }
 
+    /**
+     * Cria uma cópia do cliente.
+     * @param entity O cliente a ser copiado.
+     * @return A cópia do cliente.
+     */
+    @Override
+    protected Cliente copiar(Cliente entity) {
+        Cliente copia = new Cliente(entity.getCpf(), entity.getNome(), entity.getTel(), entity.getEnd(),
+                entity.getNumero(), entity.getCidade(), entity.getEstado());
+        copia.setId(entity.getId());
+        return copia;
+    }
+
     /**
      * Retorna a query SQL para inserir um novo cliente.
      * Usa uma sequência (nextval) para gerar o ID técnico.
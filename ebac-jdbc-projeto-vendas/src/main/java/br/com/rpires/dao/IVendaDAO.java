@@ -5,6 +5,9 @@ import br.com.rpires.domain.Venda;
 import br.com.rpires.exceptions.DAOException;
 import br.com.rpires.exceptions.TipoChaveNaoEncontradaException;
 
+import java.time.Instant;
+import java.util.List;
+
 /**
  * Interface específica para o DAO de Venda.
  * Estende IGenericDAO e adiciona métodos específicos para o ciclo de vida de uma venda.
@@ -26,4 +29,19 @@ public interface IVendaDAO extends IGenericDAO<Venda, String> {
      * @throws DAOException Se ocorrer um erro de acesso a dados.
      */
     public void cancelarVenda(Venda venda) throws TipoChaveNaoEncontradaException, DAOException;
+
+    /**
+     * Busca uma página das vendas feitas no período {@code [inicio, fim)}, ordenadas por data e código,
+     * com paginação por chave (keyset): a próxima página começa depois da última venda da anterior,
+     * sem {@code OFFSET}, e custa o mesmo em qualquer ponto do período.
+     * @param inicio O início do período (inclusivo).
+     * @param fim O fim do período (exclusivo).
+     * @param status O status das vendas, ou {@code null} para todos.
+     * @param ultimaDaPaginaAnterior A última venda da página anterior, ou {@code null} para a primeira página.
+     * @param tamanhoPagina O número máximo de vendas da página.
+     * @return As vendas da página; menos de {@code tamanhoPagina} vendas indica a última página.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    public List<Venda> buscarPorPeriodo(Instant inicio, Instant fim, Venda.Status status, Venda ultimaDaPaginaAnterior,
+                                        int tamanhoPagina) throws DAOException;
 }
\ No newline at end of file
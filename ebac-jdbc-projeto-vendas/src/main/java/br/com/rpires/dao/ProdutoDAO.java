@@ -41,6 +41,18 @@ public class ProdutoDAO extends GenericDAO<Produto, String> implements IProdutoD
         entityCadastrado.setValor(entity.getValor());
     }
 
+    /**
+     * Cria uma cópia do produto.
+     * @param entity O produto a ser copiado.
+     * @return A cópia do produto.
+     */
+    @Override
+    protected Produto copiar(Produto entity) {
+        Produto copia = new Produto(entity.getCodigo(), entity.getNome(), entity.getDescricao(), entity.getValor());
+        copia.setId(entity.getId());
+        return copia;
+    }
+
     /**
      * Retorna a query SQL para inserir um novo produto.
      * Usa uma sequência (nextval) para gerar o ID técnico.
@@ -1,9 +1,15 @@
 package br.com.rpires.dao;
 
+import br.com.rpires.dao.factory.ProdutoFactory;
 import br.com.rpires.dao.factory.ProdutoQuantidadeFactory;
 import br.com.rpires.dao.factory.VendaFactory;
+import br.com.rpires.dao.generic.Criterio;
+import br.com.rpires.dao.generic.ExecucaoDistribuida;
 import br.com.rpires.dao.generic.GenericDAO;
+import br.com.rpires.dao.generic.PublicadorCursor;
 import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.domain.Cliente;
+import br.com.rpires.domain.Produto;
 import br.com.rpires.domain.ProdutoQuantidade;
 import br.com.rpires.domain.Venda;
 import br.com.rpires.domain.Venda.Status;
@@ -11,9 +17,11 @@ import br.com.rpires.exceptions.DAOException;
 import br.com.rpires.exceptions.MaisDeUmRegistroException;
 import br.com.rpires.exceptions.TableException;
 import br.com.rpires.exceptions.TipoChaveNaoEncontradaException;
+import br.com.rpires.infra.jfr.OperacaoRastreada;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -21,10 +29,15 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.time.Instant;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Flow;
 
 /**
  * Implementação do Data Access Object (DAO) para a entidade {@link Venda}.
@@ -47,6 +60,7 @@ import java.util.Set;
  */
 public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires.domain.Venda, String> implements IVendaDAO {
     private static final Logger LOGGER = LoggerFactory.getLogger(VendaDAO.class);
+    private static final int MAXIMO_VENDAS_POR_CONSULTA_ITENS = 1_000; // IDs de vendas por consulta de itens
 
     /**
      * Retorna a classe da entidade {@link Venda}.
@@ -81,6 +95,46 @@ public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires
         // que deve ser tratada em métodos de negócio específicos, se necessário.
     }
 
+    /**
+     * Cria uma cópia da venda, incluindo o {@link Cliente}, os itens e os produtos dos itens,
+     * preservando o valor total lido do banco.
+     *
+     * @param entity A venda a ser copiada.
+     * @return A cópia da venda.
+     */
+    @Override
+    protected Venda copiar(Venda entity) {
+        Venda copia = new Venda();
+        copia.setId(entity.getId());
+        copia.setCodigo(entity.getCodigo());
+        copia.setDataVenda(entity.getDataVenda());
+        copia.setStatus(entity.getStatus());
+        Cliente cliente = entity.getCliente();
+        if (cliente != null) {
+            Cliente copiaCliente = new Cliente(cliente.getCpf(), cliente.getNome(), cliente.getTel(), cliente.getEnd(),
+                    cliente.getNumero(), cliente.getCidade(), cliente.getEstado());
+            copiaCliente.setId(cliente.getId());
+            copia.setCliente(copiaCliente);
+        }
+        Set<ProdutoQuantidade> itens = new HashSet<>();
+        for (ProdutoQuantidade item : entity.getProdutos()) {
+            ProdutoQuantidade copiaItem = new ProdutoQuantidade();
+            copiaItem.setId(item.getId());
+            Produto produto = item.getProduto();
+            if (produto != null) {
+                Produto copiaProduto = new Produto(produto.getCodigo(), produto.getNome(), produto.getDescricao(), produto.getValor());
+                copiaProduto.setId(produto.getId());
+                copiaItem.setProduto(copiaProduto);
+            }
+            copiaItem.setQuantidade(item.getQuantidade());
+            copiaItem.setValorTotal(item.getValorTotal());
+            itens.add(copiaItem);
+        }
+        copia.setProdutos(itens);
+        copia.setValorTotal(entity.getValorTotal()); // setProdutos recalcula; mantém o valor lido
+        return copia;
+    }
+
     /**
      * Lança {@link UnsupportedOperationException} indicando que a exclusão de vendas
      * não é permitida para manter a integridade do histórico de transações.
@@ -95,6 +149,27 @@ public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires
         throw new UnsupportedOperationException("OPERAÇÃO DE EXCLUSÃO NÃO PERMITIDA PARA VENDAS.");
     }
 
+    /**
+     * Vendas são particionadas junto com o cliente: a venda e seus itens ficam no shard do CPF do cliente.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    protected boolean isParticionado() {
+        return true;
+    }
+
+    /**
+     * Retorna o CPF do cliente da venda, que determina o shard da venda.
+     *
+     * @param entity A venda.
+     * @return O CPF do cliente, ou {@code null} se a venda não tiver cliente.
+     */
+    @Override
+    protected Long getChaveParticao(Venda entity) {
+        return entity.getCliente() != null ? entity.getCliente().getCpf() : null;
+    }
+
     /**
      * Finaliza uma venda, atualizando seu {@link Venda.Status} para {@code CONCLUIDA}
      * no banco de dados. Este método é transacional e garante a persistência do novo status.
@@ -105,25 +180,34 @@ public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires
      */
     @Override
     public void finalizarVenda(Venda venda) throws DAOException {
-        Connection connection = null;
-        PreparedStatement stm = null;
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "finalizarVenda");
         try {
-            String sql = "UPDATE TB_VENDA SET STATUS_VENDA = ? WHERE ID = ?";
-            connection = ConnectionFactory.getConnection();
-            stm = connection.prepareStatement(sql);
-            stm.setString(1, Status.CONCLUIDA.name());
-            stm.setLong(2, venda.getId());
-            int rowsAffected = stm.executeUpdate();
-            if (rowsAffected == 0) {
-                LOGGER.warn("Nenhuma linha afetada ao tentar finalizar a venda com ID: {}. Venda pode não existir ou já estar finalizada.", venda.getId());
-            } else {
-                LOGGER.info("Venda com ID {} finalizada com sucesso. Status: CONCLUIDA.", venda.getId());
+            Connection connection = null;
+            PreparedStatement stm = null;
+            try {
+                String sql = "UPDATE TB_VENDA SET STATUS_VENDA = ? WHERE ID = ?";
+                connection = ConnectionFactory.getConnection(ConnectionFactory.getPoolPadrao(), getShard(venda)); // Shard do cliente da venda
+                stm = connection.prepareStatement(sql);
+                stm.setString(1, Status.CONCLUIDA.name());
+                stm.setLong(2, venda.getId());
+                int rowsAffected = stm.executeUpdate();
+                ConnectionFactory.registrarEscrita();
+                if (rowsAffected == 0) {
+                    LOGGER.warn("Nenhuma linha afetada ao tentar finalizar a venda com ID: {}. Venda pode não existir ou já estar finalizada.", venda.getId());
+                } else {
+                    LOGGER.info("Venda com ID {} finalizada com sucesso. Status: CONCLUIDA.", venda.getId());
+                }
+            } catch (SQLException e) {
+                LOGGER.error("Erro SQL ao finalizar venda {}: {}", venda.getCodigo(), e.getMessage(), e);
+                throw new DAOException("ERRO AO FINALIZAR VENDA: " + venda.getCodigo() + ". Detalhes: " + e.getMessage(), e);
+            } finally {
+                ConnectionFactory.closeConnection(connection, stm, null);
             }
-        } catch (SQLException e) {
-            LOGGER.error("Erro SQL ao finalizar venda {}: {}", venda.getCodigo(), e.getMessage(), e);
-            throw new DAOException("ERRO AO FINALIZAR VENDA: " + venda.getCodigo() + ". Detalhes: " + e.getMessage(), e);
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
         } finally {
-            ConnectionFactory.closeConnection(connection, stm, null);
+            rastreio.encerrar();
         }
     }
 
@@ -137,25 +221,34 @@ public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires
      */
     @Override
     public void cancelarVenda(Venda venda) throws DAOException {
-        Connection connection = null;
-        PreparedStatement stm = null;
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "cancelarVenda");
         try {
-            String sql = "UPDATE TB_VENDA SET STATUS_VENDA = ? WHERE ID = ?";
-            connection = ConnectionFactory.getConnection();
-            stm = connection.prepareStatement(sql);
-            stm.setString(1, Status.CANCELADA.name());
-            stm.setLong(2, venda.getId());
-            int rowsAffected = stm.executeUpdate();
-            if (rowsAffected == 0) {
-                LOGGER.warn("Nenhuma linha afetada ao tentar cancelar a venda com ID: {}. Venda pode não existir ou já estar cancelada.", venda.getId());
-            } else {
-                LOGGER.info("Venda com ID {} cancelada com sucesso. Status: CANCELADA.", venda.getId());
+            Connection connection = null;
+            PreparedStatement stm = null;
+            try {
+                String sql = "UPDATE TB_VENDA SET STATUS_VENDA = ? WHERE ID = ?";
+                connection = ConnectionFactory.getConnection(ConnectionFactory.getPoolPadrao(), getShard(venda)); // Shard do cliente da venda
+                stm = connection.prepareStatement(sql);
+                stm.setString(1, Status.CANCELADA.name());
+                stm.setLong(2, venda.getId());
+                int rowsAffected = stm.executeUpdate();
+                ConnectionFactory.registrarEscrita();
+                if (rowsAffected == 0) {
+                    LOGGER.warn("Nenhuma linha afetada ao tentar cancelar a venda com ID: {}. Venda pode não existir ou já estar cancelada.", venda.getId());
+                } else {
+                    LOGGER.info("Venda com ID {} cancelada com sucesso. Status: CANCELADA.", venda.getId());
+                }
+            } catch (SQLException e) {
+                LOGGER.error("Erro SQL ao cancelar venda {}: {}", venda.getCodigo(), e.getMessage(), e);
+                throw new DAOException("ERRO AO CANCELAR VENDA: " + venda.getCodigo() + ". Detalhes: " + e.getMessage(), e);
+            } finally {
+                ConnectionFactory.closeConnection(connection, stm, null);
             }
-        } catch (SQLException e) {
-            LOGGER.error("Erro SQL ao cancelar venda {}: {}", venda.getCodigo(), e.getMessage(), e);
-            throw new DAOException("ERRO AO CANCELAR VENDA: " + venda.getCodigo() + ". Detalhes: " + e.getMessage(), e);
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
         } finally {
-            ConnectionFactory.closeConnection(connection, stm, null);
+            rastreio.encerrar();
         }
     }
 
@@ -258,37 +351,42 @@ public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires
     }
 
     /**
-     * Consulta uma venda por seu código. Este método sobrescreve o método genérico
-     * {@link GenericDAO#consultar(Serializable)} para incluir a busca dos itens de venda
+     * Consulta uma venda por seu código em um shard. Este método sobrescreve o método genérico
+     * {@link GenericDAO#consultarNoShard(Serializable, String)} para incluir a busca dos itens de venda
      * ({@link ProdutoQuantidade}) e o {@link Cliente} associado à venda.
      * Realiza um JOIN para obter dados básicos da venda e do cliente, e em seguida,
      * busca os produtos e suas quantidades em uma chamada separada.
+     * É chamado por {@link GenericDAO#consultar(Serializable)}, que deduplica consultas
+     * concorrentes para o mesmo código. Como o código não determina o shard, todos os shards são consultados.
      *
      * @param valor O código da venda a ser consultada.
+     * @param shard O shard consultado ({@code null} para o banco padrão).
      * @return A entidade {@link Venda} completa, incluindo o cliente e todos os produtos,
-     *         ou {@code null} se a venda não for encontrada.
+     *         ou {@code null} se a venda não for encontrada no shard.
      * @throws MaisDeUmRegistroException Se mais de uma venda for encontrada para o mesmo código,
      *                                   indicando um problema de unicidade de dados.
      * @throws TableException            Se houver um problema com o mapeamento da tabela.
      * @throws DAOException              Se ocorrer um erro de acesso a dados durante a consulta.
      */
     @Override
-    public Venda consultar(String valor) throws MaisDeUmRegistroException, TableException, TipoChaveNaoEncontradaException, DAOException {
+    protected Venda consultarNoShard(String valor, String shard) throws MaisDeUmRegistroException, TableException, DAOException {
         StringBuilder sb = sqlBaseSelect();
         sb.append("WHERE V.CODIGO = ? ");
         Connection connection = null;
         PreparedStatement stm = null;
         ResultSet rs = null;
         try {
-            validarMaisDeUmRegistro(valor); // Esta é a linha que lança a exceção TipoChaveNaoEncontradaException
-            connection = ConnectionFactory.getConnection();
+            connection = ConnectionFactory.getConnectionLeitura(ConnectionFactory.getPoolPadrao(), shard);
             stm = connection.prepareStatement(sb.toString());
             setParametrosQuerySelect(stm, valor);
             rs = stm.executeQuery();
 
             if (rs.next()) {
+                long inicioMapeamento = OperacaoRastreada.inicioMapeamento();
                 Venda venda = VendaFactory.convert(rs);
-                buscarAssociacaoVendaProdutos(connection, venda);
+                OperacaoRastreada.linhaMapeada(inicioMapeamento);
+                validarRegistroUnico(rs, valor); // Uma segunda linha indica código duplicado no shard
+                carregarItens(connection, List.of(venda));
                 return venda;
             }
         } catch (SQLException e) {
@@ -302,43 +400,82 @@ public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires
 
 
     /**
-     * Busca os itens {@link ProdutoQuantidade} associados a uma {@link Venda} específica.
-     * Este é um método auxiliar utilizado por {@link #consultar(String)} e {@link #buscarTodos()}.
-     * Ele executa uma nova consulta ao banco de dados para recuperar todos os produtos
-     * e suas quantidades que fazem parte da venda fornecida.
+     * Lança {@link UnsupportedOperationException}, pois a consulta em lote genérica não monta
+     * o {@link Cliente} nem os itens da venda. Consequentemente, o agrupamento de consultas
+     * ({@link GenericDAO#habilitarAgrupamento(double, int)}) não está disponível para vendas.
+     *
+     * @param chaves Os códigos das vendas (não utilizado).
+     * @return Nunca retorna, pois sempre lança uma exceção.
+     * @throws UnsupportedOperationException Sempre lançada ao chamar este método.
+     */
+    @Override
+    public Map<String, Venda> consultarVarios(Collection<String> chaves) {
+        throw new UnsupportedOperationException("CONSULTA EM LOTE NÃO SUPORTADA PARA VENDAS.");
+    }
+
+    /**
+     * Lança {@link UnsupportedOperationException}, pois a consulta em lote não é suportada para vendas.
+     *
+     * @param janelaMillis A janela de agrupamento (não utilizado).
+     * @param tamanhoMaximoLote O tamanho máximo do lote (não utilizado).
+     * @throws UnsupportedOperationException Sempre lançada ao chamar este método.
+     */
+    @Override
+    public void habilitarAgrupamento(double janelaMillis, int tamanhoMaximoLote) {
+        throw new UnsupportedOperationException("AGRUPAMENTO DE CONSULTAS NÃO SUPORTADO PARA VENDAS.");
+    }
+
+    /**
+     * Busca os itens {@link ProdutoQuantidade} das vendas com uma consulta ({@code PQ.ID_VENDA_FK = ANY(?)}) a cada
+     * {@link #MAXIMO_VENDAS_POR_CONSULTA_ITENS} vendas, em vez de uma por venda, e os associa em memória.
+     * Utilizado pelas consultas e listagens de vendas. Os itens são lidos da conexão das vendas (o shard delas,
+     * com particionamento) e os produtos de todos os itens são resolvidos em uma única consulta por
+     * {@link #resolverProdutos(Connection, Map)}.
      *
      * @param connection A {@link Connection} JDBC ativa, passada do método chamador para reutilização.
-     * @param venda      A entidade {@link Venda} para a qual buscar os produtos associados.
-     * @throws DAOException Se ocorrer um erro de acesso a dados durante a consulta dos produtos da venda.
+     * @param vendas     As vendas lidas nessa conexão, que recebem os seus itens.
+     * @throws DAOException Se ocorrer um erro de acesso a dados durante a consulta dos itens ou dos produtos.
      */
-    private void buscarAssociacaoVendaProdutos(Connection connection, Venda venda) throws DAOException {
+    private void carregarItens(Connection connection, Collection<Venda> vendas) throws DAOException {
+        if (vendas.isEmpty()) {
+            return;
+        }
+        Map<Long, List<ProdutoQuantidade>> itensPorVenda = new HashMap<>();
+        for (Venda venda : vendas) {
+            itensPorVenda.put(venda.getId(), new ArrayList<>());
+        }
+        List<Long> idsVendas = new ArrayList<>(itensPorVenda.keySet());
+        Map<Long, List<ProdutoQuantidade>> itensPorProduto = new HashMap<>();
         PreparedStatement stmProd = null;
         ResultSet rsProd = null;
         try {
-            StringBuilder sbProd = new StringBuilder();
-            // Query para buscar ProdutoQuantidade e seus Produtos associados via JOIN
-            sbProd.append("SELECT PQ.ID, PQ.QUANTIDADE, PQ.VALOR_TOTAL, ");
-            sbProd.append("P.ID AS ID_PRODUTO, P.CODIGO, P.NOME, P.DESCRICAO, P.VALOR ");
-            sbProd.append("FROM TB_PRODUTO_QUANTIDADE PQ ");
-            // Correção: A vírgula após PQ estava incorreta. A forma correta é usar INNER JOIN.
-            sbProd.append("INNER JOIN TB_PRODUTO P ON P.ID = PQ.ID_PRODUTO_FK ");
-            sbProd.append("WHERE PQ.ID_VENDA_FK = ?"); // Filtra pelos itens da venda atual
-
-            stmProd = connection.prepareStatement(sbProd.toString());
-            stmProd.setLong(1, venda.getId()); // Define o ID da venda como parâmetro
-            rsProd = stmProd.executeQuery();
-
-            Set<ProdutoQuantidade> produtos = new HashSet<>();
-            while (rsProd.next()) { // Itera sobre os resultados dos itens
-                ProdutoQuantidade prodQ = ProdutoQuantidadeFactory.convert(rsProd); // Converte para ProdutoQuantidade
-                produtos.add(prodQ); // Adiciona ao conjunto
+            stmProd = connection.prepareStatement(getQuerySelectProdutosVenda());
+            for (int inicio = 0; inicio < idsVendas.size(); inicio += MAXIMO_VENDAS_POR_CONSULTA_ITENS) {
+                List<Long> lote = idsVendas.subList(inicio, Math.min(idsVendas.size(), inicio + MAXIMO_VENDAS_POR_CONSULTA_ITENS));
+                stmProd.setArray(1, connection.createArrayOf("bigint", lote.toArray()));
+                rsProd = stmProd.executeQuery();
+                while (rsProd.next()) { // Itera sobre os itens de todas as vendas do lote
+                    long inicioMapeamento = OperacaoRastreada.inicioMapeamento();
+                    ProdutoQuantidade prodQ = ProdutoQuantidadeFactory.convert(rsProd); // Converte para ProdutoQuantidade (sem o produto)
+                    OperacaoRastreada.linhaMapeada(inicioMapeamento);
+                    itensPorVenda.get(rsProd.getLong("ID_VENDA_FK")).add(prodQ);
+                    itensPorProduto.computeIfAbsent(rsProd.getLong("ID_PRODUTO_FK"), id -> new ArrayList<>()).add(prodQ);
+                }
+                rsProd.close();
+                rsProd = null;
             }
-            venda.setProdutos(produtos); // Define o conjunto de produtos na Venda
-            venda.recalcularValorTotalVenda(); // Recalcula o valor total da venda para garantir consistência
-            LOGGER.debug("Produtos para venda ID {} buscados com sucesso. Total: {}", venda.getId(), produtos.size());
+            resolverProdutos(connection, itensPorProduto);
+            int total = 0;
+            for (Venda venda : vendas) {
+                List<ProdutoQuantidade> itens = itensPorVenda.get(venda.getId());
+                venda.setProdutos(new HashSet<>(itens)); // Define o conjunto de produtos na Venda
+                venda.recalcularValorTotalVenda(); // Recalcula o valor total da venda para garantir consistência
+                total += itens.size();
+            }
+            LOGGER.debug("Itens de {} venda(s) buscados com sucesso. Total: {}", vendas.size(), total);
         } catch (SQLException e) {
-            LOGGER.error("Erro SQL ao consultar produtos da venda {}: {}", venda.getCodigo(), e.getMessage(), e);
-            throw new DAOException("ERRO CONSULTANDO PRODUTOS DA VENDA: " + venda.getCodigo() + ". Detalhes: " + e.getMessage(), e);
+            LOGGER.error("Erro SQL ao consultar os itens de {} venda(s): {}", vendas.size(), e.getMessage(), e);
+            throw new DAOException("ERRO CONSULTANDO PRODUTOS DAS VENDAS. Detalhes: " + e.getMessage(), e);
         } finally {
             // Importante: Não fecha a conexão aqui, pois ela é gerenciada pelo método chamador.
             // Fecha apenas o PreparedStatement e ResultSet específicos desta operação.
@@ -347,16 +484,65 @@ public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires
     }
 
     /**
-     * Retorna todas as vendas cadastradas no sistema. Para cada venda, são buscados
+     * Preenche o {@link Produto} dos itens com uma única consulta ({@code P.ID = ANY(?)}) no banco padrão,
+     * onde ficam os produtos. Sem particionamento, a consulta usa a própria conexão da venda; com
+     * particionamento, uma conexão de leitura do banco padrão, já que os shards não têm os produtos.
+     * O valor total de cada item continua sendo o gravado na venda, e não o preço atual do produto.
+     *
+     * @param connection      A conexão em que os itens foram lidos.
+     * @param itensPorProduto Os itens da venda, agrupados pelo ID do produto.
+     * @throws DAOException Se ocorrer um erro de acesso a dados ou um produto não for encontrado.
+     */
+    private void resolverProdutos(Connection connection, Map<Long, List<ProdutoQuantidade>> itensPorProduto) throws DAOException {
+        if (itensPorProduto.isEmpty()) {
+            return;
+        }
+        boolean conexaoPropria = ConnectionFactory.isParticionado();
+        Connection conexaoProdutos = null;
+        PreparedStatement stm = null;
+        ResultSet rs = null;
+        try {
+            conexaoProdutos = conexaoPropria
+                    ? ConnectionFactory.getConnectionLeitura(ConnectionFactory.getPoolPadrao(), null)
+                    : connection;
+            stm = conexaoProdutos.prepareStatement(getQuerySelectProdutosPorId());
+            stm.setArray(1, conexaoProdutos.createArrayOf("bigint", itensPorProduto.keySet().toArray()));
+            rs = stm.executeQuery();
+            int encontrados = 0;
+            while (rs.next()) {
+                Produto produto = ProdutoFactory.convert(rs);
+                for (ProdutoQuantidade item : itensPorProduto.getOrDefault(produto.getId(), List.of())) {
+                    BigDecimal valorGravado = item.getValorTotal();
+                    item.setProduto(produto); // Recalcula o valor do item pelo preço atual...
+                    item.setValorTotal(valorGravado); // ...então restaura o valor gravado na venda
+                }
+                encontrados++;
+            }
+            if (encontrados < itensPorProduto.size()) {
+                String msg = "PRODUTOS DE ITENS DE VENDA NAO ENCONTRADOS: " + (itensPorProduto.size() - encontrados) + " DE " + itensPorProduto.size();
+                LOGGER.error(msg);
+                throw new DAOException(msg);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Erro SQL ao consultar os produtos dos itens de venda: {}", e.getMessage(), e);
+            throw new DAOException("ERRO CONSULTANDO PRODUTOS DOS ITENS DE VENDA. Detalhes: " + e.getMessage(), e);
+        } finally {
+            ConnectionFactory.closeConnection(conexaoPropria ? conexaoProdutos : null, stm, rs);
+        }
+    }
+
+    /**
+     * Retorna todas as vendas cadastradas em um shard. Para cada venda, são buscados
      * os detalhes do cliente associado e todos os itens de produto ({@link ProdutoQuantidade})
-     * que compõem a venda.
+     * que compõem a venda. É chamado por {@link GenericDAO#buscarTodos()}, que reúne os shards.
      *
+     * @param shard O shard consultado ({@code null} para o banco padrão).
      * @return Uma {@link Collection} de objetos {@link Venda} completos.
      *         A coleção pode estar vazia se não houver vendas cadastradas.
      * @throws DAOException Se ocorrer um erro de acesso a dados durante a busca das vendas.
      */
     @Override
-    public Collection<Venda> buscarTodos() throws DAOException {
+    protected Collection<Venda> buscarTodosNoShard(String shard) throws DAOException {
         List<Venda> lista = new ArrayList<>();
         StringBuilder sb = sqlBaseSelect(); // Constrói a query SELECT principal (Venda + Cliente)
 
@@ -364,17 +550,18 @@ public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires
         PreparedStatement stm = null;
         ResultSet rs = null;
         try {
-            connection = ConnectionFactory.getConnection();
+            connection = ConnectionFactory.getConnectionLeitura(getPoolListagens(), shard); // Listagem: pool de relatórios
             stm = connection.prepareStatement(sb.toString());
             rs = stm.executeQuery(); // Executa a consulta
 
             while (rs.next()) { // Itera sobre cada venda encontrada
+                long inicioMapeamento = OperacaoRastreada.inicioMapeamento();
                 Venda venda = VendaFactory.convert(rs); // Converte o ResultSet para o objeto Venda (já com o Cliente)
-                // Busca os itens de ProdutoQuantidade para esta venda em uma consulta separada
-                buscarAssociacaoVendaProdutos(connection, venda);
-                lista.add(venda); // Adiciona a venda completa à lista
+                OperacaoRastreada.linhaMapeada(inicioMapeamento);
+                lista.add(venda); // Adiciona a venda à lista
             }
-            LOGGER.info("Total de {} vendas encontradas no sistema.", lista.size());
+            carregarItens(connection, lista); // Busca os itens de ProdutoQuantidade de todas as vendas, em lotes
+            LOGGER.info("Total de {} vendas encontradas no shard {}.", lista.size(), shard != null ? shard : "padrão");
         } catch (SQLException e) {
             LOGGER.error("Erro SQL ao buscar todas as vendas: {}", e.getMessage(), e);
             throw new DAOException("ERRO BUSCANDO TODAS AS VENDAS. Detalhes: " + e.getMessage(), e);
@@ -384,6 +571,159 @@ public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires
         return lista;
     }
 
+    /**
+     * Retorna as vendas de um shard que satisfazem o critério, com cliente e itens. As colunas do critério
+     * são as de {@code TB_VENDA} (alias {@code V} na consulta com o cliente).
+     *
+     * @param criterio O critério de busca.
+     * @param shard    O shard consultado ({@code null} para o banco padrão).
+     * @return As vendas encontradas, na ordem do critério.
+     * @throws DAOException Se ocorrer um erro de acesso a dados durante a busca.
+     */
+    @Override
+    protected List<Venda> buscarNoShard(Criterio<Venda> criterio, String shard) throws DAOException {
+        if (criterio.isProjetado()) { // A venda é montada pela VendaFactory a partir do JOIN com o cliente, com todas as colunas
+            throw new UnsupportedOperationException("Projeção de colunas não suportada na busca de vendas.");
+        }
+        List<Venda> lista = new ArrayList<>();
+        String sql = sqlBaseSelect().append(criterio.getSql("V")).toString();
+        Connection connection = null;
+        PreparedStatement stm = null;
+        ResultSet rs = null;
+        try {
+            connection = ConnectionFactory.getConnectionLeitura(getPoolListagens(), shard);
+            stm = connection.prepareStatement(sql);
+            criterio.ligarParametros(stm, 1);
+            rs = stm.executeQuery();
+            while (rs.next()) {
+                long inicioMapeamento = OperacaoRastreada.inicioMapeamento();
+                Venda venda = VendaFactory.convert(rs);
+                OperacaoRastreada.linhaMapeada(inicioMapeamento);
+                lista.add(venda);
+            }
+            carregarItens(connection, lista);
+            LOGGER.debug("Busca de vendas por {} retornou {} vendas no shard {}.", criterio, lista.size(), shard != null ? shard : "padrão");
+        } catch (SQLException e) {
+            LOGGER.error("Erro SQL ao buscar vendas por {}: {}", criterio, e.getMessage(), e);
+            throw new DAOException("ERRO BUSCANDO VENDAS. Detalhes: " + e.getMessage(), e);
+        } finally {
+            ConnectionFactory.closeConnection(connection, stm, rs);
+        }
+        return lista;
+    }
+
+    /**
+     * Busca uma página das vendas do período, com cliente e itens. O período é filtrado diretamente na coluna
+     * {@code DATA_VENDA} ({@code >= ? AND < ?}), o que usa o índice {@code idx_venda_data_codigo} e permite ao
+     * PostgreSQL descartar as partições fora do período quando {@code TB_VENDA} é particionada por mês
+     * (veja {@code db/opcional/particionar_tb_venda_por_mes.sql}). A ordem é {@code (DATA_VENDA, CODIGO)},
+     * única mesmo entre shards; o código é comparado byte a byte ({@code COLLATE "C"}), como em Java.
+     *
+     * @param inicio                 O início do período (inclusivo).
+     * @param fim                    O fim do período (exclusivo).
+     * @param status                 O status das vendas, ou {@code null} para todos.
+     * @param ultimaDaPaginaAnterior A última venda da página anterior, ou {@code null} para a primeira página.
+     * @param tamanhoPagina          O número máximo de vendas da página.
+     * @return As vendas da página, na ordem de data e código.
+     * @throws DAOException Se ocorrer um erro de acesso a dados durante a busca.
+     */
+    @Override
+    public List<Venda> buscarPorPeriodo(Instant inicio, Instant fim, Status status, Venda ultimaDaPaginaAnterior,
+                                        int tamanhoPagina) throws DAOException {
+        if (inicio == null || fim == null || tamanhoPagina <= 0) {
+            throw new IllegalArgumentException("Informe o início e o fim do período e um tamanho de página maior que zero.");
+        }
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "buscarPorPeriodo");
+        try {
+            String sql = getQueryPeriodo(status != null, ultimaDaPaginaAnterior != null);
+            List<Venda> pagina = new ArrayList<>();
+            try {
+                for (List<Venda> parcial : ExecucaoDistribuida.executar(getShardsTodos(), shard -> buscarPorPeriodoNoShard(
+                        sql, inicio, fim, status, ultimaDaPaginaAnterior, tamanhoPagina, shard))) {
+                    pagina.addAll(parcial);
+                }
+            } catch (MaisDeUmRegistroException | TableException e) {
+                throw new DAOException("ERRO BUSCANDO VENDAS DO PERIODO. Detalhes: " + e.getMessage(), e);
+            }
+            // Com vários shards, cada um devolve sua própria página: reordena e reaplica o limite
+            pagina.sort(Comparator.comparing(Venda::getDataVenda).thenComparing(Venda::getCodigo));
+            return pagina.size() > tamanhoPagina ? new ArrayList<>(pagina.subList(0, tamanhoPagina)) : pagina;
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
+        }
+    }
+
+    private List<Venda> buscarPorPeriodoNoShard(String sql, Instant inicio, Instant fim, Status status, Venda ultima,
+                                                int tamanhoPagina, String shard) throws DAOException {
+        List<Venda> lista = new ArrayList<>();
+        Connection connection = null;
+        PreparedStatement stm = null;
+        ResultSet rs = null;
+        try {
+            connection = ConnectionFactory.getConnectionLeitura(getPoolListagens(), shard);
+            stm = connection.prepareStatement(sql);
+            int indice = 1;
+            stm.setTimestamp(indice++, Timestamp.from(inicio));
+            stm.setTimestamp(indice++, Timestamp.from(fim));
+            if (status != null) {
+                stm.setString(indice++, status.name());
+            }
+            if (ultima != null) {
+                stm.setTimestamp(indice++, Timestamp.from(ultima.getDataVenda()));
+                stm.setString(indice++, ultima.getCodigo());
+            }
+            stm.setInt(indice, tamanhoPagina);
+            rs = stm.executeQuery();
+            while (rs.next()) {
+                long inicioMapeamento = OperacaoRastreada.inicioMapeamento();
+                Venda venda = VendaFactory.convert(rs);
+                OperacaoRastreada.linhaMapeada(inicioMapeamento);
+                lista.add(venda);
+            }
+            carregarItens(connection, lista); // Itens da página inteira em uma consulta, e não um por venda
+            LOGGER.debug("Página de {} vendas do período [{}, {}) no shard {}.", lista.size(), inicio, fim, shard != null ? shard : "padrão");
+        } catch (SQLException e) {
+            LOGGER.error("Erro SQL ao buscar vendas do período [{}, {}): {}", inicio, fim, e.getMessage(), e);
+            throw new DAOException("ERRO BUSCANDO VENDAS DO PERIODO. Detalhes: " + e.getMessage(), e);
+        } finally {
+            ConnectionFactory.closeConnection(connection, stm, rs);
+        }
+        return lista;
+    }
+
+    /**
+     * Monta a consulta de {@link #buscarPorPeriodo(Instant, Instant, Status, Venda, int)}. O início da página é uma
+     * comparação de linha {@code (DATA_VENDA, CODIGO) > (?, ?)}, atendida pelo mesmo índice da ordenação.
+     */
+    private String getQueryPeriodo(boolean comStatus, boolean aposVenda) {
+        StringBuilder sb = sqlBaseSelect();
+        sb.append("WHERE V.DATA_VENDA >= ? AND V.DATA_VENDA < ? ");
+        if (comStatus) {
+            sb.append("AND V.STATUS_VENDA = ? ");
+        }
+        if (aposVenda) {
+            sb.append("AND (V.DATA_VENDA, V.CODIGO COLLATE \"C\") > (?, ?) ");
+        }
+        sb.append("ORDER BY V.DATA_VENDA, V.CODIGO COLLATE \"C\" LIMIT ?");
+        return sb.toString();
+    }
+
+    /**
+     * Retorna um publicador reativo de todas as vendas, com cliente e itens, lidas por cursor no servidor
+     * conforme a demanda do assinante. Os itens são buscados na mesma conexão e transação do cursor, com uma
+     * consulta por lote de vendas lido ({@link #carregarItens(Connection, Collection)}).
+     *
+     * @return O publicador das vendas.
+     */
+    @Override
+    public Flow.Publisher<Venda> publicarTodos() {
+        return new PublicadorCursor<>(getPoolListagens(), getShardsTodos(), sqlBaseSelect().toString(),
+                (rs, connection) -> VendaFactory.convert(rs), this::carregarItens);
+    }
+
     /**
      * Constrói a parte base da query SELECT para a entidade {@link Venda},
      * incluindo um {@code INNER JOIN} com a tabela {@code TB_CLIENTE} para obter
@@ -415,66 +755,119 @@ public class VendaDAO extends br.com.rpires.dao.generic.GenericDAO<br.com.rpires
      */
     @Override
     public Boolean cadastrar(Venda entity) throws TipoChaveNaoEncontradaException, DAOException {
-        Connection connection = null;
-        PreparedStatement stm = null;
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "cadastrar");
         try {
-            connection = ConnectionFactory.getConnection();
-            connection.setAutoCommit(false); // Inicia a transação: desabilita o auto-commit
-            // Prepara a inserção da Venda e solicita o ID gerado pelo banco de dados
-            stm = connection.prepareStatement(getQueryInsercao(), Statement.RETURN_GENERATED_KEYS);
-            setParametrosQueryInsercao(stm, entity); // Define parâmetros da Venda
-            int rowsAffected = stm.executeUpdate(); // Executa inserção da Venda
-
-            if (rowsAffected > 0) { // Se a venda principal foi inserida com sucesso
-                try (ResultSet rs = stm.getGeneratedKeys()) { // Obtém o ID gerado para a Venda
-                    if (rs.next()) {
-                        entity.setId(rs.getLong(1)); // Define o ID da Venda no objeto
+            Connection connection = null;
+            PreparedStatement stm = null;
+            try {
+                connection = ConnectionFactory.getConnection(ConnectionFactory.getPoolPadrao(), getShard(entity)); // Venda e itens no shard do cliente
+                connection.setAutoCommit(false); // Inicia a transação: desabilita o auto-commit
+                // Prepara a inserção da Venda e solicita o ID gerado pelo banco de dados
+                stm = connection.prepareStatement(getQueryInsercao(), Statement.RETURN_GENERATED_KEYS);
+                setParametrosQueryInsercao(stm, entity); // Define parâmetros da Venda
+                int rowsAffected = stm.executeUpdate(); // Executa inserção da Venda
+
+                if (rowsAffected > 0) { // Se a venda principal foi inserida com sucesso
+                    try (ResultSet rs = stm.getGeneratedKeys()) { // Obtém o ID gerado para a Venda
+                        if (rs.next()) {
+                            entity.setId(rs.getLong(1)); // Define o ID da Venda no objeto
+                        }
                     }
-                }
 
-                // Itera sobre cada item de ProdutoQuantidade da Venda para inseri-lo
-                for (ProdutoQuantidade prod : entity.getProdutos()) {
-                    stm = connection.prepareStatement(getQueryInsercaoProdQuant()); // Prepara inserção do ProdutoQuantidade
-                    setParametrosQueryInsercaoProdQuant(stm, entity, prod); // Define parâmetros do ProdutoQuantidade
-                    rowsAffected = stm.executeUpdate(); // Executa inserção do item
-                    if (rowsAffected == 0) {
-                        connection.rollback(); // Se um item falhar, faz rollback de toda a transação
-                        LOGGER.error("Falha ao inserir item de produto (código: {}) para venda {}. Rollback da transação.", prod.getProduto().getCodigo(), entity.getCodigo());
-                        return false; // Retorna false, indicando falha
+                    // Itera sobre cada item de ProdutoQuantidade da Venda para inseri-lo
+                    for (ProdutoQuantidade prod : entity.getProdutos()) {
+                        stm = connection.prepareStatement(getQueryInsercaoProdQuant()); // Prepara inserção do ProdutoQuantidade
+                        setParametrosQueryInsercaoProdQuant(stm, entity, prod); // Define parâmetros do ProdutoQuantidade
+                        rowsAffected = stm.executeUpdate(); // Executa inserção do item
+                        if (rowsAffected == 0) {
+                            connection.rollback(); // Se um item falhar, faz rollback de toda a transação
+                            LOGGER.error("Falha ao inserir item de produto (código: {}) para venda {}. Rollback da transação.", prod.getProduto().getCodigo(), entity.getCodigo());
+                            return false; // Retorna false, indicando falha
+                        }
                     }
-                }
 
-                connection.commit(); // Confirma a transação se tudo deu certo (venda e todos os itens)
-                LOGGER.info("Venda {} cadastrada com sucesso, incluindo {} itens.", entity.getCodigo(), entity.getProdutos().size());
-                return true;
-            } else {
-                connection.rollback(); // Se a venda principal não foi inserida, faz rollback
-                LOGGER.error("Falha ao inserir a venda {}. Nenhuma linha afetada. Rollback da transação.", entity.getCodigo());
-                return false;
-            }
+                    connection.commit(); // Confirma a transação se tudo deu certo (venda e todos os itens)
+                    ConnectionFactory.registrarEscrita();
+                    registrarPresencaNoFiltro(entity.getCodigo());
+                    LOGGER.info("Venda {} cadastrada com sucesso, incluindo {} itens.", entity.getCodigo(), entity.getProdutos().size());
+                    return true;
+                } else {
+                    connection.rollback(); // Se a venda principal não foi inserida, faz rollback
+                    LOGGER.error("Falha ao inserir a venda {}. Nenhuma linha afetada. Rollback da transação.", entity.getCodigo());
+                    return false;
+                }
 
-        } catch (SQLException e) {
-            try {
-                if (connection != null) {
-                    connection.rollback(); // Em caso de erro SQL, faz rollback da transação
+            } catch (SQLException e) {
+                try {
+                    if (connection != null) {
+                        connection.rollback(); // Em caso de erro SQL, faz rollback da transação
+                    }
+                } catch (SQLException ex) {
+                    LOGGER.error("Erro ao realizar rollback após exceção SQL: {}", ex.getMessage(), ex);
                 }
-            } catch (SQLException ex) {
-                LOGGER.error("Erro ao realizar rollback após exceção SQL: {}", ex.getMessage(), ex);
-            }
-            LOGGER.error("Erro SQL ao cadastrar venda {}: {}. Detalhes: {}", entity.getCodigo(), e.getMessage(), e);
-            throw new DAOException("ERRO CADASTRANDO VENDA: " + entity.getCodigo() + ". Detalhes: " + e.getMessage(), e);
-        } finally {
-            try {
-                if (connection != null) {
-                    connection.setAutoCommit(true); // Restaura o auto-commit para o estado padrão
+                LOGGER.error("Erro SQL ao cadastrar venda {}: {}. Detalhes: {}", entity.getCodigo(), e.getMessage(), e);
+                throw new DAOException("ERRO CADASTRANDO VENDA: " + entity.getCodigo() + ". Detalhes: " + e.getMessage(), e);
+            } finally {
+                try {
+                    if (connection != null) {
+                        connection.setAutoCommit(true); // Restaura o auto-commit para o estado padrão
+                    }
+                } catch (SQLException ex) {
+                    LOGGER.error("Erro ao restaurar auto-commit para a conexão: {}", ex.getMessage(), ex);
                 }
-            } catch (SQLException ex) {
-                LOGGER.error("Erro ao restaurar auto-commit para a conexão: {}", ex.getMessage(), ex);
+                ConnectionFactory.closeConnection(connection, stm, null); // Fecha os recursos do banco de dados
             }
-            ConnectionFactory.closeConnection(connection, stm, null); // Fecha os recursos do banco de dados
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
         }
     }
 
+    /**
+     * Retorna a string SQL que busca os itens {@link ProdutoQuantidade} de várias vendas, com o ID da venda e
+     * o do produto de cada item. Não há JOIN com {@code TB_PRODUTO}: com particionamento, os itens ficam no shard da venda
+     * e os produtos no banco padrão (veja {@link #resolverProdutos(Connection, Map)}).
+     *
+     * @return Uma string SQL com o array de IDs das vendas como único parâmetro.
+     */
+    private String getQuerySelectProdutosVenda() {
+        StringBuilder sbProd = new StringBuilder();
+        sbProd.append("SELECT PQ.ID, PQ.ID_VENDA_FK, PQ.ID_PRODUTO_FK, PQ.QUANTIDADE, PQ.VALOR_TOTAL ");
+        sbProd.append("FROM TB_PRODUTO_QUANTIDADE PQ ");
+        sbProd.append("WHERE PQ.ID_VENDA_FK = ANY(?)"); // Filtra pelos itens das vendas do lote
+        return sbProd.toString();
+    }
+
+    /**
+     * Retorna a string SQL que busca, pelo ID, os produtos dos itens de uma ou mais vendas.
+     *
+     * @return Uma string SQL com o array de IDs dos produtos como único parâmetro.
+     */
+    private String getQuerySelectProdutosPorId() {
+        return "SELECT P.ID AS ID_PRODUTO, P.CODIGO, P.NOME, P.DESCRICAO, P.VALOR FROM TB_PRODUTO P WHERE P.ID = ANY(?)";
+    }
+
+    /**
+     * Retorna as instruções SQL conhecidas do DAO genérico, acrescidas das instruções próprias de vendas:
+     * a consulta com cliente, a busca e a inserção dos itens e a atualização de status.
+     *
+     * @return As instruções SQL conhecidas.
+     */
+    @Override
+    public Collection<String> getInstrucoesConhecidas() {
+        Collection<String> instrucoes = super.getInstrucoesConhecidas();
+        instrucoes.add(sqlBaseSelect().append("WHERE V.CODIGO = ? ").toString());
+        instrucoes.add(getQuerySelectProdutosVenda());
+        instrucoes.add(getQuerySelectProdutosPorId());
+        instrucoes.add(getQueryInsercaoProdQuant());
+        instrucoes.add("UPDATE TB_VENDA SET STATUS_VENDA = ? WHERE ID = ?");
+        instrucoes.add(getQueryPeriodo(false, false)); // Primeira página do período
+        instrucoes.add(getQueryPeriodo(true, true)); // Páginas seguintes, por status
+        return instrucoes;
+    }
+
     /**
      * Retorna a string SQL para a operação de inserção de um item
      * {@link ProdutoQuantidade} na tabela {@code TB_PRODUTO_QUANTIDADE}.
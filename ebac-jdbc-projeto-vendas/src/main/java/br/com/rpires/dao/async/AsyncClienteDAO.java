@@ -0,0 +1,18 @@
+package br.com.rpires.dao.async;
+
+import br.com.rpires.dao.IClienteDAO;
+import br.com.rpires.domain.Cliente;
+
+/**
+ * Fachada assíncrona para o DAO de Cliente.
+ */
+public class AsyncClienteDAO extends AsyncGenericDAO<Cliente, Long> {
+
+    public AsyncClienteDAO(IClienteDAO dao) {
+        super(dao);
+    }
+
+    public AsyncClienteDAO(IClienteDAO dao, ExecutorDAO executor) {
+        super(dao, executor);
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.rpires.dao.async;
+
+import br.com.rpires.dao.generic.Criterio;
+import br.com.rpires.dao.generic.IGenericDAO;
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.domain.Persistente;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fachada assíncrona genérica sobre um {@link IGenericDAO}.
+ * Cada operação é executada pelo {@link ExecutorDAO} e retorna um {@link CompletableFuture},
+ * permitindo disparar consultas independentes em paralelo e combiná-las depois
+ * (ex: {@code CompletableFuture.allOf(...)}). Exceções do DAO (ex: {@code DAOException})
+ * completam o futuro excepcionalmente.
+ *
+ * @param <T> O tipo da entidade.
+ * @param <E> O tipo da chave lógica da entidade.
+ */
+public class AsyncGenericDAO<T extends Persistente, E extends Serializable> {
+
+    private final IGenericDAO<T, E> dao; // DAO bloqueante que executa as operações
+    private final ExecutorDAO executor;
+
+    /**
+     * Cria a fachada usando o executor padrão.
+     * @param dao O DAO bloqueante.
+     */
+    public AsyncGenericDAO(IGenericDAO<T, E> dao) {
+        this(dao, ExecutorDAO.getPadrao());
+    }
+
+    /**
+     * Cria a fachada com um executor específico.
+     * @param dao O DAO bloqueante.
+     * @param executor O executor das operações.
+     */
+    public AsyncGenericDAO(IGenericDAO<T, E> dao, ExecutorDAO executor) {
+        this.dao = dao;
+        this.executor = executor;
+    }
+
+    /**
+     * Cadastra a entidade de forma assíncrona.
+     * @param entity A entidade a ser cadastrada.
+     * @return Futuro com {@code true} se o cadastro foi bem-sucedido.
+     */
+    public CompletableFuture<Boolean> cadastrar(T entity) {
+        return executor.executar(() -> dao.cadastrar(entity));
+    }
+
+    /**
+     * Exclui a entidade de forma assíncrona.
+     * @param valor A chave da entidade a ser excluída.
+     * @return Futuro completado ao fim da exclusão.
+     */
+    public CompletableFuture<Void> excluir(E valor) {
+        return executor.executar(() -> {
+            dao.excluir(valor);
+            return null;
+        });
+    }
+
+    /**
+     * Altera a entidade de forma assíncrona.
+     * @param entity A entidade com os dados atualizados.
+     * @return Futuro completado ao fim da alteração.
+     */
+    public CompletableFuture<Void> alterar(T entity) {
+        return executor.executar(() -> {
+            dao.alterar(entity);
+            return null;
+        });
+    }
+
+    /**
+     * Consulta a entidade de forma assíncrona.
+     * @param valor A chave da entidade.
+     * @return Futuro com a entidade encontrada, ou {@code null} se não existir.
+     */
+    public CompletableFuture<T> consultar(E valor) {
+        return executor.executar(() -> dao.consultar(valor));
+    }
+
+    /**
+     * Verifica a existência da entidade de forma assíncrona, sem carregá-la.
+     * @param valor A chave da entidade.
+     * @return Futuro com {@code true} se a entidade existir.
+     */
+    public CompletableFuture<Boolean> existe(E valor) {
+        return executor.executar(() -> dao.existe(valor));
+    }
+
+    /**
+     * Verifica a existência de várias entidades de forma assíncrona, sem carregá-las.
+     * @param chaves As chaves das entidades.
+     * @return Futuro com as chaves que existem.
+     */
+    public CompletableFuture<Set<E>> existemVarios(Collection<E> chaves) {
+        return executor.executar(() -> dao.existemVarios(chaves));
+    }
+
+    /**
+     * Busca todas as entidades de forma assíncrona.
+     * @return Futuro com a coleção de entidades.
+     */
+    public CompletableFuture<Collection<T>> buscarTodos() {
+        return executor.executar(ConnectionFactory.POOL_RELATORIOS, dao::buscarTodos); // Listagens usam o pool de relatórios
+    }
+
+    /**
+     * Busca as entidades que satisfazem o critério de forma assíncrona.
+     * @param criterio O critério de busca.
+     * @return Futuro com as entidades encontradas, na ordem do critério.
+     */
+    public CompletableFuture<List<T>> buscar(Criterio<T> criterio) {
+        return executor.executar(ConnectionFactory.POOL_RELATORIOS, () -> dao.buscar(criterio));
+    }
+
+    /**
+     * Conta as entidades que satisfazem o critério de forma assíncrona.
+     * @param criterio O critério de busca.
+     * @return Futuro com a quantidade de entidades.
+     */
+    public CompletableFuture<Long> contar(Criterio<T> criterio) {
+        return executor.executar(ConnectionFactory.POOL_RELATORIOS, () -> dao.contar(criterio));
+    }
+
+    /**
+     * Retorna o executor usado pela fachada, para ser compartilhado por subclasses.
+     * @return O executor.
+     */
+    protected ExecutorDAO getExecutor() {
+        return executor;
+    }
+}
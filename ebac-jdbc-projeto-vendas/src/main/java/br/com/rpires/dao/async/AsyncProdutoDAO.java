@@ -0,0 +1,18 @@
+package br.com.rpires.dao.async;
+
+import br.com.rpires.dao.IProdutoDAO;
+import br.com.rpires.domain.Produto;
+
+/**
+ * Fachada assíncrona para o DAO de Produto.
+ */
+public class AsyncProdutoDAO extends AsyncGenericDAO<Produto, String> {
+
+    public AsyncProdutoDAO(IProdutoDAO dao) {
+        super(dao);
+    }
+
+    public AsyncProdutoDAO(IProdutoDAO dao, ExecutorDAO executor) {
+        super(dao, executor);
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.rpires.dao.async;
+
+import br.com.rpires.dao.IVendaDAO;
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.domain.Venda;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fachada assíncrona para o DAO de Venda.
+ * Adiciona as operações de ciclo de vida da venda às operações genéricas.
+ */
+public class AsyncVendaDAO extends AsyncGenericDAO<Venda, String> {
+
+    private final IVendaDAO dao;
+
+    public AsyncVendaDAO(IVendaDAO dao) {
+        super(dao);
+        this.dao = dao;
+    }
+
+    public AsyncVendaDAO(IVendaDAO dao, ExecutorDAO executor) {
+        super(dao, executor);
+        this.dao = dao;
+    }
+
+    /**
+     * Finaliza a venda de forma assíncrona.
+     * @param venda A venda a ser finalizada.
+     * @return Futuro completado ao fim da operação.
+     */
+    public CompletableFuture<Void> finalizarVenda(Venda venda) {
+        return getExecutor().executar(() -> {
+            dao.finalizarVenda(venda);
+            return null;
+        });
+    }
+
+    /**
+     * Cancela a venda de forma assíncrona.
+     * @param venda A venda a ser cancelada.
+     * @return Futuro completado ao fim da operação.
+     */
+    public CompletableFuture<Void> cancelarVenda(Venda venda) {
+        return getExecutor().executar(() -> {
+            dao.cancelarVenda(venda);
+            return null;
+        });
+    }
+
+    /**
+     * Busca uma página das vendas do período de forma assíncrona.
+     * @param inicio O início do período (inclusivo).
+     * @param fim O fim do período (exclusivo).
+     * @param status O status das vendas, ou {@code null} para todos.
+     * @param ultimaDaPaginaAnterior A última venda da página anterior, ou {@code null} para a primeira página.
+     * @param tamanhoPagina O número máximo de vendas da página.
+     * @return Futuro com as vendas da página.
+     */
+    public CompletableFuture<List<Venda>> buscarPorPeriodo(Instant inicio, Instant fim, Venda.Status status,
+                                                           Venda ultimaDaPaginaAnterior, int tamanhoPagina) {
+        return getExecutor().executar(ConnectionFactory.POOL_RELATORIOS, () -> dao.buscarPorPeriodo(inicio, fim, status, ultimaDaPaginaAnterior, tamanhoPagina));
+    }
+}
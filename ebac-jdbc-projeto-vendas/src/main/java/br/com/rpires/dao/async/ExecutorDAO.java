@@ -0,0 +1,186 @@
+package br.com.rpires.dao.async;
+
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Executor compartilhado pelas fachadas assíncronas dos DAOs.
+ * <p>
+ * Usa threads virtuais quando a JVM as oferece (Java 21+), detectadas por reflexão para que o
+ * projeto continue compilando com Java 17. Caso contrário, usa um pool limitado de threads de plataforma.
+ * Em ambos os casos, o número de operações executando ao mesmo tempo é limitado por um semáforo por pool
+ * de conexões do {@link ConnectionFactory} (o padrão, o de listagens...), com tantas permissões quanto o tamanho
+ * do pool usado pela operação, evitando que as tarefas fiquem presas esperando por conexões.
+ * </p>
+ */
+public class ExecutorDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorDAO.class);
+
+    public static final int CAPACIDADE_FILA_PADRAO = 10_000; // Tarefas aguardando no pool de plataforma
+
+    private static volatile ExecutorDAO padrao;
+
+    private final ExecutorService executor;
+    private final Map<String, Semaphore> permissoes = new ConcurrentHashMap<>(); // Por pool efetivo
+    private final ToIntFunction<String> permissoesDoPool;
+    private final boolean threadsVirtuais;
+
+    /**
+     * Operação de DAO executada de forma assíncrona.
+     * @param <R> O tipo do resultado.
+     */
+    @FunctionalInterface
+    public interface OperacaoDAO<R> {
+        R executar() throws Exception;
+    }
+
+    /**
+     * Cria um executor com o mesmo número de permissões para cada pool.
+     * @param permissoes O número máximo de operações simultâneas em cada pool.
+     */
+    public ExecutorDAO(int permissoes) {
+        this(permissoes, nomePool -> permissoes);
+    }
+
+    /**
+     * Cria um executor com as permissões de cada pool calculadas pela função informada.
+     * @param threadsPlataforma O número de threads quando a JVM não oferece threads virtuais.
+     * @param permissoesDoPool O número máximo de operações simultâneas de cada pool (normalmente o tamanho dele).
+     */
+    public ExecutorDAO(int threadsPlataforma, ToIntFunction<String> permissoesDoPool) {
+        if (threadsPlataforma <= 0) {
+            throw new IllegalArgumentException("Número de threads deve ser maior que zero.");
+        }
+        this.permissoesDoPool = permissoesDoPool;
+        ExecutorService virtual = criarExecutorVirtual();
+        if (virtual != null) {
+            this.executor = virtual;
+            this.threadsVirtuais = true;
+        } else {
+            AtomicInteger contador = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threadsPlataforma, threadsPlataforma, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(CAPACIDADE_FILA_PADRAO), r -> {
+                        Thread t = new Thread(r, "dao-async-" + contador.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+            this.threadsVirtuais = false;
+        }
+        LOGGER.info("Executor assíncrono de DAOs iniciado: threads {}.", threadsVirtuais ? "virtuais" : "de plataforma (" + threadsPlataforma + ")");
+    }
+
+    /**
+     * Retorna o executor padrão, com as permissões de cada pool dimensionadas pelo tamanho dele no
+     * {@link ConnectionFactory} e threads de plataforma suficientes para o pool padrão e o de listagens.
+     * @return O executor padrão (criado na primeira chamada).
+     */
+    public static ExecutorDAO getPadrao() {
+        ExecutorDAO atual = padrao;
+        if (atual == null) {
+            synchronized (ExecutorDAO.class) {
+                atual = padrao;
+                if (atual == null) {
+                    int threads = ConnectionFactory.getTamanhoMaximoPool(ConnectionFactory.getPoolPadrao());
+                    if (!ConnectionFactory.getPoolEfetivo(ConnectionFactory.POOL_RELATORIOS).equals(ConnectionFactory.getPoolPadrao())) {
+                        threads += ConnectionFactory.getTamanhoMaximoPool(ConnectionFactory.POOL_RELATORIOS);
+                    }
+                    atual = new ExecutorDAO(threads, ConnectionFactory::getTamanhoMaximoPool);
+                    padrao = atual;
+                }
+            }
+        }
+        return atual;
+    }
+
+    /**
+     * Executa no pool padrão a operação de forma assíncrona (veja {@link #executar(String, OperacaoDAO)}).
+     * @param operacao A operação do DAO.
+     * @param <R> O tipo do resultado.
+     * @return O futuro com o resultado da operação.
+     */
+    public <R> CompletableFuture<R> executar(OperacaoDAO<R> operacao) {
+        return executar(ConnectionFactory.getPoolPadrao(), operacao);
+    }
+
+    /**
+     * Executa a operação de forma assíncrona, respeitando o limite de permissões do pool que ela usa.
+     * Se a operação lançar uma exceção, o futuro é completado excepcionalmente com ela
+     * (ex: {@code DAOException}), acessível via {@link java.util.concurrent.ExecutionException#getCause()}.
+     * @param nomePool O pool de conexões usado pela operação (ex: {@link ConnectionFactory#POOL_RELATORIOS} nas listagens).
+     * @param operacao A operação do DAO.
+     * @param <R> O tipo do resultado.
+     * @return O futuro com o resultado da operação.
+     */
+    public <R> CompletableFuture<R> executar(String nomePool, OperacaoDAO<R> operacao) {
+        CompletableFuture<R> futuro = new CompletableFuture<>();
+        Semaphore semaforo;
+        try {
+            semaforo = permissoes.computeIfAbsent(ConnectionFactory.getPoolEfetivo(nomePool),
+                    pool -> new Semaphore(permissoesDoPool.applyAsInt(pool), true));
+        } catch (RuntimeException e) {
+            futuro.completeExceptionally(e);
+            return futuro;
+        }
+        try {
+            executor.execute(() -> {
+                boolean adquirida = false;
+                try {
+                    semaforo.acquire();
+                    adquirida = true;
+                    futuro.complete(operacao.executar());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futuro.completeExceptionally(e);
+                } catch (Throwable e) {
+                    futuro.completeExceptionally(e);
+                } finally {
+                    if (adquirida) {
+                        semaforo.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Operação assíncrona rejeitada: fila do executor cheia.");
+            futuro.completeExceptionally(e);
+        }
+        return futuro;
+    }
+
+    public boolean isThreadsVirtuais() {
+        return threadsVirtuais;
+    }
+
+    /**
+     * Encerra o executor, aguardando as operações em andamento.
+     */
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Cria um executor de threads virtuais via reflexão, se disponível na JVM.
+     * @return O executor, ou {@code null} se a JVM não suportar threads virtuais.
+     */
+    private static ExecutorService criarExecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null; // Java 17: sem threads virtuais
+        }
+    }
+}
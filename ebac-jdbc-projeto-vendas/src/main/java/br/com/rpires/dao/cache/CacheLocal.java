@@ -0,0 +1,211 @@
+package br.com.rpires.dao.cache;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache em memória, limitado por tamanho e por tempo de vida (TTL).
+ * Quando o número de entradas ultrapassa o limite, a entrada menos recentemente
+ * usada (LRU) é removida. Entradas cujo TTL expirou são descartadas na leitura.
+ * Mantém contadores de acertos, falhas e remoções para acompanhamento.
+ * <p>
+ * Para que uma leitura do banco feita antes de uma escrita não volte a colocar no cache o valor antigo depois
+ * da invalidação, quem carrega o valor guarda {@link #getGeracao()} antes de ler e armazena com
+ * {@link #colocarSeNaoInvalidado(Object, Object, long)}: o valor é descartado se a chave foi invalidada ou
+ * escrita desde então. As gerações são mantidas por faixa de chaves (e não por chave, para não crescer com
+ * o cache); uma escrita em outra chave da mesma faixa apenas descarta a carga, sem prejuízo à consistência.
+ * </p>
+ *
+ * @param <K> O tipo da chave.
+ * @param <V> O tipo do valor armazenado.
+ */
+public class CacheLocal<K, V> {
+
+    private final int tamanhoMaximo; // Número máximo de entradas mantidas
+    private final long ttlNanos; // Tempo de vida de cada entrada, em nanossegundos
+    private final LinkedHashMap<K, Entrada<V>> entradas; // Mapa em ordem de acesso (LRU)
+
+    private static final int FAIXAS_GERACAO = 64; // Potência de 2
+    private final long[] geracoes = new long[FAIXAS_GERACAO]; // Geração da última escrita/invalidação em cada faixa de chaves
+    private long geracao; // Geração atual: incrementada a cada escrita ou invalidação
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    /**
+     * Construtor do cache.
+     * @param tamanhoMaximo O número máximo de entradas (deve ser maior que zero).
+     * @param ttlMillis O tempo de vida de cada entrada em milissegundos (deve ser maior que zero).
+     */
+    public CacheLocal(int tamanhoMaximo, long ttlMillis) {
+        if (tamanhoMaximo <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo do cache deve ser maior que zero.");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("TTL do cache deve ser maior que zero.");
+        }
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        // accessOrder = true: cada get() move a entrada para o fim, mantendo a ordem LRU
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> eldest) {
+                if (size() > CacheLocal.this.tamanhoMaximo) {
+                    remocoes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtém o valor associado à chave, se presente e ainda válido.
+     * @param chave A chave a ser buscada.
+     * @return O valor em cache, ou {@code null} se ausente ou expirado.
+     */
+    public synchronized V obter(K chave) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada == null) {
+            falhas.increment();
+            return null;
+        }
+        if (entrada.expiraEm - System.nanoTime() <= 0) { // Entrada expirada por TTL
+            entradas.remove(chave);
+            remocoes.increment();
+            falhas.increment();
+            return null;
+        }
+        acertos.increment();
+        return entrada.valor;
+    }
+
+    /**
+     * Indica se a chave está no cache e ainda válida, sem contar acerto nem falha: para verificações de
+     * existência, que não são leituras do valor e distorceriam as estatísticas.
+     * @param chave A chave a ser verificada.
+     * @return {@code true} se houver um valor não expirado para a chave.
+     */
+    public synchronized boolean contem(K chave) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada == null) {
+            return false;
+        }
+        if (entrada.expiraEm - System.nanoTime() <= 0) { // Entrada expirada por TTL
+            entradas.remove(chave);
+            remocoes.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Armazena (ou substitui) o valor associado à chave, reiniciando seu TTL.
+     * @param chave A chave.
+     * @param valor O valor a ser armazenado (não pode ser nulo).
+     */
+    public synchronized void colocar(K chave, V valor) {
+        Objects.requireNonNull(valor, "Valor do cache não pode ser nulo.");
+        geracoes[faixa(chave)] = ++geracao; // Cargas em andamento para a chave não sobrescrevem este valor
+        entradas.put(chave, new Entrada<>(valor, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Retorna a geração atual, a ser guardada antes de ler do banco o valor que será armazenado
+     * com {@link #colocarSeNaoInvalidado(Object, Object, long)}.
+     * @return A geração atual.
+     */
+    public synchronized long getGeracao() {
+        return geracao;
+    }
+
+    /**
+     * Armazena o valor lido do banco apenas se a chave não foi escrita nem invalidada desde a geração informada,
+     * ou seja, se o valor lido não pode estar desatualizado em relação a uma escrita já refletida no cache.
+     * @param chave A chave.
+     * @param valor O valor a ser armazenado (não pode ser nulo).
+     * @param geracaoLeitura A geração obtida por {@link #getGeracao()} antes da leitura.
+     * @return {@code true} se o valor foi armazenado.
+     */
+    public synchronized boolean colocarSeNaoInvalidado(K chave, V valor, long geracaoLeitura) {
+        Objects.requireNonNull(valor, "Valor do cache não pode ser nulo.");
+        if (geracoes[faixa(chave)] > geracaoLeitura) {
+            return false; // Escrita ou invalidação concorrente: o valor lido pode ser anterior a ela
+        }
+        entradas.put(chave, new Entrada<>(valor, System.nanoTime() + ttlNanos));
+        return true;
+    }
+
+    /**
+     * Remove a entrada associada à chave, se existir.
+     * @param chave A chave a ser invalidada.
+     */
+    public synchronized void invalidar(K chave) {
+        geracoes[faixa(chave)] = ++geracao;
+        entradas.remove(chave);
+    }
+
+    /**
+     * Remove todas as entradas do cache.
+     */
+    public synchronized void limpar() {
+        Arrays.fill(geracoes, ++geracao);
+        entradas.clear();
+    }
+
+    /**
+     * Descarta as entradas expiradas, contabilizando-as como remoções.
+     * Útil para ser chamado periodicamente, já que a expiração é verificada apenas na leitura.
+     */
+    public synchronized void removerExpirados() {
+        long agora = System.nanoTime();
+        Iterator<Entrada<V>> it = entradas.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiraEm - agora <= 0) {
+                it.remove();
+                remocoes.increment();
+            }
+        }
+    }
+
+    /**
+     * Retorna o número atual de entradas (incluindo as expiradas ainda não descartadas).
+     * @return O tamanho do cache.
+     */
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    /**
+     * Retorna uma fotografia dos contadores do cache.
+     * @return As estatísticas atuais.
+     */
+    public EstatisticasCache getEstatisticas() {
+        return new EstatisticasCache(acertos.sum(), falhas.sum(), remocoes.sum(), tamanho());
+    }
+
+    private static int faixa(Object chave) {
+        int h = Objects.hashCode(chave);
+        return (h ^ (h >>> 16)) & (FAIXAS_GERACAO - 1);
+    }
+
+    /**
+     * Valor armazenado e o instante (System.nanoTime) em que expira.
+     */
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long expiraEm;
+
+        private Entrada(V valor, long expiraEm) {
+            this.valor = valor;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
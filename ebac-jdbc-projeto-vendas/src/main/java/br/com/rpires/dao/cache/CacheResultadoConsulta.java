@@ -0,0 +1,229 @@
+package br.com.rpires.dao.cache;
+
+import br.com.rpires.exceptions.DAOException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache de resultados de consultas de listagem, indexado pelo formato da consulta e seus parâmetros.
+ * <p>
+ * Requisições concorrentes idênticas compartilham uma única execução: a primeira executa a consulta
+ * e as demais aguardam o mesmo resultado. Cada entrada guarda as chaves dos registros retornados e um
+ * predicado de abrangência (quais registros a consulta incluiria), permitindo invalidar apenas as
+ * entradas afetadas por uma escrita. O TTL funciona como limite de segurança.
+ * </p>
+ *
+ * @param <R> O tipo do resultado armazenado.
+ * @param <T> O tipo dos registros usados na invalidação.
+ */
+public class CacheResultadoConsulta<R, T> {
+
+    private final ConcurrentHashMap<ChaveConsulta, Entrada<R, T>> entradas = new ConcurrentHashMap<>();
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    /**
+     * Interface funcional para a consulta que produz o resultado em caso de falha no cache.
+     * @param <R> O tipo do resultado.
+     */
+    @FunctionalInterface
+    public interface Carregador<R> {
+        R carregar() throws DAOException;
+    }
+
+    /**
+     * Construtor do cache.
+     * @param tamanhoMaximo O número máximo de consultas distintas em cache.
+     * @param ttlMillis O tempo de vida máximo de cada resultado, em milissegundos.
+     */
+    public CacheResultadoConsulta(int tamanhoMaximo, long ttlMillis) {
+        if (tamanhoMaximo <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo e TTL do cache devem ser maiores que zero.");
+        }
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * Obtém o resultado da consulta do cache ou o carrega, compartilhando a execução entre chamadas concorrentes.
+     * @param formato Identificação do formato da consulta (ex: "buscarTodos").
+     * @param parametros Os parâmetros da consulta (fazem parte da chave).
+     * @param abrangencia Predicado que indica se um registro seria incluído por esta consulta.
+     * @param chavesDoResultado Função que extrai as chaves dos registros presentes no resultado.
+     * @param carregador A consulta ao banco.
+     * @return O resultado da consulta.
+     * @throws DAOException Se a consulta falhar.
+     */
+    public R obter(String formato, List<?> parametros, Predicate<T> abrangencia,
+                   Function<R, Set<?>> chavesDoResultado, Carregador<R> carregador) throws DAOException {
+        ChaveConsulta chave = new ChaveConsulta(formato, parametros);
+        while (true) {
+            Entrada<R, T> existente = entradas.get(chave);
+            if (existente != null) {
+                if (existente.expirada()) {
+                    if (entradas.remove(chave, existente)) {
+                        remocoes.increment();
+                    }
+                    continue;
+                }
+                acertos.increment();
+                return aguardar(existente.futuro);
+            }
+            Entrada<R, T> nova = new Entrada<>(abrangencia, System.nanoTime() + ttlNanos);
+            if (entradas.putIfAbsent(chave, nova) != null) {
+                continue; // Outra thread registrou a mesma consulta primeiro; aguarda o resultado dela
+            }
+            falhas.increment();
+            limitarTamanho();
+            try {
+                R resultado = carregador.carregar();
+                nova.chaves = chavesDoResultado.apply(resultado);
+                nova.futuro.complete(resultado);
+                return resultado;
+            } catch (DAOException | RuntimeException e) {
+                entradas.remove(chave, nova); // Falhas não ficam em cache
+                nova.futuro.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Invalida as entradas afetadas pela escrita de um registro: as que já contêm a chave do registro
+     * e as que passariam a incluí-lo segundo seu predicado de abrangência.
+     * @param chaveRegistro A chave do registro escrito (pode ser nula se desconhecida).
+     * @param registro O registro no estado após a escrita (pode ser nulo se desconhecido).
+     * @return O número de entradas invalidadas.
+     */
+    public int invalidarAfetadas(Object chaveRegistro, T registro) {
+        int invalidadas = 0;
+        Iterator<Map.Entry<ChaveConsulta, Entrada<R, T>>> it = entradas.entrySet().iterator();
+        while (it.hasNext()) {
+            Entrada<R, T> entrada = it.next().getValue();
+            if (entrada.afetadaPor(chaveRegistro, registro)) {
+                it.remove();
+                remocoes.increment();
+                invalidadas++;
+            }
+        }
+        return invalidadas;
+    }
+
+    /**
+     * Remove todas as entradas do cache.
+     */
+    public void limpar() {
+        entradas.clear();
+    }
+
+    /**
+     * Retorna uma fotografia dos contadores do cache.
+     * @return As estatísticas atuais.
+     */
+    public EstatisticasCache getEstatisticas() {
+        return new EstatisticasCache(acertos.sum(), falhas.sum(), remocoes.sum(), entradas.size());
+    }
+
+    private void limitarTamanho() {
+        Iterator<Entrada<R, T>> it = entradas.values().iterator();
+        while (entradas.size() > tamanhoMaximo && it.hasNext()) {
+            Entrada<R, T> entrada = it.next();
+            if (entrada.futuro.isDone()) { // Nunca descarta consultas em andamento
+                it.remove();
+                remocoes.increment();
+            }
+        }
+    }
+
+    private R aguardar(CompletableFuture<R> futuro) throws DAOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DAOException("CONSULTA INTERROMPIDA ENQUANTO AGUARDAVA RESULTADO COMPARTILHADO.", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof DAOException) {
+                throw (DAOException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new DAOException("ERRO NA CONSULTA COMPARTILHADA. Detalhes: " + causa.getMessage(), causa);
+        }
+    }
+
+    /**
+     * Chave do cache: formato da consulta e lista de parâmetros.
+     */
+    private static final class ChaveConsulta {
+        private final String formato;
+        private final List<?> parametros;
+
+        private ChaveConsulta(String formato, List<?> parametros) {
+            this.formato = Objects.requireNonNull(formato);
+            this.parametros = parametros == null ? Collections.emptyList() : List.copyOf(parametros);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChaveConsulta)) {
+                return false;
+            }
+            ChaveConsulta outra = (ChaveConsulta) o;
+            return formato.equals(outra.formato) && parametros.equals(outra.parametros);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * formato.hashCode() + parametros.hashCode();
+        }
+    }
+
+    /**
+     * Resultado (possivelmente ainda em carregamento) e os metadados usados na invalidação.
+     */
+    private static final class Entrada<R, T> {
+        private final CompletableFuture<R> futuro = new CompletableFuture<>();
+        private final Predicate<T> abrangencia;
+        private final long expiraEm;
+        private volatile Set<?> chaves = Collections.emptySet(); // Chaves presentes no resultado
+
+        private Entrada(Predicate<T> abrangencia, long expiraEm) {
+            this.abrangencia = abrangencia;
+            this.expiraEm = expiraEm;
+        }
+
+        private boolean expirada() {
+            return futuro.isDone() && expiraEm - System.nanoTime() <= 0;
+        }
+
+        private boolean afetadaPor(Object chaveRegistro, T registro) {
+            if (!futuro.isDone()) {
+                return true; // Consulta em andamento pode ter lido o estado anterior à escrita
+            }
+            if (chaveRegistro != null && chaves.contains(chaveRegistro)) {
+                return true;
+            }
+            return registro == null || abrangencia == null || abrangencia.test(registro);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package br.com.rpires.dao.cache;
+
+import br.com.rpires.dao.IClienteDAO;
+import br.com.rpires.dao.generic.Criterio;
+import br.com.rpires.domain.Cliente;
+import br.com.rpires.exceptions.DAOException;
+import br.com.rpires.exceptions.MaisDeUmRegistroException;
+import br.com.rpires.exceptions.TableException;
+import br.com.rpires.exceptions.TipoChaveNaoEncontradaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Flow;
+
+/**
+ * Decorador de {@link IClienteDAO} que mantém um near cache em memória dos clientes, indexado pelo CPF.
+ * <p>
+ * O cache usa {@link MapaLongClock}, com chaves {@code long} primitivas e sem objetos de nó por entrada,
+ * o que reduz bastante o consumo de heap em relação a um {@code HashMap<Long, Cliente>} quando há
+ * milhões de clientes. A remoção por capacidade segue o algoritmo do relógio (aproximação de LRU).
+ * </p>
+ * {@link #alterar(Cliente)} e {@link #excluir(Long)} invalidam a entrada do cliente;
+ * {@link #cadastrar(Cliente)} armazena o cliente recém-cadastrado.
+ * O cache guarda cópias, isolando o valor armazenado de alterações feitas pelo chamador.
+ */
+public class ClienteCacheDAO implements IClienteDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClienteCacheDAO.class);
+
+    public static final int CAPACIDADE_PADRAO = 100_000; // Número máximo de clientes em cache
+
+    private final IClienteDAO delegate; // DAO que efetivamente acessa o banco
+    private final MapaLongClock<Cliente> cache;
+
+    /**
+     * Cria o decorador com a capacidade padrão.
+     * @param delegate O DAO de Cliente a ser decorado.
+     */
+    public ClienteCacheDAO(IClienteDAO delegate) {
+        this(delegate, CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * Cria o decorador com capacidade configurável.
+     * @param delegate O DAO de Cliente a ser decorado.
+     * @param capacidade O número máximo de clientes em cache.
+     */
+    public ClienteCacheDAO(IClienteDAO delegate, int capacidade) {
+        this.delegate = delegate;
+        this.cache = new MapaLongClock<>(capacidade);
+    }
+
+    @Override
+    public Boolean cadastrar(Cliente entity) throws TipoChaveNaoEncontradaException, DAOException {
+        Boolean cadastrado = delegate.cadastrar(entity);
+        if (entity.getCpf() != null) {
+            if (Boolean.TRUE.equals(cadastrado)) {
+                cache.colocar(entity.getCpf(), copiar(entity));
+            } else {
+                cache.remover(entity.getCpf());
+            }
+        }
+        return cadastrado;
+    }
+
+    @Override
+    public void excluir(Long valor) throws DAOException {
+        try {
+            delegate.excluir(valor);
+        } finally {
+            if (valor != null) {
+                cache.remover(valor); // Invalida mesmo em caso de erro, pois o estado no banco é incerto
+            }
+        }
+    }
+
+    @Override
+    public void alterar(Cliente entity) throws TipoChaveNaoEncontradaException, DAOException {
+        try {
+            delegate.alterar(entity);
+        } finally {
+            if (entity.getCpf() != null) {
+                cache.remover(entity.getCpf());
+            }
+        }
+    }
+
+    @Override
+    public Cliente consultar(Long valor) throws MaisDeUmRegistroException, TableException, DAOException {
+        if (valor == null) {
+            return delegate.consultar(null);
+        }
+        return consultar(valor.longValue());
+    }
+
+    /**
+     * Consulta um cliente pelo CPF sem boxing da chave no caminho de acerto do cache.
+     * @param cpf O CPF do cliente.
+     * @return O cliente encontrado, ou {@code null} se não existir.
+     * @throws MaisDeUmRegistroException Se mais de um registro for encontrado para o CPF.
+     * @throws TableException Se houver um problema com o nome da tabela.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    public Cliente consultar(long cpf) throws MaisDeUmRegistroException, TableException, DAOException {
+        Cliente emCache = cache.obter(cpf);
+        if (emCache != null) {
+            LOGGER.debug("Cliente com CPF {} encontrado no near cache.", cpf);
+            return copiar(emCache);
+        }
+        long geracao = cache.getGeracao(); // Antes da leitura: uma escrita concorrente descarta o valor lido
+        Cliente cliente = delegate.consultar(cpf);
+        if (cliente != null) {
+            cache.colocarSeNaoRemovido(cpf, copiar(cliente), geracao);
+        }
+        return cliente;
+    }
+
+    /**
+     * Verifica a existência pelo cache e, em caso de falha, no banco, sem carregar o cliente.
+     */
+    @Override
+    public boolean existe(Long valor) throws DAOException {
+        if (valor != null && cache.contem(valor)) {
+            return true;
+        }
+        return delegate.existe(valor);
+    }
+
+    /**
+     * Verifica a existência pelo cache e consulta no banco, em lote, apenas os CPFs que não estão nele.
+     */
+    @Override
+    public Set<Long> existemVarios(Collection<Long> chaves) throws DAOException {
+        Set<Long> existentes = new HashSet<>();
+        List<Long> foraDoCache = new ArrayList<>();
+        for (Long cpf : chaves) {
+            if (cpf != null && cache.contem(cpf)) {
+                existentes.add(cpf);
+            } else {
+                foraDoCache.add(cpf);
+            }
+        }
+        if (!foraDoCache.isEmpty()) {
+            existentes.addAll(delegate.existemVarios(foraDoCache));
+        }
+        return existentes;
+    }
+
+    @Override
+    public long contar(Criterio<Cliente> criterio) throws DAOException {
+        return delegate.contar(criterio);
+    }
+
+    /**
+     * Retorna todos os clientes diretamente do banco. A listagem não passa pelo cache.
+     */
+    @Override
+    public Collection<Cliente> buscarTodos() throws DAOException {
+        return delegate.buscarTodos();
+    }
+
+    /**
+     * Busca por critério diretamente do banco; não passa pelo cache.
+     */
+    @Override
+    public List<Cliente> buscar(Criterio<Cliente> criterio) throws DAOException {
+        return delegate.buscar(criterio);
+    }
+
+    /**
+     * Leitura por cursor diretamente do banco; não passa pelo cache.
+     */
+    @Override
+    public Flow.Publisher<Cliente> publicarTodos() throws DAOException {
+        return delegate.publicarTodos();
+    }
+
+    /**
+     * Remove todos os clientes do cache.
+     */
+    public void limparCache() {
+        cache.limpar();
+    }
+
+    /**
+     * Retorna os contadores de acertos, falhas e remoções do cache.
+     * @return As estatísticas atuais do cache.
+     */
+    public EstatisticasCache getEstatisticas() {
+        return cache.getEstatisticas();
+    }
+
+    /**
+     * Cria uma cópia do cliente, isolando o objeto em cache do objeto entregue ao chamador.
+     */
+    private static Cliente copiar(Cliente cliente) {
+        Cliente copia = new Cliente(cliente.getCpf(), cliente.getNome(), cliente.getTel(), cliente.getEnd(),
+                cliente.getNumero(), cliente.getCidade(), cliente.getEstado());
+        copia.setId(cliente.getId());
+        return copia;
+    }
+}
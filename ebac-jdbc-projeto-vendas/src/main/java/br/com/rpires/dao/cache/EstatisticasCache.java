@@ -0,0 +1,54 @@
+package br.com.rpires.dao.cache;
+
+/**
+ * Fotografia imutável dos contadores de um cache: acertos, falhas, remoções e tamanho.
+ */
+public final class EstatisticasCache {
+
+    private final long acertos; // Consultas atendidas pelo cache
+    private final long falhas; // Consultas que precisaram ir ao banco
+    private final long remocoes; // Entradas removidas por tamanho ou TTL
+    private final int tamanho; // Número de entradas no momento da fotografia
+
+    public EstatisticasCache(long acertos, long falhas, long remocoes, int tamanho) {
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.remocoes = remocoes;
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public long getRemocoes() {
+        return remocoes;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Calcula a taxa de acertos do cache.
+     * @return A fração de consultas atendidas pelo cache (entre 0 e 1), ou 0 se não houve consultas.
+     */
+    public double getTaxaAcertos() {
+        long total = acertos + falhas;
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+
+    @Override
+    public String toString() {
+        return "EstatisticasCache{" +
+               "acertos=" + acertos +
+               ", falhas=" + falhas +
+               ", remocoes=" + remocoes +
+               ", tamanho=" + tamanho +
+               '}';
+    }
+}
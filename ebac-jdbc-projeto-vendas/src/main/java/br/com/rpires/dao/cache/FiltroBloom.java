@@ -0,0 +1,126 @@
+package br.com.rpires.dao.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para teste de pertinência de chaves.
+ * <p>
+ * Responde "certamente ausente" ou "possivelmente presente": não há falsos negativos,
+ * apenas falsos positivos, cuja taxa é definida na criação. Não permite remoção de elementos.
+ * As inserções são seguras para uso concorrente (bits em um {@link AtomicLongArray}).
+ * </p>
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long numeroBits;
+    private final int numeroHashes;
+
+    /**
+     * Cria um filtro dimensionado para a quantidade esperada de elementos.
+     * @param elementosEsperados A quantidade esperada de elementos (mínimo 1).
+     * @param taxaFalsoPositivo A taxa de falsos positivos desejada (entre 0 e 1, exclusivo).
+     */
+    public FiltroBloom(long elementosEsperados, double taxaFalsoPositivo) {
+        if (taxaFalsoPositivo <= 0.0 || taxaFalsoPositivo >= 1.0) {
+            throw new IllegalArgumentException("Taxa de falso positivo deve estar entre 0 e 1.");
+        }
+        long n = Math.max(1, elementosEsperados);
+        // m = -n * ln(p) / (ln 2)^2 ; k = (m / n) * ln 2
+        long m = (long) Math.ceil(-n * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, m);
+        int palavras = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(palavras);
+        this.numeroBits = (long) palavras << 6;
+        this.numeroHashes = Math.max(1, (int) Math.round((double) numeroBits / n * Math.log(2)));
+    }
+
+    /**
+     * Adiciona uma chave ao filtro.
+     * @param chave A chave (não nula).
+     */
+    public void adicionar(Object chave) {
+        long h1 = hash64(chave);
+        long h2 = segundoHash(h1);
+        for (int i = 1; i <= numeroHashes; i++) {
+            long bit = indiceBit(h1 + i * h2);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual = bits.get(palavra);
+            while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara)) {
+                atual = bits.get(palavra);
+            }
+        }
+    }
+
+    /**
+     * Verifica se a chave pode estar presente no filtro.
+     * @param chave A chave (não nula).
+     * @return {@code false} se a chave certamente não foi adicionada; {@code true} se possivelmente foi.
+     */
+    public boolean possivelmenteContem(Object chave) {
+        long h1 = hash64(chave);
+        long h2 = segundoHash(h1);
+        for (int i = 1; i <= numeroHashes; i++) {
+            long bit = indiceBit(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getNumeroBits() {
+        return numeroBits;
+    }
+
+    public int getNumeroHashes() {
+        return numeroHashes;
+    }
+
+    private long indiceBit(long hashCombinado) {
+        // Técnica de Kirsch-Mitzenmacher: k hashes derivados de dois (h1 + i*h2), em 64 bits para alcançar
+        // todos os bits de filtros com mais de 2^31 posições
+        return (hashCombinado & Long.MAX_VALUE) % numeroBits;
+    }
+
+    /**
+     * Deriva o segundo hash do primeiro (fmix64 sobre ele, com outra semente), ímpar para nunca ser zero.
+     */
+    private static long segundoHash(long h1) {
+        long h = h1 ^ 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h | 1;
+    }
+
+    /**
+     * Calcula um hash de 64 bits para a chave. Números usam o próprio valor e textos
+     * usam FNV-1a sobre os caracteres, evitando as colisões do {@code hashCode()} de 32 bits.
+     */
+    static long hash64(Object chave) {
+        long h;
+        if (chave instanceof Long || chave instanceof Integer || chave instanceof Short) {
+            h = ((Number) chave).longValue();
+        } else if (chave instanceof CharSequence) {
+            CharSequence texto = (CharSequence) chave;
+            h = 0xcbf29ce484222325L; // FNV-1a offset basis
+            for (int i = 0; i < texto.length(); i++) {
+                h ^= texto.charAt(i);
+                h *= 0x100000001b3L; // FNV-1a prime
+            }
+        } else {
+            h = chave.hashCode();
+        }
+        // fmix64 do MurmurHash3 para espalhar os bits
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
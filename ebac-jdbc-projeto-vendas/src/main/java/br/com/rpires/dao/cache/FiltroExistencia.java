@@ -0,0 +1,121 @@
+package br.com.rpires.dao.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de existência de chaves usado por um DAO para evitar consultas a chaves inexistentes.
+ * <p>
+ * Combina um {@link FiltroBloom}, construído a partir da coluna chave da tabela, com um
+ * cache negativo de curta duração. Uma chave é considerada "certamente ausente" quando o
+ * filtro de Bloom não a contém ou quando uma consulta recente ao banco não a encontrou.
+ * </p>
+ * <p>
+ * <b>Atenção:</b> o filtro só reflete as escritas feitas através do DAO que o mantém.
+ * Se outros processos inserirem registros na mesma tabela, o filtro deve ser recarregado
+ * periodicamente (ver {@code GenericDAO#carregarFiltroExistencia}), e o TTL do cache
+ * negativo deve ser curto.
+ * </p>
+ * <p>
+ * Uma ausência lida do banco só é registrada se nenhuma presença da mesma chave tiver sido
+ * registrada depois do início da leitura: quem lê obtém {@link #getGeracao()} antes da consulta
+ * e a repassa a {@link #registrarAusencia(Object, long)}, de modo que uma consulta sem resultado
+ * concorrente com um cadastro não marque como ausente a chave recém-cadastrada.
+ * </p>
+ *
+ * @param <E> O tipo da chave.
+ */
+public class FiltroExistencia<E> {
+
+    public static final double TAXA_FALSO_POSITIVO_PADRAO = 0.01; // 1%
+    public static final long TTL_NEGATIVO_PADRAO_MILLIS = 2_000L; // 2 segundos
+    public static final int TAMANHO_NEGATIVO_PADRAO = 10_000;
+
+    private final FiltroBloom bloom;
+    private final CacheLocal<E, Boolean> ausentes; // Cache negativo: chaves consultadas e não encontradas
+    private final LongAdder consultasEvitadas = new LongAdder();
+
+    /**
+     * Cria um filtro vazio com a taxa de falso positivo e o cache negativo padrão.
+     * @param elementosEsperados A quantidade esperada de chaves na tabela (incluindo crescimento previsto).
+     */
+    public FiltroExistencia(long elementosEsperados) {
+        this(elementosEsperados, TAXA_FALSO_POSITIVO_PADRAO, TAMANHO_NEGATIVO_PADRAO, TTL_NEGATIVO_PADRAO_MILLIS);
+    }
+
+    /**
+     * Cria um filtro vazio.
+     * @param elementosEsperados A quantidade esperada de chaves na tabela.
+     * @param taxaFalsoPositivo A taxa de falso positivo do filtro de Bloom.
+     * @param tamanhoNegativo O número máximo de chaves no cache negativo.
+     * @param ttlNegativoMillis O tempo de vida das entradas do cache negativo, em milissegundos.
+     */
+    public FiltroExistencia(long elementosEsperados, double taxaFalsoPositivo, int tamanhoNegativo, long ttlNegativoMillis) {
+        this.bloom = new FiltroBloom(elementosEsperados, taxaFalsoPositivo);
+        this.ausentes = new CacheLocal<>(tamanhoNegativo, ttlNegativoMillis);
+    }
+
+    /**
+     * Verifica se a chave certamente não existe, dispensando a consulta ao banco.
+     * @param chave A chave consultada.
+     * @return {@code true} se a chave certamente não existe.
+     */
+    public boolean certamenteAusente(E chave) {
+        if (chave == null) {
+            return false;
+        }
+        if (!bloom.possivelmenteContem(chave) || ausentes.obter(chave) != null) {
+            consultasEvitadas.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Registra que a chave passou a existir (ex: após um cadastro).
+     * @param chave A chave cadastrada.
+     */
+    public void registrarPresenca(E chave) {
+        if (chave != null) {
+            bloom.adicionar(chave);
+            ausentes.invalidar(chave);
+        }
+    }
+
+    /**
+     * Retorna a geração atual do cache negativo, a ser obtida antes de uma leitura cujo resultado
+     * possa ser registrado com {@link #registrarAusencia(Object, long)}.
+     * @return A geração atual.
+     */
+    public long getGeracao() {
+        return ausentes.getGeracao();
+    }
+
+    /**
+     * Registra que a chave não existe (ex: após uma exclusão ou consulta sem resultado).
+     * Como o filtro de Bloom não permite remoção, a ausência é mantida no cache negativo.
+     * O registro é descartado se uma presença da chave foi registrada depois de {@code geracaoLeitura}.
+     * @param chave A chave ausente.
+     * @param geracaoLeitura A geração obtida com {@link #getGeracao()} antes da leitura ou exclusão.
+     */
+    public void registrarAusencia(E chave, long geracaoLeitura) {
+        if (chave != null) {
+            ausentes.colocarSeNaoInvalidado(chave, Boolean.TRUE, geracaoLeitura);
+        }
+    }
+
+    /**
+     * Retorna quantas consultas ao banco foram evitadas pelo filtro.
+     * @return O número de consultas evitadas.
+     */
+    public long getConsultasEvitadas() {
+        return consultasEvitadas.sum();
+    }
+
+    /**
+     * Retorna as estatísticas do cache negativo.
+     * @return As estatísticas do cache negativo.
+     */
+    public EstatisticasCache getEstatisticasCacheNegativo() {
+        return ausentes.getEstatisticas();
+    }
+}
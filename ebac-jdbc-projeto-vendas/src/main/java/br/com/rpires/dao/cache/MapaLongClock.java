@@ -0,0 +1,262 @@
+package br.com.rpires.dao.cache;
+
+/**
+ * Mapa de capacidade fixa com chaves primitivas {@code long}, usado como near cache.
+ * <p>
+ * Usa endereçamento aberto com sondagem linear sobre arrays paralelos
+ * ({@code long[]} de chaves, {@code Object[]} de valores e {@code boolean[]} de bits de referência),
+ * sem boxing das chaves e sem um objeto de nó por entrada. Ao atingir a capacidade,
+ * a próxima inserção remove uma entrada escolhida pelo algoritmo do relógio (CLOCK),
+ * uma aproximação de LRU: entradas acessadas desde a última passada do ponteiro ganham
+ * uma segunda chance.
+ * </p>
+ * Os métodos são sincronizados; a classe é segura para uso concorrente. Como em {@link CacheLocal}, quem
+ * carrega um valor do banco guarda {@link #getGeracao()} antes da leitura e o armazena com
+ * {@link #colocarSeNaoRemovido(long, Object, long)}, que o descarta se a chave foi escrita ou removida no meio.
+ *
+ * @param <V> O tipo do valor armazenado.
+ */
+public class MapaLongClock<V> {
+
+    private final int capacidade; // Número máximo de entradas
+    private final int mascara; // Tamanho da tabela - 1 (tabela é potência de 2)
+    private final long[] chaves;
+    private final Object[] valores; // null indica posição livre
+    private final boolean[] referenciado; // Bit de referência do algoritmo do relógio
+
+    private int tamanho;
+    private int ponteiro; // Posição atual do "ponteiro do relógio"
+
+    private long acertos;
+    private long falhas;
+    private long remocoes;
+
+    private static final int FAIXAS_GERACAO = 64; // Potência de 2
+    private final long[] geracoes = new long[FAIXAS_GERACAO]; // Geração da última escrita/remoção em cada faixa de chaves
+    private long geracao; // Incrementada a cada escrita ou remoção
+
+    /**
+     * Construtor do mapa.
+     * @param capacidade O número máximo de entradas (deve ser maior que zero).
+     */
+    public MapaLongClock(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade do mapa deve ser maior que zero.");
+        }
+        this.capacidade = capacidade;
+        // Fator de carga máximo de 0,5 mantém as sequências de sondagem curtas
+        int tamanhoTabela = Integer.highestOneBit(Math.max(2, capacidade) * 2 - 1) << 1;
+        this.mascara = tamanhoTabela - 1;
+        this.chaves = new long[tamanhoTabela];
+        this.valores = new Object[tamanhoTabela];
+        this.referenciado = new boolean[tamanhoTabela];
+    }
+
+    /**
+     * Obtém o valor associado à chave, marcando a entrada como recentemente usada.
+     * @param chave A chave.
+     * @return O valor, ou {@code null} se ausente.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V obter(long chave) {
+        int pos = localizar(chave);
+        if (pos < 0) {
+            falhas++;
+            return null;
+        }
+        referenciado[pos] = true;
+        acertos++;
+        return (V) valores[pos];
+    }
+
+    /**
+     * Indica se a chave está no mapa, sem contar acerto nem falha (verificações de existência).
+     * @param chave A chave.
+     * @return {@code true} se presente.
+     */
+    public synchronized boolean contem(long chave) {
+        return localizar(chave) >= 0;
+    }
+
+    /**
+     * Armazena (ou substitui) o valor associado à chave.
+     * Se o mapa estiver cheio, remove uma entrada pelo algoritmo do relógio antes de inserir.
+     * @param chave A chave.
+     * @param valor O valor (não pode ser nulo).
+     */
+    public synchronized void colocar(long chave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor do mapa não pode ser nulo.");
+        }
+        geracoes[faixa(chave)] = ++geracao; // Cargas em andamento para a chave não sobrescrevem este valor
+        armazenar(chave, valor);
+    }
+
+    /**
+     * Retorna a geração atual, a ser guardada antes de ler do banco o valor que será armazenado
+     * com {@link #colocarSeNaoRemovido(long, Object, long)}.
+     * @return A geração atual.
+     */
+    public synchronized long getGeracao() {
+        return geracao;
+    }
+
+    /**
+     * Armazena o valor lido do banco apenas se a chave não foi escrita nem removida desde a geração informada.
+     * @param chave A chave.
+     * @param valor O valor (não pode ser nulo).
+     * @param geracaoLeitura A geração obtida por {@link #getGeracao()} antes da leitura.
+     * @return {@code true} se o valor foi armazenado.
+     */
+    public synchronized boolean colocarSeNaoRemovido(long chave, V valor, long geracaoLeitura) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor do mapa não pode ser nulo.");
+        }
+        if (geracoes[faixa(chave)] > geracaoLeitura) {
+            return false; // Escrita ou remoção concorrente: o valor lido pode ser anterior a ela
+        }
+        armazenar(chave, valor);
+        return true;
+    }
+
+    private void armazenar(long chave, V valor) {
+        int pos = localizar(chave);
+        if (pos >= 0) {
+            valores[pos] = valor;
+            referenciado[pos] = true;
+            return;
+        }
+        if (tamanho >= capacidade) {
+            removerPeloRelogio();
+        }
+        pos = indiceIdeal(chave);
+        while (valores[pos] != null) {
+            pos = (pos + 1) & mascara;
+        }
+        chaves[pos] = chave;
+        valores[pos] = valor;
+        referenciado[pos] = false; // Entrada nova só ganha segunda chance se for lida
+        tamanho++;
+    }
+
+    /**
+     * Remove a entrada associada à chave, se existir.
+     * @param chave A chave.
+     * @return {@code true} se a entrada existia.
+     */
+    public synchronized boolean remover(long chave) {
+        geracoes[faixa(chave)] = ++geracao;
+        int pos = localizar(chave);
+        if (pos < 0) {
+            return false;
+        }
+        removerPosicao(pos);
+        return true;
+    }
+
+    /**
+     * Remove todas as entradas.
+     */
+    public synchronized void limpar() {
+        java.util.Arrays.fill(geracoes, ++geracao);
+        java.util.Arrays.fill(valores, null);
+        java.util.Arrays.fill(referenciado, false);
+        tamanho = 0;
+        ponteiro = 0;
+    }
+
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Retorna uma fotografia dos contadores do mapa.
+     * @return As estatísticas atuais.
+     */
+    public synchronized EstatisticasCache getEstatisticas() {
+        return new EstatisticasCache(acertos, falhas, remocoes, tamanho);
+    }
+
+    /**
+     * Procura a posição da chave na tabela.
+     * @return A posição, ou -1 se a chave não estiver presente.
+     */
+    private int localizar(long chave) {
+        int pos = indiceIdeal(chave);
+        while (valores[pos] != null) {
+            if (chaves[pos] == chave) {
+                return pos;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Avança o ponteiro do relógio até encontrar uma entrada sem bit de referência e a remove.
+     * Entradas com o bit ligado têm o bit limpo e são poupadas nesta passada.
+     */
+    private void removerPeloRelogio() {
+        while (true) {
+            if (valores[ponteiro] != null) {
+                if (referenciado[ponteiro]) {
+                    referenciado[ponteiro] = false;
+                } else {
+                    removerPosicao(ponteiro);
+                    remocoes++;
+                    return; // Não avança: outra entrada pode ter sido deslocada para esta posição
+                }
+            }
+            ponteiro = (ponteiro + 1) & mascara;
+        }
+    }
+
+    /**
+     * Remove a entrada da posição informada usando deslocamento para trás (backward shift),
+     * o que dispensa marcadores de remoção e mantém as sondagens corretas.
+     */
+    private void removerPosicao(int pos) {
+        int livre = pos;
+        int atual = pos;
+        while (true) {
+            atual = (atual + 1) & mascara;
+            if (valores[atual] == null) {
+                break;
+            }
+            int ideal = indiceIdeal(chaves[atual]);
+            // A entrada em 'atual' pode ocupar 'livre' se sua posição ideal não estiver no intervalo cíclico (livre, atual]
+            boolean noIntervalo = livre <= atual
+                    ? (livre < ideal && ideal <= atual)
+                    : (livre < ideal || ideal <= atual);
+            if (!noIntervalo) {
+                chaves[livre] = chaves[atual];
+                valores[livre] = valores[atual];
+                referenciado[livre] = referenciado[atual];
+                livre = atual;
+            }
+        }
+        valores[livre] = null;
+        referenciado[livre] = false;
+        tamanho--;
+    }
+
+    /**
+     * Retorna a faixa de gerações da chave.
+     */
+    private int faixa(long chave) {
+        return indiceIdeal(chave) & (FAIXAS_GERACAO - 1);
+    }
+
+    /**
+     * Calcula a posição ideal da chave, espalhando os bits com a função de mistura do MurmurHash3 (fmix64).
+     */
+    private int indiceIdeal(long chave) {
+        long h = chave;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mascara;
+    }
+}
@@ -0,0 +1,210 @@
+package br.com.rpires.dao.cache;
+
+import br.com.rpires.dao.IProdutoDAO;
+import br.com.rpires.dao.generic.Criterio;
+import br.com.rpires.domain.Produto;
+import br.com.rpires.exceptions.DAOException;
+import br.com.rpires.exceptions.MaisDeUmRegistroException;
+import br.com.rpires.exceptions.TableException;
+import br.com.rpires.exceptions.TipoChaveNaoEncontradaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Flow;
+
+/**
+ * Decorador de {@link IProdutoDAO} que mantém um cache de leitura (read-through)
+ * dos produtos consultados pelo código.
+ * <p>
+ * {@link #consultar(String)} busca primeiro no cache e só vai ao banco em caso de falha.
+ * As operações de escrita delegam ao DAO original e depois atualizam o cache:
+ * {@link #cadastrar(Produto)} armazena o produto recém-cadastrado, enquanto
+ * {@link #alterar(Produto)} e {@link #excluir(String)} invalidam a entrada.
+ * </p>
+ * O cache guarda cópias dos produtos, de modo que alterações feitas pelo chamador
+ * no objeto retornado não afetam o valor armazenado.
+ */
+public class ProdutoCacheDAO implements IProdutoDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProdutoCacheDAO.class);
+
+    public static final int TAMANHO_PADRAO = 10_000; // Número máximo de produtos em cache
+    public static final long TTL_PADRAO_MILLIS = 5 * 60 * 1000L; // 5 minutos
+
+    private final IProdutoDAO delegate; // DAO que efetivamente acessa o banco
+    private final CacheLocal<String, Produto> cache;
+
+    /**
+     * Cria o decorador com tamanho e TTL padrão.
+     * @param delegate O DAO de Produto a ser decorado.
+     */
+    public ProdutoCacheDAO(IProdutoDAO delegate) {
+        this(delegate, TAMANHO_PADRAO, TTL_PADRAO_MILLIS);
+    }
+
+    /**
+     * Cria o decorador com tamanho e TTL configuráveis.
+     * @param delegate O DAO de Produto a ser decorado.
+     * @param tamanhoMaximo O número máximo de produtos em cache.
+     * @param ttlMillis O tempo de vida de cada produto em cache, em milissegundos.
+     */
+    public ProdutoCacheDAO(IProdutoDAO delegate, int tamanhoMaximo, long ttlMillis) {
+        this.delegate = delegate;
+        this.cache = new CacheLocal<>(tamanhoMaximo, ttlMillis);
+    }
+
+    @Override
+    public Boolean cadastrar(Produto entity) throws TipoChaveNaoEncontradaException, DAOException {
+        Boolean cadastrado = delegate.cadastrar(entity);
+        if (Boolean.TRUE.equals(cadastrado) && entity.getCodigo() != null) {
+            cache.colocar(entity.getCodigo(), copiar(entity)); // Já deixa o produto novo disponível no cache
+        } else {
+            cache.invalidar(entity.getCodigo());
+        }
+        return cadastrado;
+    }
+
+    @Override
+    public void excluir(String valor) throws DAOException {
+        try {
+            delegate.excluir(valor);
+        } finally {
+            cache.invalidar(valor); // Invalida mesmo em caso de erro, pois o estado no banco é incerto
+        }
+    }
+
+    @Override
+    public void alterar(Produto entity) throws TipoChaveNaoEncontradaException, DAOException {
+        try {
+            delegate.alterar(entity);
+        } finally {
+            cache.invalidar(entity.getCodigo());
+        }
+    }
+
+    @Override
+    public Produto consultar(String valor) throws MaisDeUmRegistroException, TableException, DAOException {
+        Produto emCache = cache.obter(valor);
+        if (emCache != null) {
+            LOGGER.debug("Produto com código {} encontrado no cache.", valor);
+            return copiar(emCache);
+        }
+        long geracao = cache.getGeracao(); // Antes da leitura: uma escrita concorrente descarta o valor lido
+        Produto produto = delegate.consultar(valor);
+        if (produto != null) {
+            cache.colocarSeNaoInvalidado(valor, copiar(produto), geracao);
+        }
+        return produto;
+    }
+
+    /**
+     * Verifica a existência pelo cache e, em caso de falha, no banco, sem carregar o produto.
+     */
+    @Override
+    public boolean existe(String valor) throws DAOException {
+        if (valor != null && cache.contem(valor)) {
+            return true;
+        }
+        return delegate.existe(valor);
+    }
+
+    /**
+     * Verifica a existência pelo cache e consulta no banco, em lote, apenas os códigos que não estão nele.
+     */
+    @Override
+    public Set<String> existemVarios(Collection<String> chaves) throws DAOException {
+        Set<String> existentes = new HashSet<>();
+        List<String> foraDoCache = new ArrayList<>();
+        for (String codigo : chaves) {
+            if (codigo != null && cache.contem(codigo)) {
+                existentes.add(codigo);
+            } else {
+                foraDoCache.add(codigo);
+            }
+        }
+        if (!foraDoCache.isEmpty()) {
+            existentes.addAll(delegate.existemVarios(foraDoCache));
+        }
+        return existentes;
+    }
+
+    @Override
+    public long contar(Criterio<Produto> criterio) throws DAOException {
+        return delegate.contar(criterio);
+    }
+
+    /**
+     * Retorna todos os produtos diretamente do banco. A listagem não passa pelo cache,
+     * mas aproveita o resultado para popular as entradas individuais.
+     */
+    @Override
+    public Collection<Produto> buscarTodos() throws DAOException {
+        long geracao = cache.getGeracao();
+        Collection<Produto> produtos = delegate.buscarTodos();
+        popular(produtos, geracao);
+        return produtos;
+    }
+
+    /**
+     * Busca por critério no banco; como {@link #buscarTodos()}, aproveita o resultado para popular as entradas individuais,
+     * exceto em buscas com projeção, cujos produtos estão incompletos.
+     */
+    @Override
+    public List<Produto> buscar(Criterio<Produto> criterio) throws DAOException {
+        long geracao = cache.getGeracao();
+        List<Produto> produtos = delegate.buscar(criterio);
+        if (!criterio.isProjetado()) {
+            popular(produtos, geracao);
+        }
+        return produtos;
+    }
+
+    /**
+     * Popula as entradas individuais com produtos lidos por uma listagem, exceto os escritos ou invalidados
+     * depois do início da leitura.
+     */
+    private void popular(Collection<Produto> produtos, long geracao) {
+        for (Produto produto : produtos) {
+            if (produto.getCodigo() != null) {
+                cache.colocarSeNaoInvalidado(produto.getCodigo(), copiar(produto), geracao);
+            }
+        }
+    }
+
+    /**
+     * Leitura por cursor diretamente do banco; não passa pelo cache.
+     */
+    @Override
+    public Flow.Publisher<Produto> publicarTodos() throws DAOException {
+        return delegate.publicarTodos();
+    }
+
+    /**
+     * Remove todos os produtos do cache.
+     */
+    public void limparCache() {
+        cache.limpar();
+    }
+
+    /**
+     * Retorna os contadores de acertos, falhas e remoções do cache.
+     * @return As estatísticas atuais do cache.
+     */
+    public EstatisticasCache getEstatisticas() {
+        return cache.getEstatisticas();
+    }
+
+    /**
+     * Cria uma cópia do produto, isolando o objeto em cache do objeto entregue ao chamador.
+     */
+    private static Produto copiar(Produto produto) {
+        Produto copia = new Produto(produto.getCodigo(), produto.getNome(), produto.getDescricao(), produto.getValor());
+        copia.setId(produto.getId());
+        return copia;
+    }
+}
@@ -0,0 +1,252 @@
+package br.com.rpires.dao.cache;
+
+import br.com.rpires.dao.IVendaDAO;
+import br.com.rpires.dao.generic.Criterio;
+import br.com.rpires.domain.Cliente;
+import br.com.rpires.domain.Produto;
+import br.com.rpires.domain.ProdutoQuantidade;
+import br.com.rpires.domain.Venda;
+import br.com.rpires.exceptions.DAOException;
+import br.com.rpires.exceptions.MaisDeUmRegistroException;
+import br.com.rpires.exceptions.TableException;
+import br.com.rpires.exceptions.TipoChaveNaoEncontradaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Flow;
+
+/**
+ * Decorador de {@link IVendaDAO} que mantém em cache o resultado das listagens de vendas
+ * (ex: {@link #buscarTodos()}, {@link #buscar(Criterio)}), usadas repetidamente por painéis.
+ * <p>
+ * As entradas são invalidadas por eventos de escrita: {@link #cadastrar(Venda)} invalida as listagens
+ * que passariam a incluir a nova venda, e {@link #finalizarVenda(Venda)} / {@link #cancelarVenda(Venda)}
+ * invalidam as listagens que contêm a venda alterada e as que passariam a incluí-la com o novo status.
+ * Requisições concorrentes idênticas compartilham uma única consulta ao banco.
+ * </p>
+ * Cada chamada recebe uma lista nova, com cópias das vendas em cache: alterações feitas pelo chamador não
+ * afetam o cache nem os demais chamadores.
+ */
+public class VendaCacheDAO implements IVendaDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VendaCacheDAO.class);
+
+    public static final int TAMANHO_PADRAO = 256; // Número máximo de listagens distintas em cache
+    public static final long TTL_PADRAO_MILLIS = 60 * 1000L; // 1 minuto
+
+    private final IVendaDAO delegate; // DAO que efetivamente acessa o banco
+    private final CacheResultadoConsulta<Collection<Venda>, Venda> cache;
+
+    /**
+     * Cria o decorador com tamanho e TTL padrão.
+     * @param delegate O DAO de Venda a ser decorado.
+     */
+    public VendaCacheDAO(IVendaDAO delegate) {
+        this(delegate, TAMANHO_PADRAO, TTL_PADRAO_MILLIS);
+    }
+
+    /**
+     * Cria o decorador com tamanho e TTL configuráveis.
+     * @param delegate O DAO de Venda a ser decorado.
+     * @param tamanhoMaximo O número máximo de listagens distintas em cache.
+     * @param ttlMillis O tempo de vida máximo de cada listagem, em milissegundos.
+     */
+    public VendaCacheDAO(IVendaDAO delegate, int tamanhoMaximo, long ttlMillis) {
+        this.delegate = delegate;
+        this.cache = new CacheResultadoConsulta<>(tamanhoMaximo, ttlMillis);
+    }
+
+    @Override
+    public Boolean cadastrar(Venda entity) throws TipoChaveNaoEncontradaException, DAOException {
+        try {
+            return delegate.cadastrar(entity);
+        } finally {
+            notificarEscrita(entity);
+        }
+    }
+
+    @Override
+    public void excluir(String valor) throws DAOException {
+        delegate.excluir(valor);
+    }
+
+    /**
+     * A atualização genérica de vendas não é permitida pelo {@code VendaDAO}; a chamada é apenas
+     * repassada e, por segurança, todas as listagens são invalidadas.
+     */
+    @Override
+    public void alterar(Venda entity) throws TipoChaveNaoEncontradaException, DAOException {
+        try {
+            delegate.alterar(entity);
+        } finally {
+            cache.limpar();
+        }
+    }
+
+    @Override
+    public Venda consultar(String valor) throws MaisDeUmRegistroException, TableException, DAOException {
+        return delegate.consultar(valor);
+    }
+
+    @Override
+    public boolean existe(String valor) throws DAOException {
+        return delegate.existe(valor);
+    }
+
+    @Override
+    public Set<String> existemVarios(Collection<String> chaves) throws DAOException {
+        return delegate.existemVarios(chaves);
+    }
+
+    @Override
+    public long contar(Criterio<Venda> criterio) throws DAOException {
+        return delegate.contar(criterio);
+    }
+
+    @Override
+    public Collection<Venda> buscarTodos() throws DAOException {
+        return copiarTodas(cache.obter("buscarTodos", Collections.emptyList(), venda -> true,
+                VendaCacheDAO::codigosDe, () -> Collections.unmodifiableCollection(delegate.buscarTodos())));
+    }
+
+    /**
+     * Busca por critério com o resultado em cache, indexado pelo próprio critério. Uma escrita invalida as buscas
+     * que continham a venda e as que passariam a incluí-la ({@link Criterio#aceita(br.com.rpires.domain.Persistente)}).
+     */
+    @Override
+    public List<Venda> buscar(Criterio<Venda> criterio) throws DAOException {
+        return copiarTodas(cache.obter("buscar", Collections.singletonList(criterio), criterio::aceita, VendaCacheDAO::codigosDe,
+                () -> Collections.unmodifiableList(delegate.buscar(criterio))));
+    }
+
+    /**
+     * Páginas do período diretamente do banco; não passam pelo cache (cada página seria uma entrada diferente).
+     */
+    @Override
+    public List<Venda> buscarPorPeriodo(Instant inicio, Instant fim, Venda.Status status, Venda ultimaDaPaginaAnterior,
+                                        int tamanhoPagina) throws DAOException {
+        return delegate.buscarPorPeriodo(inicio, fim, status, ultimaDaPaginaAnterior, tamanhoPagina);
+    }
+
+    /**
+     * Leitura por cursor diretamente do banco; não passa pelo cache.
+     */
+    @Override
+    public Flow.Publisher<Venda> publicarTodos() throws DAOException {
+        return delegate.publicarTodos();
+    }
+
+    @Override
+    public void finalizarVenda(Venda venda) throws TipoChaveNaoEncontradaException, DAOException {
+        try {
+            delegate.finalizarVenda(venda);
+        } finally {
+            notificarEscrita(comStatus(venda, Venda.Status.CONCLUIDA)); // O DAO só grava o status; a venda recebida não muda
+        }
+    }
+
+    @Override
+    public void cancelarVenda(Venda venda) throws TipoChaveNaoEncontradaException, DAOException {
+        try {
+            delegate.cancelarVenda(venda);
+        } finally {
+            notificarEscrita(comStatus(venda, Venda.Status.CANCELADA));
+        }
+    }
+
+    /**
+     * Invalida as listagens afetadas pela escrita de uma venda. Pode ser chamado por outros
+     * componentes que alterem vendas sem passar por este decorador.
+     * @param venda A venda escrita.
+     */
+    public void notificarEscrita(Venda venda) {
+        int invalidadas = cache.invalidarAfetadas(venda != null ? venda.getCodigo() : null, venda);
+        LOGGER.debug("{} listagens de vendas invalidadas pela escrita da venda {}.", invalidadas,
+                venda != null ? venda.getCodigo() : null);
+    }
+
+    /**
+     * Remove todas as listagens do cache.
+     */
+    public void limparCache() {
+        cache.limpar();
+    }
+
+    /**
+     * Retorna os contadores de acertos, falhas e remoções do cache.
+     * @return As estatísticas atuais do cache.
+     */
+    public EstatisticasCache getEstatisticas() {
+        return cache.getEstatisticas();
+    }
+
+    /**
+     * Cópia da venda com o status gravado pela escrita, para avaliar as listagens que passariam a incluí-la.
+     */
+    private static Venda comStatus(Venda venda, Venda.Status status) {
+        if (venda == null) {
+            return null;
+        }
+        Venda copia = copiar(venda);
+        copia.setStatus(status);
+        return copia;
+    }
+
+    private static List<Venda> copiarTodas(Collection<Venda> vendas) {
+        List<Venda> copias = new ArrayList<>(vendas.size());
+        for (Venda venda : vendas) {
+            copias.add(copiar(venda));
+        }
+        return copias;
+    }
+
+    /**
+     * Cria uma cópia da venda, com cliente, itens e produtos, isolando os objetos em cache dos entregues ao chamador.
+     */
+    private static Venda copiar(Venda venda) {
+        Venda copia = new Venda();
+        copia.setId(venda.getId());
+        copia.setCodigo(venda.getCodigo());
+        copia.setDataVenda(venda.getDataVenda());
+        copia.setStatus(venda.getStatus());
+        Cliente cliente = venda.getCliente();
+        if (cliente != null) {
+            Cliente copiaCliente = new Cliente(cliente.getCpf(), cliente.getNome(), cliente.getTel(), cliente.getEnd(),
+                    cliente.getNumero(), cliente.getCidade(), cliente.getEstado());
+            copiaCliente.setId(cliente.getId());
+            copia.setCliente(copiaCliente);
+        }
+        Set<ProdutoQuantidade> itens = new HashSet<>();
+        for (ProdutoQuantidade item : venda.getProdutos()) {
+            ProdutoQuantidade copiaItem = new ProdutoQuantidade();
+            copiaItem.setId(item.getId());
+            Produto produto = item.getProduto();
+            if (produto != null) {
+                Produto copiaProduto = new Produto(produto.getCodigo(), produto.getNome(), produto.getDescricao(), produto.getValor());
+                copiaProduto.setId(produto.getId());
+                copiaItem.setProduto(copiaProduto);
+            }
+            copiaItem.setQuantidade(item.getQuantidade());
+            copiaItem.setValorTotal(item.getValorTotal());
+            itens.add(copiaItem);
+        }
+        copia.setProdutos(itens);
+        copia.setValorTotal(venda.getValorTotal()); // setProdutos recalcula; mantém o valor lido
+        return copia;
+    }
+
+    private static Set<?> codigosDe(Collection<Venda> vendas) {
+        Set<String> codigos = new HashSet<>();
+        for (Venda venda : vendas) {
+            codigos.add(venda.getCodigo());
+        }
+        return codigos;
+    }
+}
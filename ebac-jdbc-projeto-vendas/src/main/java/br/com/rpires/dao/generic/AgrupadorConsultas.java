@@ -0,0 +1,213 @@
+package br.com.rpires.dao.generic;
+
+import br.com.rpires.exceptions.DAOException;
+import br.com.rpires.exceptions.MaisDeUmRegistroException;
+import br.com.rpires.exceptions.TableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Agrupa consultas pontuais por chave que chegam dentro de uma pequena janela de tempo
+ * em uma única consulta em lote (no estilo "DataLoader").
+ * <p>
+ * A primeira chave de um lote agenda o disparo do lote ao fim da janela; as chaves seguintes
+ * entram no mesmo lote até a janela terminar ou o tamanho máximo ser atingido. O resultado
+ * da consulta em lote é então distribuído para cada chamador. Chaves repetidas no mesmo lote
+ * são consultadas uma única vez; o primeiro chamador da chave recebe a entidade carregada e os
+ * demais recebem cópias, criadas pelo copiador informado no construtor.
+ * </p>
+ * <p>
+ * Se a consulta em lote falhar, cada chave do lote é consultada individualmente, de forma que
+ * uma chave problemática (ex: duplicada no banco) não faça falhar as consultas das demais.
+ * Todos os agrupadores compartilham um único conjunto de threads, criado sob demanda.
+ * </p>
+ *
+ * @param <E> O tipo da chave.
+ * @param <T> O tipo da entidade.
+ */
+public class AgrupadorConsultas<E, T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AgrupadorConsultas.class);
+    private static final AtomicInteger CONTADOR_THREADS = new AtomicInteger();
+    // Threads compartilhadas por todos os agrupadores: disparam os lotes ao fim da janela e executam as consultas.
+    private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                Thread t = new Thread(r, "agrupador-consultas-" + CONTADOR_THREADS.incrementAndGet());
+                t.setDaemon(true); // Não impede o encerramento da JVM
+                return t;
+            });
+
+    private final long janelaMicros; // Tempo máximo que uma chave espera pelo lote
+    private final int tamanhoMaximoLote; // Número máximo de chaves por consulta em lote
+    private final CarregadorLote<E, T> carregador;
+    private final UnaryOperator<T> copiador;
+
+    private Map<E, CompletableFuture<T>> loteAtual = new HashMap<>(); // Protegido por 'this'
+    private final LongAdder lotesExecutados = new LongAdder();
+    private final LongAdder chavesConsultadas = new LongAdder();
+
+    /**
+     * Consulta em lote: recebe as chaves e devolve as entidades encontradas, indexadas pela chave.
+     * Chaves sem registro simplesmente não aparecem no mapa.
+     * @param <E> O tipo da chave.
+     * @param <T> O tipo da entidade.
+     */
+    @FunctionalInterface
+    public interface CarregadorLote<E, T> {
+        Map<E, T> carregar(java.util.Collection<E> chaves) throws MaisDeUmRegistroException, TableException, DAOException;
+    }
+
+    /**
+     * Construtor do agrupador.
+     * @param janelaMillis A janela de agrupamento em milissegundos (pode ser fracionária, ex: 0.5).
+     * @param tamanhoMaximoLote O número máximo de chaves por lote.
+     * @param carregador A consulta em lote.
+     * @param copiador Cria a cópia da entidade entregue aos chamadores repetidos de uma mesma chave no lote.
+     */
+    public AgrupadorConsultas(double janelaMillis, int tamanhoMaximoLote, CarregadorLote<E, T> carregador,
+                              UnaryOperator<T> copiador) {
+        if (janelaMillis <= 0 || tamanhoMaximoLote <= 0) {
+            throw new IllegalArgumentException("Janela e tamanho máximo do lote devem ser maiores que zero.");
+        }
+        this.janelaMicros = Math.max(1, (long) (janelaMillis * 1000));
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+        this.carregador = carregador;
+        this.copiador = copiador;
+    }
+
+    /**
+     * Consulta a chave, aguardando o lote em que ela for incluída.
+     * @param chave A chave (não nula).
+     * @return A entidade encontrada, ou {@code null} se não existir.
+     * @throws MaisDeUmRegistroException Se mais de um registro for encontrado para a chave.
+     * @throws TableException Se houver um problema com o nome da tabela.
+     * @throws DAOException Se ocorrer um erro de acesso a dados ou a espera for interrompida.
+     */
+    public T carregar(E chave) throws MaisDeUmRegistroException, TableException, DAOException {
+        CompletableFuture<T> futuro;
+        Map<E, CompletableFuture<T>> loteCheio = null;
+        boolean repetida;
+        synchronized (this) {
+            futuro = loteAtual.get(chave);
+            repetida = futuro != null;
+            if (futuro == null) {
+                futuro = new CompletableFuture<>();
+                if (loteAtual.isEmpty()) {
+                    // Primeira chave do lote: agenda o disparo ao fim da janela
+                    Map<E, CompletableFuture<T>> lote = loteAtual;
+                    EXECUTOR.schedule(() -> dispararSeAtual(lote), janelaMicros, TimeUnit.MICROSECONDS);
+                }
+                loteAtual.put(chave, futuro);
+                if (loteAtual.size() >= tamanhoMaximoLote) {
+                    loteCheio = loteAtual;
+                    loteAtual = new HashMap<>();
+                }
+            }
+        }
+        if (loteCheio != null) {
+            Map<E, CompletableFuture<T>> lote = loteCheio;
+            EXECUTOR.execute(() -> executarLote(lote)); // Lote cheio: dispara sem esperar a janela
+        }
+        T entidade = aguardar(futuro);
+        return repetida && entidade != null ? copiador.apply(entidade) : entidade;
+    }
+
+    /**
+     * Encerra o agrupador. Chaves pendentes são consultadas antes do retorno; as threads,
+     * compartilhadas com os demais agrupadores, continuam ativas.
+     */
+    public void encerrar() {
+        Map<E, CompletableFuture<T>> pendente;
+        synchronized (this) {
+            pendente = loteAtual;
+            loteAtual = new HashMap<>();
+        }
+        if (!pendente.isEmpty()) {
+            executarLote(pendente);
+        }
+    }
+
+    public long getLotesExecutados() {
+        return lotesExecutados.sum();
+    }
+
+    public long getChavesConsultadas() {
+        return chavesConsultadas.sum();
+    }
+
+    /**
+     * Dispara o lote agendado, a menos que ele já tenha sido disparado por ter enchido.
+     */
+    private void dispararSeAtual(Map<E, CompletableFuture<T>> lote) {
+        synchronized (this) {
+            if (loteAtual != lote) {
+                return; // Já foi disparado por tamanho
+            }
+            loteAtual = new HashMap<>();
+        }
+        executarLote(lote);
+    }
+
+    private void executarLote(Map<E, CompletableFuture<T>> lote) {
+        lotesExecutados.increment();
+        chavesConsultadas.add(lote.size());
+        try {
+            Map<E, T> resultado = carregador.carregar(lote.keySet());
+            for (Map.Entry<E, CompletableFuture<T>> entrada : lote.entrySet()) {
+                entrada.getValue().complete(resultado.get(entrada.getKey()));
+            }
+            LOGGER.debug("Lote de {} chaves consultado; {} registros encontrados.", lote.size(), resultado.size());
+        } catch (Exception e) {
+            LOGGER.warn("Erro ao executar consulta em lote de {} chaves; consultando as chaves individualmente: {}", lote.size(), e.getMessage());
+            lote.forEach(this::executarIndividual);
+        }
+    }
+
+    /**
+     * Consulta uma única chave de um lote que falhou, completando apenas o chamador dela.
+     */
+    private void executarIndividual(E chave, CompletableFuture<T> futuro) {
+        try {
+            futuro.complete(carregador.carregar(Collections.singletonList(chave)).get(chave));
+        } catch (Exception e) {
+            LOGGER.error("Erro ao consultar a chave {} do lote: {}", chave, e.getMessage(), e);
+            futuro.completeExceptionally(e);
+        }
+    }
+
+    private T aguardar(CompletableFuture<T> futuro) throws MaisDeUmRegistroException, TableException, DAOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DAOException("CONSULTA INTERROMPIDA ENQUANTO AGUARDAVA O LOTE.", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof MaisDeUmRegistroException) {
+                throw (MaisDeUmRegistroException) causa;
+            }
+            if (causa instanceof TableException) {
+                throw (TableException) causa;
+            }
+            if (causa instanceof DAOException) {
+                throw (DAOException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new DAOException("ERRO NA CONSULTA EM LOTE. Detalhes: " + causa.getMessage(), causa);
+        }
+    }
+}
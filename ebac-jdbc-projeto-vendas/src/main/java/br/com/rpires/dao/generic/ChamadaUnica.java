@@ -0,0 +1,121 @@
+package br.com.rpires.dao.generic;
+
+import br.com.rpires.exceptions.DAOException;
+import br.com.rpires.exceptions.MaisDeUmRegistroException;
+import br.com.rpires.exceptions.TableException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Deduplicação de chamadas concorrentes idênticas ("single flight").
+ * <p>
+ * Enquanto uma consulta para uma chave está em andamento, outras threads que pedem a mesma chave
+ * não disparam uma nova consulta: aguardam e recebem o mesmo resultado (ou a mesma exceção).
+ * Assim, picos de acesso a uma mesma chave ocupam uma única conexão do pool.
+ * Nada é guardado após o término da consulta; não se trata de um cache.
+ * </p>
+ * <p>
+ * Resultados mutáveis (entidades) devem ser copiados para as threads que aguardaram, informando
+ * um copiador no construtor: a thread que executou a consulta recebe o objeto original e cada uma
+ * das demais recebe a sua cópia, de forma que alterações feitas por um chamador não apareçam
+ * no objeto dos outros.
+ * </p>
+ *
+ * @param <K> O tipo da chave.
+ * @param <V> O tipo do resultado.
+ */
+public class ChamadaUnica<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+    private final LongAdder chamadasCompartilhadas = new LongAdder();
+    private final UnaryOperator<V> copiador; // Cria a cópia entregue a cada thread que aguardou
+
+    /**
+     * Cria a deduplicação para resultados imutáveis, compartilhados sem cópia entre as threads.
+     */
+    public ChamadaUnica() {
+        this(UnaryOperator.identity());
+    }
+
+    /**
+     * Cria a deduplicação para resultados mutáveis.
+     * @param copiador Cria a cópia do resultado (não nulo) entregue a cada thread que aguardou a consulta.
+     */
+    public ChamadaUnica(UnaryOperator<V> copiador) {
+        this.copiador = copiador;
+    }
+
+    /**
+     * Consulta a ser executada pela primeira thread que pedir a chave.
+     * @param <V> O tipo do resultado.
+     */
+    @FunctionalInterface
+    public interface Execucao<V> {
+        V executar() throws MaisDeUmRegistroException, TableException, DAOException;
+    }
+
+    /**
+     * Executa a consulta para a chave, ou aguarda a execução já em andamento para a mesma chave.
+     * @param chave A chave da consulta (não nula).
+     * @param execucao A consulta ao banco.
+     * @return O resultado da consulta (uma cópia, para as threads que aguardaram a mesma chave).
+     * @throws MaisDeUmRegistroException Se a consulta lançar esta exceção.
+     * @throws TableException Se a consulta lançar esta exceção.
+     * @throws DAOException Se a consulta lançar esta exceção ou a espera for interrompida.
+     */
+    public V executar(K chave, Execucao<V> execucao) throws MaisDeUmRegistroException, TableException, DAOException {
+        CompletableFuture<V> novo = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, novo);
+        if (existente != null) {
+            chamadasCompartilhadas.increment();
+            V resultado = aguardar(existente);
+            return resultado != null ? copiador.apply(resultado) : null;
+        }
+        try {
+            V resultado = execucao.executar();
+            novo.complete(resultado);
+            return resultado;
+        } catch (MaisDeUmRegistroException | TableException | DAOException | RuntimeException e) {
+            novo.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, novo);
+        }
+    }
+
+    /**
+     * Retorna quantas chamadas foram atendidas por uma consulta já em andamento.
+     * @return O número de chamadas compartilhadas.
+     */
+    public long getChamadasCompartilhadas() {
+        return chamadasCompartilhadas.sum();
+    }
+
+    private V aguardar(CompletableFuture<V> futuro) throws MaisDeUmRegistroException, TableException, DAOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DAOException("CONSULTA INTERROMPIDA ENQUANTO AGUARDAVA RESULTADO COMPARTILHADO.", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof MaisDeUmRegistroException) {
+                throw (MaisDeUmRegistroException) causa;
+            }
+            if (causa instanceof TableException) {
+                throw (TableException) causa;
+            }
+            if (causa instanceof DAOException) {
+                throw (DAOException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new DAOException("ERRO NA CONSULTA COMPARTILHADA. Detalhes: " + causa.getMessage(), causa);
+        }
+    }
+}
@@ -0,0 +1,666 @@
+package br.com.rpires.dao.generic;
+
+import br.com.rpires.domain.Persistente;
+import br.com.rpires.infra.annotations.ColunaTabela;
+import br.com.rpires.infra.annotations.TipoChave;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Critério de busca de {@link IGenericDAO#buscar(Criterio)}: condições sobre as colunas mapeadas com
+ * {@link ColunaTabela} (combinadas com AND), ordenação, limite e, opcionalmente, as colunas a serem lidas
+ * ({@link #selecionar(String...)}), transformados em SQL parametrizado para que o filtro, a ordenação e
+ * o limite sejam feitos pelo banco.
+ * <p>
+ * As colunas e os tipos dos valores são validados na montagem: uma coluna que não existe na entidade, ou um
+ * valor de tipo diferente do campo (ex: {@code String} para o CPF {@code Long}), gera {@link IllegalArgumentException}.
+ * O critério é imutável: cada método retorna um novo critério, que pode ser reutilizado e compartilhado entre threads.
+ * </p>
+ * <p>
+ * Textos (e enums, gravados pelo nome) são ordenados e comparados ({@code >}, {@code <}, {@link #entre}) com a
+ * collation {@code "C"}, byte a byte, e não com a do banco: é a mesma ordem de {@link #getComparador()}, que junta
+ * os resultados dos shards e filtra em memória, e não depende da configuração regional de cada servidor.
+ * </p>
+ * <pre>
+ * Criterio&lt;Venda&gt; criterio = Criterio.de(Venda.class)
+ *         .igual("STATUS_VENDA", Venda.Status.CONCLUIDA)
+ *         .ordenarPorDecrescente("DATA_VENDA")
+ *         .limitar(50);
+ * </pre>
+ *
+ * @param <T> O tipo da entidade.
+ */
+public final class Criterio<T extends Persistente> {
+
+    /**
+     * Operadores das condições.
+     */
+    public enum Operador {
+        IGUAL("=", false), DIFERENTE("<>", false), MAIOR(">", true), MAIOR_OU_IGUAL(">=", true), MENOR("<", true),
+        MENOR_OU_IGUAL("<=", true), EM("= ANY", false), ENTRE(null, true), COMECA_COM("LIKE", false);
+
+        private final String sql;
+        private final boolean porOrdem; // Depende da ordem dos valores, e portanto da collation nos textos
+
+        Operador(String sql, boolean porOrdem) {
+            this.sql = sql;
+            this.porOrdem = porOrdem;
+        }
+    }
+
+    private final Class<T> tipo;
+    private final List<Condicao> condicoes;
+    private final List<Ordenacao> ordenacoes;
+    private final Integer limite;
+    private final List<Campo> colunas; // Projeção; vazia para ler todas as colunas
+
+    private Criterio(Class<T> tipo, List<Condicao> condicoes, List<Ordenacao> ordenacoes, Integer limite, List<Campo> colunas) {
+        this.tipo = tipo;
+        this.condicoes = condicoes;
+        this.ordenacoes = ordenacoes;
+        this.limite = limite;
+        this.colunas = colunas;
+    }
+
+    /**
+     * Cria um critério sem condições (todos os registros) para a entidade.
+     * @param tipo A classe da entidade.
+     * @param <T> O tipo da entidade.
+     * @return O critério.
+     */
+    public static <T extends Persistente> Criterio<T> de(Class<T> tipo) {
+        return new Criterio<>(Objects.requireNonNull(tipo), Collections.emptyList(), Collections.emptyList(), null, Collections.emptyList());
+    }
+
+    public Criterio<T> igual(String coluna, Object valor) {
+        return com(Operador.IGUAL, coluna, valor);
+    }
+
+    public Criterio<T> diferente(String coluna, Object valor) {
+        return com(Operador.DIFERENTE, coluna, valor);
+    }
+
+    public Criterio<T> maiorQue(String coluna, Object valor) {
+        return comComparavel(Operador.MAIOR, coluna, valor);
+    }
+
+    public Criterio<T> maiorOuIgual(String coluna, Object valor) {
+        return comComparavel(Operador.MAIOR_OU_IGUAL, coluna, valor);
+    }
+
+    public Criterio<T> menorQue(String coluna, Object valor) {
+        return comComparavel(Operador.MENOR, coluna, valor);
+    }
+
+    public Criterio<T> menorOuIgual(String coluna, Object valor) {
+        return comComparavel(Operador.MENOR_OU_IGUAL, coluna, valor);
+    }
+
+    /**
+     * Valor no intervalo semiaberto {@code [inicio, fim)}: inclui o início e exclui o fim, o que permite
+     * encadear períodos (ex: um mês inteiro, de 1º de um mês a 1º do seguinte) sem sobreposição.
+     */
+    public Criterio<T> entre(String coluna, Object inicio, Object fim) {
+        Campo campo = campo(coluna);
+        validarComparavel(campo);
+        validarValor(campo, inicio);
+        validarValor(campo, fim);
+        return adicionar(new Condicao(campo, Operador.ENTRE, List.of(inicio, fim)));
+    }
+
+    /**
+     * Valor igual a qualquer um dos valores informados (ligados como um array: {@code coluna = ANY(?)}).
+     */
+    public Criterio<T> em(String coluna, Collection<?> valores) {
+        Campo campo = campo(coluna);
+        if (valores == null || valores.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um valor para a coluna " + campo.coluna + ".");
+        }
+        for (Object valor : valores) {
+            validarValor(campo, valor);
+        }
+        return adicionar(new Condicao(campo, Operador.EM, List.copyOf(valores)));
+    }
+
+    /**
+     * Texto que começa com o prefixo informado ({@code LIKE 'prefixo%'}, com os curingas do prefixo escapados).
+     */
+    public Criterio<T> comecaCom(String coluna, String prefixo) {
+        Campo campo = campo(coluna);
+        if (campo.tipo != String.class) {
+            throw new IllegalArgumentException("A coluna " + campo.coluna + " não é texto.");
+        }
+        validarValor(campo, prefixo);
+        return adicionar(new Condicao(campo, Operador.COMECA_COM, List.of(prefixo)));
+    }
+
+    public Criterio<T> ordenarPor(String coluna) {
+        return ordenar(coluna, true);
+    }
+
+    public Criterio<T> ordenarPorDecrescente(String coluna) {
+        return ordenar(coluna, false);
+    }
+
+    /**
+     * Limita a quantidade de registros retornados; com ordenação, são os primeiros segundo ela.
+     */
+    public Criterio<T> limitar(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero: " + limite);
+        }
+        return new Criterio<>(tipo, condicoes, ordenacoes, limite, colunas);
+    }
+
+    /**
+     * Lê apenas as colunas informadas (projeção), em vez de todas: as entidades retornadas ficam parcialmente
+     * preenchidas, com os demais campos nulos. Útil para listagens que não exibem colunas grandes, como a
+     * descrição do produto. A coluna chave ({@link TipoChave}) e as colunas da ordenação são sempre lidas,
+     * para que o resultado possa ser identificado e reordenado ao juntar os shards.
+     * @param colunas As colunas a serem lidas.
+     * @return O novo critério.
+     */
+    public Criterio<T> selecionar(String... colunas) {
+        if (colunas == null || colunas.length == 0) {
+            throw new IllegalArgumentException("Informe ao menos uma coluna a ser lida.");
+        }
+        Set<Campo> campos = new LinkedHashSet<>();
+        Campo chave = campoChave();
+        if (chave != null) {
+            campos.add(chave);
+        }
+        for (String coluna : colunas) {
+            campos.add(campo(coluna));
+        }
+        return new Criterio<>(tipo, condicoes, ordenacoes, limite, List.copyOf(campos));
+    }
+
+    /**
+     * Retorna um critério apenas com as condições deste, sem ordenação, limite nem projeção
+     * (ex: para contar os registros com {@link IGenericDAO#contar(Criterio)}).
+     * @return O novo critério.
+     */
+    public Criterio<T> somenteCondicoes() {
+        return new Criterio<>(tipo, condicoes, Collections.emptyList(), null, Collections.emptyList());
+    }
+
+    public Class<T> getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Retorna o limite, ou {@code null} se não houver.
+     */
+    public Integer getLimite() {
+        return limite;
+    }
+
+    /**
+     * Indica se o critério tem ordenação.
+     */
+    public boolean isOrdenado() {
+        return !ordenacoes.isEmpty();
+    }
+
+    /**
+     * Indica se o critério lê apenas algumas colunas ({@link #selecionar(String...)}).
+     */
+    public boolean isProjetado() {
+        return !colunas.isEmpty();
+    }
+
+    /**
+     * Retorna as colunas lidas pela projeção, incluindo a chave e as colunas da ordenação.
+     * @return Os nomes das colunas (em maiúsculas), ou {@code null} se o critério lê todas.
+     */
+    public Set<String> getColunas() {
+        if (colunas.isEmpty()) {
+            return null;
+        }
+        Set<String> nomes = new LinkedHashSet<>();
+        for (Campo campo : colunas) {
+            nomes.add(campo.coluna);
+        }
+        for (Ordenacao ordenacao : ordenacoes) {
+            nomes.add(ordenacao.campo.coluna);
+        }
+        return Collections.unmodifiableSet(nomes);
+    }
+
+    /**
+     * Monta a lista de colunas do {@code SELECT}: as colunas da projeção, ou {@code *} se não houver.
+     * @param prefixoColunas Alias da tabela das colunas em consultas com JOIN (ex: {@code "V"}), ou {@code null}.
+     * @return A lista de colunas.
+     */
+    public String getSqlColunas(String prefixoColunas) {
+        String prefixo = prefixoColunas != null ? prefixoColunas + "." : "";
+        Set<String> nomes = getColunas();
+        if (nomes == null) {
+            return prefixo + "*";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String nome : nomes) {
+            sb.append(sb.length() == 0 ? "" : ", ").append(prefixo).append(nome);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Monta o trecho SQL do critério, a ser acrescentado ao {@code SELECT ... FROM}: {@code WHERE}, {@code ORDER BY}
+     * e {@code LIMIT}, com um {@code ?} para cada valor (ligados por {@link #ligarParametros(PreparedStatement, int)}).
+     * @param prefixoColunas Alias da tabela das colunas em consultas com JOIN (ex: {@code "V"}), ou {@code null}.
+     * @return O trecho SQL, começando por espaço (vazio se o critério não tiver condições, ordenação nem limite).
+     */
+    public String getSql(String prefixoColunas) {
+        String prefixo = prefixoColunas != null ? prefixoColunas + "." : "";
+        StringBuilder sb = new StringBuilder();
+        for (Condicao condicao : condicoes) {
+            sb.append(sb.length() == 0 ? " WHERE " : " AND ");
+            String coluna = prefixo + condicao.campo.coluna + (condicao.operador.porOrdem ? collation(condicao.campo) : "");
+            switch (condicao.operador) {
+                case ENTRE:
+                    sb.append(coluna).append(" >= ? AND ").append(coluna).append(" < ?");
+                    break;
+                case EM:
+                    sb.append(coluna).append(" = ANY(?)");
+                    break;
+                default:
+                    sb.append(coluna).append(' ').append(condicao.operador.sql).append(" ?");
+            }
+        }
+        for (int i = 0; i < ordenacoes.size(); i++) {
+            Ordenacao ordenacao = ordenacoes.get(i);
+            sb.append(i == 0 ? " ORDER BY " : ", ").append(prefixo).append(ordenacao.campo.coluna)
+                    .append(collation(ordenacao.campo)).append(ordenacao.crescente ? " ASC" : " DESC");
+        }
+        if (limite != null) {
+            sb.append(" LIMIT ?");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Liga os valores do critério aos parâmetros do trecho de {@link #getSql(String)}, na mesma ordem.
+     * @param stm A instrução preparada.
+     * @param primeiroIndice O índice do primeiro parâmetro do critério (1 se a consulta não tiver outros antes).
+     * @return O próximo índice livre.
+     * @throws SQLException Se um parâmetro não puder ser ligado.
+     */
+    public int ligarParametros(PreparedStatement stm, int primeiroIndice) throws SQLException {
+        int indice = primeiroIndice;
+        for (Condicao condicao : condicoes) {
+            if (condicao.operador == Operador.EM) {
+                Object[] valores = new Object[condicao.valores.size()];
+                for (int i = 0; i < valores.length; i++) {
+                    valores[i] = valorSql(condicao.valores.get(i));
+                }
+                Array array = stm.getConnection().createArrayOf(tipoSql(condicao.campo.tipo), valores);
+                stm.setArray(indice++, array);
+            } else if (condicao.operador == Operador.COMECA_COM) {
+                stm.setString(indice++, escaparLike((String) condicao.valores.get(0)) + "%");
+            } else {
+                for (Object valor : condicao.valores) {
+                    stm.setObject(indice++, valorSql(valor));
+                }
+            }
+        }
+        if (limite != null) {
+            stm.setInt(indice++, limite);
+        }
+        return indice;
+    }
+
+    /**
+     * Avalia as condições do critério sobre uma entidade já carregada, com a mesma semântica do SQL
+     * (valores nulos não satisfazem nenhuma condição). Usado, por exemplo, para invalidar em cache os
+     * resultados de buscas que passariam a incluir uma entidade escrita.
+     * @param entity A entidade.
+     * @return {@code true} se a entidade satisfaz todas as condições.
+     */
+    public boolean aceita(T entity) {
+        if (entity == null) {
+            return false;
+        }
+        for (Condicao condicao : condicoes) {
+            if (!condicao.aceita(condicao.campo.ler(entity))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna o comparador equivalente ao {@code ORDER BY} do critério, usado para juntar os resultados
+     * de vários shards (valores nulos por último nas ordens crescentes, como no PostgreSQL; textos por código,
+     * como na collation {@code "C"}).
+     * @return O comparador, ou {@code null} se o critério não tiver ordenação.
+     */
+    public Comparator<T> getComparador() {
+        Comparator<T> comparador = null;
+        for (Ordenacao ordenacao : ordenacoes) {
+            Comparator<T> porCampo = (a, b) -> comparar(ordenacao.campo.ler(a), ordenacao.campo.ler(b));
+            if (!ordenacao.crescente) {
+                porCampo = porCampo.reversed();
+            }
+            comparador = comparador == null ? porCampo : comparador.thenComparing(porCampo);
+        }
+        return comparador;
+    }
+
+    /**
+     * Junta os resultados de vários shards: reordena pelo critério e reaplica o limite.
+     * @param parciais Os resultados de cada shard, já filtrados, ordenados e limitados pelo banco.
+     * @return O resultado final.
+     */
+    public List<T> juntar(Collection<? extends Collection<T>> parciais) {
+        List<T> resultado = new ArrayList<>();
+        for (Collection<T> parcial : parciais) {
+            resultado.addAll(parcial);
+        }
+        if (parciais.size() > 1) {
+            Comparator<T> comparador = getComparador();
+            if (comparador != null) {
+                resultado.sort(comparador);
+            }
+            if (limite != null && resultado.size() > limite) {
+                return new ArrayList<>(resultado.subList(0, limite));
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Criterio)) {
+            return false;
+        }
+        Criterio<?> outro = (Criterio<?>) o;
+        return tipo.equals(outro.tipo) && condicoes.equals(outro.condicoes) && ordenacoes.equals(outro.ordenacoes)
+                && Objects.equals(limite, outro.limite) && colunas.equals(outro.colunas);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tipo, condicoes, ordenacoes, limite, colunas);
+    }
+
+    /**
+     * Retorna a entidade e o SQL do critério, sem os valores (que podem ser dados sensíveis, como CPF), para uso em logs.
+     */
+    @Override
+    public String toString() {
+        return tipo.getSimpleName() + (isProjetado() ? "(" + getSqlColunas(null) + ")" : "") + getSql(null);
+    }
+
+    private Criterio<T> com(Operador operador, String coluna, Object valor) {
+        Campo campo = campo(coluna);
+        validarValor(campo, valor);
+        return adicionar(new Condicao(campo, operador, List.of(valor)));
+    }
+
+    private Criterio<T> comComparavel(Operador operador, String coluna, Object valor) {
+        validarComparavel(campo(coluna));
+        return com(operador, coluna, valor);
+    }
+
+    private Criterio<T> ordenar(String coluna, boolean crescente) {
+        Campo campo = campo(coluna);
+        validarComparavel(campo);
+        List<Ordenacao> novas = new ArrayList<>(ordenacoes);
+        novas.add(new Ordenacao(campo, crescente));
+        return new Criterio<>(tipo, condicoes, Collections.unmodifiableList(novas), limite, colunas);
+    }
+
+    private Criterio<T> adicionar(Condicao condicao) {
+        List<Condicao> novas = new ArrayList<>(condicoes);
+        novas.add(condicao);
+        return new Criterio<>(tipo, Collections.unmodifiableList(novas), ordenacoes, limite, colunas);
+    }
+
+    /**
+     * Localiza o campo mapeado para a coluna (sem diferenciar maiúsculas de minúsculas).
+     */
+    private Campo campo(String coluna) {
+        if (coluna != null) {
+            for (Field field : tipo.getDeclaredFields()) {
+                ColunaTabela anotacao = field.getAnnotation(ColunaTabela.class);
+                if (anotacao != null && anotacao.dbName().equalsIgnoreCase(coluna.trim())) {
+                    return new Campo(anotacao.dbName().toUpperCase(Locale.ROOT), field);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Coluna " + coluna + " não mapeada com @ColunaTabela em " + tipo.getSimpleName() + ".");
+    }
+
+    /**
+     * Localiza o campo da chave lógica ({@link TipoChave}), se estiver mapeado para uma coluna.
+     */
+    private Campo campoChave() {
+        for (Field field : tipo.getDeclaredFields()) {
+            ColunaTabela anotacao = field.getAnnotation(ColunaTabela.class);
+            if (anotacao != null && field.isAnnotationPresent(TipoChave.class)) {
+                return new Campo(anotacao.dbName().toUpperCase(Locale.ROOT), field);
+            }
+        }
+        return null;
+    }
+
+    private static void validarValor(Campo campo, Object valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor nulo para a coluna " + campo.coluna + ".");
+        }
+        if (!campo.tipo.isInstance(valor)) {
+            throw new IllegalArgumentException("Valor do tipo " + valor.getClass().getSimpleName() + " incompatível com a coluna "
+                    + campo.coluna + " (" + campo.tipo.getSimpleName() + ").");
+        }
+    }
+
+    private static void validarComparavel(Campo campo) {
+        if (!Comparable.class.isAssignableFrom(campo.tipo)) {
+            throw new IllegalArgumentException("A coluna " + campo.coluna + " não pode ser comparada ou ordenada.");
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int comparar(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : (a == null ? 1 : -1);
+        }
+        if (a instanceof Enum) {
+            return compararTexto(((Enum<?>) a).name(), ((Enum<?>) b).name()); // Gravado pelo nome no banco
+        }
+        if (a instanceof String) {
+            return compararTexto((String) a, (String) b);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    /**
+     * Compara por code point, a ordem dos bytes em UTF-8 da collation {@code "C"}; {@link String#compareTo}
+     * compara unidades UTF-16 e diverge dela nos caracteres fora do plano básico.
+     */
+    private static int compararTexto(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private static String collation(Campo campo) {
+        return campo.tipo == String.class || campo.tipo.isEnum() ? " COLLATE \"C\"" : "";
+    }
+
+    private static Object valorSql(Object valor) {
+        if (valor instanceof Instant) {
+            return Timestamp.from((Instant) valor);
+        }
+        if (valor instanceof Enum) {
+            return ((Enum<?>) valor).name();
+        }
+        return valor;
+    }
+
+    private static String tipoSql(Class<?> tipo) {
+        if (tipo == Long.class) {
+            return "bigint";
+        } else if (tipo == Integer.class) {
+            return "integer";
+        } else if (tipo == Short.class) {
+            return "smallint";
+        } else if (tipo == BigDecimal.class) {
+            return "numeric";
+        } else if (tipo == Double.class) {
+            return "float8";
+        } else if (tipo == Instant.class) {
+            return "timestamp";
+        }
+        return "varchar";
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Campo da entidade mapeado para uma coluna.
+     */
+    private static final class Campo {
+        final String coluna;
+        final Field field;
+        final Class<?> tipo;
+
+        Campo(String coluna, Field field) {
+            this.coluna = coluna;
+            this.field = field;
+            this.tipo = field.getType();
+            field.trySetAccessible();
+        }
+
+        Object ler(Object entity) {
+            try {
+                return field.get(entity);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Campo " + field.getName() + " inacessível: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Campo && field.equals(((Campo) o).field);
+        }
+
+        @Override
+        public int hashCode() {
+            return field.hashCode();
+        }
+    }
+
+    private static final class Condicao {
+        final Campo campo;
+        final Operador operador;
+        final List<Object> valores;
+
+        Condicao(Campo campo, Operador operador, List<?> valores) {
+            this.campo = campo;
+            this.operador = operador;
+            this.valores = List.copyOf(valores);
+        }
+
+        boolean aceita(Object valor) {
+            if (valor == null) {
+                return false;
+            }
+            switch (operador) {
+                case IGUAL:
+                    return valorIgual(valor, valores.get(0));
+                case DIFERENTE:
+                    return !valorIgual(valor, valores.get(0));
+                case MAIOR:
+                    return comparar(valor, valores.get(0)) > 0;
+                case MAIOR_OU_IGUAL:
+                    return comparar(valor, valores.get(0)) >= 0;
+                case MENOR:
+                    return comparar(valor, valores.get(0)) < 0;
+                case MENOR_OU_IGUAL:
+                    return comparar(valor, valores.get(0)) <= 0;
+                case ENTRE:
+                    return comparar(valor, valores.get(0)) >= 0 && comparar(valor, valores.get(1)) < 0;
+                case EM:
+                    for (Object candidato : valores) {
+                        if (valorIgual(valor, candidato)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case COMECA_COM:
+                    return ((String) valor).startsWith((String) valores.get(0));
+                default:
+                    throw new IllegalStateException("Operador não suportado: " + operador);
+            }
+        }
+
+        private static boolean valorIgual(Object a, Object b) {
+            return a instanceof BigDecimal ? ((BigDecimal) a).compareTo((BigDecimal) b) == 0 : a.equals(b); // 10.0 = 10.00, como no SQL
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Condicao)) {
+                return false;
+            }
+            Condicao outra = (Condicao) o;
+            return campo.equals(outra.campo) && operador == outra.operador && valores.equals(outra.valores);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(campo, operador, valores);
+        }
+    }
+
+    private static final class Ordenacao {
+        final Campo campo;
+        final boolean crescente;
+
+        Ordenacao(Campo campo, boolean crescente) {
+            this.campo = campo;
+            this.crescente = crescente;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Ordenacao && campo.equals(((Ordenacao) o).campo) && crescente == ((Ordenacao) o).crescente;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(campo, crescente);
+        }
+    }
+}
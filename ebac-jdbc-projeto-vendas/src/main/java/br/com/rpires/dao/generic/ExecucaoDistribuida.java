@@ -0,0 +1,104 @@
+package br.com.rpires.dao.generic;
+
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.exceptions.DAOException;
+import br.com.rpires.exceptions.MaisDeUmRegistroException;
+import br.com.rpires.exceptions.TableException;
+import br.com.rpires.infra.jfr.OperacaoRastreada;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa uma mesma consulta em vários shards em paralelo ("scatter-gather") e reúne os resultados.
+ * Com um único shard, a consulta roda na própria thread do chamador; com vários, as threads auxiliares
+ * leem com o mesmo roteamento do chamador (escopo de pool e janela de leitura após escrita).
+ */
+public final class ExecucaoDistribuida {
+
+    private static final AtomicInteger CONTADOR_THREADS = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "consulta-shards-" + CONTADOR_THREADS.incrementAndGet());
+        t.setDaemon(true); // Não impede o encerramento da JVM
+        return t;
+    });
+
+    /**
+     * Consulta executada em um shard.
+     * @param <R> O tipo do resultado.
+     */
+    @FunctionalInterface
+    public interface ConsultaShard<R> {
+        R consultar(String shard) throws MaisDeUmRegistroException, TableException, DAOException;
+    }
+
+    private ExecucaoDistribuida() {
+    }
+
+    /**
+     * Executa a consulta em todos os shards e aguarda todos os resultados.
+     * @param shards Os shards a consultar ({@code null} representa o banco padrão, sem particionamento).
+     * @param consulta A consulta.
+     * @param <R> O tipo do resultado.
+     * @return Os resultados, na mesma ordem dos shards.
+     * @throws MaisDeUmRegistroException Se a consulta lançar esta exceção em algum shard.
+     * @throws TableException Se a consulta lançar esta exceção em algum shard.
+     * @throws DAOException Se a consulta falhar em algum shard ou a espera for interrompida.
+     */
+    public static <R> List<R> executar(List<String> shards, ConsultaShard<R> consulta) throws MaisDeUmRegistroException, TableException, DAOException {
+        List<R> resultados = new ArrayList<>(shards.size());
+        if (shards.size() == 1) {
+            resultados.add(consulta.consultar(shards.get(0)));
+            return resultados;
+        }
+        List<CompletableFuture<R>> futuros = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            CompletableFuture<R> futuro = new CompletableFuture<>();
+            OperacaoRastreada rastreio = OperacaoRastreada.atual(); // Eventos JFR dos shards ficam na operação de origem
+            EXECUTOR.execute(ConnectionFactory.comRoteamentoAtual(() -> {
+                OperacaoRastreada anterior = OperacaoRastreada.definirAtual(rastreio);
+                try {
+                    futuro.complete(consulta.consultar(shard));
+                } catch (Throwable e) {
+                    futuro.completeExceptionally(e);
+                } finally {
+                    OperacaoRastreada.definirAtual(anterior);
+                }
+            }));
+            futuros.add(futuro);
+        }
+        for (CompletableFuture<R> futuro : futuros) {
+            resultados.add(aguardar(futuro));
+        }
+        return resultados;
+    }
+
+    private static <R> R aguardar(CompletableFuture<R> futuro) throws MaisDeUmRegistroException, TableException, DAOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DAOException("CONSULTA INTERROMPIDA ENQUANTO AGUARDAVA OS SHARDS.", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof MaisDeUmRegistroException) {
+                throw (MaisDeUmRegistroException) causa;
+            }
+            if (causa instanceof TableException) {
+                throw (TableException) causa;
+            }
+            if (causa instanceof DAOException) {
+                throw (DAOException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new DAOException("ERRO NA CONSULTA DISTRIBUIDA. Detalhes: " + causa.getMessage(), causa);
+        }
+    }
+}
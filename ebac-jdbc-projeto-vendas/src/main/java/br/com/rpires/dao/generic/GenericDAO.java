@@ -3,6 +3,7 @@ package br.com.rpires.dao.generic;
 //Linha CORRETA
 import br.com.rpires.domain.Persistente;
 
+import br.com.rpires.dao.cache.FiltroExistencia;
 import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
 import br.com.rpires.exceptions.DAOException;
 import br.com.rpires.exceptions.MaisDeUmRegistroException;
@@ -12,6 +13,7 @@ import br.com.rpires.exceptions.TipoElementoNaoConhecidoException;
 import br.com.rpires.infra.annotations.ColunaTabela;
 import br.com.rpires.infra.annotations.Tabela;
 import br.com.rpires.infra.annotations.TipoChave;
+import br.com.rpires.infra.jfr.OperacaoRastreada;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,7 +29,16 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
 
 /**
  * Classe genérica que implementa a interface IGenericDAO, fornecendo as operações CRUD.
@@ -44,6 +55,18 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GenericDAO.class);
 
+    // Filtro opcional de chaves existentes (Bloom + cache negativo). Nulo quando desabilitado.
+    private volatile FiltroExistencia<E> filtroExistencia;
+    // Filtro sendo reconstruído por carregarFiltroExistencia(); recebe também os cadastros feitos durante a carga.
+    private volatile FiltroExistencia<E> filtroEmConstrucao;
+
+    // Consultas em andamento por chave: chamadas concorrentes para a mesma chave compartilham uma única ida ao banco.
+    // Cada chamada que aguardou recebe uma cópia da entidade (ver copiar).
+    private final ChamadaUnica<E, T> consultasEmAndamento = new ChamadaUnica<>(this::copiar);
+
+    // Agrupador opcional de consultas pontuais em lotes (ver habilitarAgrupamento). Nulo quando desabilitado.
+    private volatile AgrupadorConsultas<E, T> agrupador;
+
     // Métodos abstratos que devem ser implementados pelas subclasses (DAOs específicos)
     // Estes métodos formam os "ganchos" do padrão Template Method.
 
@@ -63,6 +86,15 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
      */
     public abstract void atualizarDados(T entity, T entityCadastrado);
 
+    /**
+     * Cria uma cópia da entidade, incluindo os objetos associados que o chamador possa alterar.
+     * Usado para entregar a cada chamador de uma consulta compartilhada (deduplicada ou agrupada)
+     * o seu próprio objeto.
+     * @param entity A entidade a ser copiada (não nula).
+     * @return A cópia da entidade.
+     */
+    protected abstract T copiar(T entity);
+
     /**
      * Retorna a string SQL para a operação de inserção.
      * Ex: "INSERT INTO TB_CLIENTE (ID, NOME, CPF) VALUES (nextval('sq_cliente'), ?, ?)"
@@ -165,34 +197,44 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
      */
     @Override
     public Boolean cadastrar(T entity) throws TipoChaveNaoEncontradaException, DAOException {
-        Connection connection = null;
-        PreparedStatement stm = null;
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "cadastrar");
         try {
-            connection = ConnectionFactory.getConnection(); // Obtém a conexão
-            stm = connection.prepareStatement(getQueryInsercao(), Statement.RETURN_GENERATED_KEYS); // Prepara a instrução SQL, solicitando as chaves geradas
-            setParametrosQueryInsercao(stm, entity); // Define os parâmetros da query
-            int rowsAffected = stm.executeUpdate(); // Executa a atualização (inserção)
-
-            if (rowsAffected > 0) { // Se alguma linha foi afetada (inserção bem-sucedida)
-                try (ResultSet rs = stm.getGeneratedKeys()) { // Tenta obter as chaves geradas
-                    if (rs.next()) { // Se houver uma chave gerada
-                        Persistente per = (Persistente) entity;
-                        per.setId(rs.getLong(1)); // Define o ID gerado na entidade
-                        LOGGER.info("Entidade {} cadastrada com sucesso. ID gerado: {}", entity.getClass().getSimpleName(), per.getId());
+            Connection connection = null;
+            PreparedStatement stm = null;
+            try {
+                connection = ConnectionFactory.getConnection(ConnectionFactory.getPoolPadrao(), getShard(entity)); // Obtém a conexão do shard da entidade
+                stm = connection.prepareStatement(getQueryInsercao(), Statement.RETURN_GENERATED_KEYS); // Prepara a instrução SQL, solicitando as chaves geradas
+                setParametrosQueryInsercao(stm, entity); // Define os parâmetros da query
+                int rowsAffected = stm.executeUpdate(); // Executa a atualização (inserção)
+                ConnectionFactory.registrarEscrita(); // Abre a janela de leitura após escrita da thread
+
+                if (rowsAffected > 0) { // Se alguma linha foi afetada (inserção bem-sucedida)
+                    try (ResultSet rs = stm.getGeneratedKeys()) { // Tenta obter as chaves geradas
+                        if (rs.next()) { // Se houver uma chave gerada
+                            Persistente per = (Persistente) entity;
+                            per.setId(rs.getLong(1)); // Define o ID gerado na entidade
+                            LOGGER.info("Entidade {} cadastrada com sucesso. ID gerado: {}", entity.getClass().getSimpleName(), per.getId());
+                        }
                     }
+                    registrarPresencaNoFiltro(getChave(entity)); // Mantém o filtro de existência atualizado
+                    return true; // Retorna verdadeiro indicando sucesso
                 }
-                return true; // Retorna verdadeiro indicando sucesso
-            }
-            LOGGER.warn("Nenhuma linha afetada ao tentar cadastrar a entidade {}.", entity.getClass().getSimpleName());
-            return false; // Retorna falso se nenhuma linha foi afetada
+                LOGGER.warn("Nenhuma linha afetada ao tentar cadastrar a entidade {}.", entity.getClass().getSimpleName());
+                return false; // Retorna falso se nenhuma linha foi afetada
 
-        } catch (SQLException e) {
-            // Em caso de erro SQL, encapsula em DAOException e relança
-            LOGGER.error("Erro SQL ao cadastrar objeto {}: {}", entity.getClass().getSimpleName(), e.getMessage(), e);
-            throw new DAOException("ERRO CADASTRANDO OBJETO: " + entity.getClass().getSimpleName() + ". Detalhes: " + e.getMessage(), e);
+            } catch (SQLException e) {
+                // Em caso de erro SQL, encapsula em DAOException e relança
+                LOGGER.error("Erro SQL ao cadastrar objeto {}: {}", entity.getClass().getSimpleName(), e.getMessage(), e);
+                throw new DAOException("ERRO CADASTRANDO OBJETO: " + entity.getClass().getSimpleName() + ". Detalhes: " + e.getMessage(), e);
+            } finally {
+                // Garante que a conexão e o statement sejam fechados
+                ConnectionFactory.closeConnection(connection, stm, null);
+            }
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
         } finally {
-            // Garante que a conexão e o statement sejam fechados
-            ConnectionFactory.closeConnection(connection, stm, null);
+            rastreio.encerrar();
         }
     }
 
@@ -203,19 +245,38 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
      */
     @Override
     public void excluir(E valor) throws DAOException {
-        Connection connection = null;
-        PreparedStatement stm = null;
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "excluir");
         try {
-            connection = ConnectionFactory.getConnection(); // Obtém a conexão
-            stm = connection.prepareStatement(getQueryExclusao()); // Prepara a instrução SQL de exclusão
-            setParametrosQueryExclusao(stm, valor); // Define os parâmetros da query (o valor da chave para exclusão)
-            int rowsAffected = stm.executeUpdate(); // Executa a exclusão
+            FiltroExistencia<E> filtro = filtroExistencia;
+            long geracaoFiltro = filtro != null ? filtro.getGeracao() : 0L;
+            int rowsAffected = 0;
+            for (String shard : getShardsDaChave(valor)) { // Sem shard determinado pela chave, exclui em todos
+                rowsAffected += excluirNoShard(valor, shard);
+            }
             if (rowsAffected > 0) {
                 LOGGER.info("Entidade com chave {} excluída com sucesso.", valor);
+                registrarAusenciaNoFiltro(filtro, valor, geracaoFiltro);
             } else {
                 LOGGER.warn("Nenhuma linha afetada ao tentar excluir a entidade com chave {}. Pode não existir.", valor);
             }
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
+        }
+    }
 
+    private int excluirNoShard(E valor, String shard) throws DAOException {
+        Connection connection = null;
+        PreparedStatement stm = null;
+        try {
+            connection = ConnectionFactory.getConnection(ConnectionFactory.getPoolPadrao(), shard); // Obtém a conexão
+            stm = connection.prepareStatement(getQueryExclusao()); // Prepara a instrução SQL de exclusão
+            setParametrosQueryExclusao(stm, valor); // Define os parâmetros da query (o valor da chave para exclusão)
+            int rowsAffected = stm.executeUpdate(); // Executa a exclusão
+            ConnectionFactory.registrarEscrita(); // Abre a janela de leitura após escrita da thread
+            return rowsAffected;
         } catch (SQLException e) {
             LOGGER.error("Erro SQL ao excluir objeto com chave {}: {}", valor, e.getMessage(), e);
             throw new DAOException("ERRO EXCLUINDO OBJETO. Detalhes: " + e.getMessage(), e);
@@ -232,28 +293,39 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
      */
     @Override
     public void alterar(T entity) throws TipoChaveNaoEncontradaException, DAOException {
-        Connection connection = null;
-        PreparedStatement stm = null;
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "alterar");
         try {
-            connection = ConnectionFactory.getConnection(); // Obtém a conexão
-            stm = connection.prepareStatement(getQueryAtualizacao()); // Prepara a instrução SQL de atualização
-            setParametrosQueryAtualizacao(stm, entity); // Define os parâmetros da query (valores a serem atualizados e critério)
-            int rowsAffected = stm.executeUpdate(); // Executa a atualização
-            if (rowsAffected > 0) {
-                LOGGER.info("Entidade {} com chave {} alterada com sucesso.", entity.getClass().getSimpleName(), getChave(entity));
-            } else {
-                LOGGER.warn("Nenhuma linha afetada ao tentar alterar a entidade {} com chave {}. Pode não existir.", entity.getClass().getSimpleName(), getChave(entity));
+            Connection connection = null;
+            PreparedStatement stm = null;
+            try {
+                connection = ConnectionFactory.getConnection(ConnectionFactory.getPoolPadrao(), getShard(entity)); // Obtém a conexão do shard da entidade
+                stm = connection.prepareStatement(getQueryAtualizacao()); // Prepara a instrução SQL de atualização
+                setParametrosQueryAtualizacao(stm, entity); // Define os parâmetros da query (valores a serem atualizados e critério)
+                int rowsAffected = stm.executeUpdate(); // Executa a atualização
+                ConnectionFactory.registrarEscrita(); // Abre a janela de leitura após escrita da thread
+                if (rowsAffected > 0) {
+                    LOGGER.info("Entidade {} com chave {} alterada com sucesso.", entity.getClass().getSimpleName(), getChave(entity));
+                } else {
+                    LOGGER.warn("Nenhuma linha afetada ao tentar alterar a entidade {} com chave {}. Pode não existir.", entity.getClass().getSimpleName(), getChave(entity));
+                }
+            } catch (SQLException e) {
+                LOGGER.error("Erro SQL ao alterar objeto {}: {}", entity.getClass().getSimpleName(), e.getMessage(), e);
+                throw new DAOException("ERRO ALTERANDO OBJETO: " + entity.getClass().getSimpleName() + ". Detalhes: " + e.getMessage(), e);
+            } finally {
+                ConnectionFactory.closeConnection(connection, stm, null); // Fecha recursos
             }
-        } catch (SQLException e) {
-            LOGGER.error("Erro SQL ao alterar objeto {}: {}", entity.getClass().getSimpleName(), e.getMessage(), e);
-            throw new DAOException("ERRO ALTERANDO OBJETO: " + entity.getClass().getSimpleName() + ". Detalhes: " + e.getMessage(), e);
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
         } finally {
-            ConnectionFactory.closeConnection(connection, stm, null); // Fecha recursos
+            rastreio.encerrar();
         }
     }
 
     /**
      * Consulta um registro no banco de dados com base em sua chave primária lógica.
+     * Chamadas concorrentes para a mesma chave compartilham uma única consulta ao banco; cada uma
+     * recebe a sua própria cópia da entidade ({@link #copiar}).
      * @param valor A chave primária (identificador) do dado a ser consultado.
      * @return A entidade encontrada, ou {@code null} se não for encontrada.
      * @throws MaisDeUmRegistroException Se mais de um registro for encontrado para a chave.
@@ -262,12 +334,79 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
      */
     @Override
     public T consultar(E valor) throws MaisDeUmRegistroException, TableException, DAOException {
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "consultar");
+        try {
+            // Leitura após escrita ou com escopo de pool: vai ao banco por conta própria, sem filtro nem compartilhamento
+            boolean roteamentoProprio = ConnectionFactory.isLeituraComRoteamentoProprio();
+            FiltroExistencia<E> filtro = roteamentoProprio ? null : filtroExistencia;
+            if (filtro != null && filtro.certamenteAusente(valor)) {
+                LOGGER.debug("Chave {} certamente ausente segundo o filtro de existência. Consulta ao banco evitada.", valor);
+                return null;
+            }
+            if (valor == null || roteamentoProprio) {
+                return consultarNoBanco(valor);
+            }
+            AgrupadorConsultas<E, T> agrupamento = agrupador;
+            if (agrupamento != null) {
+                return consultasEmAndamento.executar(valor, () -> agrupamento.carregar(valor));
+            }
+            return consultasEmAndamento.executar(valor, () -> consultarNoBanco(valor));
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
+        }
+    }
+
+    /**
+     * Executa efetivamente a consulta de um registro no banco pela chave lógica: no shard da chave
+     * ou, se a chave não determina o shard, em todos os shards em paralelo.
+     * @param valor A chave primária (identificador) do dado a ser consultado.
+     * @return A entidade encontrada, ou {@code null} se não for encontrada.
+     * @throws MaisDeUmRegistroException Se mais de um registro for encontrado para a chave.
+     * @throws TableException Se houver um problema com o nome da tabela.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    protected T consultarNoBanco(E valor) throws MaisDeUmRegistroException, TableException, DAOException {
+        FiltroExistencia<E> filtro = filtroExistencia;
+        long geracaoFiltro = filtro != null ? filtro.getGeracao() : 0L; // Antes da leitura: um cadastro concorrente invalida a ausência lida
+        List<T> encontrados = new ArrayList<>();
+        for (T entity : ExecucaoDistribuida.executar(getShardsDaChave(valor), shard -> consultarNoShard(valor, shard))) {
+            if (entity != null) {
+                encontrados.add(entity);
+            }
+        }
+        if (encontrados.size() > 1) {
+            String msg = "ENCONTRADO MAIS DE UM REGISTRO DE " + getTableName() + " PARA A CHAVE: " + valor + " (em shards diferentes)";
+            LOGGER.error(msg);
+            throw new MaisDeUmRegistroException(msg);
+        }
+        if (encontrados.isEmpty()) {
+            LOGGER.info("Entidade com chave {} não encontrada.", valor);
+            registrarAusenciaNoFiltro(filtro, valor, geracaoFiltro);
+            return null; // Retorna null se nenhum registro for encontrado
+        }
+        return encontrados.get(0);
+    }
+
+    /**
+     * Consulta um registro pela chave lógica em um shard.
+     * Subclasses que precisam de uma consulta diferente (ex: com JOINs) sobrescrevem este método,
+     * mantendo a deduplicação, o roteamento e o filtro de existência de {@link #consultar(Serializable)}.
+     * @param valor A chave primária (identificador) do dado a ser consultado.
+     * @param shard O shard consultado ({@code null} para o banco padrão).
+     * @return A entidade encontrada, ou {@code null} se não existir no shard.
+     * @throws MaisDeUmRegistroException Se mais de um registro for encontrado para a chave.
+     * @throws TableException Se houver um problema com o nome da tabela.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    protected T consultarNoShard(E valor, String shard) throws MaisDeUmRegistroException, TableException, DAOException {
         Connection connection = null;
         PreparedStatement stm = null;
         ResultSet rs = null;
         try {
-            validarMaisDeUmRegistro(valor); // Verifica se há mais de um registro para a chave
-            connection = ConnectionFactory.getConnection(); // Obtém a conexão
+            connection = ConnectionFactory.getConnectionLeitura(ConnectionFactory.getPoolPadrao(), shard); // Obtém a conexão
             // Constrói a query SELECT dinamicamente com base na anotação @Tabela e @TipoChave
             String tableName = getTableName();
             String keyFieldName = getNomeCampoChave(getTipoClasse());
@@ -277,36 +416,14 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
             rs = stm.executeQuery(); // Executa a consulta
 
             if (rs.next()) { // Se um registro for encontrado
-                // Cria uma nova instância da entidade usando o construtor padrão (via reflexão)
-                T entity = getTipoClasse().getConstructor().newInstance();
-                // Itera sobre os campos da entidade para preencher seus valores
-                for (Field field : entity.getClass().getDeclaredFields()) {
-                    // Se o campo tiver a anotação @ColunaTabela
-                    if (field.isAnnotationPresent(ColunaTabela.class)) {
-                        ColunaTabela coluna = field.getAnnotation(ColunaTabela.class);
-                        String dbName = coluna.dbName(); // Nome da coluna no banco
-                        String javaSetName = coluna.setJavaName(); // Nome do método setter na classe Java
-                        Class<?> classField = field.getType(); // Tipo do campo Java
-                        try {
-                            // Obtém o método setter correspondente e o invoca para definir o valor
-                            Method method = entity.getClass().getMethod(javaSetName, classField);
-                            setValueByType(entity, method, classField, rs, dbName); // Chama método auxiliar para setar o valor
-                        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-                            LOGGER.error("Erro ao setar valor em objeto consultado para campo {}. Verifique setJavaName na anotação ColunaTabela. Detalhes: {}", field.getName(), e.getMessage(), e);
-                            throw new DAOException("ERRO AO SETAR VALOR EM OBJETO CONSULTADO. Verifique setJavaName na anotação ColunaTabela. Detalhes: " + e.getMessage(), e);
-                        } catch (TipoElementoNaoConhecidoException e) {
-                            LOGGER.error("Erro ao setar valor: tipo de dado não reconhecido para campo {}. Detalhes: {}", field.getName(), e.getMessage(), e);
-                            throw new DAOException("ERRO AO SETAR VALOR: TIPO DE DADO NÃO RECONHECIDO para campo " + field.getName() + ". Detalhes: " + e.getMessage(), e);
-                        }
-                    }
-                }
+                T entity = converterRegistro(rs); // Cria a entidade e preenche os campos anotados
+                validarRegistroUnico(rs, valor); // Uma segunda linha indica chave duplicada no shard
                 LOGGER.info("Entidade {} com chave {} consultada com sucesso.", entity.getClass().getSimpleName(), valor);
                 return entity; // Retorna a entidade preenchida
             }
-            LOGGER.info("Entidade com chave {} não encontrada.", valor);
-            return null; // Retorna null se nenhum registro for encontrado
+            return null; // Retorna null se nenhum registro for encontrado no shard
 
-        } catch (SQLException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException | TipoChaveNaoEncontradaException e) {
+        } catch (SQLException | IllegalArgumentException | SecurityException | TipoChaveNaoEncontradaException e) {
             LOGGER.error("Erro ao consultar objeto com chave {}: {}", valor, e.getMessage(), e);
             throw new DAOException("ERRO CONSULTANDO OBJETO: " + e.getMessage(), e);
         } finally {
@@ -314,6 +431,278 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
         }
     }
 
+    /**
+     * Verifica se existe um registro com a chave lógica com {@code SELECT 1 ... LIMIT 1}, sem instanciar a entidade.
+     * Usa o filtro de existência, se houver, para evitar a consulta a chaves certamente ausentes.
+     * @param valor A chave primária (identificador) do dado.
+     * @return {@code true} se o registro existir.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    @Override
+    public boolean existe(E valor) throws DAOException {
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "existe");
+        try {
+            if (valor == null) {
+                return false;
+            }
+            FiltroExistencia<E> filtro = ConnectionFactory.isLeituraComRoteamentoProprio() ? null : filtroExistencia;
+            if (filtro != null && filtro.certamenteAusente(valor)) {
+                return false;
+            }
+            long geracaoFiltro = filtro != null ? filtro.getGeracao() : 0L;
+            try {
+                for (Boolean existe : ExecucaoDistribuida.executar(getShardsDaChave(valor), shard -> existeNoShard(valor, shard))) {
+                    if (existe) {
+                        return true;
+                    }
+                }
+            } catch (MaisDeUmRegistroException | TableException e) {
+                throw new DAOException("ERRO VERIFICANDO EXISTENCIA DO OBJETO. Detalhes: " + e.getMessage(), e);
+            }
+            registrarAusenciaNoFiltro(filtro, valor, geracaoFiltro);
+            return false;
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
+        }
+    }
+
+    private boolean existeNoShard(E valor, String shard) throws DAOException {
+        Connection connection = null;
+        PreparedStatement stm = null;
+        ResultSet rs = null;
+        try {
+            connection = ConnectionFactory.getConnectionLeitura(ConnectionFactory.getPoolPadrao(), shard);
+            String sql = "SELECT 1 FROM " + getTableName() + " WHERE " + getNomeCampoChave(getTipoClasse()) + " = ? LIMIT 1";
+            stm = connection.prepareStatement(sql);
+            setParametrosQuerySelect(stm, valor);
+            rs = stm.executeQuery();
+            return rs.next();
+        } catch (SQLException | TableException | TipoChaveNaoEncontradaException e) {
+            LOGGER.error("Erro ao verificar a existência da chave {}: {}", valor, e.getMessage(), e);
+            throw new DAOException("ERRO VERIFICANDO EXISTENCIA DO OBJETO: " + e.getMessage(), e);
+        } finally {
+            ConnectionFactory.closeConnection(connection, stm, rs);
+        }
+    }
+
+    /**
+     * Verifica quais das chaves existem, com uma consulta {@code SELECT CHAVE ... = ANY(?)} por shard que
+     * lê apenas a coluna chave, sem instanciar as entidades. Chaves certamente ausentes segundo o filtro
+     * de existência não são consultadas.
+     * @param chaves As chaves a serem verificadas.
+     * @return As chaves que existem.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    @Override
+    public Set<E> existemVarios(Collection<E> chaves) throws DAOException {
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "existemVarios");
+        try {
+            Set<E> existentes = new HashSet<>();
+            if (chaves == null || chaves.isEmpty()) {
+                return existentes;
+            }
+            FiltroExistencia<E> filtro = ConnectionFactory.isLeituraComRoteamentoProprio() ? null : filtroExistencia;
+            long geracaoFiltro = filtro != null ? filtro.getGeracao() : 0L;
+            List<E> consultadas = new ArrayList<>();
+            for (E chave : chaves) {
+                if (chave != null && (filtro == null || !filtro.certamenteAusente(chave))) {
+                    consultadas.add(chave);
+                }
+            }
+            if (consultadas.isEmpty()) {
+                return existentes;
+            }
+            Map<String, List<E>> chavesPorShard = agruparPorShard(consultadas);
+            List<String> shards = new ArrayList<>(chavesPorShard.keySet());
+            try {
+                for (Set<E> parcial : ExecucaoDistribuida.executar(shards, shard -> existemVariosNoShard(chavesPorShard.get(shard), shard))) {
+                    existentes.addAll(parcial);
+                }
+            } catch (MaisDeUmRegistroException | TableException e) {
+                throw new DAOException("ERRO VERIFICANDO EXISTENCIA DOS OBJETOS. Detalhes: " + e.getMessage(), e);
+            }
+            for (E chave : consultadas) {
+                if (!existentes.contains(chave)) {
+                    registrarAusenciaNoFiltro(filtro, chave, geracaoFiltro);
+                }
+            }
+            LOGGER.debug("Verificação de existência de {}: {} chaves, {} existentes.", getTipoClasse().getSimpleName(), chaves.size(), existentes.size());
+            return existentes;
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<E> existemVariosNoShard(Collection<E> chaves, String shard) throws DAOException {
+        Set<E> existentes = new HashSet<>();
+        Connection connection = null;
+        PreparedStatement stm = null;
+        ResultSet rs = null;
+        try {
+            String keyFieldName = getNomeCampoChave(getTipoClasse());
+            String sql = "SELECT " + keyFieldName + " FROM " + getTableName() + " WHERE " + keyFieldName + " = ANY(?)";
+            connection = ConnectionFactory.getConnectionLeitura(ConnectionFactory.getPoolPadrao(), shard);
+            stm = connection.prepareStatement(sql);
+            stm.setArray(1, connection.createArrayOf(getTipoSqlChave(), chaves.toArray()));
+            rs = stm.executeQuery();
+            while (rs.next()) {
+                existentes.add((E) rs.getObject(1)); // bigint -> Long, varchar -> String, como as chaves
+            }
+            return existentes;
+        } catch (SQLException | TableException | TipoChaveNaoEncontradaException e) {
+            LOGGER.error("Erro ao verificar a existência de {} chaves em lote: {}", chaves.size(), e.getMessage(), e);
+            throw new DAOException("ERRO VERIFICANDO EXISTENCIA DOS OBJETOS EM LOTE: " + e.getMessage(), e);
+        } finally {
+            ConnectionFactory.closeConnection(connection, stm, rs);
+        }
+    }
+
+    /**
+     * Define (ou remove, com {@code null}) o filtro de existência usado por {@link #consultar(Serializable)}.
+     * O filtro informado deve ter sido populado com todas as chaves da tabela; para construí-lo
+     * a partir do banco, use {@link #carregarFiltroExistencia()}.
+     * @param filtro O filtro de existência, ou {@code null} para desabilitar.
+     */
+    public void setFiltroExistencia(FiltroExistencia<E> filtro) {
+        this.filtroExistencia = filtro;
+    }
+
+    /**
+     * Retorna o filtro de existência em uso.
+     * @return O filtro, ou {@code null} se desabilitado.
+     */
+    public FiltroExistencia<E> getFiltroExistencia() {
+        return filtroExistencia;
+    }
+
+    /**
+     * Constrói (ou reconstrói) o filtro de existência a partir da coluna chave da tabela
+     * e passa a usá-lo em {@link #consultar(Serializable)}. O filtro é dimensionado para o
+     * dobro da quantidade atual de registros, deixando margem para crescimento.
+     * As chaves são lidas em lotes (cursor no servidor), sem carregar a tabela inteira em memória.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    public void carregarFiltroExistencia() throws DAOException {
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "carregarFiltroExistencia");
+        try {
+            List<String> shards = getShardsTodos();
+            try {
+                long total = 0;
+                for (String shard : shards) {
+                    total += contarRegistrosNoShard(shard);
+                }
+                FiltroExistencia<E> novoFiltro = new FiltroExistencia<>(Math.max(1024, total * 2));
+                filtroEmConstrucao = novoFiltro; // Cadastros feitos durante a carga também entram no novo filtro
+
+                long carregadas = 0;
+                for (String shard : shards) {
+                    carregadas += carregarChavesNoShard(shard, novoFiltro);
+                }
+                filtroExistencia = novoFiltro;
+                LOGGER.info("Filtro de existência de {} carregado com {} chaves.", getTipoClasse().getSimpleName(), carregadas);
+            } finally {
+                filtroEmConstrucao = null;
+            }
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
+        }
+    }
+
+    private long contarRegistrosNoShard(String shard) throws DAOException {
+        Connection connection = null;
+        PreparedStatement stm = null;
+        ResultSet rs = null;
+        try {
+            String tableName = getTableName();
+            connection = ConnectionFactory.getConnection(getPoolListagens(), shard);
+            stm = connection.prepareStatement("SELECT count(*) FROM " + tableName);
+            rs = stm.executeQuery();
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException | TableException e) {
+            LOGGER.error("Erro ao contar registros de {}: {}", getTipoClasse().getSimpleName(), e.getMessage(), e);
+            throw new DAOException("ERRO AO CARREGAR FILTRO DE EXISTENCIA. Detalhes: " + e.getMessage(), e);
+        } finally {
+            ConnectionFactory.closeConnection(connection, stm, rs);
+        }
+    }
+
+    private long carregarChavesNoShard(String shard, FiltroExistencia<E> filtro) throws DAOException {
+        Connection connection = null;
+        PreparedStatement stm = null;
+        ResultSet rs = null;
+        try {
+            String tableName = getTableName();
+            String keyFieldName = getNomeCampoChave(getTipoClasse());
+            connection = ConnectionFactory.getConnection(getPoolListagens(), shard); // Primário: uma réplica atrasada deixaria chaves de fora do filtro
+            ConnectionFactory.marcarCursor(connection);
+            connection.setAutoCommit(false); // Necessário para o PostgreSQL respeitar o fetchSize (cursor)
+            stm = connection.prepareStatement("SELECT " + keyFieldName + " FROM " + tableName);
+            stm.setFetchSize(10_000);
+            rs = stm.executeQuery();
+            long carregadas = 0;
+            while (rs.next()) {
+                @SuppressWarnings("unchecked")
+                E chave = (E) rs.getObject(1);
+                filtro.registrarPresenca(chave);
+                carregadas++;
+            }
+            connection.commit();
+            return carregadas;
+        } catch (SQLException | TableException | TipoChaveNaoEncontradaException e) {
+            LOGGER.error("Erro ao carregar filtro de existência de {}: {}", getTipoClasse().getSimpleName(), e.getMessage(), e);
+            throw new DAOException("ERRO AO CARREGAR FILTRO DE EXISTENCIA. Detalhes: " + e.getMessage(), e);
+        } finally {
+            try {
+                if (connection != null) {
+                    connection.setAutoCommit(true); // Restaura o auto-commit antes de devolver a conexão ao pool
+                }
+            } catch (SQLException ex) {
+                LOGGER.error("Erro ao restaurar auto-commit para a conexão: {}", ex.getMessage(), ex);
+            }
+            ConnectionFactory.closeConnection(connection, stm, rs);
+        }
+    }
+
+    /**
+     * Registra no filtro de existência (se habilitado) que uma chave consultada não foi encontrada,
+     * de forma que consultas repetidas à mesma chave não voltem ao banco por alguns instantes.
+     * A ausência é descartada se a chave foi cadastrada depois do início da leitura, se o filtro
+     * foi recarregado nesse intervalo ou se a leitura pode ter vindo de uma réplica (que pode estar atrasada).
+     * @param filtro O filtro em uso quando a leitura começou, ou {@code null} se desabilitado.
+     * @param chave A chave não encontrada.
+     * @param geracaoLeitura A geração do filtro obtida com {@link FiltroExistencia#getGeracao()} antes da leitura.
+     */
+    protected void registrarAusenciaNoFiltro(FiltroExistencia<E> filtro, E chave, long geracaoLeitura) {
+        if (filtro != null && filtro == filtroExistencia && !ConnectionFactory.isLeituraEmReplica(ConnectionFactory.getPoolPadrao())) {
+            filtro.registrarAusencia(chave, geracaoLeitura);
+        }
+    }
+
+    /**
+     * Registra uma chave recém-cadastrada no filtro de existência (e no filtro em construção, se houver).
+     * @param chave A chave cadastrada.
+     */
+    protected void registrarPresencaNoFiltro(E chave) {
+        FiltroExistencia<E> filtro = filtroExistencia;
+        if (filtro != null) {
+            filtro.registrarPresenca(chave);
+        }
+        FiltroExistencia<E> emConstrucao = filtroEmConstrucao;
+        if (emConstrucao != null) {
+            emConstrucao.registrarPresenca(chave);
+        }
+    }
+
     /**
      * Obtém o nome da coluna no banco de dados que corresponde à chave lógica da entidade.
      * @param clazz A classe da entidade.
@@ -335,6 +724,312 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
         throw new TipoChaveNaoEncontradaException(msg);
     }
 
+    /**
+     * Converte a linha atual do ResultSet em uma nova instância da entidade,
+     * preenchendo por reflexão os campos anotados com @ColunaTabela.
+     * @param rs O ResultSet posicionado na linha a ser convertida.
+     * @return A entidade preenchida.
+     * @throws SQLException Se ocorrer um erro ao ler o ResultSet.
+     * @throws DAOException Se a entidade não puder ser instanciada ou um campo não puder ser definido.
+     */
+    protected T converterRegistro(ResultSet rs) throws SQLException, DAOException {
+        return converterRegistro(rs, null);
+    }
+
+    /**
+     * Converte a linha atual do ResultSet em uma nova instância da entidade, preenchendo apenas os campos
+     * das colunas lidas por uma projeção (veja {@link Criterio#selecionar(String...)}); os demais ficam nulos.
+     * @param rs O ResultSet posicionado na linha a ser convertida.
+     * @param colunas As colunas presentes no ResultSet (em maiúsculas), ou {@code null} para todas as anotadas.
+     * @return A entidade preenchida.
+     * @throws SQLException Se ocorrer um erro ao ler o ResultSet.
+     * @throws DAOException Se a entidade não puder ser instanciada ou um campo não puder ser definido.
+     */
+    protected T converterRegistro(ResultSet rs, Set<String> colunas) throws SQLException, DAOException {
+        long inicioMapeamento = OperacaoRastreada.inicioMapeamento();
+        T entity;
+        try {
+            // Cria uma nova instância da entidade usando o construtor padrão (via reflexão)
+            entity = getTipoClasse().getConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            LOGGER.error("Erro ao instanciar entidade {}. Verifique o construtor padrão. Detalhes: {}", getTipoClasse().getSimpleName(), e.getMessage(), e);
+            throw new DAOException("ERRO AO INSTANCIAR ENTIDADE " + getTipoClasse().getSimpleName() + ". Detalhes: " + e.getMessage(), e);
+        }
+        // Itera sobre os campos da entidade para preencher seus valores
+        for (Field field : entity.getClass().getDeclaredFields()) {
+            // Se o campo tiver a anotação @ColunaTabela
+            if (field.isAnnotationPresent(ColunaTabela.class)) {
+                ColunaTabela coluna = field.getAnnotation(ColunaTabela.class);
+                String dbName = coluna.dbName(); // Nome da coluna no banco
+                if (colunas != null && !colunas.contains(dbName.toUpperCase(Locale.ROOT))) {
+                    continue; // Coluna fora da projeção
+                }
+                String javaSetName = coluna.setJavaName(); // Nome do método setter na classe Java
+                Class<?> classField = field.getType(); // Tipo do campo Java
+                try {
+                    // Obtém o método setter correspondente e o invoca para definir o valor
+                    Method method = entity.getClass().getMethod(javaSetName, classField);
+                    setValueByType(entity, method, classField, rs, dbName); // Chama método auxiliar para setar o valor
+                } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+                    LOGGER.error("Erro ao setar valor em objeto consultado para campo {}. Verifique setJavaName na anotação ColunaTabela. Detalhes: {}", field.getName(), e.getMessage(), e);
+                    throw new DAOException("ERRO AO SETAR VALOR EM OBJETO CONSULTADO. Verifique setJavaName na anotação ColunaTabela. Detalhes: " + e.getMessage(), e);
+                } catch (TipoElementoNaoConhecidoException e) {
+                    LOGGER.error("Erro ao setar valor: tipo de dado não reconhecido para campo {}. Detalhes: {}", field.getName(), e.getMessage(), e);
+                    throw new DAOException("ERRO AO SETAR VALOR: TIPO DE DADO NÃO RECONHECIDO para campo " + field.getName() + ". Detalhes: " + e.getMessage(), e);
+                }
+            }
+        }
+        OperacaoRastreada.linhaMapeada(inicioMapeamento);
+        return entity;
+    }
+
+    /**
+     * Consulta vários registros de uma só vez pelas chaves lógicas, em uma única query
+     * ({@code WHERE CHAVE = ANY(?)}) em vez de uma query por chave.
+     * @param chaves As chaves a serem consultadas.
+     * @return Um mapa da chave para a entidade encontrada. Chaves sem registro não aparecem no mapa.
+     * @throws MaisDeUmRegistroException Se mais de um registro for encontrado para alguma das chaves.
+     * @throws TableException Se houver um problema com o nome da tabela.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    public Map<E, T> consultarVarios(Collection<E> chaves) throws MaisDeUmRegistroException, TableException, DAOException {
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "consultarVarios");
+        try {
+            Map<E, T> resultado = new HashMap<>();
+            if (chaves == null || chaves.isEmpty()) {
+                return resultado;
+            }
+            FiltroExistencia<E> filtro = filtroExistencia;
+            long geracaoFiltro = filtro != null ? filtro.getGeracao() : 0L;
+            Map<String, List<E>> chavesPorShard = agruparPorShard(chaves);
+            List<String> shards = new ArrayList<>(chavesPorShard.keySet());
+            for (Map<E, T> parcial : ExecucaoDistribuida.executar(shards, shard -> consultarVariosNoShard(chavesPorShard.get(shard), shard))) {
+                for (Map.Entry<E, T> entrada : parcial.entrySet()) {
+                    if (resultado.put(entrada.getKey(), entrada.getValue()) != null) {
+                        String msg = "ENCONTRADO MAIS DE UM REGISTRO DE " + getTableName() + " PARA A CHAVE: " + entrada.getKey() + " (em shards diferentes)";
+                        LOGGER.error(msg);
+                        throw new MaisDeUmRegistroException(msg);
+                    }
+                }
+            }
+            for (E chave : chaves) {
+                if (!resultado.containsKey(chave)) {
+                    registrarAusenciaNoFiltro(filtro, chave, geracaoFiltro);
+                }
+            }
+            LOGGER.debug("Consulta em lote de {}: {} chaves, {} registros encontrados.", getTipoClasse().getSimpleName(), chaves.size(), resultado.size());
+            return resultado;
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
+        }
+    }
+
+    /**
+     * Agrupa as chaves por shard; chaves que não determinam o shard vão para todos.
+     */
+    private Map<String, List<E>> agruparPorShard(Collection<E> chaves) {
+        Map<String, List<E>> chavesPorShard = new LinkedHashMap<>();
+        for (E chave : chaves) {
+            for (String shard : getShardsDaChave(chave)) {
+                chavesPorShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(chave);
+            }
+        }
+        return chavesPorShard;
+    }
+
+    /**
+     * Consulta várias chaves em um shard, em uma única query.
+     * @param chaves As chaves a serem consultadas.
+     * @param shard O shard consultado ({@code null} para o banco padrão).
+     * @return Um mapa da chave para a entidade encontrada no shard.
+     * @throws MaisDeUmRegistroException Se mais de um registro for encontrado para alguma das chaves.
+     * @throws TableException Se houver um problema com o nome da tabela.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    protected Map<E, T> consultarVariosNoShard(Collection<E> chaves, String shard) throws MaisDeUmRegistroException, TableException, DAOException {
+        Map<E, T> resultado = new HashMap<>();
+        Connection connection = null;
+        PreparedStatement stm = null;
+        ResultSet rs = null;
+        try {
+            String tableName = getTableName();
+            String keyFieldName = getNomeCampoChave(getTipoClasse());
+            String sql = "SELECT * FROM " + tableName + " WHERE " + keyFieldName + " = ANY(?)";
+            connection = ConnectionFactory.getConnectionLeitura(ConnectionFactory.getPoolPadrao(), shard);
+            stm = connection.prepareStatement(sql);
+            stm.setArray(1, connection.createArrayOf(getTipoSqlChave(), chaves.toArray()));
+            rs = stm.executeQuery();
+            while (rs.next()) {
+                T entity = converterRegistro(rs);
+                E chave = getChave(entity);
+                if (resultado.put(chave, entity) != null) {
+                    String msg = "ENCONTRADO MAIS DE UM REGISTRO DE " + tableName + " PARA A CHAVE: " + chave;
+                    LOGGER.error(msg);
+                    throw new MaisDeUmRegistroException(msg);
+                }
+            }
+            return resultado;
+        } catch (SQLException | TipoChaveNaoEncontradaException e) {
+            LOGGER.error("Erro ao consultar {} chaves em lote: {}", chaves.size(), e.getMessage(), e);
+            throw new DAOException("ERRO CONSULTANDO OBJETOS EM LOTE: " + e.getMessage(), e);
+        } finally {
+            ConnectionFactory.closeConnection(connection, stm, rs);
+        }
+    }
+
+    /**
+     * Habilita o agrupamento de consultas: chamadas concorrentes a {@link #consultar(Serializable)}
+     * para chaves diferentes, feitas dentro da janela informada, são atendidas por uma única
+     * chamada a {@link #consultarVarios(Collection)}. Aumenta a latência individual em até uma janela,
+     * em troca de muito menos queries sob carga concorrente.
+     * @param janelaMillis A janela de agrupamento em milissegundos (ex: 1 ou 0.5).
+     * @param tamanhoMaximoLote O número máximo de chaves por query.
+     */
+    public synchronized void habilitarAgrupamento(double janelaMillis, int tamanhoMaximoLote) {
+        desabilitarAgrupamento();
+        this.agrupador = new AgrupadorConsultas<>(janelaMillis, tamanhoMaximoLote, this::consultarVarios, this::copiar);
+        LOGGER.info("Agrupamento de consultas habilitado para {}: janela de {} ms, até {} chaves por lote.", getTipoClasse().getSimpleName(), janelaMillis, tamanhoMaximoLote);
+    }
+
+    /**
+     * Desabilita o agrupamento de consultas, voltando a uma query por chave.
+     */
+    public synchronized void desabilitarAgrupamento() {
+        AgrupadorConsultas<E, T> atual = this.agrupador;
+        this.agrupador = null;
+        if (atual != null) {
+            atual.encerrar();
+        }
+    }
+
+    /**
+     * Retorna o pool de conexões usado pelas listagens e leituras longas ({@link #buscarTodos()},
+     * {@link #publicarTodos()}, {@link #carregarFiltroExistencia()}), isolando-as das operações pontuais.
+     * Um escopo aberto com {@link ConnectionFactory#usarPool(String)} tem precedência.
+     * @return O nome do pool.
+     */
+    protected String getPoolListagens() {
+        return ConnectionFactory.POOL_RELATORIOS;
+    }
+
+    /**
+     * Indica se a entidade é particionada entre os shards do {@link ConnectionFactory}, pela chave
+     * de {@link #getChaveParticao(Persistente)}. Entidades não particionadas ficam no banco padrão.
+     * @return {@code false} por padrão.
+     */
+    protected boolean isParticionado() {
+        return false;
+    }
+
+    /**
+     * Retorna a chave de particionamento da entidade (ex: o CPF do cliente).
+     * @param entity A entidade.
+     * @return A chave de particionamento; {@code null} por padrão.
+     */
+    protected Long getChaveParticao(T entity) {
+        return null;
+    }
+
+    /**
+     * Retorna a chave de particionamento a partir da chave lógica, quando ela a determina
+     * (ex: o CPF é a própria chave do cliente). Se retornar {@code null}, as operações pela chave
+     * consultam todos os shards.
+     * @param valor A chave lógica.
+     * @return A chave de particionamento; {@code null} por padrão.
+     */
+    protected Long getChaveParticaoDaChave(E valor) {
+        return null;
+    }
+
+    /**
+     * Retorna o shard onde a entidade é gravada.
+     * @param entity A entidade.
+     * @return O nome do shard, ou {@code null} para o banco padrão.
+     */
+    protected String getShard(T entity) {
+        return isParticionado() ? ConnectionFactory.getShard(getChaveParticao(entity)) : null;
+    }
+
+    /**
+     * Retorna os shards onde uma chave lógica pode estar: o shard da chave ou, se ela não o determina, todos.
+     * @param valor A chave lógica.
+     * @return Os shards ({@code null} representa o banco padrão).
+     */
+    protected List<String> getShardsDaChave(E valor) {
+        if (!isParticionado() || !ConnectionFactory.isParticionado()) {
+            return Collections.singletonList(null);
+        }
+        Long chaveParticao = getChaveParticaoDaChave(valor);
+        return chaveParticao != null ? Collections.singletonList(ConnectionFactory.getShard(chaveParticao)) : ConnectionFactory.getShards();
+    }
+
+    /**
+     * Retorna todos os shards onde há registros da entidade.
+     * @return Os shards ({@code null} representa o banco padrão).
+     */
+    protected List<String> getShardsTodos() {
+        if (!isParticionado() || !ConnectionFactory.isParticionado()) {
+            return Collections.singletonList(null);
+        }
+        return ConnectionFactory.getShards();
+    }
+
+    /**
+     * Retorna as instruções SQL que este DAO executa, no mesmo texto usado nas operações, para que
+     * possam ser analisadas antecipadamente nas conexões do pool (veja {@link ConnectionFactory#iniciar(Collection)}).
+     * Instruções que o DAO não suporta são omitidas.
+     * @return As instruções SQL conhecidas.
+     */
+    public Collection<String> getInstrucoesConhecidas() {
+        List<String> instrucoes = new ArrayList<>();
+        try {
+            String tableName = getTableName();
+            String keyFieldName = getNomeCampoChave(getTipoClasse());
+            instrucoes.add("SELECT * FROM " + tableName + " WHERE " + keyFieldName + " = ?"); // consultarNoShard
+            instrucoes.add("SELECT * FROM " + tableName + " WHERE " + keyFieldName + " = ANY(?)"); // consultarVariosNoShard
+            instrucoes.add("SELECT 1 FROM " + tableName + " WHERE " + keyFieldName + " = ? LIMIT 1"); // existeNoShard
+            instrucoes.add("SELECT " + keyFieldName + " FROM " + tableName + " WHERE " + keyFieldName + " = ANY(?)"); // existemVariosNoShard
+        } catch (TableException | TipoChaveNaoEncontradaException e) {
+            LOGGER.warn("Consultas de {} não incluídas no aquecimento: {}", getTipoClasse().getSimpleName(), e.getMessage());
+        }
+        List<Supplier<String>> escritas = List.of(this::getQueryInsercao, this::getQueryAtualizacao, this::getQueryExclusao);
+        for (Supplier<String> instrucao : escritas) {
+            try {
+                instrucoes.add(instrucao.get());
+            } catch (UnsupportedOperationException e) {
+                // Operação não suportada por este DAO (ex: exclusão de vendas)
+            }
+        }
+        return instrucoes;
+    }
+
+    /**
+     * Retorna o nome do tipo SQL da coluna chave, usado para montar o array de {@link #consultarVarios(Collection)}.
+     * @return O nome do tipo SQL (ex: "bigint", "varchar").
+     * @throws TipoChaveNaoEncontradaException Se o campo chave não for encontrado.
+     */
+    protected String getTipoSqlChave() throws TipoChaveNaoEncontradaException {
+        for (Field field : getTipoClasse().getDeclaredFields()) {
+            if (field.isAnnotationPresent(TipoChave.class)) {
+                Class<?> tipo = field.getType();
+                if (tipo.equals(Long.class)) {
+                    return "bigint";
+                } else if (tipo.equals(Integer.class)) {
+                    return "integer";
+                } else if (tipo.equals(Short.class)) {
+                    return "smallint";
+                }
+                return "varchar";
+            }
+        }
+        String msg = "Campo chave não encontrado. Verifique @TipoChave no domínio " + getTipoClasse().getSimpleName();
+        LOGGER.error(msg);
+        throw new TipoChaveNaoEncontradaException(msg);
+    }
+
     /**
      * Define o valor de um campo de uma entidade usando o método setter apropriado,
      * convertendo o valor do ResultSet para o tipo correto.
@@ -384,43 +1079,20 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
     }
 
     /**
-     * Verifica se há mais de um registro para uma dada chave.
-     * Usado principalmente antes de consultas que esperam um único resultado.
-     * @param valor A chave a ser verificada.
-     * @return O número de registros encontrados.
-     * @throws MaisDeUmRegistroException Se mais de um registro for encontrado.
+     * Verifica, depois de ler o primeiro registro de uma consulta pela chave, se a consulta trouxe outro.
+     * Com o índice único da chave lógica (veja {@code db/migracao/V002__indices_unicos.sql}) isso não acontece;
+     * a verificação protege bancos sem o índice sem o custo de uma consulta {@code count(*)} a mais por leitura.
+     * @param rs O ResultSet posicionado no primeiro registro.
+     * @param valor A chave consultada.
+     * @throws MaisDeUmRegistroException Se houver mais de um registro para a chave.
      * @throws TableException Se houver um problema com o nome da tabela.
-     * @throws TipoChaveNaoEncontradaException Se a chave não for encontrada ou configurada.
-     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     * @throws SQLException Se ocorrer um erro ao ler o ResultSet.
      */
-    protected Long validarMaisDeUmRegistro(E valor) throws MaisDeUmRegistroException, TableException, TipoChaveNaoEncontradaException, DAOException {
-        Connection connection = null;
-        PreparedStatement stm = null;
-        ResultSet rs = null;
-        Long count = null;
-        try {
-            connection = ConnectionFactory.getConnection();
-            // Constrói a query COUNT para verificar a quantidade de registros
-            String tableName = getTableName();
-            String keyFieldName = getNomeCampoChave(getTipoClasse());
-            String sql = "SELECT count(*) FROM " + tableName + " WHERE " + keyFieldName + " = ?";
-            stm = connection.prepareStatement(sql);
-            setParametrosQuerySelect(stm, valor); // Define o parâmetro da query
-            rs = stm.executeQuery();
-            if (rs.next()) {
-                count = rs.getLong(1); // Obtém a contagem
-                if (count > 1) {
-                    String msg = "ENCONTRADO MAIS DE UM REGISTRO DE " + tableName + " PARA A CHAVE: " + valor;
-                    LOGGER.error(msg);
-                    throw new MaisDeUmRegistroException(msg);
-                }
-            }
-            return count;
-        } catch (SQLException e) {
-            LOGGER.error("Erro SQL ao validar mais de um registro para chave {}: {}", valor, e.getMessage(), e);
-            throw new DAOException("ERRO AO VALIDAR MAIS DE UM REGISTRO. Detalhes: " + e.getMessage(), e);
-        } finally {
-            ConnectionFactory.closeConnection(connection, stm, rs); // Fecha recursos
+    protected void validarRegistroUnico(ResultSet rs, E valor) throws MaisDeUmRegistroException, TableException, SQLException {
+        if (rs.next()) {
+            String msg = "ENCONTRADO MAIS DE UM REGISTRO DE " + getTableName() + " PARA A CHAVE: " + valor;
+            LOGGER.error(msg);
+            throw new MaisDeUmRegistroException(msg);
         }
     }
 
@@ -450,50 +1122,188 @@ public abstract class GenericDAO<T extends br.com.rpires.domain.Persistente, E e
      */
     @Override
     public Collection<T> buscarTodos() throws DAOException {
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "buscarTodos");
+        try {
+            List<T> list = new ArrayList<>();
+            try {
+                // Com particionamento, busca em todos os shards em paralelo e junta os resultados
+                for (Collection<T> parcial : ExecucaoDistribuida.executar(getShardsTodos(), this::buscarTodosNoShard)) {
+                    list.addAll(parcial);
+                }
+            } catch (MaisDeUmRegistroException | TableException e) {
+                throw new DAOException("ERRO LISTANDO OBJETOS. Detalhes: " + e.getMessage(), e);
+            }
+            return list;
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
+        }
+    }
+
+    /**
+     * Retorna todos os registros da entidade em um shard.
+     * Subclasses que precisam de uma consulta diferente (ex: com JOINs) sobrescrevem este método.
+     * @param shard O shard consultado ({@code null} para o banco padrão).
+     * @return Os registros do shard.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    protected Collection<T> buscarTodosNoShard(String shard) throws DAOException {
         List<T> list = new ArrayList<>();
         Connection connection = null;
         PreparedStatement stm = null;
         ResultSet rs = null;
         try {
-            connection = ConnectionFactory.getConnection(); // Obtém a conexão
+            connection = ConnectionFactory.getConnectionLeitura(getPoolListagens(), shard); // Obtém a conexão do pool de listagens
             String tableName = getTableName();
             String sql = "SELECT * FROM " + tableName;
             stm = connection.prepareStatement(sql); // Prepara a query para buscar todos
             rs = stm.executeQuery(); // Executa a consulta
 
             while (rs.next()) { // Itera sobre cada registro no ResultSet
-                // Cria uma nova instância da entidade para cada registro
-                T entity = getTipoClasse().getConstructor().newInstance();
-                // Itera sobre os campos da entidade para preenchê-los
-                for (Field field : entity.getClass().getDeclaredFields()) {
-                    if (field.isAnnotationPresent(ColunaTabela.class)) {
-                        ColunaTabela coluna = field.getAnnotation(ColunaTabela.class);
-                        String dbName = coluna.dbName();
-                        String javaSetName = coluna.setJavaName();
-                        Class<?> classField = field.getType();
-                        try {
-                            // Obtém o método setter e define o valor
-                            Method method = entity.getClass().getMethod(javaSetName, classField);
-                            setValueByType(entity, method, classField, rs, dbName);
-                        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-                            LOGGER.error("Erro ao setar valor em objeto listado para campo {}. Verifique setJavaName na anotação ColunaTabela. Detalhes: {}", field.getName(), e.getMessage(), e);
-                            throw new DAOException("ERRO AO SETAR VALOR EM OBJETO LISTADO. Verifique setJavaName na anotação ColunaTabela. Detalhes: " + e.getMessage(), e);
-                        } catch (TipoElementoNaoConhecidoException e) {
-                            LOGGER.error("Erro ao setar valor: tipo de dado não reconhecido para campo {}. Detalhes: {}", field.getName(), e.getMessage(), e);
-                            throw new DAOException("ERRO AO SETAR VALOR: TIPO DE DADO NÃO RECONHECIDO para campo " + field.getName() + ". Detalhes: " + e.getMessage(), e);
-                        }
-                    }
-                }
+                T entity = converterRegistro(rs); // Cria uma nova instância da entidade para cada registro
                 list.add(entity); // Adiciona a entidade preenchida à lista
             }
             LOGGER.info("Total de {} entidades do tipo {} encontradas.", list.size(), getTipoClasse().getSimpleName());
             return list; // Retorna a lista de entidades
 
-        } catch (SQLException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException | TableException e) {
+        } catch (SQLException | IllegalArgumentException | SecurityException | TableException e) {
             LOGGER.error("Erro ao listar objetos do tipo {}: {}", getTipoClasse().getSimpleName(), e.getMessage(), e);
             throw new DAOException("ERRO LISTANDO OBJETOS. Detalhes: " + e.getMessage(), e);
         } finally {
             ConnectionFactory.closeConnection(connection, stm, rs); // Fecha recursos
         }
     }
+
+    /**
+     * Retorna os registros que satisfazem o critério. Com particionamento, a busca é feita em todos os shards
+     * em paralelo e os resultados são reordenados e limitados de novo ao serem juntados.
+     * Com projeção ({@link Criterio#selecionar(String...)}), apenas as colunas selecionadas são lidas e preenchidas.
+     * @param criterio O critério de busca.
+     * @return Os registros encontrados, na ordem do critério.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    @Override
+    public List<T> buscar(Criterio<T> criterio) throws DAOException {
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "buscar");
+        try {
+            validarCriterio(criterio);
+            try {
+                return criterio.juntar(ExecucaoDistribuida.executar(getShardsTodos(), shard -> buscarNoShard(criterio, shard)));
+            } catch (MaisDeUmRegistroException | TableException e) {
+                throw new DAOException("ERRO BUSCANDO OBJETOS. Detalhes: " + e.getMessage(), e);
+            }
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
+        }
+    }
+
+    /**
+     * Conta os registros que satisfazem as condições do critério com {@code SELECT count(*)}, somando os shards,
+     * sem ler nem instanciar as entidades.
+     * @param criterio O critério de busca; a ordenação, o limite e a projeção são ignorados.
+     * @return A quantidade de registros.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    @Override
+    public long contar(Criterio<T> criterio) throws DAOException {
+        OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "contar");
+        try {
+            validarCriterio(criterio);
+            Criterio<T> condicoes = criterio.somenteCondicoes();
+            long total = 0;
+            try {
+                for (Long parcial : ExecucaoDistribuida.executar(getShardsTodos(), shard -> contarNoShard(condicoes, shard))) {
+                    total += parcial;
+                }
+            } catch (MaisDeUmRegistroException | TableException e) {
+                throw new DAOException("ERRO CONTANDO OBJETOS. Detalhes: " + e.getMessage(), e);
+            }
+            return total;
+        } catch (Throwable e) {
+            rastreio.falhou();
+            throw e;
+        } finally {
+            rastreio.encerrar();
+        }
+    }
+
+    private long contarNoShard(Criterio<T> criterio, String shard) throws DAOException {
+        Connection connection = null;
+        PreparedStatement stm = null;
+        ResultSet rs = null;
+        try {
+            connection = ConnectionFactory.getConnectionLeitura(getPoolListagens(), shard);
+            stm = connection.prepareStatement("SELECT count(*) FROM " + getTableName() + criterio.getSql(null));
+            criterio.ligarParametros(stm, 1);
+            rs = stm.executeQuery();
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException | TableException e) {
+            LOGGER.error("Erro ao contar objetos do tipo {} por {}: {}", getTipoClasse().getSimpleName(), criterio, e.getMessage(), e);
+            throw new DAOException("ERRO CONTANDO OBJETOS. Detalhes: " + e.getMessage(), e);
+        } finally {
+            ConnectionFactory.closeConnection(connection, stm, rs);
+        }
+    }
+
+    private void validarCriterio(Criterio<T> criterio) {
+        if (criterio == null || !criterio.getTipo().equals(getTipoClasse())) {
+            throw new IllegalArgumentException("Critério de " + (criterio != null ? criterio.getTipo().getSimpleName() : null)
+                    + " não se aplica a " + getTipoClasse().getSimpleName() + ".");
+        }
+    }
+
+    /**
+     * Retorna os registros de um shard que satisfazem o critério.
+     * Subclasses que precisam de uma consulta diferente (ex: com JOINs) sobrescrevem este método.
+     * @param criterio O critério de busca.
+     * @param shard O shard consultado ({@code null} para o banco padrão).
+     * @return Os registros do shard, na ordem do critério.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    protected List<T> buscarNoShard(Criterio<T> criterio, String shard) throws DAOException {
+        List<T> list = new ArrayList<>();
+        Connection connection = null;
+        PreparedStatement stm = null;
+        ResultSet rs = null;
+        try {
+            connection = ConnectionFactory.getConnectionLeitura(getPoolListagens(), shard);
+            String sql = "SELECT " + criterio.getSqlColunas(null) + " FROM " + getTableName() + criterio.getSql(null);
+            stm = connection.prepareStatement(sql);
+            criterio.ligarParametros(stm, 1);
+            rs = stm.executeQuery();
+            Set<String> colunas = criterio.getColunas(); // Nulo sem projeção: todas as colunas
+            while (rs.next()) {
+                list.add(converterRegistro(rs, colunas));
+            }
+            LOGGER.debug("Busca de {} por {} retornou {} registros.", getTipoClasse().getSimpleName(), criterio, list.size());
+            return list;
+        } catch (SQLException | IllegalArgumentException | SecurityException | TableException e) {
+            LOGGER.error("Erro ao buscar objetos do tipo {} por {}: {}", getTipoClasse().getSimpleName(), criterio, e.getMessage(), e);
+            throw new DAOException("ERRO BUSCANDO OBJETOS. Detalhes: " + e.getMessage(), e);
+        } finally {
+            ConnectionFactory.closeConnection(connection, stm, rs);
+        }
+    }
+
+    /**
+     * Retorna um publicador reativo de todos os registros da tabela, lidos por cursor no servidor
+     * conforme a demanda do assinante.
+     * @return O publicador dos registros.
+     * @throws DAOException Se a anotação @Tabela não for encontrada.
+     */
+    @Override
+    public Flow.Publisher<T> publicarTodos() throws DAOException {
+        try {
+            String sql = "SELECT * FROM " + getTableName();
+            return new PublicadorCursor<>(getPoolListagens(), getShardsTodos(), sql, (rs, connection) -> converterRegistro(rs));
+        } catch (TableException e) {
+            throw new DAOException("ERRO AO MONTAR LEITURA POR CURSOR. Detalhes: " + e.getMessage(), e);
+        }
+    }
 }
\ No newline at end of file
@@ -10,6 +10,9 @@ import br.com.rpires.exceptions.TipoChaveNaoEncontradaException;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Flow;
 
 /**
  * Interface genérica para a camada de acesso a dados (DAO - Data Access Object).
@@ -55,10 +58,51 @@ public interface IGenericDAO <T extends Persistente, E extends Serializable> {
      */
     T consultar(E valor) throws MaisDeUmRegistroException, TableException, DAOException;
 
+    /**
+     * Verifica se existe um registro com a chave lógica, sem carregar a entidade.
+     * @param valor A chave primária (identificador) do dado.
+     * @return {@code true} se o registro existir.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    boolean existe(E valor) throws DAOException;
+
+    /**
+     * Verifica, em uma única consulta por shard, quais das chaves lógicas existem, sem carregar as entidades.
+     * @param chaves As chaves a serem verificadas.
+     * @return As chaves que existem. Pode ser vazio.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    Set<E> existemVarios(Collection<E> chaves) throws DAOException;
+
+    /**
+     * Conta os registros que satisfazem as condições do critério (a ordenação, o limite e a projeção são ignorados).
+     * @param criterio O critério de busca.
+     * @return A quantidade de registros.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    long contar(Criterio<T> criterio) throws DAOException;
+
     /**
      * Retorna todos os registros de uma determinada entidade/tabela no banco de dados.
      * @return Uma coleção de entidades encontradas. Pode ser vazia se não houver registros.
      * @throws DAOException Se ocorrer um erro de acesso a dados.
      */
     Collection<T> buscarTodos() throws DAOException;
+
+    /**
+     * Retorna os registros que satisfazem o critério, com filtro, ordenação e limite feitos pelo banco.
+     * @param criterio O critério de busca (ex: {@code Criterio.de(Cliente.class).igual("ESTADO", "SP").limitar(100)}).
+     * @return Os registros encontrados, na ordem do critério. Pode ser vazia.
+     * @throws DAOException Se ocorrer um erro de acesso a dados.
+     */
+    List<T> buscar(Criterio<T> criterio) throws DAOException;
+
+    /**
+     * Retorna um publicador reativo de todos os registros da entidade/tabela.
+     * Os registros são lidos por um cursor no servidor à medida que o assinante os pede,
+     * sem carregar a tabela inteira em memória (ao contrário de {@link #buscarTodos()}).
+     * @return Um {@link Flow.Publisher} dos registros. Cada assinatura executa uma nova leitura.
+     * @throws DAOException Se a query de leitura não puder ser montada.
+     */
+    Flow.Publisher<T> publicarTodos() throws DAOException;
 }
\ No newline at end of file
@@ -0,0 +1,322 @@
+package br.com.rpires.dao.generic;
+
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.exceptions.DAOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Flow.Publisher} que lê os registros de uma query por meio de um cursor no servidor,
+ * buscando do banco apenas a quantidade de linhas que o assinante pediu (backpressure).
+ * <p>
+ * Cada assinatura abre sua própria conexão e transação (necessária para o PostgreSQL manter o cursor)
+ * e lê as linhas em uma thread dedicada, um lote por vez: o tamanho do lote acompanha a demanda do assinante
+ * (limitado a {@code tamanhoMaximoLote}) e é também o lote buscado pelo driver. Os itens do lote passam pelo
+ * {@link ComplementoLote}, se houver (ex: os itens das vendas em uma única consulta), e são publicados em seguida.
+ * Quando a demanda chega a zero, a leitura pausa: nenhuma linha é lida além do lote corrente.
+ * Um assinante lento mantém, portanto, uma conexão ocupada.
+ * A conexão é liberada ao fim da leitura, em caso de erro ou no cancelamento da assinatura.
+ * Com vários shards, a query é lida em um shard de cada vez, na ordem informada.
+ * </p>
+ *
+ * @param <T> O tipo dos itens publicados.
+ */
+public class PublicadorCursor<T> implements Flow.Publisher<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PublicadorCursor.class);
+    private static final AtomicInteger CONTADOR_THREADS = new AtomicInteger();
+
+    public static final int TAMANHO_MAXIMO_LOTE_PADRAO = 500; // Máximo de linhas por ida ao banco
+
+    private final String nomePool;
+    private final List<String> shards;
+    private final String sql;
+    private final ConversorLinha<T> conversor;
+    private final ComplementoLote<T> complemento; // null se os itens não precisam de complemento
+    private final int tamanhoMaximoLote;
+
+    /**
+     * Converte a linha atual do cursor em um item. Recebe também a conexão do cursor,
+     * permitindo consultas auxiliares na mesma transação.
+     * @param <T> O tipo do item.
+     */
+    @FunctionalInterface
+    public interface ConversorLinha<T> {
+        T converter(ResultSet rs, Connection connection) throws SQLException, DAOException;
+    }
+
+    /**
+     * Completa os itens de um lote antes da publicação, com consultas auxiliares na conexão e transação do
+     * cursor: uma consulta por lote, e não uma por linha (ex: os itens de todas as vendas do lote).
+     * @param <T> O tipo do item.
+     */
+    @FunctionalInterface
+    public interface ComplementoLote<T> {
+        void complementar(Connection connection, List<T> itens) throws DAOException;
+    }
+
+    /**
+     * Cria o publicador sobre o banco padrão, com o tamanho máximo de lote padrão.
+     * @param nomePool O pool de conexões de onde o cursor é lido.
+     * @param sql A query a ser lida (sem parâmetros).
+     * @param conversor O conversor de cada linha em item.
+     */
+    public PublicadorCursor(String nomePool, String sql, ConversorLinha<T> conversor) {
+        this(nomePool, Collections.singletonList(null), sql, conversor, null, TAMANHO_MAXIMO_LOTE_PADRAO);
+    }
+
+    /**
+     * Cria o publicador sobre os shards informados, com o tamanho máximo de lote padrão.
+     * @param nomePool O pool de conexões de onde o cursor é lido.
+     * @param shards Os shards lidos, em ordem ({@code null} representa o banco padrão).
+     * @param sql A query a ser lida (sem parâmetros).
+     * @param conversor O conversor de cada linha em item.
+     */
+    public PublicadorCursor(String nomePool, List<String> shards, String sql, ConversorLinha<T> conversor) {
+        this(nomePool, shards, sql, conversor, null, TAMANHO_MAXIMO_LOTE_PADRAO);
+    }
+
+    /**
+     * Cria o publicador sobre os shards informados, com complemento dos lotes e o tamanho máximo de lote padrão.
+     * @param nomePool O pool de conexões de onde o cursor é lido.
+     * @param shards Os shards lidos, em ordem ({@code null} representa o banco padrão).
+     * @param sql A query a ser lida (sem parâmetros).
+     * @param conversor O conversor de cada linha em item.
+     * @param complemento O complemento de cada lote de itens, antes da publicação.
+     */
+    public PublicadorCursor(String nomePool, List<String> shards, String sql, ConversorLinha<T> conversor,
+                            ComplementoLote<T> complemento) {
+        this(nomePool, shards, sql, conversor, complemento, TAMANHO_MAXIMO_LOTE_PADRAO);
+    }
+
+    /**
+     * Cria o publicador.
+     * @param nomePool O pool de conexões de onde o cursor é lido.
+     * @param shards Os shards lidos, em ordem ({@code null} representa o banco padrão).
+     * @param sql A query a ser lida (sem parâmetros).
+     * @param conversor O conversor de cada linha em item.
+     * @param complemento O complemento de cada lote de itens, ou {@code null}.
+     * @param tamanhoMaximoLote O número máximo de linhas buscadas do banco por vez.
+     */
+    public PublicadorCursor(String nomePool, List<String> shards, String sql, ConversorLinha<T> conversor,
+                            ComplementoLote<T> complemento, int tamanhoMaximoLote) {
+        if (tamanhoMaximoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo do lote deve ser maior que zero.");
+        }
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um shard.");
+        }
+        this.nomePool = nomePool;
+        this.shards = shards;
+        this.sql = sql;
+        this.conversor = conversor;
+        this.complemento = complemento;
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Assinante não pode ser nulo.");
+        }
+        Assinatura assinatura = new Assinatura(subscriber);
+        subscriber.onSubscribe(assinatura);
+    }
+
+    /**
+     * Assinatura de um assinante: controla a demanda e a thread que lê o cursor.
+     */
+    private final class Assinatura implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private long demanda; // Protegido por 'this'
+        private boolean cancelada; // Protegido por 'this'
+        private boolean iniciada; // Protegido por 'this'
+        private Throwable erroRequisicao; // Violação da especificação (request <= 0)
+
+        private Assinatura(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (cancelada) {
+                    return;
+                }
+                if (n <= 0) {
+                    erroRequisicao = new IllegalArgumentException("A quantidade pedida deve ser maior que zero (regra 3.9): " + n);
+                } else {
+                    demanda = demanda + n < 0 ? Long.MAX_VALUE : demanda + n; // Satura em Long.MAX_VALUE
+                }
+                if (!iniciada) {
+                    iniciada = true;
+                    Thread leitor = new Thread(this::ler, "publicador-cursor-" + CONTADOR_THREADS.incrementAndGet());
+                    leitor.setDaemon(true);
+                    leitor.start();
+                }
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelada = true;
+                notifyAll();
+            }
+        }
+
+        /**
+         * Aguarda demanda do assinante.
+         * @return A demanda disponível, ou -1 se a assinatura foi cancelada.
+         */
+        private synchronized long aguardarDemanda() throws InterruptedException {
+            while (demanda == 0 && !cancelada && erroRequisicao == null) {
+                wait();
+            }
+            return cancelada || erroRequisicao != null ? -1 : demanda;
+        }
+
+        private synchronized boolean isCancelada() {
+            return cancelada;
+        }
+
+        private synchronized void consumirUm() {
+            if (demanda != Long.MAX_VALUE) {
+                demanda--;
+            }
+        }
+
+        private void ler() {
+            long linhas = 0;
+            try {
+                for (String shard : shards) {
+                    long lidas = lerShard(shard);
+                    if (lidas < 0) {
+                        sinalizarErroRequisicao();
+                        return;
+                    }
+                    linhas += lidas;
+                }
+                LOGGER.debug("Leitura por cursor concluída: {} linhas publicadas.", linhas);
+                subscriber.onComplete();
+            } catch (DAOException | RuntimeException e) {
+                subscriber.onError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                subscriber.onError(e);
+            }
+        }
+
+        /**
+         * Lê a query em um shard, publicando as linhas conforme a demanda.
+         * @return O número de linhas publicadas, ou -1 se a assinatura foi cancelada (ou violou a especificação).
+         */
+        private long lerShard(String shard) throws DAOException, InterruptedException {
+            Connection connection = null;
+            PreparedStatement stm = null;
+            ResultSet rs = null;
+            long linhas = 0;
+            try {
+                long disponivel = aguardarDemanda();
+                if (disponivel < 0) {
+                    return -1;
+                }
+                connection = ConnectionFactory.getConnectionLeitura(nomePool, shard);
+                ConnectionFactory.marcarCursor(connection); // Tempo em uso segue o assinante, não o banco
+                connection.setAutoCommit(false); // O PostgreSQL só usa cursor (fetchSize) dentro de uma transação
+                stm = connection.prepareStatement(sql);
+                stm.setFetchSize(tamanhoLote(disponivel));
+                rs = stm.executeQuery();
+                boolean fim = false;
+                while (!fim) {
+                    disponivel = aguardarDemanda();
+                    if (disponivel < 0) {
+                        return -1;
+                    }
+                    int lote = tamanhoLote(disponivel);
+                    rs.setFetchSize(lote); // Próximo lote do driver acompanha a demanda atual
+                    List<T> itens = new ArrayList<>(lote);
+                    while (itens.size() < lote) {
+                        if (!rs.next()) {
+                            fim = true;
+                            break;
+                        }
+                        itens.add(conversor.converter(rs, connection));
+                    }
+                    if (itens.isEmpty()) {
+                        break;
+                    }
+                    if (complemento != null) {
+                        complemento.complementar(connection, itens);
+                    }
+                    for (T item : itens) { // O lote não passa da demanda lida acima, que só diminui ao publicar
+                        if (isCancelada()) {
+                            return -1;
+                        }
+                        consumirUm();
+                        linhas++;
+                        subscriber.onNext(item);
+                    }
+                }
+                connection.commit();
+                return linhas;
+            } catch (SQLException e) {
+                LOGGER.error("Erro na leitura por cursor após {} linhas: {}", linhas, e.getMessage(), e);
+                rollback(connection);
+                throw new DAOException("ERRO NA LEITURA POR CURSOR. Detalhes: " + e.getMessage(), e);
+            } catch (DAOException | RuntimeException e) {
+                LOGGER.error("Erro na leitura por cursor após {} linhas: {}", linhas, e.getMessage(), e);
+                rollback(connection);
+                throw e;
+            } catch (InterruptedException e) {
+                rollback(connection);
+                throw e;
+            } finally {
+                try {
+                    if (connection != null) {
+                        connection.setAutoCommit(true); // Restaura o auto-commit antes de devolver a conexão ao pool
+                    }
+                } catch (SQLException ex) {
+                    LOGGER.error("Erro ao restaurar auto-commit para a conexão: {}", ex.getMessage(), ex);
+                }
+                ConnectionFactory.closeConnection(connection, stm, rs);
+            }
+        }
+
+        private void sinalizarErroRequisicao() {
+            Throwable erro;
+            synchronized (this) {
+                erro = cancelada ? null : erroRequisicao;
+            }
+            if (erro != null) {
+                subscriber.onError(erro);
+            }
+        }
+
+        private int tamanhoLote(long disponivel) {
+            return (int) Math.max(1, Math.min(disponivel, tamanhoMaximoLote));
+        }
+
+        private void rollback(Connection connection) {
+            try {
+                if (connection != null) {
+                    connection.rollback();
+                }
+            } catch (SQLException ex) {
+                LOGGER.error("Erro ao realizar rollback da leitura por cursor: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+}
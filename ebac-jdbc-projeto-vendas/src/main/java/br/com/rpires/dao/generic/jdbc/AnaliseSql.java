@@ -0,0 +1,134 @@
+package br.com.rpires.dao.generic.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Análise leve do texto das instruções SQL dos DAOs, sem um parser completo: a coluna associada a cada
+ * parâmetro ({@code ?}) e a tabela principal da instrução. Usada para mascarar parâmetros no
+ * {@link LogInstrucoesLentas} e para preencher parâmetros de exemplo na verificação de planos.
+ */
+public final class AnaliseSql {
+
+    /**
+     * "Coluna" dos parâmetros de {@code LIMIT ?} em {@link #colunasDosParametros(String)}.
+     */
+    public static final String LIMITE = "LIMIT";
+
+    private static final Pattern INSERT = Pattern.compile("(?is)^\\s*INSERT\\s+INTO\\s+\\S+\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\((.*)\\)\\s*$");
+    private static final Pattern COLUNA_ANTES = Pattern.compile("(?i)([\\w.]+)(?:\\s+COLLATE\\s+\"?\\w+\"?)?\\s*(?:=|<>|!=|<=|>=|<|>|\\bLIKE)\\s*(ANY\\s*\\(\\s*)?$");
+    private static final Pattern LIMITE_ANTES = Pattern.compile("(?i)\\bLIMIT\\s*$");
+    // Comparação de linha, ex: "(DATA_VENDA, CODIGO COLLATE "C") > (?, ?": grupo 1 = colunas, grupo 2 = parâmetros anteriores
+    private static final Pattern LINHA_ANTES = Pattern.compile("(?i)\\(([^()]+)\\)\\s*(?:=|<>|!=|<=|>=|<|>)\\s*\\(([^()]*)$");
+    private static final Pattern TABELA = Pattern.compile("(?i)\\b(?:FROM|INTO|UPDATE)\\s+(\\w+)");
+
+    private AnaliseSql() {
+    }
+
+    /**
+     * Deduz a coluna associada a cada {@code ?} do SQL, na ordem dos parâmetros: pela lista de colunas
+     * do {@code INSERT} ou pela comparação que antecede o parâmetro ({@code CPF = ?}, {@code CPF = ANY(?)}, {@code NOME COLLATE "C" > ?},
+     * {@code (DATA_VENDA, CODIGO) > (?, ?)}). O parâmetro de {@code LIMIT ?} recebe {@link #LIMITE}.
+     * @param sql O SQL.
+     * @return O nome da coluna (em maiúsculas, sem alias) de cada parâmetro, ou {@code null} se não identificada.
+     */
+    public static List<String> colunasDosParametros(String sql) {
+        List<String> colunas = new ArrayList<>();
+        Matcher insert = INSERT.matcher(sql);
+        if (insert.find()) {
+            String[] nomes = insert.group(1).split(",");
+            List<String> valores = dividirNivelSuperior(insert.group(2));
+            for (int i = 0; i < valores.size(); i++) {
+                if ("?".equals(valores.get(i).trim())) {
+                    colunas.add(i < nomes.length ? nomeColuna(nomes[i]) : null);
+                }
+            }
+            return Collections.unmodifiableList(colunas);
+        }
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                colunas.add(colunaDoParametro(sql, i));
+            }
+        }
+        return Collections.unmodifiableList(colunas);
+    }
+
+    /**
+     * Indica, para cada {@code ?} do SQL, se o parâmetro é uma lista ({@code coluna = ANY(?)}, ligado como array).
+     * @param sql O SQL.
+     * @return {@code true} nas posições dos parâmetros que recebem um array.
+     */
+    public static List<Boolean> parametrosEmLista(String sql) {
+        List<Boolean> listas = new ArrayList<>();
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                Matcher antes = comparacaoAntes(sql, i);
+                listas.add(antes.find() && antes.group(2) != null);
+            }
+        }
+        return Collections.unmodifiableList(listas);
+    }
+
+    /**
+     * Retorna a tabela principal da instrução: a primeira após {@code FROM}, {@code INTO} ou {@code UPDATE}.
+     * @param sql O SQL.
+     * @return O nome da tabela em maiúsculas, ou {@code null} se não identificada.
+     */
+    public static String tabelaPrincipal(String sql) {
+        Matcher tabela = TABELA.matcher(sql);
+        return tabela.find() ? tabela.group(1).toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static String colunaDoParametro(String sql, int posicaoParametro) {
+        Matcher antes = comparacaoAntes(sql, posicaoParametro);
+        if (antes.find()) {
+            return nomeColuna(antes.group(1));
+        }
+        String trecho = sql.substring(Math.max(0, posicaoParametro - 200), posicaoParametro);
+        if (LIMITE_ANTES.matcher(trecho).find()) {
+            return LIMITE;
+        }
+        Matcher linha = LINHA_ANTES.matcher(trecho);
+        if (linha.find()) {
+            String[] expressoes = linha.group(1).split(",");
+            int posicao = linha.group(2).split(",", -1).length - 1; // Posição do parâmetro na linha
+            if (posicao < expressoes.length) {
+                return nomeColuna(expressoes[posicao].trim().split("\\s+")[0]); // Sem o COLLATE
+            }
+        }
+        return null;
+    }
+
+    private static Matcher comparacaoAntes(String sql, int posicaoParametro) {
+        return COLUNA_ANTES.matcher(sql.substring(Math.max(0, posicaoParametro - 80), posicaoParametro));
+    }
+
+    private static List<String> dividirNivelSuperior(String valores) {
+        List<String> partes = new ArrayList<>();
+        int profundidade = 0;
+        int inicio = 0;
+        for (int i = 0; i < valores.length(); i++) {
+            char c = valores.charAt(i);
+            if (c == '(') {
+                profundidade++;
+            } else if (c == ')') {
+                profundidade--;
+            } else if (c == ',' && profundidade == 0) {
+                partes.add(valores.substring(inicio, i));
+                inicio = i + 1;
+            }
+        }
+        partes.add(valores.substring(inicio));
+        return partes;
+    }
+
+    private static String nomeColuna(String expressao) {
+        String nome = expressao.trim();
+        int ponto = nome.lastIndexOf('.');
+        return (ponto >= 0 ? nome.substring(ponto + 1) : nome).toUpperCase(Locale.ROOT);
+    }
+}
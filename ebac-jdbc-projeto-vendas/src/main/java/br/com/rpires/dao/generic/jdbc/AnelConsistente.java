@@ -0,0 +1,79 @@
+package br.com.rpires.dao.generic.jdbc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Anel de hash consistente que distribui chaves numéricas (ex: CPF) entre shards.
+ * <p>
+ * Cada shard ocupa vários pontos do anel (nós virtuais), o que equilibra a distribuição.
+ * Uma chave pertence ao primeiro ponto do anel igual ou posterior ao seu hash. Ao acrescentar
+ * um shard, só as chaves que caem nos novos pontos mudam de lugar (cerca de 1/N do total).
+ * </p>
+ * Imutável e seguro para uso concorrente.
+ */
+public final class AnelConsistente {
+
+    public static final int NOS_VIRTUAIS_PADRAO = 160; // Pontos do anel por shard
+
+    private final TreeMap<Long, String> anel = new TreeMap<>();
+    private final List<String> shards;
+
+    /**
+     * Cria o anel com os shards informados.
+     * @param shards Os nomes dos shards (não vazio).
+     * @param nosVirtuais O número de pontos do anel por shard.
+     */
+    public AnelConsistente(Collection<String> shards, int nosVirtuais) {
+        if (shards.isEmpty() || nosVirtuais <= 0) {
+            throw new IllegalArgumentException("O anel precisa de ao menos um shard e um nó virtual por shard.");
+        }
+        this.shards = List.copyOf(shards);
+        for (String shard : this.shards) {
+            for (int i = 0; i < nosVirtuais; i++) {
+                anel.putIfAbsent(hash(shard + "#" + i), shard); // Colisões (raríssimas) mantêm o primeiro shard
+            }
+        }
+    }
+
+    /**
+     * Localiza o shard responsável pela chave.
+     * @param chave A chave de particionamento.
+     * @return O nome do shard.
+     */
+    public String localizar(long chave) {
+        Map.Entry<Long, String> ponto = anel.ceilingEntry(misturar(chave));
+        return ponto != null ? ponto.getValue() : anel.firstEntry().getValue(); // Dá a volta no anel
+    }
+
+    public List<String> getShards() {
+        return shards;
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits do nome do nó virtual, finalizado com {@link #misturar(long)}.
+     */
+    private static long hash(String no) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : no.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return misturar(h);
+    }
+
+    /**
+     * Finalizador do MurmurHash3 (fmix64): espalha chaves sequenciais, como CPFs próximos, pelo anel.
+     */
+    private static long misturar(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
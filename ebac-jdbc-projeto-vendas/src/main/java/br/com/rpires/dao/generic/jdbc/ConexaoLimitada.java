@@ -0,0 +1,94 @@
+package br.com.rpires.dao.generic.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Envolve uma {@link Connection} do pool para devolver a vaga ao {@link LimitadorConcorrencia}
+ * quando a conexão é fechada, registrando o tempo em que ela ficou em uso (exceto nas conexões marcadas
+ * com {@link #descartarAmostra(Connection)}, como as de leitura em cursor). Com o {@link LogInstrucoesLentas}
+ * ou o evento JFR de instrução SQL ativo, as instruções preparadas na conexão também são envolvidas para medição.
+ * Todas as outras chamadas são repassadas à conexão original.
+ */
+final class ConexaoLimitada implements InvocationHandler {
+
+    private final Connection conexao;
+    private final LimitadorConcorrencia limitador;
+    private final long inicioNanos;
+    private final String pool;
+    private final long esperaNanos;
+    private final LogInstrucoesLentas logLento;
+    private final AtomicBoolean liberada = new AtomicBoolean(); // close() pode ser chamado mais de uma vez
+    private volatile boolean semAmostra; // Tempo em uso não reflete a latência do banco (ex: cursor)
+
+    private ConexaoLimitada(Connection conexao, LimitadorConcorrencia limitador, long inicioNanos,
+                            String pool, long esperaNanos, LogInstrucoesLentas logLento) {
+        this.conexao = conexao;
+        this.limitador = limitador;
+        this.inicioNanos = inicioNanos;
+        this.pool = pool;
+        this.esperaNanos = esperaNanos;
+        this.logLento = logLento;
+    }
+
+    /**
+     * Cria o proxy da conexão.
+     * @param conexao A conexão obtida do pool.
+     * @param limitador O limitador que concedeu a vaga.
+     * @param inicioNanos O instante em que a vaga foi concedida ({@link System#nanoTime()}).
+     * @param pool O nome do pool de origem.
+     * @param esperaNanos A espera pela conexão (admissão mais checkout do pool).
+     * @param logLento O log de instruções lentas.
+     * @return A conexão envolvida.
+     */
+    static Connection envolver(Connection conexao, LimitadorConcorrencia limitador, long inicioNanos,
+                               String pool, long esperaNanos, LogInstrucoesLentas logLento) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new ConexaoLimitada(conexao, limitador, inicioNanos, pool, esperaNanos, logLento));
+    }
+
+    /**
+     * Faz com que o tempo em uso da conexão não seja registrado como amostra de latência no limitador.
+     * Conexões que não vieram de {@link #envolver} são ignoradas.
+     * @param conexao A conexão envolvida.
+     */
+    static void descartarAmostra(Connection conexao) {
+        if (conexao != null && Proxy.isProxyClass(conexao.getClass())
+                && Proxy.getInvocationHandler(conexao) instanceof ConexaoLimitada) {
+            ((ConexaoLimitada) Proxy.getInvocationHandler(conexao)).semAmostra = true;
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+            try {
+                conexao.close(); // Retorna a conexão ao pool
+            } finally {
+                if (liberada.compareAndSet(false, true)) {
+                    if (semAmostra) {
+                        limitador.liberarSemAmostra();
+                    } else {
+                        limitador.liberar(System.nanoTime() - inicioNanos);
+                    }
+                }
+            }
+            return null;
+        }
+        try {
+            Object resultado = method.invoke(conexao, args);
+            if (resultado instanceof PreparedStatement && "prepareStatement".equals(method.getName())
+                    && (logLento.isAtivo() || InstrucaoMonitorada.isEventoAtivo())) {
+                return InstrucaoMonitorada.envolver((PreparedStatement) resultado, (String) args[0], logLento, pool, esperaNanos);
+            }
+            return resultado;
+        } catch (InvocationTargetException e) {
+            throw e.getCause(); // Repassa a SQLException original
+        }
+    }
+}
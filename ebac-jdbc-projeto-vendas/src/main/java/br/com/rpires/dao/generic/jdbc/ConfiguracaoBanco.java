@@ -0,0 +1,313 @@
+package br.com.rpires.dao.generic.jdbc;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Configuração externalizada dos pools de conexão, lida de um arquivo de propriedades.
+ * <p>
+ * Por padrão é lido o {@code database.properties} do classpath; a propriedade de sistema
+ * {@code database.config} aponta para outro arquivo. Propriedades de sistema com o mesmo nome
+ * de uma chave têm precedência sobre o arquivo. As chaves de cada pool seguem o formato
+ * {@code pool.<nome>.<chave>}; as chaves sem prefixo (ex: {@code jdbc.*}, {@code replicas}) valem para todos os pools.
+ * </p>
+ */
+public final class ConfiguracaoBanco {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfiguracaoBanco.class);
+
+    public static final String PROPRIEDADE_ARQUIVO = "database.config";
+    public static final String ARQUIVO_PADRAO = "database.properties";
+
+    private final Properties propriedades;
+
+    private ConfiguracaoBanco(Properties propriedades) {
+        this.propriedades = propriedades;
+    }
+
+    /**
+     * Carrega a configuração do arquivo indicado em {@code -Ddatabase.config} ou, na falta dele,
+     * do {@code database.properties} do classpath.
+     * @return A configuração carregada.
+     * @throws IllegalStateException Se o arquivo não existir ou não puder ser lido.
+     */
+    public static ConfiguracaoBanco carregar() {
+        Properties props = new Properties();
+        String caminho = System.getProperty(PROPRIEDADE_ARQUIVO);
+        try (InputStream in = caminho != null
+                ? Files.newInputStream(Path.of(caminho))
+                : ConfiguracaoBanco.class.getClassLoader().getResourceAsStream(ARQUIVO_PADRAO)) {
+            if (in == null) {
+                throw new IllegalStateException("Arquivo de configuração do banco não encontrado no classpath: " + ARQUIVO_PADRAO);
+            }
+            props.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao ler a configuração do banco: " + e.getMessage(), e);
+        }
+        LOGGER.info("Configuração do banco carregada de {}.", caminho != null ? caminho : "classpath:" + ARQUIVO_PADRAO);
+        return new ConfiguracaoBanco(props);
+    }
+
+    /**
+     * Retorna o valor da chave, dando precedência à propriedade de sistema de mesmo nome.
+     */
+    public String get(String chave) {
+        String valor = System.getProperty(chave);
+        return valor != null ? valor : propriedades.getProperty(chave);
+    }
+
+    /**
+     * Retorna o valor da chave do pool ({@code pool.<nome>.<chave>}), recorrendo à chave global se ausente.
+     */
+    public String getDoPool(String nomePool, String chave) {
+        String valor = get("pool." + nomePool + "." + chave);
+        return valor != null ? valor : get(chave);
+    }
+
+    /**
+     * Retorna os nomes dos pools configurados na chave {@code pools}.
+     */
+    public List<String> getNomesPools() {
+        return lista(get("pools"));
+    }
+
+    /**
+     * Retorna as URLs JDBC das réplicas de leitura do pool (chave {@code replicas}, separadas por vírgula).
+     */
+    public List<String> getReplicas(String nomePool) {
+        return lista(getDoPool(nomePool, "replicas"));
+    }
+
+    /**
+     * Retorna as URLs JDBC das réplicas de leitura do shard (chave {@code shard.<nome>.replicas}).
+     */
+    public List<String> getReplicasShard(String shard) {
+        return lista(get("shard." + shard + ".replicas"));
+    }
+
+    /**
+     * Retorna os nomes dos shards configurados na chave {@code shards} (vazio sem particionamento).
+     */
+    public List<String> getShards() {
+        return lista(get("shards"));
+    }
+
+    /**
+     * Retorna o número de nós virtuais por shard no anel de hash consistente (chave {@code shards.nosVirtuais}).
+     */
+    public int getNosVirtuais() {
+        String valor = get("shards.nosVirtuais");
+        try {
+            return valor == null || valor.isBlank() ? AnelConsistente.NOS_VIRTUAIS_PADRAO : Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor inválido para shards.nosVirtuais: " + valor, e);
+        }
+    }
+
+    /**
+     * Retorna a estratégia de escolha de réplica do pool (chave {@code replicas.roteamento}).
+     */
+    public String getRoteamentoReplicas(String nomePool) {
+        return getDoPool(nomePool, "replicas.roteamento");
+    }
+
+    /**
+     * Retorna por quanto tempo uma réplica que falhou ao entregar conexão deixa de ser escolhida
+     * (chave {@code replicas.quarentenaMillis}, padrão 5 segundos).
+     */
+    public long getQuarentenaReplicaMillis(String nomePool) {
+        return getLong(nomePool, "replicas.quarentenaMillis", 5000);
+    }
+
+    /**
+     * Retorna a janela de leitura após escrita: por quanto tempo, depois de uma escrita,
+     * as leituras da mesma thread vão para o primário em vez das réplicas (0 desabilita).
+     */
+    public long getJanelaLeituraAposEscritaMillis() {
+        String valor = get("leituraAposEscritaMillis");
+        try {
+            return valor == null || valor.isBlank() ? 0 : Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor inválido para leituraAposEscritaMillis: " + valor, e);
+        }
+    }
+
+    /**
+     * Retorna o limite do log de instruções lentas (chave {@code logLento.limiteMillis}): instruções que
+     * levarem pelo menos esse tempo são registradas. Ausente ou negativo desabilita o log.
+     */
+    public long getLimiteLogLentoMillis() {
+        String valor = get("logLento.limiteMillis");
+        try {
+            return valor == null || valor.isBlank() ? -1 : Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor inválido para logLento.limiteMillis: " + valor, e);
+        }
+    }
+
+    /**
+     * Retorna as colunas cujos parâmetros são mascarados no log de instruções lentas
+     * (chave {@code logLento.colunasMascaradas}, por padrão CPF e TEL).
+     */
+    public Set<String> getColunasMascaradas() {
+        String valor = get("logLento.colunasMascaradas");
+        Set<String> colunas = new HashSet<>();
+        for (String coluna : lista(valor != null ? valor : "CPF,TEL")) {
+            colunas.add(coluna.toUpperCase(Locale.ROOT));
+        }
+        return colunas;
+    }
+
+    /**
+     * Indica se {@link ConnectionFactory#iniciar(java.util.Collection)} aplica os scripts pendentes do schema
+     * ({@link MigradorSchema}) antes de aquecer as conexões (chave {@code schema.migrarAoIniciar}, padrão {@code false}).
+     */
+    public boolean isMigrarSchemaAoIniciar() {
+        String valor = get("schema.migrarAoIniciar");
+        return valor != null && Boolean.parseBoolean(valor.trim());
+    }
+
+    /**
+     * Retorna o nome do pool padrão (chave {@code pool.padrao}, ou o primeiro da lista {@code pools}).
+     */
+    public String getPoolPadrao() {
+        String padrao = get("pool.padrao");
+        if (padrao != null) {
+            return padrao.trim();
+        }
+        List<String> nomes = getNomesPools();
+        if (nomes.isEmpty()) {
+            throw new IllegalStateException("Nenhum pool de conexões configurado (chave 'pools').");
+        }
+        return nomes.get(0);
+    }
+
+    public boolean isPoolConfigurado(String nomePool) {
+        return getNomesPools().contains(nomePool);
+    }
+
+    /**
+     * Tempo máximo que uma operação espera pelo controle de admissão do pool antes de ser rejeitada.
+     */
+    public long getEsperaAdmissaoMillis(String nomePool) {
+        return getLong(nomePool, "esperaAdmissaoMillis", 50);
+    }
+
+    /**
+     * Monta a configuração do HikariCP para o pool. As propriedades do driver PostgreSQL controlam as instruções
+     * preparadas: o mesmo {@code PreparedStatement} passa a usar uma instrução nomeada no servidor a partir da
+     * execução de número {@code limiarPreparacao} ({@code prepareThreshold}), e cada conexão guarda até
+     * {@code cacheInstrucoes} instruções analisadas ({@code preparedStatementCacheQueries}), que sobrevivem
+     * ao fechamento do {@code PreparedStatement}.
+     * @param nomePool O nome do pool.
+     * @return A configuração do HikariCP.
+     */
+    public HikariConfig criarHikariConfig(String nomePool) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(nomePool);
+        config.setJdbcUrl(obrigatorio(nomePool, "jdbc.url"));
+        config.setUsername(getDoPool(nomePool, "jdbc.usuario"));
+        config.setPassword(getDoPool(nomePool, "jdbc.senha"));
+
+        config.setMaximumPoolSize((int) getLong(nomePool, "tamanhoMaximo", 10)); // Tamanho máximo do pool de conexões
+        config.setMinimumIdle((int) getLong(nomePool, "minimoOcioso", 5)); // Número mínimo de conexões ociosas
+        config.setConnectionTimeout(getLong(nomePool, "timeoutConexaoMillis", 30000)); // Espera máxima por uma conexão
+        config.setIdleTimeout(getLong(nomePool, "timeoutOciosoMillis", 600000)); // Tempo máximo de ociosidade
+        config.setMaxLifetime(getLong(nomePool, "tempoVidaMaximoMillis", 1800000)); // Tempo máximo de vida
+
+        // Instruções preparadas no servidor e cache de instruções do driver PostgreSQL (pgjdbc)
+        config.addDataSourceProperty("prepareThreshold", String.valueOf(getLong(nomePool, "limiarPreparacao", 5)));
+        config.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(getLong(nomePool, "cacheInstrucoes", 256)));
+        return config;
+    }
+
+    /**
+     * Monta a configuração do HikariCP para o pool em um shard: o dimensionamento do pool,
+     * com a URL (e, se informados, usuário e senha) do shard ({@code shard.<nome>.jdbc.*}).
+     * @param nomePool O nome do pool.
+     * @param shard O nome do shard.
+     * @return A configuração do HikariCP.
+     */
+    public HikariConfig criarHikariConfigShard(String nomePool, String shard) {
+        HikariConfig config = criarHikariConfig(nomePool);
+        config.setPoolName(nomePool + "@" + shard);
+        String url = get("shard." + shard + ".jdbc.url");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Chave obrigatória ausente na configuração do shard " + shard + ": jdbc.url");
+        }
+        config.setJdbcUrl(url.trim());
+        String usuario = get("shard." + shard + ".jdbc.usuario");
+        if (usuario != null) {
+            config.setUsername(usuario);
+        }
+        String senha = get("shard." + shard + ".jdbc.senha");
+        if (senha != null) {
+            config.setPassword(senha);
+        }
+        return config;
+    }
+
+    /**
+     * Monta a configuração do HikariCP para uma réplica de leitura do pool: mesmas credenciais e
+     * dimensionamento do pool, com a URL da réplica, conexões somente leitura e uma espera curta
+     * por conexão (chave {@code replicas.timeoutConexaoMillis}, padrão 1 segundo), já que a leitura
+     * pode recorrer ao primário.
+     * @param nomePool O nome do pool.
+     * @param url A URL JDBC da réplica.
+     * @param indice O índice da réplica (usado no nome do pool).
+     * @return A configuração do HikariCP.
+     */
+    public HikariConfig criarHikariConfigReplica(String nomePool, String url, int indice) {
+        HikariConfig config = criarHikariConfig(nomePool);
+        config.setPoolName(config.getPoolName() + "-replica-" + indice);
+        config.setJdbcUrl(url);
+        config.setReadOnly(true);
+        config.setConnectionTimeout(getLong(nomePool, "replicas.timeoutConexaoMillis", 1000)); // Réplica fora do ar falha rápido
+        config.setInitializationFailTimeout(-1); // Réplica fora do ar não impede a inicialização; as leituras recorrem ao primário
+        return config;
+    }
+
+    private static List<String> lista(String valor) {
+        List<String> itens = new ArrayList<>();
+        if (valor != null) {
+            for (String item : valor.split(",")) {
+                if (!item.isBlank()) {
+                    itens.add(item.trim());
+                }
+            }
+        }
+        return itens;
+    }
+
+    private long getLong(String nomePool, String chave, long padrao) {
+        String valor = getDoPool(nomePool, chave);
+        if (valor == null || valor.isBlank()) {
+            return padrao;
+        }
+        try {
+            return Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor inválido para pool." + nomePool + "." + chave + ": " + valor, e);
+        }
+    }
+
+    private String obrigatorio(String nomePool, String chave) {
+        String valor = getDoPool(nomePool, chave);
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalStateException("Chave obrigatória ausente na configuração do pool " + nomePool + ": " + chave);
+        }
+        return valor.trim();
+    }
+}
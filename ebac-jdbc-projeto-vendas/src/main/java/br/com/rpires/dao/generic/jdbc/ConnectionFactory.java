@@ -1,53 +1,92 @@
 package br.com.rpires.dao.generic.jdbc;
 
 import br.com.rpires.exceptions.DAOException;
+import br.com.rpires.exceptions.SobrecargaException;
+import br.com.rpires.infra.jfr.EventoCheckoutConexao;
+import br.com.rpires.infra.metricas.Metricas;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Classe responsável por gerenciar a conexão com o banco de dados PostgreSQL
  * utilizando HikariCP para pooling de conexões.
- * Implementa o padrão Singleton para o HikariDataSource.
+ * <p>
+ * Mantém pools nomeados, com tamanhos e timeouts independentes, configurados em {@code database.properties}
+ * (veja {@link ConfiguracaoBanco}). O pool padrão ({@link #POOL_OLTP}) atende as operações transacionais;
+ * o pool {@link #POOL_RELATORIOS} atende listagens longas, para que elas não ocupem as conexões das
+ * operações pontuais. Cada pool é criado na primeira vez em que é usado.
+ * </p>
+ * <p>
+ * Para não pagar a abertura das conexões na primeira requisição, a aplicação chama {@link #iniciar(Collection)}
+ * na subida: os pools são criados em paralelo, as conexões aquecidas já com as instruções conhecidas dos DAOs
+ * preparadas, e {@link #isPronto()} passa a indicar que a aplicação pode receber tráfego.
+ * </p>
+ * <p>
+ * Cada pool pode ter réplicas de leitura (chave {@code replicas}). As leituras dos DAOs usam
+ * {@link #getConnectionLeitura(String)}, que escolhe uma réplica por round-robin ou pela menos ocupada;
+ * as escritas usam {@link #getConnection()}, sempre no primário. Com a janela de leitura após escrita
+ * habilitada ({@code leituraAposEscritaMillis}), a thread que acabou de escrever lê do primário
+ * durante a janela, enxergando a própria escrita mesmo com atraso de replicação.
+ * </p>
+ * <p>
+ * Com a chave {@code shards} configurada, os dados particionados (clientes e suas vendas) ficam
+ * distribuídos entre vários bancos. {@link #getShard(Long)} mapeia a chave de particionamento (CPF)
+ * para um shard por um {@link AnelConsistente}; cada pool nomeado ganha então uma instância por shard.
+ * O banco de {@code jdbc.url} continua atendendo os dados não particionados (shard {@code null}).
+ * </p>
+ * As conexões passam por um {@link LimitadorConcorrencia} do pool, que rejeita rapidamente o excesso de
+ * trabalho com {@link SobrecargaException} em vez de deixá-lo esperando no pool até o timeout.
  */
 public class ConnectionFactory {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionFactory.class);
-    private static HikariDataSource dataSource; // A instância única do HikariDataSource
 
-    // Bloco estático para inicializar o HikariDataSource uma única vez
-    static {
-        LOGGER.info("Inicializando HikariCP Connection Pool...");
-        HikariConfig config = new HikariConfig();
-        // URL de conexão para PostgreSQL
-        config.setJdbcUrl("jdbc:postgresql://localhost:5432/vendas_online_2");
-        config.setUsername("postgres");
-        config.setPassword("2025al");
-
-        // Configurações adicionais do pool (exemplo)
-        config.setMaximumPoolSize(10); // Tamanho máximo do pool de conexões
-        config.setMinimumIdle(5); // Número mínimo de conexões ociosas a serem mantidas
-        config.setConnectionTimeout(30000); // Tempo máximo de espera por uma conexão (30 segundos)
-        config.setIdleTimeout(600000); // Tempo máximo que uma conexão pode ficar ociosa no pool (10 minutos)
-        config.setMaxLifetime(1800000); // Tempo máximo de vida de uma conexão (30 minutos)
-
-        // Configurações para otimização de PreparedStatement (importante para JDBC direto)
-        config.addDataSourceProperty("cachePrepStmts", "true");
-        config.addDataSourceProperty("prepStmtCacheSize", "250");
-        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+    public static final String POOL_OLTP = "oltp"; // Pool das operações transacionais
+    public static final String POOL_RELATORIOS = "relatorios"; // Pool das listagens e leituras longas
 
-        try {
-            dataSource = new HikariDataSource(config);
-            LOGGER.info("HikariCP Connection Pool inicializado com sucesso.");
-        } catch (Exception e) {
-            LOGGER.error("Falha ao inicializar o HikariCP Connection Pool: {}", e.getMessage(), e);
-            throw new RuntimeException("Falha ao inicializar o pool de conexões.", e);
+    private static final ConfiguracaoBanco configuracao;
+    private static final String poolPadrao;
+    private static final Map<String, PoolConexoes> pools = new ConcurrentHashMap<>(); // Pools já criados, por nome
+    private static final Set<String> poolsDesconhecidos = ConcurrentHashMap.newKeySet(); // Para avisar uma única vez
+    private static final ThreadLocal<Long> ULTIMA_ESCRITA = new ThreadLocal<>(); // nanoTime da última escrita da thread
+    private static final long janelaLeituraAposEscritaNanos;
+    private static final AnelConsistente anel; // null quando não há particionamento
+    private static final LogInstrucoesLentas logLento;
+    private static final AtomicInteger CONTADOR_THREADS_AQUECIMENTO = new AtomicInteger();
+    private static volatile boolean pronto;
+    private static volatile long tempoAteProntoMillis = -1;
+
+    // Bloco estático para carregar a configuração uma única vez; os pools são criados sob demanda ou em iniciar()
+    static {
+        configuracao = ConfiguracaoBanco.carregar();
+        poolPadrao = configuracao.getPoolPadrao();
+        janelaLeituraAposEscritaNanos = TimeUnit.MILLISECONDS.toNanos(configuracao.getJanelaLeituraAposEscritaMillis());
+        logLento = new LogInstrucoesLentas(configuracao.getLimiteLogLentoMillis(), configuracao.getColunasMascaradas());
+        List<String> shards = configuracao.getShards();
+        anel = shards.isEmpty() ? null : new AnelConsistente(shards, configuracao.getNosVirtuais());
+        if (anel != null) {
+            LOGGER.info("Particionamento habilitado com {} shards: {}.", shards.size(), shards);
         }
     }
 
@@ -57,20 +96,496 @@ public class ConnectionFactory {
     }
 
     /**
-     * Obtém uma instância de conexão com o banco de dados do pool.
-     * Se o pool não estiver inicializado, o bloco estático cuidará disso.
+     * Obtém uma instância de conexão com o banco de dados do pool do escopo atual
+     * (veja {@link #usarPool(String)}) ou, sem escopo, do pool padrão.
+     * A conexão só é entregue se o {@link LimitadorConcorrencia} do pool admitir a operação;
+     * ao fechá-la, a vaga é devolvida e o tempo de uso alimenta o ajuste do limite.
      * @return Uma instância ativa de Connection.
+     * @throws SobrecargaException Se o limite de operações simultâneas do pool estiver esgotado.
      * @throws DAOException Se ocorrer um erro ao obter a conexão do pool.
      */
     public static Connection getConnection() throws DAOException {
+        return getConnection(poolPadrao);
+    }
+
+    /**
+     * Obtém uma conexão do pool sugerido pelo chamador (ex: {@link #POOL_RELATORIOS} para listagens).
+     * Um escopo ativo na thread ({@link #usarPool(String)}) tem precedência sobre a sugestão.
+     * Se o pool não estiver configurado, a conexão vem do pool padrão.
+     * @param nomePool O nome do pool sugerido.
+     * @return Uma instância ativa de Connection.
+     * @throws SobrecargaException Se o limite de operações simultâneas do pool estiver esgotado.
+     * @throws DAOException Se ocorrer um erro ao obter a conexão do pool.
+     */
+    public static Connection getConnection(String nomePool) throws DAOException {
+        return getConnection(nomePool, null);
+    }
+
+    /**
+     * Obtém uma conexão do pool sugerido no shard informado (veja {@link #getShard(Long)}).
+     * @param nomePool O nome do pool sugerido (um escopo ativo tem precedência).
+     * @param shard O nome do shard, ou {@code null} para o banco dos dados não particionados.
+     * @return Uma instância ativa de Connection.
+     * @throws SobrecargaException Se o limite de operações simultâneas do pool estiver esgotado.
+     * @throws DAOException Se ocorrer um erro ao obter a conexão do pool.
+     */
+    public static Connection getConnection(String nomePool, String shard) throws DAOException {
+        String escopo = EscopoPool.atual();
+        return obterConexao(getPool(escopo != null ? escopo : nomePool, shard));
+    }
+
+    /**
+     * Obtém uma conexão para leitura do pool padrão (ou do escopo atual).
+     * @return Uma instância ativa de Connection, de uma réplica quando houver.
+     * @throws DAOException Se ocorrer um erro ao obter a conexão.
+     * @see #getConnectionLeitura(String)
+     */
+    public static Connection getConnectionLeitura() throws DAOException {
+        return getConnectionLeitura(poolPadrao);
+    }
+
+    /**
+     * Obtém uma conexão para leitura. Se o pool tiver réplicas, a conexão vem de uma delas,
+     * exceto dentro da janela de leitura após escrita da thread atual, quando vem do primário.
+     * Se a réplica escolhida estiver inacessível, ela fica de quarentena (deixa de ser escolhida por um tempo)
+     * e a leitura recorre ao primário; com todas as réplicas de quarentena, as leituras vão direto ao primário.
+     * Só deve ser usada para comandos de leitura: conexões de réplica são somente leitura.
+     * @param nomePool O nome do pool sugerido (um escopo ativo tem precedência).
+     * @return Uma instância ativa de Connection.
+     * @throws SobrecargaException Se o limite de operações simultâneas da réplica ou do primário estiver esgotado.
+     * @throws DAOException Se ocorrer um erro ao obter a conexão.
+     */
+    public static Connection getConnectionLeitura(String nomePool) throws DAOException {
+        return getConnectionLeitura(nomePool, null);
+    }
+
+    /**
+     * Obtém uma conexão para leitura do pool sugerido no shard informado, de uma réplica do shard quando houver.
+     * @param nomePool O nome do pool sugerido (um escopo ativo tem precedência).
+     * @param shard O nome do shard, ou {@code null} para o banco dos dados não particionados.
+     * @return Uma instância ativa de Connection.
+     * @throws SobrecargaException Se o limite de operações simultâneas da réplica ou do primário estiver esgotado.
+     * @throws DAOException Se ocorrer um erro ao obter a conexão.
+     * @see #getConnectionLeitura(String)
+     */
+    public static Connection getConnectionLeitura(String nomePool, String shard) throws DAOException {
+        String escopo = EscopoPool.atual();
+        PoolConexoes pool = getPool(escopo != null ? escopo : nomePool, shard);
+        RoteadorReplicas replicas = pool.getReplicas();
+        if (replicas == null || isDentroJanelaLeituraAposEscrita()) {
+            return obterConexao(pool);
+        }
+        PoolConexoes replica = replicas.selecionar();
+        if (replica == null) {
+            return obterConexao(pool); // Todas as réplicas de quarentena
+        }
+        try {
+            return obterConexao(replica);
+        } catch (SobrecargaException e) {
+            throw e;
+        } catch (DAOException e) {
+            replicas.marcarIndisponivel(replica);
+            LOGGER.warn("Réplica {} indisponível; fora do roteamento por {} ms, lendo do primário {}: {}",
+                    replica.getNome(), replicas.getQuarentenaMillis(), pool.getNome(), e.getMessage());
+            return obterConexao(pool);
+        }
+    }
+
+    /**
+     * Envolve uma tarefa a ser executada em outra thread para que as leituras dela sigam o roteamento
+     * da thread atual: o escopo de pool e a janela de leitura após escrita. Usado na execução distribuída
+     * entre shards, em que cada shard é consultado por uma thread auxiliar.
+     * @param tarefa A tarefa.
+     * @return A tarefa envolvida (ou a própria tarefa, se a thread atual não tem roteamento próprio).
+     */
+    public static Runnable comRoteamentoAtual(Runnable tarefa) {
+        String escopo = EscopoPool.atual();
+        Long ultimaEscrita = ULTIMA_ESCRITA.get();
+        if (escopo == null && ultimaEscrita == null) {
+            return tarefa;
+        }
+        return () -> {
+            Long anterior = ULTIMA_ESCRITA.get();
+            if (ultimaEscrita != null) {
+                ULTIMA_ESCRITA.set(ultimaEscrita);
+            }
+            EscopoPool escopoTarefa = escopo != null ? new EscopoPool(escopo) : null;
+            try {
+                tarefa.run();
+            } finally {
+                if (escopoTarefa != null) {
+                    escopoTarefa.close();
+                }
+                if (anterior == null) {
+                    ULTIMA_ESCRITA.remove();
+                } else {
+                    ULTIMA_ESCRITA.set(anterior);
+                }
+            }
+        };
+    }
+
+    /**
+     * Indica se as leituras da thread atual têm roteamento próprio: dentro da janela de leitura após escrita
+     * (vão para o primário) ou com um escopo de pool aberto ({@link #usarPool(String)}). Essas leituras não
+     * devem ser compartilhadas com as de outras threads (deduplicação, agrupamento) nem respondidas pelo
+     * cache negativo, que pode ter sido preenchido a partir de uma réplica atrasada.
+     * @return {@code true} se a thread atual tem roteamento próprio de leitura.
+     */
+    public static boolean isLeituraComRoteamentoProprio() {
+        return EscopoPool.atual() != null || isDentroJanelaLeituraAposEscrita();
+    }
+
+    /**
+     * Indica se as leituras da thread atual no pool podem ser atendidas por uma réplica: o pool tem réplicas
+     * (no banco padrão ou em algum shard) e a thread está fora da janela de leitura após escrita.
+     * Uma chave não encontrada em uma réplica pode ser apenas atraso de replicação.
+     * @param nomePool O nome do pool sugerido (um escopo ativo tem precedência).
+     * @return {@code true} se a leitura pode vir de uma réplica.
+     */
+    public static boolean isLeituraEmReplica(String nomePool) {
+        if (isDentroJanelaLeituraAposEscrita()) {
+            return false;
+        }
+        String escopo = EscopoPool.atual();
+        String nome = escopo != null ? escopo : nomePool;
+        if (getPool(nome, null).getReplicas() != null) {
+            return true;
+        }
+        for (String shard : getShards()) {
+            if (getPool(nome, shard).getReplicas() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inicia todos os pools configurados (em todos os shards) sem aquecer instruções.
+     * @throws DAOException Se algum pool não puder ser iniciado.
+     * @see #iniciar(Collection)
+     */
+    public static void iniciar() throws DAOException {
+        iniciar(List.of());
+    }
+
+    /**
+     * Inicia todos os pools configurados, em todos os shards, e aquece as conexões em paralelo:
+     * cada pool abre o seu mínimo de conexões ociosas (ao menos uma) e prepara nelas as instruções
+     * informadas, para que a primeira requisição encontre conexões abertas, o texto das instruções já
+     * analisado pelo driver (cache por conexão, {@code preparedStatementCacheQueries}) e eventuais erros de
+     * SQL já apontados no log. As instruções não ficam preparadas no servidor: o pgjdbc só cria a instrução
+     * nomeada depois de {@code prepareThreshold} execuções (veja {@link ConfiguracaoBanco#criarHikariConfig(String)}).
+     * Com {@code schema.migrarAoIniciar=true}, aplica antes os scripts pendentes do schema ({@link MigradorSchema}).
+     * Ao final, {@link #isPronto()} passa a retornar {@code true}. Chamadas seguintes não têm efeito.
+     * @param instrucoesConhecidas As instruções SQL a preparar em cada conexão (ex: {@code GenericDAO#getInstrucoesConhecidas()}).
+     * @throws DAOException Se algum pool não puder ser iniciado.
+     */
+    public static synchronized void iniciar(Collection<String> instrucoesConhecidas) throws DAOException {
+        if (pronto) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        List<String> shards = new ArrayList<>();
+        shards.add(null); // Banco dos dados não particionados
+        shards.addAll(getShards());
+        List<String> nomesPools = configuracao.getNomesPools();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(8, nomesPools.size() * shards.size() * 2)), r -> {
+            Thread t = new Thread(r, "aquecimento-pool-" + CONTADOR_THREADS_AQUECIMENTO.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            // 1. Cria os pools em paralelo (cada HikariDataSource abre a primeira conexão no construtor)
+            List<CompletableFuture<PoolConexoes>> criacoes = new ArrayList<>();
+            for (String nomePool : nomesPools) {
+                for (String shard : shards) {
+                    criacoes.add(CompletableFuture.supplyAsync(() -> getPool(nomePool, shard), executor));
+                }
+            }
+            List<PoolConexoes> aquecer = new ArrayList<>();
+            for (CompletableFuture<PoolConexoes> criacao : criacoes) {
+                PoolConexoes pool = criacao.join();
+                aquecer.add(pool);
+                if (pool.getReplicas() != null) {
+                    aquecer.addAll(pool.getReplicas().getReplicas());
+                }
+            }
+            // 2. Aplica os scripts pendentes do schema, para que o aquecimento já encontre tabelas e índices
+            if (configuracao.isMigrarSchemaAoIniciar()) {
+                MigradorSchema.migrar();
+            }
+            // 3. Abre o mínimo de conexões ociosas de cada pool e réplica, em paralelo, e só as devolve ao final:
+            //    seguras ao mesmo tempo, são necessariamente conexões distintas
+            List<PoolConexoes> poolsDasConexoes = new ArrayList<>();
+            List<CompletableFuture<Connection>> aberturas = new ArrayList<>();
+            for (PoolConexoes pool : aquecer) {
+                int conexoes = Math.max(1, Math.min(pool.getDataSource().getMinimumIdle(), pool.getDataSource().getMaximumPoolSize()));
+                for (int i = 0; i < conexoes; i++) {
+                    poolsDasConexoes.add(pool);
+                    aberturas.add(CompletableFuture.supplyAsync(() -> abrirConexaoAquecimento(pool), executor));
+                }
+            }
+            int preparadas = 0;
+            int aquecidas = 0;
+            try {
+                CompletableFuture.allOf(aberturas.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+                // 4. Prepara as instruções em cada conexão aberta, em paralelo
+                List<CompletableFuture<Integer>> preparacoes = new ArrayList<>();
+                for (int i = 0; i < aberturas.size(); i++) {
+                    PoolConexoes pool = poolsDasConexoes.get(i);
+                    Connection connection = aberturas.get(i).join();
+                    if (connection != null) {
+                        preparacoes.add(CompletableFuture.supplyAsync(() -> prepararInstrucoes(pool, connection, instrucoesConhecidas), executor));
+                    }
+                }
+                for (CompletableFuture<Integer> preparacao : preparacoes) {
+                    preparadas += preparacao.join();
+                }
+                aquecidas = preparacoes.size();
+            } finally {
+                for (CompletableFuture<Connection> abertura : aberturas) {
+                    Connection connection = abertura.isCompletedExceptionally() ? null : abertura.getNow(null);
+                    if (connection != null) {
+                        closeConnection(connection, null, null); // Devolve ao pool, que a mantém ociosa
+                    }
+                }
+            }
+            pronto = true;
+            tempoAteProntoMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            LOGGER.info("Banco pronto: {} pools e {} conexões aquecidas, {} instruções analisadas em {} ms ({} ms desde o início da JVM).",
+                    aquecer.size(), aquecidas, preparadas, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), tempoAteProntoMillis);
+        } catch (RuntimeException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            LOGGER.error("Falha ao iniciar os pools de conexão: {}", causa.getMessage(), causa);
+            throw new DAOException("ERRO AO INICIAR OS POOLS DE CONEXAO. Detalhes: " + causa.getMessage(), causa);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Abre uma conexão do pool para o aquecimento, sem passar pelo controle de admissão, para não distorcer
+     * sua medição de latência.
+     * @return A conexão, ou {@code null} se o pool é de uma réplica fora do ar.
+     */
+    private static Connection abrirConexaoAquecimento(PoolConexoes pool) {
         try {
-            return dataSource.getConnection();
+            return pool.getDataSource().getConnection();
         } catch (SQLException e) {
-            LOGGER.error("Erro ao obter conexão do pool: {}", e.getMessage(), e);
+            // Réplicas fora do ar não impedem a subida; as leituras recorrem ao primário
+            if (pool.getDataSource().isReadOnly()) {
+                LOGGER.warn("Réplica {} indisponível no aquecimento: {}", pool.getNome(), e.getMessage());
+                return null;
+            }
+            throw new IllegalStateException("Falha ao aquecer conexão do pool " + pool.getNome() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Prepara as instruções na conexão: o driver analisa o texto e o guarda no cache da conexão, e a descrição
+     * dos parâmetros ({@code getParameterMetaData}) faz o servidor analisar a instrução, apontando SQL inválido.
+     * A descrição usa a instrução sem nome do servidor e não a deixa preparada.
+     * @return O número de instruções analisadas com sucesso.
+     */
+    private static int prepararInstrucoes(PoolConexoes pool, Connection connection, Collection<String> instrucoes) {
+        int preparadas = 0;
+        for (String sql : instrucoes) {
+            try (PreparedStatement stm = connection.prepareStatement(sql)) {
+                stm.getParameterMetaData();
+                preparadas++;
+            } catch (SQLException e) {
+                LOGGER.warn("Instrução não preparada no aquecimento do pool {}: {} ({})", pool.getNome(), sql, e.getMessage());
+            }
+        }
+        return preparadas;
+    }
+
+    /**
+     * Indica se {@link #iniciar(Collection)} já concluiu: pools criados e conexões aquecidas.
+     * Serve como verificação de prontidão (readiness) da aplicação.
+     * @return {@code true} se a aplicação está pronta para receber tráfego.
+     */
+    public static boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Retorna o tempo entre o início da JVM e a conclusão de {@link #iniciar(Collection)}.
+     * @return O tempo em milissegundos, ou -1 se ainda não está pronto.
+     */
+    public static long getTempoAteProntoMillis() {
+        return tempoAteProntoMillis;
+    }
+
+    /**
+     * Indica se os dados particionados estão distribuídos entre shards (chave {@code shards}).
+     * @return {@code true} se há particionamento.
+     */
+    public static boolean isParticionado() {
+        return anel != null;
+    }
+
+    /**
+     * Retorna os shards configurados.
+     * @return Os nomes dos shards, ou uma lista vazia se não há particionamento.
+     */
+    public static List<String> getShards() {
+        return anel != null ? anel.getShards() : List.of();
+    }
+
+    /**
+     * Localiza o shard de uma chave de particionamento (o CPF do cliente).
+     * @param chaveParticao A chave de particionamento.
+     * @return O nome do shard, ou {@code null} se não há particionamento ou a chave é nula.
+     */
+    public static String getShard(Long chaveParticao) {
+        if (anel == null || chaveParticao == null) {
+            return null;
+        }
+        return anel.localizar(chaveParticao);
+    }
+
+    /**
+     * Registra que a thread atual acabou de escrever no banco, abrindo a janela de leitura após escrita.
+     * Chamado pelos DAOs depois de cada escrita; não tem efeito se a janela estiver desabilitada.
+     */
+    public static void registrarEscrita() {
+        if (janelaLeituraAposEscritaNanos > 0) {
+            ULTIMA_ESCRITA.set(System.nanoTime());
+        }
+    }
+
+    private static boolean isDentroJanelaLeituraAposEscrita() {
+        Long ultima = ULTIMA_ESCRITA.get();
+        if (ultima == null) {
+            return false;
+        }
+        if (System.nanoTime() - ultima < janelaLeituraAposEscritaNanos) {
+            return true;
+        }
+        ULTIMA_ESCRITA.remove(); // Janela expirada
+        return false;
+    }
+
+    private static Connection obterConexao(PoolConexoes pool) throws DAOException {
+        LimitadorConcorrencia limitador = pool.getLimitador();
+        EventoCheckoutConexao evento = new EventoCheckoutConexao();
+        evento.begin();
+        long inicioEspera = System.nanoTime();
+        try {
+            if (!limitador.adquirir()) {
+                Metricas.registrarEsperaConexao(pool.getNome(), System.nanoTime() - inicioEspera, false);
+                emitirCheckout(evento, pool, false);
+                LOGGER.warn("Operação rejeitada por sobrecarga no pool {}: {}", pool.getNome(), limitador);
+                throw new SobrecargaException("BANCO DE DADOS SOBRECARREGADO: LIMITE DE " + limitador.getLimite()
+                        + " OPERACOES SIMULTANEAS ATINGIDO NO POOL " + pool.getNome());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DAOException("INTERROMPIDO AO AGUARDAR CONEXAO COM O BANCO DE DADOS", e);
+        }
+        long inicio = System.nanoTime();
+        try {
+            Connection connection = pool.getDataSource().getConnection();
+            long espera = System.nanoTime() - inicioEspera;
+            Metricas.registrarEsperaConexao(pool.getNome(), espera, true);
+            emitirCheckout(evento, pool, true);
+            return ConexaoLimitada.envolver(connection, limitador, inicio, pool.getNome(), espera, logLento);
+        } catch (SQLException e) {
+            Metricas.registrarEsperaConexao(pool.getNome(), System.nanoTime() - inicioEspera, false);
+            emitirCheckout(evento, pool, false);
+            limitador.liberarComFalha(); // Timeout no pool indica que o limite está alto demais
+            LOGGER.error("Erro ao obter conexão do pool {}: {}", pool.getNome(), e.getMessage(), e);
             throw new DAOException("ERRO AO OBTER CONEXAO COM O BANCO DE DADOS: " + e.getMessage(), e);
         }
     }
 
+    private static void emitirCheckout(EventoCheckoutConexao evento, PoolConexoes pool, boolean sucesso) {
+        evento.end();
+        if (evento.shouldCommit()) { // Falso com a gravação JFR desligada ou abaixo do threshold
+            evento.preencher(pool.getNome(), sucesso);
+            evento.commit();
+        }
+    }
+
+    /**
+     * Abre um escopo em que todas as conexões obtidas pela thread atual vêm do pool informado,
+     * inclusive as obtidas dentro dos DAOs.
+     * @param nomePool O nome do pool.
+     * @return O escopo, a ser fechado com try-with-resources.
+     */
+    public static EscopoPool usarPool(String nomePool) {
+        return new EscopoPool(nomePool);
+    }
+
+    /**
+     * Retorna o nome do pool padrão, usado quando nenhum outro é escolhido.
+     * @return O nome do pool padrão.
+     */
+    public static String getPoolPadrao() {
+        return poolPadrao;
+    }
+
+    /**
+     * Retorna o tamanho máximo do pool padrão de conexões.
+     * Útil para dimensionar componentes que limitam a concorrência de acesso ao banco.
+     * @return O número máximo de conexões do pool padrão.
+     */
+    public static int getTamanhoMaximoPool() {
+        return getTamanhoMaximoPool(poolPadrao);
+    }
+
+    /**
+     * Retorna o tamanho máximo do pool informado: o menor entre o do banco padrão e os dos shards, já que
+     * uma operação pode ocupar uma conexão do pool em cada banco ao mesmo tempo.
+     * @param nomePool O nome do pool.
+     * @return O número máximo de conexões simultâneas do pool em qualquer um dos bancos.
+     */
+    public static int getTamanhoMaximoPool(String nomePool) {
+        int tamanho = getPool(nomePool, null).getDataSource().getMaximumPoolSize();
+        for (String shard : getShards()) {
+            tamanho = Math.min(tamanho, getPool(nomePool, shard).getDataSource().getMaximumPoolSize());
+        }
+        return tamanho;
+    }
+
+    /**
+     * Retorna o pool que efetivamente atende o nome informado: ele mesmo, se configurado, ou o pool padrão.
+     * @param nomePool O nome do pool.
+     * @return O nome do pool que fornece as conexões.
+     */
+    public static String getPoolEfetivo(String nomePool) {
+        return configuracao.isPoolConfigurado(nomePool) ? nomePool : poolPadrao;
+    }
+
+    /**
+     * Retorna o controle de admissão do pool padrão, para consulta do limite atual e das rejeições.
+     * @return O limitador de concorrência.
+     */
+    public static LimitadorConcorrencia getLimitador() {
+        return getLimitador(poolPadrao);
+    }
+
+    /**
+     * Retorna o controle de admissão do pool informado.
+     * @param nomePool O nome do pool.
+     * @return O limitador de concorrência.
+     */
+    public static LimitadorConcorrencia getLimitador(String nomePool) {
+        return getPool(nomePool, null).getLimitador();
+    }
+
+    /**
+     * Marca a conexão como usada por uma leitura em cursor (streaming): o tempo em que ela fica em uso
+     * depende do ritmo do consumidor, não da latência do banco, e por isso não entra nas amostras
+     * do {@link LimitadorConcorrencia}. A vaga continua ocupada até a conexão ser fechada.
+     * @param connection A conexão obtida desta fábrica.
+     */
+    public static void marcarCursor(Connection connection) {
+        ConexaoLimitada.descartarAmostra(connection);
+    }
+
     /**
      * Fecha os recursos do banco de dados (ResultSet, PreparedStatement, Connection).
      * Quando uma Connection obtida do HikariCP é fechada, ela é retornada ao pool, não fisicamente fechada.
@@ -95,14 +610,117 @@ public class ConnectionFactory {
     }
 
     /**
-     * Fecha explicitamente o pool de conexões do HikariCP.
-     * Este método deve ser chamado apenas ao desligar a aplicação para liberar todos os recursos do pool.
+     * Retorna a situação atual de todos os pools criados, incluindo réplicas e shards.
+     * @return As estatísticas de cada pool, ordenadas pelo nome.
+     */
+    public static List<EstatisticasPool> getEstatisticasPools() {
+        List<PoolConexoes> todos = new ArrayList<>();
+        for (PoolConexoes pool : pools.values()) {
+            todos.add(pool);
+            if (pool.getReplicas() != null) {
+                todos.addAll(pool.getReplicas().getReplicas());
+            }
+        }
+        List<EstatisticasPool> estatisticas = new ArrayList<>();
+        for (PoolConexoes pool : todos) {
+            HikariPoolMXBean mxBean = pool.getDataSource().getHikariPoolMXBean();
+            if (mxBean == null) {
+                continue; // Pool fechado ou ainda não iniciado
+            }
+            LimitadorConcorrencia limitador = pool.getLimitador();
+            estatisticas.add(new EstatisticasPool(pool.getNome(), mxBean.getActiveConnections(), mxBean.getIdleConnections(),
+                    mxBean.getTotalConnections(), mxBean.getThreadsAwaitingConnection(), pool.getDataSource().getMaximumPoolSize(),
+                    limitador.getLimite(), limitador.getEmUso(), limitador.getRejeitadas()));
+        }
+        estatisticas.sort(Comparator.comparing(EstatisticasPool::getNome));
+        return estatisticas;
+    }
+
+    /**
+     * Fecha explicitamente todos os pools de conexões do HikariCP.
+     * Este método deve ser chamado apenas ao desligar a aplicação para liberar todos os recursos dos pools.
      */
     public static void closeDataSource() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            LOGGER.info("Fechando HikariCP Connection Pool...");
+        for (PoolConexoes pool : new ArrayList<>(pools.values())) {
+            if (pool.getReplicas() != null) {
+                pool.getReplicas().getReplicas().forEach(ConnectionFactory::fechar);
+            }
+            fechar(pool);
+        }
+    }
+
+    private static void fechar(PoolConexoes pool) {
+        HikariDataSource dataSource = pool.getDataSource();
+        if (!dataSource.isClosed()) {
+            LOGGER.info("Fechando HikariCP Connection Pool {}...", pool.getNome());
             dataSource.close();
-            LOGGER.info("HikariCP Connection Pool fechado.");
+            LOGGER.info("HikariCP Connection Pool {} fechado.", pool.getNome());
+        }
+    }
+
+    /**
+     * Retorna o pool pelo nome e shard, criando-o na primeira chamada.
+     * Nomes não configurados recorrem ao pool padrão.
+     */
+    private static PoolConexoes getPool(String nomePool, String shard) {
+        if (shard != null && (anel == null || !anel.getShards().contains(shard))) {
+            throw new IllegalArgumentException("Shard não configurado: " + shard);
         }
+        String chave = shard == null ? nomePool : nomePool + "@" + shard;
+        PoolConexoes pool = pools.get(chave);
+        if (pool != null) {
+            return pool;
+        }
+        if (!configuracao.isPoolConfigurado(nomePool)) {
+            if (!nomePool.equals(poolPadrao)) {
+                if (poolsDesconhecidos.add(nomePool)) {
+                    LOGGER.warn("Pool de conexões '{}' não configurado; usando o pool padrão '{}'.", nomePool, poolPadrao);
+                }
+                return getPool(poolPadrao, shard);
+            }
+        }
+        return pools.computeIfAbsent(chave, c -> criarPool(nomePool, shard));
+    }
+
+    private static PoolConexoes criarPool(String nomePool, String shard) {
+        String nome = shard == null ? nomePool : nomePool + "@" + shard;
+        LOGGER.info("Inicializando HikariCP Connection Pool {}...", nome);
+        try {
+            HikariConfig configPrimario = shard == null
+                    ? configuracao.criarHikariConfig(nomePool)
+                    : configuracao.criarHikariConfigShard(nomePool, shard);
+            List<String> urlsReplicas = shard == null ? configuracao.getReplicas(nomePool) : configuracao.getReplicasShard(shard);
+            RoteadorReplicas roteador = null;
+            if (!urlsReplicas.isEmpty()) {
+                List<PoolConexoes> replicas = new ArrayList<>();
+                for (int i = 0; i < urlsReplicas.size(); i++) {
+                    HikariConfig config = configuracao.criarHikariConfigReplica(nomePool, urlsReplicas.get(i), i + 1);
+                    config.setPoolName(nome + "-replica-" + (i + 1));
+                    if (shard != null) {
+                        config.setUsername(configPrimario.getUsername());
+                        config.setPassword(configPrimario.getPassword());
+                    }
+                    replicas.add(criarPool(config.getPoolName(), config, nomePool, null));
+                }
+                roteador = new RoteadorReplicas(replicas, RoteadorReplicas.Estrategia.de(configuracao.getRoteamentoReplicas(nomePool)),
+                        configuracao.getQuarentenaReplicaMillis(nomePool));
+                LOGGER.info("Pool {} com {} réplica(s) de leitura, roteamento {}.", nome, replicas.size(), roteador.getEstrategia());
+            }
+            return criarPool(nome, configPrimario, nomePool, roteador);
+        } catch (Exception e) {
+            LOGGER.error("Falha ao inicializar o HikariCP Connection Pool {}: {}", nome, e.getMessage(), e);
+            throw new RuntimeException("Falha ao inicializar o pool de conexões " + nome + ".", e);
+        }
+    }
+
+    private static PoolConexoes criarPool(String nome, HikariConfig config, String nomeConfiguracao, RoteadorReplicas replicas) {
+        HikariDataSource dataSource = new HikariDataSource(config);
+        int tamanhoPool = dataSource.getMaximumPoolSize();
+        // O limite parte do tamanho do pool e só cai abaixo dele: acima do pool, as operações admitidas
+        // esperariam no Hikari (connectionTimeout) em vez de serem rejeitadas pela espera de admissão
+        LimitadorConcorrencia limitador = new LimitadorConcorrencia(tamanhoPool, 1, tamanhoPool,
+                configuracao.getEsperaAdmissaoMillis(nomeConfiguracao));
+        LOGGER.info("HikariCP Connection Pool {} inicializado com sucesso ({} conexões).", nome, tamanhoPool);
+        return new PoolConexoes(nome, dataSource, limitador, replicas);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package br.com.rpires.dao.generic.jdbc;
+
+/**
+ * Escopo que direciona as conexões obtidas pela thread atual para um pool nomeado.
+ * Deve ser usado com try-with-resources; escopos podem ser aninhados, e ao fechar
+ * o escopo anterior é restaurado.
+ * <pre>
+ * try (EscopoPool escopo = ConnectionFactory.usarPool(ConnectionFactory.POOL_RELATORIOS)) {
+ *     vendaDAO.buscarTodos();
+ * }
+ * </pre>
+ * O escopo tem precedência sobre o pool sugerido pelo próprio DAO.
+ */
+public final class EscopoPool implements AutoCloseable {
+
+    private static final ThreadLocal<String> POOL_ATUAL = new ThreadLocal<>();
+
+    private final String anterior;
+    private boolean fechado;
+
+    EscopoPool(String nomePool) {
+        this.anterior = POOL_ATUAL.get();
+        POOL_ATUAL.set(nomePool);
+    }
+
+    /**
+     * Retorna o pool do escopo ativo na thread atual.
+     * @return O nome do pool, ou {@code null} se não houver escopo ativo.
+     */
+    static String atual() {
+        return POOL_ATUAL.get();
+    }
+
+    @Override
+    public void close() {
+        if (fechado) {
+            return;
+        }
+        fechado = true;
+        if (anterior == null) {
+            POOL_ATUAL.remove();
+        } else {
+            POOL_ATUAL.set(anterior);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.rpires.dao.generic.jdbc;
+
+/**
+ * Retrato da situação de um pool de conexões: conexões do HikariCP e controle de admissão.
+ * Os getters formam os atributos expostos via JMX.
+ */
+public final class EstatisticasPool {
+
+    private final String nome;
+    private final int ativas;
+    private final int ociosas;
+    private final int total;
+    private final int aguardando;
+    private final int tamanhoMaximo;
+    private final int limiteAdmissao;
+    private final int emUso;
+    private final long rejeitadas;
+
+    EstatisticasPool(String nome, int ativas, int ociosas, int total, int aguardando, int tamanhoMaximo,
+                     int limiteAdmissao, int emUso, long rejeitadas) {
+        this.nome = nome;
+        this.ativas = ativas;
+        this.ociosas = ociosas;
+        this.total = total;
+        this.aguardando = aguardando;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.limiteAdmissao = limiteAdmissao;
+        this.emUso = emUso;
+        this.rejeitadas = rejeitadas;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /** Conexões emprestadas no momento. */
+    public int getAtivas() {
+        return ativas;
+    }
+
+    /** Conexões abertas e livres no pool. */
+    public int getOciosas() {
+        return ociosas;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /** Threads aguardando uma conexão do pool. */
+    public int getAguardando() {
+        return aguardando;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    /** Limite atual de operações simultâneas do {@link LimitadorConcorrencia}. */
+    public int getLimiteAdmissao() {
+        return limiteAdmissao;
+    }
+
+    /** Operações admitidas em andamento. */
+    public int getEmUso() {
+        return emUso;
+    }
+
+    /** Operações rejeitadas por sobrecarga desde a criação do pool. */
+    public long getRejeitadas() {
+        return rejeitadas;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: ativas=%d ociosas=%d total=%d/%d aguardando=%d admissao=%d/%d rejeitadas=%d",
+                nome, ativas, ociosas, total, tamanhoMaximo, aguardando, emUso, limiteAdmissao, rejeitadas);
+    }
+}
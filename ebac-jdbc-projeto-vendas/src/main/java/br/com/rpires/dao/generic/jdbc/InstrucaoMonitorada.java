@@ -0,0 +1,226 @@
+package br.com.rpires.dao.generic.jdbc;
+
+import br.com.rpires.infra.jfr.EventoInstrucaoSQL;
+import br.com.rpires.infra.jfr.OperacaoRastreada;
+import jdk.jfr.EventType;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Envolve um {@link PreparedStatement} para medir cada execução para o {@link LogInstrucoesLentas} e para
+ * o evento JFR {@link EventoInstrucaoSQL}: guarda os parâmetros ligados, mede a execução e, nas consultas,
+ * a leitura das linhas do {@link ResultSet}. A execução é registrada quando termina: ao fechar o ResultSet
+ * ou a instrução, ao executar de novo ou, nas atualizações, logo após a execução.
+ * Como as instruções JDBC, não é seguro para uso concorrente.
+ */
+final class InstrucaoMonitorada implements InvocationHandler {
+
+    private static final EventType TIPO_EVENTO = EventType.getEventType(EventoInstrucaoSQL.class);
+
+    /**
+     * Dados de uma execução medida.
+     */
+    static final class Execucao {
+        final String sql;
+        final String pool;
+        final long esperaConexaoNanos;
+        final Map<Integer, Object> parametros;
+        final int lote;
+        long duracaoExecucaoNanos;
+        long duracaoLeituraNanos;
+        long linhas;
+        boolean falhou;
+        private EventoInstrucaoSQL evento; // null com a gravação JFR desligada
+        private OperacaoRastreada rastreio;
+
+        private Execucao(String sql, String pool, long esperaConexaoNanos, Map<Integer, Object> parametros, int lote) {
+            this.sql = sql;
+            this.pool = pool;
+            this.esperaConexaoNanos = esperaConexaoNanos;
+            this.parametros = parametros;
+            this.lote = lote;
+        }
+    }
+
+    private final PreparedStatement instrucao;
+    private final String sql;
+    private final LogInstrucoesLentas log;
+    private final String pool;
+    private final long esperaConexaoNanos;
+    private final Map<Integer, Object> parametros = new TreeMap<>();
+    private int lote; // Chamadas a addBatch() desde a última execução
+    private Execucao pendente; // Execução cujo ResultSet ainda está sendo lido
+
+    private InstrucaoMonitorada(PreparedStatement instrucao, String sql, LogInstrucoesLentas log, String pool, long esperaConexaoNanos) {
+        this.instrucao = instrucao;
+        this.sql = sql;
+        this.log = log;
+        this.pool = pool;
+        this.esperaConexaoNanos = esperaConexaoNanos;
+    }
+
+    /**
+     * Indica se o evento JFR de instrução SQL está sendo gravado; as instruções só precisam ser
+     * envolvidas quando ele ou o log de instruções lentas estiver ativo.
+     */
+    static boolean isEventoAtivo() {
+        return TIPO_EVENTO.isEnabled();
+    }
+
+    static PreparedStatement envolver(PreparedStatement instrucao, String sql, LogInstrucoesLentas log, String pool, long esperaConexaoNanos) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                new InstrucaoMonitorada(instrucao, sql, log, pool, esperaConexaoNanos));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String nome = method.getName();
+        if (nome.startsWith("execute") && (args == null || args.length == 0)) {
+            return executar(method);
+        }
+        if (nome.startsWith("set") && args != null && args.length >= 2 && method.getParameterTypes()[0] == int.class) {
+            parametros.put((Integer) args[0], "setNull".equals(nome) ? null : args[1]); // setString(1, ...), setLong(2, ...) etc.
+        } else if ("clearParameters".equals(nome)) {
+            parametros.clear();
+        } else if ("addBatch".equals(nome) && (args == null || args.length == 0)) {
+            lote++;
+        } else if ("clearBatch".equals(nome)) {
+            lote = 0;
+        } else if ("close".equals(nome)) {
+            try {
+                return invocar(instrucao, method, args);
+            } finally {
+                finalizar();
+            }
+        }
+        return invocar(instrucao, method, args);
+    }
+
+    private Object executar(Method method) throws Throwable {
+        finalizar(); // A execução anterior termina quando a instrução é executada de novo
+        Execucao execucao = new Execucao(sql, pool, esperaConexaoNanos, new TreeMap<>(parametros), lote);
+        EventoInstrucaoSQL evento = new EventoInstrucaoSQL();
+        if (evento.isEnabled()) {
+            execucao.evento = evento;
+            execucao.rastreio = OperacaoRastreada.atual();
+            evento.begin();
+        }
+        long inicio = System.nanoTime();
+        Object resultado = null;
+        try {
+            resultado = invocar(instrucao, method, null);
+            return resultado instanceof ResultSet ? ResultadoMonitorado.envolver((ResultSet) resultado, this) : resultado;
+        } catch (Throwable e) {
+            execucao.falhou = true;
+            throw e;
+        } finally {
+            execucao.duracaoExecucaoNanos = System.nanoTime() - inicio;
+            if (execucao.evento != null) {
+                execucao.evento.end(); // A duração do evento é a da execução; a leitura vai em tempoLeitura
+            }
+            if ("executeBatch".equals(method.getName()) || "executeLargeBatch".equals(method.getName())) {
+                lote = 0;
+            }
+            if (resultado instanceof ResultSet) {
+                pendente = execucao; // Registrada quando o ResultSet for lido e fechado
+            } else {
+                execucao.linhas = linhasAfetadas(resultado);
+                registrar(execucao);
+            }
+        }
+    }
+
+    private static long linhasAfetadas(Object resultado) {
+        if (resultado instanceof Number) {
+            return ((Number) resultado).longValue(); // executeUpdate / executeLargeUpdate
+        }
+        long total = 0;
+        if (resultado instanceof int[]) {
+            for (int n : (int[]) resultado) {
+                total += Math.max(0, n); // executeBatch
+            }
+        } else if (resultado instanceof long[]) {
+            for (long n : (long[]) resultado) {
+                total += Math.max(0, n);
+            }
+        }
+        return total;
+    }
+
+    private void finalizar() {
+        Execucao execucao = pendente;
+        if (execucao != null) {
+            pendente = null;
+            registrar(execucao);
+        }
+    }
+
+    private void registrar(Execucao execucao) {
+        log.registrar(execucao);
+        EventoInstrucaoSQL evento = execucao.evento;
+        if (evento != null && evento.shouldCommit()) {
+            evento.preencher(execucao.rastreio, sql, pool, execucao.linhas, execucao.duracaoLeituraNanos, !execucao.falhou);
+            evento.commit();
+        }
+    }
+
+    private static Object invocar(Object alvo, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause(); // Repassa a SQLException original
+        }
+    }
+
+    /**
+     * Envolve o {@link ResultSet} de uma consulta para contar as linhas lidas e o tempo gasto em {@code next()}
+     * (com cursor no servidor, é ali que os lotes seguintes são buscados).
+     */
+    private static final class ResultadoMonitorado implements InvocationHandler {
+
+        private final ResultSet resultado;
+        private final InstrucaoMonitorada instrucao;
+
+        private ResultadoMonitorado(ResultSet resultado, InstrucaoMonitorada instrucao) {
+            this.resultado = resultado;
+            this.instrucao = instrucao;
+        }
+
+        static ResultSet envolver(ResultSet resultado, InstrucaoMonitorada instrucao) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    new ResultadoMonitorado(resultado, instrucao));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String nome = method.getName();
+            if ("next".equals(nome)) {
+                long inicio = System.nanoTime();
+                boolean temLinha = (Boolean) invocar(resultado, method, args);
+                Execucao execucao = instrucao.pendente;
+                if (execucao != null) {
+                    execucao.duracaoLeituraNanos += System.nanoTime() - inicio;
+                    if (temLinha) {
+                        execucao.linhas++;
+                    }
+                }
+                return temLinha;
+            }
+            if ("close".equals(nome)) {
+                try {
+                    return invocar(resultado, method, args);
+                } finally {
+                    instrucao.finalizar();
+                }
+            }
+            return invocar(resultado, method, args);
+        }
+    }
+}
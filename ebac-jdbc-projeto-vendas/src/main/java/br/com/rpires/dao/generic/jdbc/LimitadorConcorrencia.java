@@ -0,0 +1,161 @@
+package br.com.rpires.dao.generic.jdbc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Controle de admissão adaptativo: limita o número de conexões em uso ao mesmo tempo,
+ * ajustando o limite de acordo com a latência observada (algoritmo de gradiente).
+ * <p>
+ * Cada conexão devolvida gera uma amostra com o tempo em que ficou em uso (incluindo a espera no pool).
+ * O limitador acompanha a menor latência recente ({@code rttBase}, renovada a cada janela de amostras),
+ * que representa a latência sem fila, e uma média móvel de curto prazo, que reflete a carga atual.
+ * O gradiente entre as duas indica se há fila se formando:
+ * </p>
+ * <pre>
+ *   gradiente = clamp(TOLERANCIA * rttBase / rttCurto, 0.5, 1.0)
+ *   novoLimite = limite * gradiente + sqrt(limite)
+ * </pre>
+ * Enquanto a latência está estável o limite cresce devagar; quando a latência sobe, o limite cai.
+ * Timeouts ao obter conexão do pool reduzem o limite multiplicativamente (AIMD).
+ * Quem chega com o limite esgotado espera no máximo {@code esperaMaximaMillis} e então é rejeitado.
+ */
+public class LimitadorConcorrencia {
+
+    public static final double TOLERANCIA = 1.5; // Aumento de latência tolerado antes de reduzir o limite
+    public static final double SUAVIZACAO = 0.2; // Peso do novo limite calculado em cada amostra
+    public static final double FATOR_REDUCAO = 0.9; // Redução multiplicativa em caso de timeout
+    public static final int AMOSTRAS_JANELA_BASE = 500; // Janela em que a menor latência é renovada
+    public static final int AMOSTRAS_CURTO_PRAZO = 10; // Janela da média de curto prazo
+    public static final int AMOSTRAS_AQUECIMENTO = 10; // Amostras antes de começar a ajustar o limite
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final long esperaMaximaNanos;
+
+    // Estado protegido por 'this'
+    private double limite;
+    private int emUso;
+    private double rttBase = Double.MAX_VALUE; // Menor latência da janela anterior (nanossegundos)
+    private double rttMinimoJanela = Double.MAX_VALUE; // Menor latência da janela corrente
+    private double rttCurto; // Média de curto prazo (nanossegundos)
+    private long amostras;
+
+    private final LongAdder admitidas = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+
+    /**
+     * Construtor do limitador.
+     * @param limiteInicial O limite inicial de operações simultâneas.
+     * @param limiteMinimo O menor limite permitido.
+     * @param limiteMaximo O maior limite permitido.
+     * @param esperaMaximaMillis Quanto tempo uma operação pode esperar por uma vaga antes de ser rejeitada (0 rejeita de imediato).
+     */
+    public LimitadorConcorrencia(int limiteInicial, int limiteMinimo, int limiteMaximo, long esperaMaximaMillis) {
+        if (limiteMinimo <= 0 || limiteMaximo < limiteMinimo || esperaMaximaMillis < 0) {
+            throw new IllegalArgumentException("Limites devem ser positivos, com mínimo <= máximo, e espera não negativa.");
+        }
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.limite = Math.max(limiteMinimo, Math.min(limiteMaximo, limiteInicial));
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMillis);
+    }
+
+    /**
+     * Tenta obter uma vaga, esperando no máximo a espera configurada.
+     * @return {@code true} se a vaga foi obtida; {@code false} se a operação deve ser rejeitada.
+     * @throws InterruptedException Se a thread for interrompida enquanto espera.
+     */
+    public synchronized boolean adquirir() throws InterruptedException {
+        long restante = esperaMaximaNanos;
+        long prazo = System.nanoTime() + restante;
+        while (emUso >= (int) limite) {
+            if (restante <= 0) {
+                rejeitadas.increment();
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, restante);
+            restante = prazo - System.nanoTime();
+        }
+        emUso++;
+        admitidas.increment();
+        return true;
+    }
+
+    /**
+     * Libera uma vaga e registra a latência da operação.
+     * @param latenciaNanos O tempo em que a vaga ficou ocupada.
+     */
+    public synchronized void liberar(long latenciaNanos) {
+        int emUsoAntes = emUso;
+        emUso--;
+        registrarAmostra(Math.max(1, latenciaNanos), emUsoAntes);
+        notifyAll();
+    }
+
+    /**
+     * Libera uma vaga sem registrar latência, para operações cujo tempo em uso não reflete a carga
+     * do banco (ex: leituras em cursor, que seguem o ritmo do consumidor).
+     */
+    public synchronized void liberarSemAmostra() {
+        emUso--;
+        notifyAll();
+    }
+
+    /**
+     * Libera uma vaga cuja operação falhou por sobrecarga (ex: timeout ao obter conexão do pool),
+     * reduzindo o limite multiplicativamente.
+     */
+    public synchronized void liberarComFalha() {
+        emUso--;
+        limite = Math.max(limiteMinimo, limite * FATOR_REDUCAO);
+        notifyAll();
+    }
+
+    private void registrarAmostra(double rtt, int emUsoAntes) {
+        amostras++;
+        rttMinimoJanela = Math.min(rttMinimoJanela, rtt);
+        rttBase = Math.min(rttBase, rtt);
+        if (amostras % AMOSTRAS_JANELA_BASE == 0) {
+            // Renova a base, para acompanhar mudanças permanentes de latência (ex: tabelas maiores)
+            rttBase = rttMinimoJanela;
+            rttMinimoJanela = Double.MAX_VALUE;
+        }
+        if (amostras <= AMOSTRAS_AQUECIMENTO) {
+            rttCurto += (rtt - rttCurto) / amostras; // Média simples durante o aquecimento
+            return;
+        }
+        rttCurto += (rtt - rttCurto) / AMOSTRAS_CURTO_PRAZO;
+
+        // Sem demanda suficiente não há sinal para aumentar o limite
+        if (emUsoAntes < limite / 2) {
+            return;
+        }
+        double gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * rttBase / rttCurto));
+        double novoLimite = limite * gradiente + Math.sqrt(limite);
+        novoLimite = limite * (1 - SUAVIZACAO) + novoLimite * SUAVIZACAO;
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, novoLimite));
+    }
+
+    public synchronized int getLimite() {
+        return (int) limite;
+    }
+
+    public synchronized int getEmUso() {
+        return emUso;
+    }
+
+    public long getAdmitidas() {
+        return admitidas.sum();
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.sum();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("LimitadorConcorrencia{limite=%d, emUso=%d, rttBase=%.2fms, rttCurto=%.2fms, admitidas=%d, rejeitadas=%d}",
+                (int) limite, emUso, amostras == 0 ? 0 : rttBase / 1_000_000, rttCurto / 1_000_000, getAdmitidas(), getRejeitadas());
+    }
+}
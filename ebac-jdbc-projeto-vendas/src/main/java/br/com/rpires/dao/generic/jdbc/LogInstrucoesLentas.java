@@ -0,0 +1,129 @@
+package br.com.rpires.dao.generic.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Array;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log de instruções lentas: registra no logger {@value #NOME_LOGGER} (com appender próprio no
+ * {@code logback.xml}) cada instrução cuja execução mais leitura das linhas passe do limite configurado
+ * em {@code logLento.limiteMillis}. Cada entrada traz o SQL, os parâmetros, os tempos de execução e
+ * de leitura, as linhas lidas (ou afetadas) e a espera pela conexão.
+ * <p>
+ * Os parâmetros ligados a colunas sensíveis ({@code logLento.colunasMascaradas}, por padrão CPF e TEL)
+ * são mascarados. A coluna de cada {@code ?} é deduzida do próprio SQL ({@link AnaliseSql#colunasDosParametros(String)}):
+ * pela lista de colunas do {@code INSERT} ou pela comparação que antecede o parâmetro ({@code CPF = ?}, {@code CPF = ANY(?)}).
+ * </p>
+ */
+final class LogInstrucoesLentas {
+
+    static final String NOME_LOGGER = "br.com.rpires.sql.lento";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NOME_LOGGER);
+    private static final int MAXIMO_SQL_EM_CACHE = 1_000;
+    private static final int TAMANHO_MAXIMO_VALOR = 100;
+
+    private final long limiteNanos; // Negativo: log desabilitado
+    private final Set<String> colunasMascaradas;
+    private final Map<String, List<String>> colunasPorSql = new ConcurrentHashMap<>();
+
+    LogInstrucoesLentas(long limiteMillis, Set<String> colunasMascaradas) {
+        this.limiteNanos = limiteMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(limiteMillis);
+        this.colunasMascaradas = colunasMascaradas;
+    }
+
+    /**
+     * Indica se as instruções devem ser monitoradas: limite configurado e logger habilitado.
+     */
+    boolean isAtivo() {
+        return limiteNanos >= 0 && LOGGER.isInfoEnabled();
+    }
+
+    /**
+     * Registra a execução se ela passou do limite.
+     * @param execucao A execução medida.
+     */
+    void registrar(InstrucaoMonitorada.Execucao execucao) {
+        long totalNanos = execucao.duracaoExecucaoNanos + execucao.duracaoLeituraNanos;
+        if (limiteNanos < 0 || totalNanos < limiteNanos) {
+            return;
+        }
+        LOGGER.info("{} ms{} (execucao {} ms, leitura {} ms, {} linhas{}, espera por conexao {} ms, pool {}): {} | parametros: {}",
+                millis(totalNanos), execucao.falhou ? " COM ERRO" : "", millis(execucao.duracaoExecucaoNanos),
+                millis(execucao.duracaoLeituraNanos), execucao.linhas, execucao.lote > 0 ? ", lote de " + execucao.lote : "",
+                millis(execucao.esperaConexaoNanos), execucao.pool, execucao.sql.replaceAll("\\s+", " ").trim(),
+                formatarParametros(execucao.sql, execucao.parametros));
+    }
+
+    private String formatarParametros(String sql, Map<Integer, Object> parametros) {
+        if (parametros.isEmpty()) {
+            return "[]";
+        }
+        List<String> colunas = getColunas(sql);
+        StringBuilder sb = new StringBuilder("[");
+        for (Map.Entry<Integer, Object> parametro : parametros.entrySet()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            int indice = parametro.getKey();
+            String coluna = indice - 1 < colunas.size() ? colunas.get(indice - 1) : null;
+            sb.append(indice).append('=');
+            if (coluna != null && colunasMascaradas.contains(coluna)) {
+                sb.append(mascarar(parametro.getValue()));
+            } else {
+                sb.append(formatar(parametro.getValue()));
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private List<String> getColunas(String sql) {
+        List<String> colunas = colunasPorSql.get(sql);
+        if (colunas == null) {
+            colunas = AnaliseSql.colunasDosParametros(sql);
+            if (colunasPorSql.size() < MAXIMO_SQL_EM_CACHE) {
+                colunasPorSql.put(sql, colunas);
+            }
+        }
+        return colunas;
+    }
+
+    private static String mascarar(Object valor) {
+        if (valor == null) {
+            return "NULL";
+        }
+        if (valor instanceof Array) {
+            return "[***]";
+        }
+        String texto = String.valueOf(valor);
+        if (texto.length() <= 2) {
+            return "***";
+        }
+        return "*".repeat(texto.length() - 2) + texto.substring(texto.length() - 2); // Mantém só os 2 últimos dígitos
+    }
+
+    private static String formatar(Object valor) {
+        if (valor == null) {
+            return "NULL";
+        }
+        if (valor instanceof byte[]) {
+            return "<" + ((byte[]) valor).length + " bytes>";
+        }
+        String texto = String.valueOf(valor);
+        if (texto.length() > TAMANHO_MAXIMO_VALOR) {
+            texto = texto.substring(0, TAMANHO_MAXIMO_VALOR) + "...";
+        }
+        return valor instanceof CharSequence ? "'" + texto + "'" : texto;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,209 @@
+package br.com.rpires.dao.generic.jdbc;
+
+import br.com.rpires.exceptions.DAOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Aplica os scripts versionados do schema ({@code db/migracao/V<versao>__<descricao>.sql} no classpath)
+ * no banco padrão e em todos os shards. As versões aplicadas ficam em {@code TB_VERSAO_SCHEMA}, com o
+ * checksum do script; cada script pendente roda em sua própria transação e é registrado na mesma transação.
+ * <p>
+ * Um bloqueio consultivo ({@code pg_advisory_lock}) impede que duas instâncias migrem o mesmo banco ao mesmo
+ * tempo. Scripts já aplicados não podem ser alterados: mudanças no schema entram como uma nova versão.
+ * </p>
+ * <p>
+ * Scripts que só valem sem particionamento (ex: chaves estrangeiras entre dados particionados e não particionados)
+ * ficam pendentes enquanto houver shards configurados.
+ * </p>
+ */
+public final class MigradorSchema {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MigradorSchema.class);
+
+    static final String DIRETORIO = "db/migracao/";
+
+    /**
+     * Scripts do schema, em ordem de versão. Novos scripts são acrescentados ao final.
+     */
+    static final List<String> SCRIPTS = List.of(
+            "V001__tabelas_e_sequencias.sql",
+            "V002__indices_unicos.sql",
+            "V003__indices_consultas.sql",
+            "V004__indice_vendas_por_periodo.sql",
+            "V005__fk_item_produto.sql",
+            "V006__indice_produto_codigo_c.sql");
+
+    /**
+     * Scripts aplicados apenas sem particionamento.
+     */
+    static final Set<String> SOMENTE_SEM_PARTICIONAMENTO = Set.of("V005__fk_item_produto.sql");
+
+    private static final long CHAVE_BLOQUEIO = 0x7665_6e64_6173L; // Identificador do bloqueio consultivo ("vendas")
+
+    private MigradorSchema() {
+    }
+
+    /**
+     * Aplica os scripts pendentes no banco padrão e em cada shard.
+     * @return O número de scripts aplicados, somando todos os bancos.
+     * @throws DAOException Se um script falhar ou um script já aplicado tiver sido alterado.
+     */
+    public static int migrar() throws DAOException {
+        List<Script> scripts = carregarScripts();
+        List<String> bancos = new ArrayList<>();
+        bancos.add(null); // Banco dos dados não particionados
+        bancos.addAll(ConnectionFactory.getShards());
+        int aplicados = 0;
+        for (String banco : bancos) {
+            aplicados += migrar(banco, scripts);
+        }
+        LOGGER.info("Schema na versão {} em {} banco(s); {} script(s) aplicado(s).",
+                scripts.get(scripts.size() - 1).versao, bancos.size(), aplicados);
+        return aplicados;
+    }
+
+    private static int migrar(String shard, List<Script> scripts) throws DAOException {
+        String nomeBanco = shard != null ? shard : "padrao";
+        Connection connection = null;
+        Statement stm = null;
+        boolean bloqueado = false;
+        try {
+            connection = ConnectionFactory.getConnection(ConnectionFactory.getPoolPadrao(), shard);
+            stm = connection.createStatement();
+            stm.execute("SELECT pg_advisory_lock(" + CHAVE_BLOQUEIO + ")");
+            bloqueado = true;
+            stm.execute("CREATE TABLE IF NOT EXISTS TB_VERSAO_SCHEMA (VERSAO INTEGER PRIMARY KEY, DESCRICAO VARCHAR(200) NOT NULL, "
+                    + "CHECKSUM BIGINT NOT NULL, APLICADA_EM TIMESTAMP NOT NULL DEFAULT now())");
+            Map<Integer, Long> aplicadas = new HashMap<>();
+            try (ResultSet rs = stm.executeQuery("SELECT VERSAO, CHECKSUM FROM TB_VERSAO_SCHEMA")) {
+                while (rs.next()) {
+                    aplicadas.put(rs.getInt(1), rs.getLong(2));
+                }
+            }
+            int aplicados = 0;
+            for (Script script : scripts) {
+                Long checksum = aplicadas.get(script.versao);
+                if (checksum != null) {
+                    if (checksum != script.checksum) {
+                        throw new DAOException("SCRIPT " + script.nome + " FOI ALTERADO DEPOIS DE APLICADO NO BANCO " + nomeBanco
+                                + ". Crie uma nova versão em vez de alterar um script aplicado.");
+                    }
+                    continue;
+                }
+                if (ConnectionFactory.isParticionado() && SOMENTE_SEM_PARTICIONAMENTO.contains(script.nome)) {
+                    LOGGER.info("Script {} não se aplica com particionamento; pendente no banco {}.", script.nome, nomeBanco);
+                    continue;
+                }
+                aplicar(connection, script);
+                LOGGER.info("Script {} aplicado no banco {}.", script.nome, nomeBanco);
+                aplicados++;
+            }
+            return aplicados;
+        } catch (SQLException e) {
+            LOGGER.error("Erro ao migrar o schema do banco {}: {}", nomeBanco, e.getMessage(), e);
+            throw new DAOException("ERRO AO MIGRAR O SCHEMA DO BANCO " + nomeBanco + ". Detalhes: " + e.getMessage(), e);
+        } finally {
+            if (bloqueado) {
+                try {
+                    stm.execute("SELECT pg_advisory_unlock(" + CHAVE_BLOQUEIO + ")"); // O bloqueio é da sessão, que volta ao pool
+                } catch (SQLException e) {
+                    LOGGER.warn("Não foi possível liberar o bloqueio da migração no banco {}: {}", nomeBanco, e.getMessage());
+                }
+            }
+            try {
+                if (stm != null) {
+                    stm.close();
+                }
+            } catch (SQLException e) {
+                LOGGER.error("Erro ao fechar a instrução da migração: {}", e.getMessage(), e);
+            }
+            ConnectionFactory.closeConnection(connection, null, null);
+        }
+    }
+
+    /**
+     * Executa o script e registra a versão em uma única transação (o DDL do PostgreSQL é transacional).
+     */
+    private static void aplicar(Connection connection, Script script) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement stm = connection.createStatement();
+             PreparedStatement registro = connection.prepareStatement(
+                     "INSERT INTO TB_VERSAO_SCHEMA (VERSAO, DESCRICAO, CHECKSUM) VALUES (?, ?, ?)")) {
+            stm.execute(script.sql); // O driver separa e executa as instruções do script
+            registro.setInt(1, script.versao);
+            registro.setString(2, script.descricao);
+            registro.setLong(3, script.checksum);
+            registro.executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static List<Script> carregarScripts() throws DAOException {
+        List<Script> scripts = new ArrayList<>();
+        int versaoAnterior = 0;
+        for (String nome : SCRIPTS) {
+            Script script = carregar(nome);
+            if (script.versao <= versaoAnterior) {
+                throw new IllegalStateException("Scripts do schema fora de ordem: " + nome);
+            }
+            versaoAnterior = script.versao;
+            scripts.add(script);
+        }
+        return scripts;
+    }
+
+    private static Script carregar(String nome) throws DAOException {
+        try (InputStream in = MigradorSchema.class.getClassLoader().getResourceAsStream(DIRETORIO + nome)) {
+            if (in == null) {
+                throw new DAOException("SCRIPT DO SCHEMA NAO ENCONTRADO NO CLASSPATH: " + DIRETORIO + nome);
+            }
+            String sql = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            int separador = nome.indexOf("__");
+            int versao = Integer.parseInt(nome.substring(1, separador));
+            String descricao = nome.substring(separador + 2, nome.length() - ".sql".length()).replace('_', ' ');
+            CRC32 crc = new CRC32();
+            crc.update(sql.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8)); // Mesmo checksum em checkouts Windows e Unix
+            return new Script(nome, versao, descricao, sql, crc.getValue());
+        } catch (IOException e) {
+            LOGGER.error("Erro ao ler o script {}: {}", nome, e.getMessage(), e);
+            throw new DAOException("ERRO AO LER O SCRIPT DO SCHEMA " + nome + ". Detalhes: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class Script {
+        final String nome;
+        final int versao;
+        final String descricao;
+        final String sql;
+        final long checksum;
+
+        Script(String nome, int versao, String descricao, String sql, long checksum) {
+            this.nome = nome;
+            this.versao = versao;
+            this.descricao = descricao;
+            this.sql = sql;
+            this.checksum = checksum;
+        }
+    }
+}
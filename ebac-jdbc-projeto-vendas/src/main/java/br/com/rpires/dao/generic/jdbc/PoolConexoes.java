@@ -0,0 +1,38 @@
+package br.com.rpires.dao.generic.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Um pool de conexões nomeado: o {@link HikariDataSource} e o {@link LimitadorConcorrencia}
+ * que controla a admissão de operações nele, além das réplicas de leitura, se houver.
+ */
+final class PoolConexoes {
+
+    private final String nome;
+    private final HikariDataSource dataSource;
+    private final LimitadorConcorrencia limitador;
+    private final RoteadorReplicas replicas; // null quando o pool não tem réplicas
+
+    PoolConexoes(String nome, HikariDataSource dataSource, LimitadorConcorrencia limitador, RoteadorReplicas replicas) {
+        this.nome = nome;
+        this.dataSource = dataSource;
+        this.limitador = limitador;
+        this.replicas = replicas;
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    LimitadorConcorrencia getLimitador() {
+        return limitador;
+    }
+
+    RoteadorReplicas getReplicas() {
+        return replicas;
+    }
+}
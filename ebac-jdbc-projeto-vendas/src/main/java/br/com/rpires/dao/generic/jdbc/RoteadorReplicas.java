@@ -0,0 +1,121 @@
+package br.com.rpires.dao.generic.jdbc;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Escolhe a réplica de leitura que atende cada conexão de leitura de um pool.
+ * Uma réplica que falhou ao entregar conexão fica de quarentena por um tempo e não é escolhida;
+ * com todas as réplicas de quarentena, as leituras vão para o primário.
+ */
+final class RoteadorReplicas {
+
+    /**
+     * Estratégia de escolha da réplica.
+     */
+    enum Estrategia {
+        /** Alterna entre as réplicas, uma por vez. */
+        ROUND_ROBIN,
+        /** Escolhe a réplica com menos conexões ativas e threads aguardando. */
+        MENOS_OCUPADO;
+
+        static Estrategia de(String valor) {
+            if (valor == null || valor.isBlank()) {
+                return ROUND_ROBIN;
+            }
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final List<PoolConexoes> replicas;
+    private final Estrategia estrategia;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final long quarentenaNanos;
+    private final AtomicLongArray indisponivelAte; // Fim da quarentena de cada réplica (nanoTime); 0 = disponível
+
+    RoteadorReplicas(List<PoolConexoes> replicas, Estrategia estrategia, long quarentenaMillis) {
+        this.replicas = List.copyOf(replicas);
+        this.estrategia = estrategia;
+        this.quarentenaNanos = TimeUnit.MILLISECONDS.toNanos(quarentenaMillis);
+        this.indisponivelAte = new AtomicLongArray(replicas.size());
+    }
+
+    /**
+     * Escolhe a réplica para a próxima leitura, ignorando as réplicas de quarentena.
+     * @return A réplica, ou {@code null} se todas estiverem de quarentena.
+     */
+    PoolConexoes selecionar() {
+        if (estrategia == Estrategia.MENOS_OCUPADO) {
+            PoolConexoes escolhida = null;
+            int menorOcupacao = Integer.MAX_VALUE;
+            for (int i = 0; i < replicas.size(); i++) {
+                if (!isDisponivel(i)) {
+                    continue;
+                }
+                int ocupacao = ocupacao(replicas.get(i));
+                if (ocupacao < menorOcupacao) {
+                    menorOcupacao = ocupacao;
+                    escolhida = replicas.get(i);
+                }
+            }
+            return escolhida;
+        }
+        int inicio = proxima.getAndIncrement();
+        for (int tentativa = 0; tentativa < replicas.size(); tentativa++) {
+            int i = Math.floorMod(inicio + tentativa, replicas.size());
+            if (isDisponivel(i)) {
+                return replicas.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Coloca a réplica de quarentena depois de uma falha ao obter conexão dela.
+     * @param replica A réplica que falhou.
+     */
+    void marcarIndisponivel(PoolConexoes replica) {
+        int i = replicas.indexOf(replica);
+        if (i >= 0) {
+            long ate = System.nanoTime() + quarentenaNanos;
+            indisponivelAte.set(i, ate != 0 ? ate : 1);
+        }
+    }
+
+    long getQuarentenaMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(quarentenaNanos);
+    }
+
+    List<PoolConexoes> getReplicas() {
+        return replicas;
+    }
+
+    Estrategia getEstrategia() {
+        return estrategia;
+    }
+
+    private boolean isDisponivel(int indice) {
+        long ate = indisponivelAte.get(indice);
+        if (ate == 0) {
+            return true;
+        }
+        if (System.nanoTime() - ate < 0) {
+            return false;
+        }
+        indisponivelAte.compareAndSet(indice, ate, 0); // Quarentena encerrada: a réplica volta a ser escolhida
+        return true;
+    }
+
+    private static int ocupacao(PoolConexoes replica) {
+        HikariPoolMXBean mxBean = replica.getDataSource().getHikariPoolMXBean();
+        if (mxBean == null) {
+            return replica.getLimitador().getEmUso();
+        }
+        return mxBean.getActiveConnections() + mxBean.getThreadsAwaitingConnection();
+    }
+}
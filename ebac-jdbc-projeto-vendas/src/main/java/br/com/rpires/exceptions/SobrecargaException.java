@@ -0,0 +1,18 @@
+package br.com.rpires.exceptions;
+
+/**
+ * Exceção lançada quando uma operação é rejeitada pelo controle de admissão da camada de acesso a dados,
+ * porque o banco já está atendendo o máximo de operações simultâneas que suporta sem degradar a latência.
+ * Diferente de um timeout, a rejeição é imediata; o chamador pode tentar novamente mais tarde ou descartar o trabalho.
+ */
+public class SobrecargaException extends DAOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construtor com a mensagem da exceção.
+     * @param msg A mensagem descritiva da exceção.
+     */
+    public SobrecargaException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.rpires.infra.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR da obtenção de uma conexão: controle de admissão mais checkout do pool.
+ */
+@Name("br.com.rpires.CheckoutConexao")
+@Label("Checkout de conexão")
+@Category({"Vendas", "Banco de Dados"})
+@Description("Espera pela admissão e pela conexão do pool")
+@StackTrace(false)
+public class EventoCheckoutConexao extends Event {
+
+    @Label("Entidade")
+    String entidade;
+
+    @Label("Operação")
+    String operacao;
+
+    @Label("Pool")
+    String pool;
+
+    @Label("Sucesso")
+    @Description("Falso se a operação foi rejeitada por sobrecarga ou o pool esgotou o timeout")
+    boolean sucesso;
+
+    public void preencher(String pool, boolean sucesso) {
+        OperacaoRastreada operacaoAtual = OperacaoRastreada.atual();
+        if (operacaoAtual != null) {
+            this.entidade = operacaoAtual.getEntidade();
+            this.operacao = operacaoAtual.getOperacao();
+        }
+        this.pool = pool;
+        this.sucesso = sucesso;
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.rpires.infra.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR da execução de uma instrução SQL; a duração cobre a execução, e a leitura das linhas
+ * vem em {@code tempoLeitura}.
+ */
+@Name("br.com.rpires.InstrucaoSQL")
+@Label("Instrução SQL")
+@Category({"Vendas", "Banco de Dados"})
+@Description("Execução de uma instrução SQL preparada")
+@StackTrace(false)
+public class EventoInstrucaoSQL extends Event {
+
+    @Label("Entidade")
+    String entidade;
+
+    @Label("Operação")
+    String operacao;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Pool")
+    String pool;
+
+    @Label("Linhas")
+    @Description("Linhas lidas, nas consultas, ou afetadas, nas atualizações")
+    long linhas;
+
+    @Label("Tempo de leitura")
+    @Timespan
+    long tempoLeitura;
+
+    @Label("Sucesso")
+    boolean sucesso;
+
+    /**
+     * Preenche os campos do evento.
+     * @param rastreio A operação de DAO em que a instrução foi executada (ou {@code null}); capturada na execução,
+     *                 pois o evento só é emitido quando o ResultSet é fechado.
+     */
+    public void preencher(OperacaoRastreada rastreio, String sql, String pool, long linhas, long tempoLeituraNanos, boolean sucesso) {
+        if (rastreio != null) {
+            this.entidade = rastreio.getEntidade();
+            this.operacao = rastreio.getOperacao();
+        }
+        this.sql = sql;
+        this.pool = pool;
+        this.linhas = linhas;
+        this.tempoLeitura = tempoLeituraNanos;
+        this.sucesso = sucesso;
+    }
+}
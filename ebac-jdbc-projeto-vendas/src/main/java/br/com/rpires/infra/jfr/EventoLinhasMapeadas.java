@@ -0,0 +1,34 @@
+package br.com.rpires.infra.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR com o total de linhas convertidas em entidades durante uma operação de DAO
+ * e o tempo gasto nessas conversões (reflexão, fábricas).
+ */
+@Name("br.com.rpires.LinhasMapeadas")
+@Label("Linhas mapeadas")
+@Category({"Vendas", "Banco de Dados"})
+@Description("Conversão de linhas de ResultSet em entidades durante uma operação de DAO")
+@StackTrace(false)
+public class EventoLinhasMapeadas extends Event {
+
+    @Label("Entidade")
+    String entidade;
+
+    @Label("Operação")
+    String operacao;
+
+    @Label("Linhas")
+    long linhas;
+
+    @Label("Tempo de mapeamento")
+    @Timespan
+    long tempoMapeamento;
+}
@@ -0,0 +1,31 @@
+package br.com.rpires.infra.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma operação de DAO (cadastrar, consultar, finalizarVenda etc.), do início ao fim.
+ */
+@Name("br.com.rpires.OperacaoDAO")
+@Label("Operação de DAO")
+@Category({"Vendas", "Banco de Dados"})
+@Description("Operação de um DAO, incluindo cache, espera por conexão e todas as instruções SQL")
+@StackTrace(false)
+public class EventoOperacaoDAO extends Event {
+
+    @Label("Entidade")
+    String entidade;
+
+    @Label("Operação")
+    String operacao;
+
+    @Label("Sucesso")
+    boolean sucesso;
+
+    @Label("Linhas mapeadas")
+    long linhasMapeadas;
+}
@@ -0,0 +1,162 @@
+package br.com.rpires.infra.jfr;
+
+import br.com.rpires.infra.metricas.Metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Operação de DAO em andamento na thread. Ao ser encerrada, registra a duração e o resultado nas
+ * {@link Metricas} (operação {@code <Entidade>DAO.<operacao>}, ex: {@code VendaDAO.consultar}) e emite o
+ * {@link EventoOperacaoDAO}; durante a operação, fornece a entidade e a operação aos eventos de instrução SQL
+ * e de checkout gerados dentro dela, além de acumular as linhas mapeadas ({@link EventoLinhasMapeadas}).
+ * <p>
+ * Com a gravação JFR desligada, {@link #iniciar(Class, String)} devolve uma instância que só mede a duração
+ * para as métricas, sem tocar no {@link ThreadLocal}. Uso típico:
+ * </p>
+ * <pre>
+ * OperacaoRastreada rastreio = OperacaoRastreada.iniciar(getTipoClasse(), "cadastrar");
+ * try {
+ *     ...
+ * } catch (Throwable e) {
+ *     rastreio.falhou();
+ *     throw e;
+ * } finally {
+ *     rastreio.encerrar();
+ * }
+ * </pre>
+ */
+public final class OperacaoRastreada {
+
+    private static final ThreadLocal<OperacaoRastreada> ATUAL = new ThreadLocal<>();
+
+    private final String entidade;
+    private final String operacao;
+    private final EventoOperacaoDAO evento; // null com a gravação JFR desligada
+    private final long inicioNanos;
+    private final OperacaoRastreada anterior; // Operação externa (ex: consultar dentro de alterar)
+    private final LongAdder linhasMapeadas = new LongAdder(); // Pode ser somado por threads da consulta distribuída
+    private final LongAdder tempoMapeamentoNanos = new LongAdder();
+    private volatile boolean falhou;
+
+    private OperacaoRastreada(String entidade, String operacao, EventoOperacaoDAO evento, OperacaoRastreada anterior) {
+        this.entidade = entidade;
+        this.operacao = operacao;
+        this.evento = evento;
+        this.anterior = anterior;
+        this.inicioNanos = System.nanoTime();
+    }
+
+    /**
+     * Inicia a operação na thread atual.
+     * @param entidade A classe da entidade do DAO.
+     * @param operacao O nome da operação.
+     * @return A operação, a ser encerrada em um bloco {@code finally}.
+     */
+    public static OperacaoRastreada iniciar(Class<?> entidade, String operacao) {
+        EventoOperacaoDAO evento = new EventoOperacaoDAO();
+        if (!evento.isEnabled()) {
+            return new OperacaoRastreada(entidade.getSimpleName(), operacao, null, null); // Só as métricas
+        }
+        OperacaoRastreada rastreio = new OperacaoRastreada(entidade.getSimpleName(), operacao, evento, ATUAL.get());
+        ATUAL.set(rastreio);
+        evento.begin();
+        return rastreio;
+    }
+
+    /**
+     * Marca a operação como terminada com exceção.
+     */
+    public void falhou() {
+        falhou = true;
+    }
+
+    /**
+     * Encerra a operação, registrando-a nas métricas, emitindo seus eventos e restaurando a operação externa da thread.
+     */
+    public void encerrar() {
+        Metricas.registrarOperacao(entidade + "DAO." + operacao, System.nanoTime() - inicioNanos, !falhou);
+        if (evento == null) {
+            return;
+        }
+        if (ATUAL.get() == this) {
+            if (anterior != null) {
+                ATUAL.set(anterior);
+            } else {
+                ATUAL.remove();
+            }
+        }
+        evento.end();
+        long linhas = linhasMapeadas.sum();
+        if (evento.shouldCommit()) {
+            evento.entidade = entidade;
+            evento.operacao = operacao;
+            evento.sucesso = !falhou;
+            evento.linhasMapeadas = linhas;
+            evento.commit();
+        }
+        if (linhas > 0) {
+            EventoLinhasMapeadas eventoLinhas = new EventoLinhasMapeadas();
+            if (eventoLinhas.shouldCommit()) {
+                eventoLinhas.entidade = entidade;
+                eventoLinhas.operacao = operacao;
+                eventoLinhas.linhas = linhas;
+                eventoLinhas.tempoMapeamento = tempoMapeamentoNanos.sum();
+                eventoLinhas.commit();
+            }
+        }
+    }
+
+    /**
+     * Retorna a operação em andamento na thread atual.
+     * @return A operação, ou {@code null} se nenhuma está sendo rastreada.
+     */
+    public static OperacaoRastreada atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Define a operação da thread atual; usado para propagar a operação a threads auxiliares.
+     * @param rastreio A operação (ou {@code null}).
+     * @return A operação que estava definida antes, a ser restaurada ao fim.
+     */
+    public static OperacaoRastreada definirAtual(OperacaoRastreada rastreio) {
+        OperacaoRastreada anterior = ATUAL.get();
+        if (rastreio != null) {
+            ATUAL.set(rastreio);
+        } else {
+            ATUAL.remove();
+        }
+        return anterior;
+    }
+
+    /**
+     * Marca o início da conversão de uma linha em entidade.
+     * @return O instante atual, ou 0 se nenhuma operação está sendo rastreada (sem custo de relógio).
+     */
+    public static long inicioMapeamento() {
+        return ATUAL.get() != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Contabiliza uma linha convertida em entidade na operação atual.
+     * @param inicio O valor retornado por {@link #inicioMapeamento()}.
+     */
+    public static void linhaMapeada(long inicio) {
+        if (inicio == 0) {
+            return;
+        }
+        OperacaoRastreada rastreio = ATUAL.get();
+        if (rastreio != null) {
+            rastreio.linhasMapeadas.increment();
+            rastreio.tempoMapeamentoNanos.add(System.nanoTime() - inicio);
+        }
+    }
+
+    public String getEntidade() {
+        return entidade;
+    }
+
+    public String getOperacao() {
+        return operacao;
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.rpires.infra.metricas;
+
+/**
+ * SPI para enviar as métricas de acesso a dados a um sistema externo (ex: Prometheus, Micrometer, StatsD).
+ * <p>
+ * Implementações são descobertas com {@link java.util.ServiceLoader}: basta declarar a classe em
+ * {@code META-INF/services/br.com.rpires.infra.metricas.ColetorMetricas}, ou registrá-la em
+ * {@link Metricas#adicionarColetor(ColetorMetricas)}. Os métodos são chamados na thread da operação,
+ * a cada operação, e devem ser rápidos e não lançar exceções.
+ * </p>
+ */
+public interface ColetorMetricas {
+
+    /**
+     * Registra a execução de uma operação de DAO.
+     * @param operacao O nome da operação (ex: {@code VendaDAO.consultar}).
+     * @param duracaoNanos A duração em nanossegundos.
+     * @param sucesso {@code false} se a operação terminou com exceção.
+     */
+    void registrarOperacao(String operacao, long duracaoNanos, boolean sucesso);
+
+    /**
+     * Registra a espera por uma conexão: controle de admissão mais checkout do pool.
+     * @param pool O nome do pool.
+     * @param esperaNanos A espera em nanossegundos.
+     * @param sucesso {@code false} se a conexão não foi obtida (sobrecarga ou timeout).
+     */
+    void registrarEsperaConexao(String pool, long esperaNanos, boolean sucesso);
+}
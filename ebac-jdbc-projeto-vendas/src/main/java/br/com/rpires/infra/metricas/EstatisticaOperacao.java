@@ -0,0 +1,94 @@
+package br.com.rpires.infra.metricas;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estatísticas de uma operação medida (ex: {@code VendaDAO.consultar} ou a espera por conexão de um pool):
+ * histograma de latência, erros e vazão desde o início da janela (criação ou último {@link #zerar()}).
+ * Os getters formam os atributos expostos via JMX; as latências são informadas em microssegundos.
+ */
+public final class EstatisticaOperacao {
+
+    private final String nome;
+    private final Histograma latencias = new Histograma();
+    private final LongAdder erros = new LongAdder();
+    private volatile long inicioJanelaNanos = System.nanoTime();
+
+    EstatisticaOperacao(String nome) {
+        this.nome = nome;
+    }
+
+    void registrar(long duracaoNanos, boolean sucesso) {
+        latencias.registrar(duracaoNanos);
+        if (!sucesso) {
+            erros.increment();
+        }
+    }
+
+    void zerar() {
+        latencias.zerar();
+        erros.reset();
+        inicioJanelaNanos = System.nanoTime();
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getContagem() {
+        return latencias.getContagem();
+    }
+
+    public long getErros() {
+        return erros.sum();
+    }
+
+    public double getMediaMicros() {
+        return latencias.getMedia() / 1_000;
+    }
+
+    public double getP50Micros() {
+        return micros(latencias.getPercentil(50));
+    }
+
+    public double getP99Micros() {
+        return micros(latencias.getPercentil(99));
+    }
+
+    public double getP999Micros() {
+        return micros(latencias.getPercentil(99.9));
+    }
+
+    public double getMaximoMicros() {
+        return micros(latencias.getMaximo());
+    }
+
+    /**
+     * Retorna a vazão média da operação na janela atual.
+     * @return Operações por segundo desde o início da janela.
+     */
+    public double getVazaoPorSegundo() {
+        double segundos = (double) (System.nanoTime() - inicioJanelaNanos) / TimeUnit.SECONDS.toNanos(1);
+        return segundos <= 0 ? 0 : getContagem() / segundos;
+    }
+
+    /**
+     * Retorna o percentil informado da latência, em nanossegundos.
+     * @param percentil O percentil, entre 0 e 100.
+     * @return A latência do percentil.
+     */
+    public long percentilNanos(double percentil) {
+        return latencias.getPercentil(percentil);
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: n=%d erros=%d p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus %.1f/s",
+                nome, getContagem(), getErros(), getP50Micros(), getP99Micros(), getP999Micros(), getMaximoMicros(), getVazaoPorSegundo());
+    }
+}
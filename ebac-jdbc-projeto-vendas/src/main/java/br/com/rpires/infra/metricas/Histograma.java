@@ -0,0 +1,113 @@
+package br.com.rpires.infra.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências no estilo HDR: faixas em escala log-linear, com precisão relativa
+ * constante (cerca de 1,6%) em qualquer ordem de grandeza, de nanossegundos a horas.
+ * <p>
+ * Cada potência de dois é dividida em 64 sub-faixas iguais; valores abaixo de 128 têm uma faixa cada.
+ * O registro é livre de bloqueio (um incremento atômico), e os percentis são calculados na leitura.
+ * Leituras concorrentes com registros enxergam um retrato aproximado, suficiente para monitoração.
+ * </p>
+ */
+public final class Histograma {
+
+    private static final int BITS_PRECISAO = 7;
+    private static final int SUB_FAIXAS = 1 << BITS_PRECISAO; // 128
+    private static final int METADE = SUB_FAIXAS / 2; // Sub-faixas por potência de dois acima de 128
+    private static final int NUMERO_FAIXAS = SUB_FAIXAS + (64 - BITS_PRECISAO) * METADE;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(NUMERO_FAIXAS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra um valor.
+     * @param valor O valor (ex: duração em nanossegundos); negativos contam como zero.
+     */
+    public void registrar(long valor) {
+        long v = Math.max(0, valor);
+        contagens.incrementAndGet(indice(v));
+        total.increment();
+        soma.add(v);
+        maximo.accumulateAndGet(v, Math::max);
+    }
+
+    public long getContagem() {
+        return total.sum();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Retorna a média dos valores registrados.
+     * @return A média, ou 0 se não há registros.
+     */
+    public double getMedia() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) soma.sum() / n;
+    }
+
+    /**
+     * Retorna o valor abaixo do qual está o percentual informado dos registros.
+     * @param percentil O percentil, entre 0 e 100 (ex: 99.9).
+     * @return O limite superior da faixa do percentil (nunca acima do máximo registrado), ou 0 sem registros.
+     */
+    public long getPercentil(double percentil) {
+        long n = 0;
+        long[] retrato = new long[NUMERO_FAIXAS];
+        for (int i = 0; i < NUMERO_FAIXAS; i++) {
+            retrato[i] = contagens.get(i);
+            n += retrato[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentil)) / 100 * n));
+        long acumulado = 0;
+        for (int i = 0; i < NUMERO_FAIXAS; i++) {
+            acumulado += retrato[i];
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Zera o histograma. Registros simultâneos à limpeza podem ser perdidos ou mantidos.
+     */
+    public void zerar() {
+        for (int i = 0; i < NUMERO_FAIXAS; i++) {
+            contagens.set(i, 0);
+        }
+        total.reset();
+        soma.reset();
+        maximo.set(0);
+    }
+
+    private static int indice(long v) {
+        if (v < SUB_FAIXAS) {
+            return (int) v;
+        }
+        int deslocamento = 64 - Long.numberOfLeadingZeros(v) - BITS_PRECISAO; // >= 1
+        int mantissa = (int) (v >>> deslocamento); // Entre METADE e SUB_FAIXAS - 1
+        return SUB_FAIXAS + (deslocamento - 1) * METADE + (mantissa - METADE);
+    }
+
+    private static long limiteSuperior(int indice) {
+        if (indice < SUB_FAIXAS) {
+            return indice;
+        }
+        int k = indice - SUB_FAIXAS;
+        int deslocamento = k / METADE + 1;
+        long mantissa = k % METADE + METADE;
+        return ((mantissa + 1) << deslocamento) - 1;
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.rpires.infra.metricas;
+
+import br.com.rpires.dao.generic.jdbc.EstatisticasPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Ponto central das métricas de acesso a dados: latência (histograma p50/p99/p999), erros e vazão
+ * de cada operação de DAO e da espera por conexão de cada pool, além da situação dos pools.
+ * <p>
+ * As medições vão para o coletor embutido, exposto via JMX como {@value #NOME_JMX}, e para os
+ * {@link ColetorMetricas} descobertos pelo {@link ServiceLoader} ou adicionados em {@link #adicionarColetor(ColetorMetricas)}.
+ * As operações dos DAOs são medidas pelo próprio {@code GenericDAO}, ao encerrar cada
+ * {@link br.com.rpires.infra.jfr.OperacaoRastreada}; a espera por conexão, pelo {@code ConnectionFactory}.
+ * </p>
+ */
+public final class Metricas {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Metricas.class);
+
+    public static final String NOME_JMX = "br.com.rpires:type=Metricas";
+
+    private static final RegistroMetricas REGISTRO = new RegistroMetricas();
+    private static final List<ColetorMetricas> COLETORES = new CopyOnWriteArrayList<>();
+
+    static {
+        COLETORES.add(REGISTRO);
+        for (ColetorMetricas coletor : ServiceLoader.load(ColetorMetricas.class)) {
+            COLETORES.add(coletor);
+            LOGGER.info("Coletor de métricas {} registrado.", coletor.getClass().getName());
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(REGISTRO, new ObjectName(NOME_JMX));
+        } catch (JMException e) {
+            LOGGER.warn("Métricas não registradas no JMX: {}", e.getMessage());
+        }
+    }
+
+    private Metricas() {
+    }
+
+    /**
+     * Adiciona um coletor às medições seguintes.
+     * @param coletor O coletor.
+     */
+    public static void adicionarColetor(ColetorMetricas coletor) {
+        COLETORES.add(coletor);
+    }
+
+    public static void removerColetor(ColetorMetricas coletor) {
+        if (coletor != REGISTRO) {
+            COLETORES.remove(coletor);
+        }
+    }
+
+    /**
+     * Registra a execução de uma operação de DAO em todos os coletores.
+     */
+    public static void registrarOperacao(String operacao, long duracaoNanos, boolean sucesso) {
+        for (ColetorMetricas coletor : COLETORES) {
+            try {
+                coletor.registrarOperacao(operacao, duracaoNanos, sucesso);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Erro no coletor de métricas {}: {}", coletor.getClass().getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Registra a espera por uma conexão em todos os coletores.
+     */
+    public static void registrarEsperaConexao(String pool, long esperaNanos, boolean sucesso) {
+        for (ColetorMetricas coletor : COLETORES) {
+            try {
+                coletor.registrarEsperaConexao(pool, esperaNanos, sucesso);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Erro no coletor de métricas {}: {}", coletor.getClass().getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Retorna as estatísticas de uma operação de DAO.
+     * @param operacao O nome da operação (ex: {@code VendaDAO.consultar}).
+     * @return As estatísticas, ou {@code null} se a operação ainda não foi medida.
+     */
+    public static EstatisticaOperacao getOperacao(String operacao) {
+        return REGISTRO.getOperacao(operacao);
+    }
+
+    public static List<EstatisticaOperacao> getOperacoes() {
+        return REGISTRO.getOperacoes();
+    }
+
+    /**
+     * Retorna as estatísticas da espera por conexão de um pool.
+     * @param pool O nome do pool (ex: {@code oltp}, {@code oltp@s1}).
+     * @return As estatísticas, ou {@code null} se o pool ainda não foi usado.
+     */
+    public static EstatisticaOperacao getEsperaConexao(String pool) {
+        return REGISTRO.getEsperaConexao(pool);
+    }
+
+    public static List<EstatisticaOperacao> getEsperasConexao() {
+        return REGISTRO.getEsperasConexao();
+    }
+
+    public static List<EstatisticasPool> getPools() {
+        return REGISTRO.getPools();
+    }
+
+    /**
+     * Zera as métricas do coletor embutido, iniciando uma nova janela de medição.
+     */
+    public static void zerar() {
+        REGISTRO.zerar();
+    }
+}
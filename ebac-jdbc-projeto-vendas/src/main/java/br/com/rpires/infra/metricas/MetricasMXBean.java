@@ -0,0 +1,31 @@
+package br.com.rpires.infra.metricas;
+
+import br.com.rpires.dao.generic.jdbc.EstatisticasPool;
+
+import java.util.List;
+
+/**
+ * Interface JMX das métricas de acesso a dados, registrada como {@value Metricas#NOME_JMX}.
+ */
+public interface MetricasMXBean {
+
+    /**
+     * Estatísticas de cada operação de DAO medida.
+     */
+    List<EstatisticaOperacao> getOperacoes();
+
+    /**
+     * Estatísticas da espera por conexão de cada pool.
+     */
+    List<EstatisticaOperacao> getEsperasConexao();
+
+    /**
+     * Situação atual dos pools de conexão (ativas, ociosas, aguardando) e do controle de admissão.
+     */
+    List<EstatisticasPool> getPools();
+
+    /**
+     * Zera os histogramas e contadores, iniciando uma nova janela de medição.
+     */
+    void zerar();
+}
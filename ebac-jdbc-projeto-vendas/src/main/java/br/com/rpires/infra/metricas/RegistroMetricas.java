@@ -0,0 +1,64 @@
+package br.com.rpires.infra.metricas;
+
+import br.com.rpires.dao.generic.jdbc.ConnectionFactory;
+import br.com.rpires.dao.generic.jdbc.EstatisticasPool;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coletor embutido: mantém um histograma por operação e por pool em memória e os expõe via JMX.
+ */
+final class RegistroMetricas implements ColetorMetricas, MetricasMXBean {
+
+    private final Map<String, EstatisticaOperacao> operacoes = new ConcurrentHashMap<>();
+    private final Map<String, EstatisticaOperacao> esperasConexao = new ConcurrentHashMap<>();
+
+    @Override
+    public void registrarOperacao(String operacao, long duracaoNanos, boolean sucesso) {
+        operacoes.computeIfAbsent(operacao, EstatisticaOperacao::new).registrar(duracaoNanos, sucesso);
+    }
+
+    @Override
+    public void registrarEsperaConexao(String pool, long esperaNanos, boolean sucesso) {
+        esperasConexao.computeIfAbsent(pool, EstatisticaOperacao::new).registrar(esperaNanos, sucesso);
+    }
+
+    EstatisticaOperacao getOperacao(String operacao) {
+        return operacoes.get(operacao);
+    }
+
+    EstatisticaOperacao getEsperaConexao(String pool) {
+        return esperasConexao.get(pool);
+    }
+
+    @Override
+    public List<EstatisticaOperacao> getOperacoes() {
+        return ordenadas(operacoes);
+    }
+
+    @Override
+    public List<EstatisticaOperacao> getEsperasConexao() {
+        return ordenadas(esperasConexao);
+    }
+
+    @Override
+    public List<EstatisticasPool> getPools() {
+        return ConnectionFactory.getEstatisticasPools();
+    }
+
+    @Override
+    public void zerar() {
+        operacoes.values().forEach(EstatisticaOperacao::zerar);
+        esperasConexao.values().forEach(EstatisticaOperacao::zerar);
+    }
+
+    private static List<EstatisticaOperacao> ordenadas(Map<String, EstatisticaOperacao> mapa) {
+        List<EstatisticaOperacao> lista = new ArrayList<>(mapa.values());
+        lista.sort(Comparator.comparing(EstatisticaOperacao::getNome));
+        return lista;
+    }
+}
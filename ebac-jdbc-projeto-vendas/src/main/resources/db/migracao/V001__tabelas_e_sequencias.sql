@@ -0,0 +1,45 @@
+-- Tabelas e sequências usadas pelos DAOs (ID técnico gerado por nextval na inserção).
+-- IF NOT EXISTS: bancos criados antes do versionamento (manualmente) passam a ser controlados sem alteração.
+-- Com particionamento, este script roda em todos os bancos; TB_PRODUTO_QUANTIDADE.ID_PRODUTO_FK não tem
+-- chave estrangeira porque, nos shards, os itens referenciam produtos cadastrados no banco padrão.
+
+CREATE SEQUENCE IF NOT EXISTS sq_cliente;
+CREATE SEQUENCE IF NOT EXISTS sq_produto;
+CREATE SEQUENCE IF NOT EXISTS sq_venda;
+CREATE SEQUENCE IF NOT EXISTS sq_produto_quantidade;
+
+CREATE TABLE IF NOT EXISTS TB_CLIENTE (
+    ID BIGINT PRIMARY KEY,
+    NOME VARCHAR(100) NOT NULL,
+    CPF BIGINT NOT NULL,
+    TEL BIGINT,
+    ENDERECO VARCHAR(100),
+    NUMERO INTEGER,
+    CIDADE VARCHAR(50),
+    ESTADO VARCHAR(50)
+);
+
+CREATE TABLE IF NOT EXISTS TB_PRODUTO (
+    ID BIGINT PRIMARY KEY,
+    CODIGO VARCHAR(50) NOT NULL,
+    NOME VARCHAR(100) NOT NULL,
+    DESCRICAO VARCHAR(255),
+    VALOR NUMERIC(10, 2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS TB_VENDA (
+    ID BIGINT PRIMARY KEY,
+    CODIGO VARCHAR(50) NOT NULL,
+    ID_CLIENTE_FK BIGINT NOT NULL REFERENCES TB_CLIENTE (ID),
+    VALOR_TOTAL NUMERIC(12, 2) NOT NULL,
+    DATA_VENDA TIMESTAMP NOT NULL,
+    STATUS_VENDA VARCHAR(20) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS TB_PRODUTO_QUANTIDADE (
+    ID BIGINT PRIMARY KEY,
+    ID_PRODUTO_FK BIGINT NOT NULL,
+    ID_VENDA_FK BIGINT NOT NULL REFERENCES TB_VENDA (ID),
+    QUANTIDADE INTEGER NOT NULL,
+    VALOR_TOTAL NUMERIC(12, 2) NOT NULL
+);
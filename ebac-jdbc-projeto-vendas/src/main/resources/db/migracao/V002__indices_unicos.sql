@@ -0,0 +1,7 @@
+-- Chaves lógicas dos DAOs (@TipoChave): a unicidade passa a ser garantida pelo banco, e as consultas
+-- por chave (consultar, excluir, alterar) usam o índice em vez de percorrer a tabela.
+-- Falha se já houver chaves duplicadas; elas precisam ser corrigidas antes.
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_cliente_cpf ON TB_CLIENTE (CPF);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_produto_codigo ON TB_PRODUTO (CODIGO);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_venda_codigo ON TB_VENDA (CODIGO);
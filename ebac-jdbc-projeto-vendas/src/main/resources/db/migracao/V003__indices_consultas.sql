@@ -0,0 +1,7 @@
+-- Chaves estrangeiras e filtros frequentes. O PostgreSQL não indexa chaves estrangeiras automaticamente:
+-- sem estes índices, a busca dos itens de uma venda, as vendas de um cliente (e a verificação da chave
+-- estrangeira ao excluir um cliente) e os filtros por período percorrem a tabela inteira.
+
+CREATE INDEX IF NOT EXISTS idx_venda_cliente ON TB_VENDA (ID_CLIENTE_FK);
+CREATE INDEX IF NOT EXISTS idx_venda_data ON TB_VENDA (DATA_VENDA);
+CREATE INDEX IF NOT EXISTS idx_produto_quantidade_venda ON TB_PRODUTO_QUANTIDADE (ID_VENDA_FK);
@@ -0,0 +1,7 @@
+-- Busca de vendas por período com paginação por chave (VendaDAO.buscarPorPeriodo): o índice atende o filtro
+-- por DATA_VENDA, a ordem (DATA_VENDA, CODIGO) e o início da página "(DATA_VENDA, CODIGO) > (?, ?)" sem ordenar
+-- em memória. O código usa a collation "C" (comparação byte a byte), a mesma da consulta e da junção dos shards.
+-- Substitui idx_venda_data, que é prefixo deste índice.
+
+CREATE INDEX IF NOT EXISTS idx_venda_data_codigo ON TB_VENDA (DATA_VENDA, CODIGO COLLATE "C");
+DROP INDEX IF EXISTS idx_venda_data;
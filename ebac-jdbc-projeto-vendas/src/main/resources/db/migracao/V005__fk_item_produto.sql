@@ -0,0 +1,11 @@
+-- Chave estrangeira dos itens de venda para os produtos, que o V001 não cria porque, com particionamento,
+-- os itens ficam no shard da venda e os produtos no banco padrão. Por isso o MigradorSchema só aplica este
+-- script sem particionamento (com shards ele fica pendente). Falha se houver itens de produtos excluídos.
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_produto_quantidade_produto') THEN
+        ALTER TABLE TB_PRODUTO_QUANTIDADE
+            ADD CONSTRAINT fk_produto_quantidade_produto FOREIGN KEY (ID_PRODUTO_FK) REFERENCES TB_PRODUTO (ID);
+    END IF;
+END $$;
@@ -0,0 +1,5 @@
+-- Listagens de produtos ordenadas pelo código (Criterio.ordenarPor("CODIGO"), usada pela operação listar do
+-- teste de carga): o Criterio ordena textos com a collation "C", e o índice único uk_produto_codigo, na collation
+-- do banco, não atende essa ordem. Sem este índice, cada página ordena o catálogo inteiro.
+
+CREATE INDEX IF NOT EXISTS idx_produto_codigo_c ON TB_PRODUTO (CODIGO COLLATE "C");
@@ -0,0 +1,113 @@
+-- OPCIONAL: converte TB_VENDA em uma tabela particionada por mês de DATA_VENDA (PostgreSQL 12 ou superior).
+-- Não faz parte das migrações automáticas (MigradorSchema): é aplicado manualmente, em uma janela de manutenção,
+-- em cada banco (padrão e shards), com o schema já na versão 4 ou superior. Exemplo:
+--   psql -v ON_ERROR_STOP=1 -d vendas -f particionar_tb_venda_por_mes.sql
+--
+-- Com a tabela particionada, as buscas por período (VendaDAO.buscarPorPeriodo e os critérios com
+-- "entre" em DATA_VENDA) leem apenas as partições dos meses consultados: o fechamento de um mês não percorre
+-- os anos anteriores. As demais operações não mudam, mas consultas só pelo código ou pelo ID (consultar,
+-- finalizar, cancelar) passam a consultar o índice de cada partição.
+--
+-- Restrições do particionamento no PostgreSQL, assumidas aqui:
+--  * A chave primária e os índices únicos precisam incluir DATA_VENDA: passam a ser (ID, DATA_VENDA) e
+--    (CODIGO, DATA_VENDA), que sozinhos não impedem o mesmo código em meses diferentes. A unicidade do código
+--    é mantida pela tabela não particionada TB_VENDA_CODIGO (CODIGO único), preenchida por um gatilho de
+--    TB_VENDA na mesma transação da escrita: um código repetido faz o INSERT da venda falhar, como antes.
+--  * TB_PRODUTO_QUANTIDADE.ID_VENDA_FK deixa de ter chave estrangeira (não há índice único só em ID);
+--    os itens continuam sendo gravados na mesma transação da venda pelo VendaDAO.
+--
+-- As partições são criadas do mês da venda mais antiga até 3 meses à frente, mais uma partição padrão para
+-- datas fora delas. Crie as partições dos meses seguintes antes que cheguem, por exemplo todo mês:
+--   SELECT criar_particoes_venda(3);
+
+BEGIN;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM TB_VERSAO_SCHEMA WHERE VERSAO >= 4) THEN
+        RAISE EXCEPTION 'Aplique as migrações do schema (versão 4 ou superior) antes de particionar TB_VENDA.';
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'tb_venda'::regclass) THEN
+        RAISE EXCEPTION 'TB_VENDA já é particionada.';
+    END IF;
+END $$;
+
+LOCK TABLE TB_VENDA IN ACCESS EXCLUSIVE MODE;
+
+-- A chave estrangeira dos itens depende da chave primária atual de TB_VENDA
+ALTER TABLE TB_PRODUTO_QUANTIDADE DROP CONSTRAINT IF EXISTS tb_produto_quantidade_id_venda_fk_fkey;
+
+ALTER TABLE TB_VENDA RENAME TO TB_VENDA_ANTIGA;
+ALTER TABLE TB_VENDA_ANTIGA DROP CONSTRAINT tb_venda_pkey;
+DROP INDEX IF EXISTS uk_venda_codigo;
+DROP INDEX IF EXISTS idx_venda_cliente;
+DROP INDEX IF EXISTS idx_venda_data_codigo;
+
+CREATE TABLE TB_VENDA (
+    ID BIGINT NOT NULL,
+    CODIGO VARCHAR(50) NOT NULL,
+    ID_CLIENTE_FK BIGINT NOT NULL REFERENCES TB_CLIENTE (ID),
+    VALOR_TOTAL NUMERIC(12, 2) NOT NULL,
+    DATA_VENDA TIMESTAMP NOT NULL,
+    STATUS_VENDA VARCHAR(20) NOT NULL,
+    CONSTRAINT tb_venda_pkey PRIMARY KEY (ID, DATA_VENDA)
+) PARTITION BY RANGE (DATA_VENDA);
+
+CREATE UNIQUE INDEX uk_venda_codigo ON TB_VENDA (CODIGO, DATA_VENDA);
+CREATE INDEX idx_venda_cliente ON TB_VENDA (ID_CLIENTE_FK);
+CREATE INDEX idx_venda_data_codigo ON TB_VENDA (DATA_VENDA, CODIGO COLLATE "C");
+
+-- Unicidade global do código da venda, que os índices das partições não garantem
+CREATE TABLE TB_VENDA_CODIGO (
+    CODIGO VARCHAR(50) NOT NULL,
+    CONSTRAINT uk_venda_codigo_global PRIMARY KEY (CODIGO)
+);
+
+CREATE OR REPLACE FUNCTION manter_venda_codigo() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM TB_VENDA_CODIGO WHERE CODIGO = OLD.CODIGO;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO TB_VENDA_CODIGO (CODIGO) VALUES (NEW.CODIGO); -- Código repetido: unique_violation
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_venda_codigo
+    AFTER INSERT OR DELETE OR UPDATE OF CODIGO ON TB_VENDA
+    FOR EACH ROW EXECUTE FUNCTION manter_venda_codigo();
+
+-- Cria as partições mensais (TB_VENDA_AAAA_MM) que faltam, do mês informado até "meses_a_frente" meses
+-- depois do atual. Falha se a partição padrão já tiver vendas do mês a criar.
+CREATE OR REPLACE FUNCTION criar_particoes_venda(meses_a_frente INTEGER, desde DATE DEFAULT current_date)
+RETURNS INTEGER AS $$
+DECLARE
+    mes DATE := date_trunc('month', desde)::date;
+    ultimo DATE := (date_trunc('month', current_date) + make_interval(months => meses_a_frente))::date;
+    criadas INTEGER := 0;
+BEGIN
+    WHILE mes <= ultimo LOOP
+        IF to_regclass('tb_venda_' || to_char(mes, 'YYYY_MM')) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF TB_VENDA FOR VALUES FROM (%L) TO (%L)',
+                           'tb_venda_' || to_char(mes, 'YYYY_MM'), mes, (mes + INTERVAL '1 month')::date);
+            criadas := criadas + 1;
+        END IF;
+        mes := (mes + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN criadas;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT criar_particoes_venda(3, COALESCE((SELECT min(DATA_VENDA)::date FROM TB_VENDA_ANTIGA), current_date));
+CREATE TABLE TB_VENDA_OUTRAS PARTITION OF TB_VENDA DEFAULT;
+
+INSERT INTO TB_VENDA (ID, CODIGO, ID_CLIENTE_FK, VALOR_TOTAL, DATA_VENDA, STATUS_VENDA)
+SELECT ID, CODIGO, ID_CLIENTE_FK, VALOR_TOTAL, DATA_VENDA, STATUS_VENDA FROM TB_VENDA_ANTIGA;
+
+DROP TABLE TB_VENDA_ANTIGA;
+
+COMMIT;
+
+ANALYZE TB_VENDA;